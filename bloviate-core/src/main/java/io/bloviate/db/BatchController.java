@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+/**
+ * Tunes one table fill's batch size and commit cadence under {@link BatchSizing#adaptive(int, int, int, int)}.
+ * The filling thread reports every batch it has sent and every commit, with their timings, and reads the
+ * next batch size and batches per commit back.
+ *
+ * <p>The batch size moves on a grid of {@value #STEPS} steps between the bounds, so a multi-row
+ * {@code INSERT} fill prepares at most one statement per step: additive increase by one step after
+ * every batch, multiplicative decrease (halving the steps above the minimum) when a batch's rows per
+ * second fall more than {@value #THROUGHPUT_DROP} below the moving average. The batches per commit
+ * double while commits take more than {@value #COMMIT_OVERHEAD_HIGH} of the fill time and drop by one
+ * while they take less than {@value #COMMIT_OVERHEAD_LOW}.
+ *
+ * <p>Not thread-safe: one controller belongs to one fill.
+ */
+final class BatchController {
+
+    /** The number of steps between the smallest and the largest batch. */
+    static final int STEPS = 16;
+
+    /** The relative fall below the average throughput that halves the batch size. */
+    static final double THROUGHPUT_DROP = 0.15;
+
+    /** The weight of the newest batch in the moving average of throughput. */
+    static final double AVERAGE_WEIGHT = 0.3;
+
+    /** The share of the fill time above which commits get further apart. */
+    static final double COMMIT_OVERHEAD_HIGH = 0.05;
+
+    /** The share of the fill time below which commits get closer together. */
+    static final double COMMIT_OVERHEAD_LOW = 0.01;
+
+    private final BatchSizing sizing;
+    private final int step;
+
+    /** The batch size is {@code min + level × step}, capped at the maximum. */
+    private int level;
+    private int commitBatches;
+
+    /** The moving average of rows per second; NaN until the first batch. */
+    private double throughput = Double.NaN;
+
+    private long rows;
+    private long nanos;
+
+    /**
+     * Creates a controller starting from the configured values, clamped into the bounds.
+     *
+     * @param sizing             the adaptive bounds
+     * @param batchSize          the configured batch size
+     * @param commitBatches      the configured batches per commit
+     */
+    BatchController(BatchSizing sizing, int batchSize, int commitBatches) {
+        this.sizing = sizing;
+        this.step = Math.max(1, Math.ceilDiv(sizing.maxBatchSize() - sizing.minBatchSize(), STEPS));
+        this.level = Math.clamp((batchSize - sizing.minBatchSize()) / step, 0, STEPS);
+        this.commitBatches = Math.clamp(commitBatches, sizing.minCommitBatches(), sizing.maxCommitBatches());
+    }
+
+    /** The rows to send in the next batch. */
+    int batchSize() {
+        return Math.min(sizing.maxBatchSize(), sizing.minBatchSize() + level * step);
+    }
+
+    /** The batches to send before the next commit. */
+    int commitBatches() {
+        return commitBatches;
+    }
+
+    /**
+     * Records a batch: {@code batchRows} rows generated and sent in {@code batchNanos}, measured from the
+     * end of the previous batch (or commit), and adjusts the batch size.
+     */
+    void batchSent(int batchRows, long batchNanos) {
+        rows += batchRows;
+        nanos += batchNanos;
+        if (batchNanos <= 0) {
+            return;
+        }
+        double batchThroughput = batchRows * 1e9 / batchNanos;
+        if (!Double.isNaN(throughput) && batchThroughput < throughput * (1 - THROUGHPUT_DROP)) {
+            level /= 2;
+        } else {
+            level = Math.min(STEPS, level + 1);
+        }
+        throughput = Double.isNaN(throughput) ? batchThroughput : throughput + AVERAGE_WEIGHT * (batchThroughput - throughput);
+    }
+
+    /**
+     * Records a commit that took {@code commitNanos} of the {@code intervalNanos} since the previous one
+     * (or the start of the fill), and adjusts the batches per commit.
+     */
+    void committed(long commitNanos, long intervalNanos) {
+        nanos += commitNanos;
+        if (intervalNanos <= 0) {
+            return;
+        }
+        double overhead = (double) commitNanos / intervalNanos;
+        if (overhead > COMMIT_OVERHEAD_HIGH) {
+            commitBatches = (int) Math.min(sizing.maxCommitBatches(), 2L * commitBatches);
+        } else if (overhead < COMMIT_OVERHEAD_LOW) {
+            commitBatches = Math.max(sizing.minCommitBatches(), commitBatches - 1);
+        }
+    }
+
+    /**
+     * What the fill settled on, for {@code table}.
+     *
+     * @param table         the table filled
+     * @param adaptsCommits whether the commit cadence was tuned
+     * @return the settled values
+     */
+    Settled settled(String table, boolean adaptsCommits) {
+        double rowsPerSecond = nanos > 0 ? rows * 1e9 / nanos : 0;
+        return new Settled(table, rows, batchSize(), adaptsCommits ? commitBatches : 0, rowsPerSecond);
+    }
+
+    /**
+     * The batch size and batches per commit one fill of a table settled on.
+     *
+     * @param table         the table filled
+     * @param rows          the rows measured: those sent in whole batches
+     * @param batchSize     the final batch size
+     * @param commitBatches the final batches per commit, or {@code 0} when commits were not tuned
+     * @param rowsPerSecond the rows per second over the whole fill, commits included
+     */
+    record Settled(String table, long rows, int batchSize, int commitBatches, double rowsPerSecond) {
+
+        @Override
+        public String toString() {
+            String commits = commitBatches > 0 ? String.format(", commit every %,d batches", commitBatches) : "";
+            return String.format("table [%s] settled on batch size %,d%s (%,.0f rows/s over %,d rows)", table, batchSize, commits, rowsPerSecond, rows);
+        }
+    }
+}
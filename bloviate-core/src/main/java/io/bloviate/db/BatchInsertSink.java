@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.RowSink;
+import io.bloviate.gen.DataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * The default {@link RowSink}: binds each row to a parameterized single-row {@code INSERT} and submits
+ * the rows as JDBC batches of {@code batchSize}. Each value is bound through its column's generator,
+ * exactly as {@link DataGenerator#generateAndSet} would bind it.
+ */
+final class BatchInsertSink implements RowSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchInsertSink.class);
+
+    private final Connection connection;
+    private final DataGenerator<?>[] generators;
+    private final PreparedStatement ps;
+    private final int batchSize;
+
+    /** Whether the statement is this sink's own to close, rather than a {@link StatementCache}'s. */
+    private final boolean ownsStatement;
+
+    private int pending;
+
+    private BatchInsertSink(Connection connection, DataGenerator<?>[] generators, PreparedStatement ps, int batchSize,
+                            boolean ownsStatement) {
+        this.connection = connection;
+        this.generators = generators;
+        this.ps = ps;
+        this.batchSize = batchSize;
+        this.ownsStatement = ownsStatement;
+    }
+
+    /**
+     * Prepares the {@code INSERT} for {@code table}.
+     *
+     * @param connection the connection to insert on; the sink does not own or close it
+     * @param table      the table to fill
+     * @param generators the column generators, used to bind each value
+     * @param batchSize  the rows per JDBC batch
+     * @param statements the connection's statement cache to prepare through, which keeps the statement
+     *                   open after the sink closes; null to prepare a statement the sink closes
+     * @return a sink for the table
+     * @throws SQLException if the statement cannot be prepared
+     */
+    static BatchInsertSink open(Connection connection, Table table, DataGenerator<?>[] generators, int batchSize,
+                                StatementCache statements) throws SQLException {
+        String sql = table.insertString(connection.getMetaData().getIdentifierQuoteString());
+        logger.trace("{}", sql);
+        if (statements != null) {
+            return new BatchInsertSink(connection, generators, statements.prepare(sql), batchSize, false);
+        }
+        return new BatchInsertSink(connection, generators, connection.prepareStatement(sql), batchSize, true);
+    }
+
+    @Override
+    public void write(Object[] row) throws SQLException {
+        TableFiller.bindRow(connection, generators, row, ps, 0);
+        ps.addBatch();
+        if (++pending == batchSize) {
+            executeBatch();
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (pending > 0) {
+            executeBatch();
+        }
+    }
+
+    private void executeBatch() throws SQLException {
+        ps.executeBatch();
+        // explicit clearBatch after executeBatch: the JDBC spec already clears the batch, but this
+        // makes the O(batchSize) in-flight bound explicit and is cheap insurance against drivers /
+        // rewriteBatchedInserts paths that might otherwise retain the submitted row references
+        ps.clearBatch();
+        pending = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (ownsStatement) {
+            pending = 0;
+            ps.close();
+        } else if (pending > 0) {
+            // a cached statement outlives the sink: drop the rows of a failed batch so its next user
+            // does not send them
+            pending = 0;
+            ps.clearBatch();
+        }
+    }
+}
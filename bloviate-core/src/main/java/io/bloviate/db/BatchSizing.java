@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+/**
+ * How {@link TableFiller} sizes its batches and, under {@link CommitStrategy#everyNBatches(int)}, how
+ * many batches it commits at a time.
+ *
+ * <p>By default ({@link #fixed()}) both are the configured numbers: the
+ * {@link DatabaseConfiguration#batchSize() batch size} (or the one {@link IngestStrategy#auto()}
+ * planned) and the strategy's {@link CommitStrategy#batches() batch cadence}. Those are found by trial
+ * and error, and the best values differ by database, link latency and table width.
+ *
+ * <p>{@link #adaptive(int, int, int, int)} tunes them while each table fills, within the given
+ * bounds, starting from the configured values:
+ * <ul>
+ *   <li><b>Batch size</b> — additive increase, multiplicative decrease on the rows per second each
+ *       batch achieves, generation included: the size grows by one step (a sixteenth of the range)
+ *       after every batch, and halves towards the minimum when a batch runs markedly below the recent
+ *       average.</li>
+ *   <li><b>Commit cadence</b> — kept so that commits take between 1% and 5% of the fill time: the
+ *       batches per commit double while commits cost more, and drop by one while they cost less,
+ *       keeping transactions as short as the commit overhead allows. Only under
+ *       {@link CommitStrategy#everyNBatches(int)}; the other strategies keep their commit points.</li>
+ * </ul>
+ *
+ * <p>When a table has filled, the values it settled on are logged, so they can be frozen into the
+ * static configuration. The data is unchanged: batching never affects which rows are generated.
+ *
+ * @param mode             the sizing mode
+ * @param minBatchSize     the smallest batch for {@link Mode#ADAPTIVE} (ignored otherwise)
+ * @param maxBatchSize     the largest batch for {@link Mode#ADAPTIVE} (ignored otherwise)
+ * @param minCommitBatches the fewest batches per commit for {@link Mode#ADAPTIVE} (ignored otherwise)
+ * @param maxCommitBatches the most batches per commit for {@link Mode#ADAPTIVE} (ignored otherwise)
+ * @since 2.20.0
+ * @see DatabaseConfiguration
+ */
+public record BatchSizing(Mode mode, int minBatchSize, int maxBatchSize, int minCommitBatches, int maxCommitBatches) {
+
+    /** The commit-cadence bounds {@link #adaptive(int, int)} uses. */
+    private static final int DEFAULT_MIN_COMMIT_BATCHES = 1;
+    private static final int DEFAULT_MAX_COMMIT_BATCHES = 256;
+
+    /** The available sizing modes. */
+    public enum Mode {
+        /** The configured batch size and commit cadence (the default). */
+        FIXED,
+        /** Batch size and commit cadence tuned at run time within bounds. */
+        ADAPTIVE
+    }
+
+    /**
+     * Validates the mode and, for {@link Mode#ADAPTIVE}, the bounds.
+     *
+     * @throws IllegalArgumentException if {@code mode} is null, or for {@link Mode#ADAPTIVE} a minimum is
+     *                                  less than {@code 1} or greater than its maximum
+     */
+    public BatchSizing {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode must not be null");
+        }
+        if (mode == Mode.ADAPTIVE) {
+            if (minBatchSize < 1 || maxBatchSize < minBatchSize) {
+                throw new IllegalArgumentException("invalid batch size bounds [" + minBatchSize + ", " + maxBatchSize + "]");
+            }
+            if (minCommitBatches < 1 || maxCommitBatches < minCommitBatches) {
+                throw new IllegalArgumentException("invalid commit batch bounds [" + minCommitBatches + ", " + maxCommitBatches + "]");
+            }
+        }
+    }
+
+    /**
+     * The default: the configured batch size and commit cadence, unchanged for the whole fill.
+     *
+     * @return a {@link Mode#FIXED} sizing
+     */
+    public static BatchSizing fixed() {
+        return new BatchSizing(Mode.FIXED, 0, 0, 0, 0);
+    }
+
+    /**
+     * Batch size and commit cadence tuned while each table fills.
+     *
+     * @param minBatchSize     the smallest batch; must be {@code >= 1}
+     * @param maxBatchSize     the largest batch; must be {@code >= minBatchSize}
+     * @param minCommitBatches the fewest batches per commit; must be {@code >= 1}
+     * @param maxCommitBatches the most batches per commit; must be {@code >= minCommitBatches}
+     * @return an {@link Mode#ADAPTIVE} sizing
+     */
+    public static BatchSizing adaptive(int minBatchSize, int maxBatchSize, int minCommitBatches, int maxCommitBatches) {
+        return new BatchSizing(Mode.ADAPTIVE, minBatchSize, maxBatchSize, minCommitBatches, maxCommitBatches);
+    }
+
+    /**
+     * Batch size tuned within the given bounds, and between 1 and 256 batches per commit.
+     *
+     * @param minBatchSize the smallest batch; must be {@code >= 1}
+     * @param maxBatchSize the largest batch; must be {@code >= minBatchSize}
+     * @return an {@link Mode#ADAPTIVE} sizing
+     */
+    public static BatchSizing adaptive(int minBatchSize, int maxBatchSize) {
+        return adaptive(minBatchSize, maxBatchSize, DEFAULT_MIN_COMMIT_BATCHES, DEFAULT_MAX_COMMIT_BATCHES);
+    }
+
+    /**
+     * Whether batch size and commit cadence are tuned at run time.
+     *
+     * @return whether this is {@link Mode#ADAPTIVE}
+     */
+    public boolean isAdaptive() {
+        return mode == Mode.ADAPTIVE;
+    }
+}
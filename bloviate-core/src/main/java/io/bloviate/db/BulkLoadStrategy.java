@@ -22,9 +22,8 @@ import io.bloviate.ext.DatabaseSupport;
  * How {@link DatabaseFiller} orders table fills relative to foreign-key dependencies.
  *
  * <p>By default ({@link #ordered()}) the fill engine respects the foreign-key dependency graph:
- * a child table is never filled before its parent. On the parallel path this means filling one
- * topological <em>level</em> at a time with a barrier between levels, which serializes deep, narrow
- * dependency chains (e.g. TPC-C's {@code warehouse → district → customer → open_order → order_line}).
+ * a child table is never filled before its parent. On the parallel path a table starts only once
+ * every table it references has committed, which serializes deep, narrow dependency chains (e.g. TPC-C's {@code warehouse → district → customer → open_order → order_line}).
  *
  * <p>{@link #unorderedBulk()} trades that ordering for speed on chained schemas. Bloviate's generated
  * data is referentially consistent <em>by construction</em> — a foreign-key column's generator is
@@ -37,11 +36,14 @@ import io.bloviate.ext.DatabaseSupport;
  * differ, and columns whose generator is non-deterministic (e.g. wall-clock temporal values, or a
  * custom plugin that reads external state) are reproducible only to the extent that generator is.
  *
- * <p>Bulk mode only takes effect on the parallel path (a {@link javax.sql.DataSource} with
- * {@link DatabaseFiller.Builder#threads(int)} {@code > 1}) and only when the active
- * {@link DatabaseSupport} reports {@link DatabaseSupport#supportsBulkLoad()}. Otherwise the engine
- * logs a warning and uses the ordered path. PostgreSQL and MySQL support it; CockroachDB does not and
- * falls back.
+ * <p>Bulk mode only takes effect when the active {@link DatabaseSupport} reports
+ * {@link DatabaseSupport#supportsBulkLoad()}; otherwise the engine logs a warning and uses the ordered
+ * path. On the parallel path (a {@link javax.sql.DataSource} with
+ * {@link DatabaseFiller.Builder#threads(int)} {@code > 1}) every table fills at once as described
+ * above. On the sequential path there is only one connection, so tables still fill in dependency
+ * order, but that connection runs in bulk-load mode for the whole fill. PostgreSQL, MySQL, H2 and
+ * SQLite support it (SQLite with {@code PRAGMA}s that also drop journaling and {@code fsync}s, see
+ * {@link io.bloviate.ext.SQLiteSupport}); CockroachDB does not and falls back.
  *
  * @param mode       the ordering mode
  * @param revalidate whether {@link DatabaseSupport#enableConstraints} should re-validate existing rows
@@ -55,7 +57,7 @@ public record BulkLoadStrategy(Mode mode, boolean revalidate) {
 
     /** The available ordering modes. */
     public enum Mode {
-        /** Respect the topological level barrier; never disable constraints (the default). */
+        /** Fill each table only after the tables it references; never disable constraints (the default). */
         ORDERED,
         /** Disable foreign-key enforcement, fill all tables at once with no barrier, then re-enable. */
         UNORDERED_BULK
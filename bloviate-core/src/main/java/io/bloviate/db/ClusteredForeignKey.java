@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.gen.DataGenerator;
+import io.bloviate.gen.KeyDimension;
+import io.bloviate.gen.KeyDimensionGenerator;
+import io.bloviate.util.RandomGenerators;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * A foreign key whose child rows reference their parent rows in order, so the parent rows a range of
+ * child rows needs can be computed from the child row indexes alone. This is what lets the parallel
+ * fill start a child's row range as soon as those parent rows are committed (see
+ * {@link DatabaseFiller.Builder#rangePipelining(boolean)}).
+ *
+ * <p>{@link #resolve} only accepts a foreign key it can prove clustered from the configured generators:
+ * <ul>
+ *   <li>the parent's key columns are {@link KeyDimensionGenerator}s forming a dense, row-major key that
+ *       enumerates exactly the parent's row count, so parent row {@code q} holds key tuple {@code q};</li>
+ *   <li>each child column repeats its parent column's dimension — same {@code start} and {@code cycle},
+ *       with {@code repeat} scaled by one common factor {@code k}, so child row {@code r} references
+ *       parent row {@code keyIndex(r) / k};</li>
+ *   <li>the last child row still references a parent row, so the child's values never wrap around.</li>
+ * </ul>
+ * Anything else — random or permuted foreign keys, or keys laid out differently from the parent — keeps
+ * the table-level dependency.
+ */
+final class ClusteredForeignKey {
+
+    private final Table parent;
+    private final KeyDimensionGenerator index;
+    private final long divisor;
+
+    private ClusteredForeignKey(Table parent, KeyDimensionGenerator index, long divisor) {
+        this.parent = parent;
+        this.index = index;
+        this.divisor = divisor;
+    }
+
+    /** The referenced table. */
+    Table parent() {
+        return parent;
+    }
+
+    /**
+     * The parent row a child row references. Nondecreasing in {@code childRow}, so the rows a child
+     * range {@code [start, end)} needs are {@code [parentRow(start), parentRow(end - 1)]}.
+     *
+     * @param childRow the absolute, 0-based child row index
+     * @return the absolute, 0-based parent row index
+     */
+    long parentRow(long childRow) {
+        return index.keyIndex(childRow) / divisor;
+    }
+
+    /**
+     * Proves {@code foreignKey} of {@code child} clustered, if it is.
+     *
+     * @param configuration the fill configuration, whose column overrides supply the key generators
+     * @param database      the database metadata
+     * @param child         the referencing table
+     * @param foreignKey    one of {@code child}'s foreign keys
+     * @param rowCount      the row count to fill for a table
+     * @return the clustered foreign key, or {@code null} when it cannot be shown to be clustered
+     */
+    static ClusteredForeignKey resolve(DatabaseConfiguration configuration, Database database, Table child,
+                                       ForeignKey foreignKey, ToLongFunction<Table> rowCount) {
+        Table parent = database.getTable(foreignKey.primaryKey().tableName());
+        TableConfiguration childConfiguration = configuration.tableConfiguration(child.name());
+        TableConfiguration parentConfiguration = parent == null ? null : configuration.tableConfiguration(parent.name());
+        if (childConfiguration == null || parentConfiguration == null) {
+            return null;
+        }
+
+        // pair each foreign-key column with the parent key column of the same sequence
+        List<Pair> pairs = new ArrayList<>();
+        for (KeyColumn foreignKeyColumn : foreignKey.foreignKeyColumns()) {
+            KeyColumn parentColumn = foreignKey.primaryKey().keyColumns().stream()
+                    .filter(keyColumn -> keyColumn.sequence() == foreignKeyColumn.sequence())
+                    .findFirst().orElse(null);
+            KeyDimensionGenerator childGenerator = keyGenerator(childConfiguration, foreignKeyColumn.column());
+            KeyDimensionGenerator parentGenerator = parentColumn == null ? null : keyGenerator(parentConfiguration, parentColumn.column());
+            if (childGenerator == null || parentGenerator == null
+                    || childGenerator.dimension() == null || parentGenerator.dimension() == null) {
+                return null;
+            }
+            pairs.add(new Pair(childGenerator, childGenerator.dimension(), parentGenerator.dimension()));
+        }
+        // the child columns must all derive their key tuple the same way
+        if (pairs.isEmpty() || pairs.stream().map(pair -> pair.generator().getClass()).distinct().count() > 1) {
+            return null;
+        }
+
+        // the parent's key must enumerate its rows in order: dimensions chained from repeat 1 outwards
+        pairs.sort(Comparator.comparingLong(pair -> pair.parent().repeat()));
+        long parentRows = rowCount.applyAsLong(parent);
+        long expectedRepeat = 1;
+        for (Pair pair : pairs) {
+            if (pair.parent().repeat() != expectedRepeat) {
+                return null;
+            }
+            expectedRepeat = pair.parent().repeat() * pair.parent().cycle();
+        }
+        if (expectedRepeat != parentRows) {
+            return null;
+        }
+
+        // the child must repeat every parent dimension, spread over k child key tuples per parent row
+        long k = pairs.getFirst().child().repeat();
+        for (Pair pair : pairs) {
+            if (pair.child().start() != pair.parent().start()
+                    || pair.child().cycle() != pair.parent().cycle()
+                    || pair.child().repeat() != pair.parent().repeat() * k) {
+                return null;
+            }
+        }
+
+        // and never wrap past the parent's last row
+        KeyDimensionGenerator index = pairs.getFirst().generator();
+        long childRows = rowCount.applyAsLong(child);
+        if (childRows > 0 && index.keyIndex(childRows - 1) / k >= parentRows) {
+            return null;
+        }
+        return new ClusteredForeignKey(parent, index, k);
+    }
+
+    /**
+     * The column's configured generator when it emits a composite-key dimension. Its layout does not
+     * depend on the random source, so any seed will do.
+     */
+    private static KeyDimensionGenerator keyGenerator(TableConfiguration tableConfiguration, Column column) {
+        ColumnConfiguration columnConfiguration = tableConfiguration.columnConfiguration(column.name());
+        if (columnConfiguration == null) {
+            return null;
+        }
+        DataGenerator<?> generator = columnConfiguration.generatorFactory().create(RandomGenerators.create(0));
+        return generator instanceof KeyDimensionGenerator keyGenerator ? keyGenerator : null;
+    }
+
+    private record Pair(KeyDimensionGenerator generator, KeyDimension child, KeyDimension parent) {
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-flight task limit of a parallel fill under {@linkplain DatabaseFiller.Builder#adaptiveConcurrency(boolean)
+ * adaptive concurrency}, adjusted TCP-Vegas style from the rows every worker together writes in fixed
+ * windows of time.
+ *
+ * <p>Each window yields the fill's latency in task time per row: the time tasks spent in flight over
+ * the window — two tasks for a second count two seconds — divided by the rows written in it. Tables
+ * are not told apart; the window spans every task running. Vegas compares that latency with the
+ * no-load latency — the best window seen — and estimates how many tasks are queued inside the database
+ * rather than making progress: {@code queued = limit × (1 − noLoad / latency)}, that is, how many
+ * tasks' worth of rows per second the limit fails to deliver. While fewer than
+ * {@code α = 3·log10(limit)} are queued the added tasks still add throughput and the limit grows by
+ * one; once more than {@code β = 6·log10(limit)} are, throughput has stopped keeping up or fallen (lock
+ * contention, WAL pressure, pool waits) and the limit shrinks by one; in between it holds. Both
+ * thresholds are at least 3 and 6.
+ *
+ * <p>The first window only sets the no-load latency, and a window in which fewer tasks than the limit
+ * ran — not enough were ready — never grows it, since neither shows what one more task would add. A
+ * window closes only once rows have been written in it, so a database that stalls every task shows as
+ * one long, slow window.
+ *
+ * <p>Not thread-safe: only the coordinating thread samples and reads it.
+ */
+final class ConcurrencyLimiter {
+
+    /** The limit a fill starts from, when its maximum allows. */
+    static final int INITIAL_LIMIT = 2;
+
+    /** How long a window lasts, at least. */
+    static final long WINDOW_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final int maxLimit;
+
+    private int limit;
+    private int peak;
+
+    // the best window's task time per row; NaN until the first window closes
+    private double noLoadNanosPerRow = Double.NaN;
+
+    // the open window: when it started, the rows written before it, the task time spent in it so far,
+    // and the tasks in flight since the last change
+    private long windowStart;
+    private long windowStartRows;
+    private double taskNanos;
+    private long changedAt;
+    private int running;
+
+    /**
+     * Creates a limiter starting at {@value #INITIAL_LIMIT} tasks, or {@code maxLimit} if lower, with
+     * its first window opening at {@code now}.
+     *
+     * @param maxLimit the most tasks ever in flight; at least {@code 1}
+     * @param now      the current {@link System#nanoTime()}
+     */
+    ConcurrencyLimiter(int maxLimit, long now) {
+        if (maxLimit < 1) {
+            throw new IllegalArgumentException("maxLimit must be >= 1: " + maxLimit);
+        }
+        this.maxLimit = maxLimit;
+        this.limit = Math.min(INITIAL_LIMIT, maxLimit);
+        this.peak = limit;
+        this.windowStart = now;
+        this.changedAt = now;
+    }
+
+    /** The tasks that may be in flight now. */
+    int limit() {
+        return limit;
+    }
+
+    /** The highest limit reached. */
+    int peak() {
+        return peak;
+    }
+
+    /**
+     * Records that {@code tasks} tasks are in flight from {@code now} on.
+     *
+     * @param tasks the tasks in flight
+     * @param now   the current {@link System#nanoTime()}
+     */
+    void running(int tasks, long now) {
+        taskNanos += (double) running * (now - changedAt);
+        changedAt = now;
+        running = tasks;
+    }
+
+    /**
+     * How long until the open window may close, from {@code now}; {@code 0} once it may.
+     *
+     * @param now the current {@link System#nanoTime()}
+     */
+    long nanosToSample(long now) {
+        return Math.max(0, windowStart + WINDOW_NANOS - now);
+    }
+
+    /**
+     * Closes the open window if it has lasted {@link #WINDOW_NANOS} and rows were written in it, and
+     * adjusts the limit from it.
+     *
+     * @param rows the rows written by every task since the fill started
+     * @param now  the current {@link System#nanoTime()}
+     * @return whether a window closed
+     */
+    boolean sample(long rows, long now) {
+        long written = rows - windowStartRows;
+        if (nanosToSample(now) > 0 || written <= 0) {
+            return false;
+        }
+        running(running, now);
+        double windowNanos = now - windowStart;
+        double latency = taskNanos / written;
+        boolean atLimit = taskNanos >= (limit - 0.5) * windowNanos;
+        windowStart = now;
+        windowStartRows = rows;
+        taskNanos = 0;
+        if (!(latency > 0)) {
+            return true;
+        }
+        if (Double.isNaN(noLoadNanosPerRow)) {
+            noLoadNanosPerRow = latency;
+            return true;
+        }
+        noLoadNanosPerRow = Math.min(noLoadNanosPerRow, latency);
+        double queued = limit * (1 - noLoadNanosPerRow / latency);
+        double log = Math.max(1, Math.log10(limit));
+        if (queued >= 6 * log) {
+            limit = Math.max(1, limit - 1);
+        } else if (queued <= 3 * log && atLimit) {
+            limit = Math.min(maxLimit, limit + 1);
+            peak = Math.max(peak, limit);
+        }
+        return true;
+    }
+}
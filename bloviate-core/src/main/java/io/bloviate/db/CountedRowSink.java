@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.RowSink;
+
+import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link RowSink} that counts the rows written to another, into a count the parallel fill's
+ * {@link ConcurrencyLimiter} reads across every worker.
+ */
+final class CountedRowSink implements RowSink {
+
+    private final RowSink sink;
+    private final LongAdder writtenRows;
+
+    CountedRowSink(RowSink sink, LongAdder writtenRows) {
+        this.sink = sink;
+        this.writtenRows = writtenRows;
+    }
+
+    @Override
+    public void write(Object[] row) throws SQLException {
+        sink.write(row);
+        writtenRows.increment();
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        sink.flush();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        sink.close();
+    }
+}
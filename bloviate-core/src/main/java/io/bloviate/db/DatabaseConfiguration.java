@@ -57,6 +57,11 @@ import java.util.Set;
  *        {@link CommitStrategy#connectionDefault()} (autocommit untouched) when null
  * @param bulkLoadStrategy how the engine orders fills relative to foreign-key dependencies; defaults to
  *        {@link BulkLoadStrategy#ordered()} (dependency-ordered) when null
+ * @param ingestStrategy how the engine moves generated rows into the database; defaults to
+ *        {@link IngestStrategy#batchInsert()} (batched {@code INSERT}s) when null
+ * @param batchSizing whether the batch size and commit cadence are fixed or tuned at run time; defaults
+ *        to {@link BatchSizing#fixed()} when null
+ * @param retryPolicy whether transient failures are retried; defaults to {@link RetryPolicy#none()} when null
  *
  * @author Tim Veil
  * @see DatabaseSupport
@@ -64,14 +69,19 @@ import java.util.Set;
  * @see GeneratorRegistry
  * @see CommitStrategy
  * @see BulkLoadStrategy
+ * @see IngestStrategy
+ * @see BatchSizing
+ * @see RetryPolicy
  * @see DatabaseFiller
  */
-public record DatabaseConfiguration(int batchSize, long defaultRowCount, DatabaseSupport databaseSupport, Set<TableConfiguration> tableConfigurations, GeneratorRegistry generatorRegistry, long seed, CommitStrategy commitStrategy, BulkLoadStrategy bulkLoadStrategy) {
+public record DatabaseConfiguration(int batchSize, long defaultRowCount, DatabaseSupport databaseSupport, Set<TableConfiguration> tableConfigurations, GeneratorRegistry generatorRegistry, long seed, CommitStrategy commitStrategy, BulkLoadStrategy bulkLoadStrategy, IngestStrategy ingestStrategy, BatchSizing batchSizing, RetryPolicy retryPolicy) {
 
     /**
-     * Normalizes a null {@code commitStrategy} to {@link CommitStrategy#connectionDefault()} and a null
-     * {@code bulkLoadStrategy} to {@link BulkLoadStrategy#ordered()} so the back-compatible behavior
-     * applies whenever a caller does not specify them.
+     * Normalizes a null {@code commitStrategy} to {@link CommitStrategy#connectionDefault()}, a null
+     * {@code bulkLoadStrategy} to {@link BulkLoadStrategy#ordered()}, a null {@code ingestStrategy}
+     * to {@link IngestStrategy#batchInsert()}, a null {@code batchSizing} to {@link BatchSizing#fixed()}
+     * and a null {@code retryPolicy} to {@link RetryPolicy#none()} so the back-compatible behavior applies
+     * whenever a caller does not specify them.
      */
     public DatabaseConfiguration {
         if (batchSize < 1) {
@@ -83,6 +93,15 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
         if (bulkLoadStrategy == null) {
             bulkLoadStrategy = BulkLoadStrategy.ordered();
         }
+        if (ingestStrategy == null) {
+            ingestStrategy = IngestStrategy.batchInsert();
+        }
+        if (batchSizing == null) {
+            batchSizing = BatchSizing.fixed();
+        }
+        if (retryPolicy == null) {
+            retryPolicy = RetryPolicy.none();
+        }
         // copy so the configuration is deeply immutable; it is shared across worker threads
         tableConfigurations = tableConfigurations == null ? null : Set.copyOf(tableConfigurations);
     }
@@ -97,7 +116,7 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
      * @param tableConfigurations optional per-table configuration overrides
      */
     public DatabaseConfiguration(int batchSize, long defaultRowCount, DatabaseSupport databaseSupport, Set<TableConfiguration> tableConfigurations) {
-        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, null, 0L, null, null);
+        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, null, 0L, null, null, null, null, null);
     }
 
     /**
@@ -111,7 +130,7 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
      * @param generatorRegistry optional registry of custom generator rules; may be null
      */
     public DatabaseConfiguration(int batchSize, long defaultRowCount, DatabaseSupport databaseSupport, Set<TableConfiguration> tableConfigurations, GeneratorRegistry generatorRegistry) {
-        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, generatorRegistry, 0L, null, null);
+        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, generatorRegistry, 0L, null, null, null, null, null);
     }
 
     /**
@@ -125,7 +144,7 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
      * @param seed the base seed for reproducible generation
      */
     public DatabaseConfiguration(int batchSize, long defaultRowCount, DatabaseSupport databaseSupport, Set<TableConfiguration> tableConfigurations, long seed) {
-        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, null, seed, null, null);
+        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, null, seed, null, null, null, null, null);
     }
 
     /**
@@ -140,7 +159,7 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
      * @param commitStrategy how the engine commits inserted rows; may be null for the default
      */
     public DatabaseConfiguration(int batchSize, long defaultRowCount, DatabaseSupport databaseSupport, Set<TableConfiguration> tableConfigurations, long seed, CommitStrategy commitStrategy) {
-        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, null, seed, commitStrategy, null);
+        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, null, seed, commitStrategy, null, null, null, null);
     }
 
     /**
@@ -156,7 +175,7 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
      * @param bulkLoadStrategy how the engine orders fills; may be null for the default
      */
     public DatabaseConfiguration(int batchSize, long defaultRowCount, DatabaseSupport databaseSupport, Set<TableConfiguration> tableConfigurations, long seed, CommitStrategy commitStrategy, BulkLoadStrategy bulkLoadStrategy) {
-        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, null, seed, commitStrategy, bulkLoadStrategy);
+        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, null, seed, commitStrategy, bulkLoadStrategy, null, null, null);
     }
 
     /**
@@ -171,7 +190,7 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
      * @param seed the base seed for reproducible generation
      */
     public DatabaseConfiguration(int batchSize, long defaultRowCount, DatabaseSupport databaseSupport, Set<TableConfiguration> tableConfigurations, GeneratorRegistry generatorRegistry, long seed) {
-        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, generatorRegistry, seed, null, null);
+        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, generatorRegistry, seed, null, null, null, null, null);
     }
 
     /**
@@ -188,7 +207,25 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
      * @param commitStrategy how the engine commits inserted rows; may be null for the default
      */
     public DatabaseConfiguration(int batchSize, long defaultRowCount, DatabaseSupport databaseSupport, Set<TableConfiguration> tableConfigurations, GeneratorRegistry generatorRegistry, long seed, CommitStrategy commitStrategy) {
-        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, generatorRegistry, seed, commitStrategy, null);
+        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, generatorRegistry, seed, commitStrategy, null, null, null, null);
+    }
+
+    /**
+     * Creates a configuration with a custom {@link GeneratorRegistry}, base {@code seed},
+     * {@link CommitStrategy} and {@link BulkLoadStrategy}, and the default {@link IngestStrategy}
+     * (preserves the original eight-argument signature).
+     *
+     * @param batchSize the number of rows to include in each batch INSERT operation
+     * @param defaultRowCount the default number of rows to generate for each table
+     * @param databaseSupport the database-specific support implementation
+     * @param tableConfigurations optional per-table configuration overrides
+     * @param generatorRegistry optional registry of custom generator rules; may be null
+     * @param seed the base seed for reproducible generation
+     * @param commitStrategy how the engine commits inserted rows; may be null for the default
+     * @param bulkLoadStrategy how the engine orders fills; may be null for the default
+     */
+    public DatabaseConfiguration(int batchSize, long defaultRowCount, DatabaseSupport databaseSupport, Set<TableConfiguration> tableConfigurations, GeneratorRegistry generatorRegistry, long seed, CommitStrategy commitStrategy, BulkLoadStrategy bulkLoadStrategy) {
+        this(batchSize, defaultRowCount, databaseSupport, tableConfigurations, generatorRegistry, seed, commitStrategy, bulkLoadStrategy, null, null, null);
     }
 
     /**
@@ -214,6 +251,9 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
         private long seed;
         private CommitStrategy commitStrategy;
         private BulkLoadStrategy bulkLoadStrategy;
+        private IngestStrategy ingestStrategy;
+        private BatchSizing batchSizing;
+        private RetryPolicy retryPolicy;
 
         /**
          * Creates a builder with the required settings.
@@ -285,6 +325,44 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
             return this;
         }
 
+        /**
+         * Sets how the engine moves generated rows into the database. Defaults to
+         * {@link IngestStrategy#batchInsert()} when unset.
+         *
+         * @param ingestStrategy the ingest strategy; may be null for the default
+         * @return this builder, for chaining
+         */
+        public Builder ingestStrategy(IngestStrategy ingestStrategy) {
+            this.ingestStrategy = ingestStrategy;
+            return this;
+        }
+
+        /**
+         * Sets whether the batch size and commit cadence are fixed or tuned at run time. Defaults to
+         * {@link BatchSizing#fixed()} when unset.
+         *
+         * @param batchSizing the batch sizing; may be null for the default
+         * @return this builder, for chaining
+         * @since 2.20.0
+         */
+        public Builder batchSizing(BatchSizing batchSizing) {
+            this.batchSizing = batchSizing;
+            return this;
+        }
+
+        /**
+         * Sets whether transient failures, such as serialization failures, are retried. Defaults to
+         * {@link RetryPolicy#none()} when unset.
+         *
+         * @param retryPolicy the retry policy; may be null for the default
+         * @return this builder, for chaining
+         * @since 2.20.0
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
         /**
          * Builds the configuration.
          *
@@ -293,7 +371,7 @@ public record DatabaseConfiguration(int batchSize, long defaultRowCount, Databas
          */
         public DatabaseConfiguration build() {
             return new DatabaseConfiguration(batchSize, defaultRowCount, databaseSupport,
-                    tableConfigurations, generatorRegistry, seed, commitStrategy, bulkLoadStrategy);
+                    tableConfigurations, generatorRegistry, seed, commitStrategy, bulkLoadStrategy, ingestStrategy, batchSizing, retryPolicy);
         }
     }
 
@@ -38,23 +38,45 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Queue;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 /**
  * Main entry point for filling database tables with generated data.
@@ -106,6 +128,13 @@ public class DatabaseFiller implements Fillable {
      */
     private static final int MAX_GRAPH_LINK_CHARS = 8_000;
 
+    /**
+     * Under {@linkplain Builder#workStealing(boolean) work stealing}, the least work (in milliseconds
+     * at the victim's measured rate) worth splitting off for an idle worker; below this the hand-off
+     * and the extra transaction cost more than the idle worker would save.
+     */
+    private static final long MIN_STEAL_MILLIS = 250;
+
     /** A caller-managed connection for the sequential path; null when filling from a {@link DataSource}. */
     private final Connection connection;
 
@@ -118,9 +147,99 @@ public class DatabaseFiller implements Fillable {
     // each fill() so a reused filler re-reads the catalog
     private final ConcurrentHashMap<String, Map<String, ColumnConstraint>> constraintCache = new ConcurrentHashMap<>();
 
+    // per-fill ingest plans under IngestStrategy.auto(), keyed by table name; computed before any
+    // worker starts and cleared at the start of each fill()
+    private final ConcurrentHashMap<String, IngestPlanner.Plan> plans = new ConcurrentHashMap<>();
+
+    // per-fill values adaptive batching settled on in a parallel fill, keyed by table name: for a
+    // partitioned table, those of the partition that filled the most rows; cleared at the start of each fill()
+    private final ConcurrentHashMap<String, BatchController.Settled> settledBatching = new ConcurrentHashMap<>();
+
+    // per-fill first row to fill of each appended table (see TableConfiguration#startRow), keyed by table
+    // name, for tables that start past row 0; resolved (counting rows where detected) at the start of each fill()
+    private final ConcurrentHashMap<String, Long> startRows = new ConcurrentHashMap<>();
+
     /** Worker threads for parallel table fill; {@code 1} (the default) keeps the fill sequential. */
     private final int threads;
 
+    /** Row-generating producer threads per table fill; {@code 0} (the default) generates on the filling thread. */
+    private final int pipelineProducers;
+
+    /** Whether idle workers split the unfilled tail of a busy table's range (parallel path only). */
+    private final boolean workStealing;
+
+    /** Whether a child's row ranges start once the parent rows they reference commit (ordered parallel path only). */
+    private final boolean rangePipelining;
+
+    /**
+     * Under {@linkplain Builder#virtualThreads(boolean) virtual threads}, the budget of pooled connections
+     * held at once ({@code threads} permits, granted in request order); null on platform worker threads,
+     * where the pool size is the bound.
+     */
+    private final Semaphore connectionPermits;
+
+    /** Whether each worker keeps one connection, and its prepared statements, for the whole parallel fill. */
+    private final boolean connectionAffinity;
+
+    /** Whether the parallel fill's in-flight task limit follows a {@link ConcurrencyLimiter} rather than the pool size. */
+    private final boolean adaptiveConcurrency;
+
+    /** Tables of at most this many rows are filled together, up to this many rows per task (parallel path only); 0 disables. */
+    private final long coalesceRows;
+
+    /** The plan this process fills a share of, as worker {@link #workerIndex} of {@link #workerCount}; null for an ordinary fill. */
+    private final FillPlan fillPlan;
+    private final int workerIndex;
+    private final int workerCount;
+
+    /** The barrier between the levels of {@link #fillPlan}; null for an ordinary fill. */
+    private final FillBarrier barrier;
+
+    /** The name the fill's progress is checkpointed under; null for an unrecorded fill. */
+    private final String checkpointName;
+
+    /** Whether every table without a configured start row is appended to from its current row count. */
+    private final boolean append;
+
+    // per-fill checkpoint under checkpoint(name), opened at the start of each fill(); null otherwise
+    private volatile FillCheckpoint checkpoint;
+
+    /** The most rows the fill may skip when the database rejects them; {@code 0} fails on the first. */
+    private final long maxRejectedRows;
+
+    // per-fill rejected rows under tolerateFailedRows(n), created at the start of each fill(); null otherwise
+    private volatile RejectedRows rejectedRows;
+
+    /** The tables streamed into, by name, and the rate of each; empty for an ordinary fill. */
+    private final Map<String, IngestRate> streams;
+
+    /** How long a streaming fill runs; null to run until {@link #stop()}. */
+    private final Duration streamDuration;
+
+    /** How often each stream commits the rows it has written. */
+    private final Duration streamCommitInterval;
+
+    /** Whether streamed rows take the wall-clock time in their timestamp columns. */
+    private final boolean streamWallClockTimestamps;
+
+    /** The most rows per second the whole fill writes, across every worker; {@code 0} for no cap. */
+    private final double maxRowsPerSecond;
+
+    // per-fill pacer shared by every table fill under maxRowsPerSecond(n); null otherwise
+    private volatile RowPacer throughputPacer;
+
+    // rows written by every worker of a parallel fill under adaptive concurrency, which its limiter
+    // samples; null otherwise
+    private volatile LongAdder writtenRows;
+
+    // set by stop() to end the streaming fill in progress
+    private volatile boolean stopRequested;
+
+    // per-fill worker connections under connection affinity: every one opened, and those whose worker
+    // is between tasks (most recently used first); closed and cleared when a parallel fill ends
+    private final Queue<WorkerConnection> workerConnections = new ConcurrentLinkedQueue<>();
+    private final Deque<WorkerConnection> idleWorkerConnections = new ConcurrentLinkedDeque<>();
+
     /**
      * Fills all tables in the database with generated data.
      * 
@@ -134,6 +253,9 @@ public class DatabaseFiller implements Fillable {
      * 
      * <p>Progress and timing information is logged throughout the process.
      * A visualization link for the dependency graph is also provided in the logs.
+     *
+     * <p>Under {@link Builder#stream(String, IngestRate)} this streams rows into the streamed tables
+     * instead, returning once the streams end.
      * 
      * @throws SQLException if any database operation fails during the filling process
      */
@@ -143,17 +265,53 @@ public class DatabaseFiller implements Fillable {
         // constraint metadata is per-fill state: a table's constraints are read once and shared
         // across its partitions/workers instead of once per partition
         constraintCache.clear();
+        plans.clear();
+        settledBatching.clear();
+        startRows.clear();
 
         StopWatch metadataWatch = new StopWatch("fetched database metadata in");
         metadataWatch.start();
-        // a Connection was supplied for the sequential path; otherwise borrow one from the pool
-        Database database = connection != null
-                ? DatabaseUtils.getMetadata(connection)
-                : DatabaseUtils.getMetadata(dataSource);
+        Database database = readMetadata();
         metadataWatch.stop();
 
         logger.debug("{}", metadataWatch);
 
+        stopRequested = false;
+        throughputPacer = maxRowsPerSecond > 0 ? new RowPacer(IngestRate.constant(maxRowsPerSecond)) : null;
+
+        // a stream counts its own table when it starts
+        if (fillPlan == null && streams.isEmpty()) {
+            if (connection != null) {
+                resolveStartRows(connection, database);
+            } else {
+                try (Connection conn = dataSource.getConnection()) {
+                    resolveStartRows(conn, database);
+                }
+            }
+        }
+
+        rejectedRows = null;
+        if (maxRejectedRows > 0) {
+            if (connection != null) {
+                rejectedRows = tolerateFailedRows(connection);
+            } else {
+                try (Connection conn = dataSource.getConnection()) {
+                    rejectedRows = tolerateFailedRows(conn);
+                }
+            }
+        }
+
+        checkpoint = null;
+        if (checkpointName != null && streams.isEmpty()) {
+            if (connection != null) {
+                checkpoint = FillCheckpoint.open(connection, checkpointName);
+            } else {
+                try (Connection conn = dataSource.getConnection()) {
+                    checkpoint = FillCheckpoint.open(conn, checkpointName);
+                }
+            }
+        }
+
         StopWatch databaseWatch = new StopWatch(String.format("filled database [%s] in", database.catalog()));
         databaseWatch.start();
 
@@ -161,29 +319,59 @@ public class DatabaseFiller implements Fillable {
 
         visualizeGraph(reversedGraph, database.catalog());
 
-        // recommend the driver batch-rewrite URL parameter once per fill if it is missing
-        if (connection != null) {
+        if (configuration.ingestStrategy().isAuto()) {
+            // a plan worker takes its partitions from the plan, and fills on one connection
+            planTables(database, fillPlan == null && connection == null && threads > 1 ? threads : 1);
+        }
+
+        // recommend the driver batch-rewrite URL parameter once per fill if it is missing; moot when
+        // rows are streamed through native ingest or already packed into multi-row or array-unnest INSERTs
+        if (usesNativeIngest()) {
+            logger.info("filling with native ingest through {}", configuration.databaseSupport().getClass().getSimpleName());
+        } else if (usesArrayUnnest()) {
+            logger.info("filling with array-unnest INSERTs of up to {} rows per statement", configuration.batchSize());
+        } else if (configuration.ingestStrategy().isMultiRow()) {
+            logger.info("filling with multi-row INSERTs of up to {} rows / {} bind parameters per statement",
+                    configuration.batchSize(), configuration.databaseSupport().maxBindParameters());
+        } else if (connection != null) {
             warnIfBatchRewriteMissing(connection);
         } else {
             try (Connection conn = dataSource.getConnection()) {
                 warnIfBatchRewriteMissing(conn);
             }
         }
-
-        if (connection != null) {
-            // back-compat path: fill sequentially on the caller's single connection (unchanged)
+        warnIfNativeIngestUnsupported();
+        warnIfArrayUnnestUnsupported();
+
+        if (!streams.isEmpty()) {
+            // keep appending to the streamed tables, at their rates, until stopped
+            streamTables(database);
+        } else if (fillPlan != null) {
+            // one process of a distributed fill: fill this worker's share of the plan on one connection
+            if (connection != null) {
+                fillPlanShare(connection, database, false);
+            } else {
+                try (Connection conn = dataSource.getConnection()) {
+                    fillPlanShare(conn, database, true);
+                }
+            }
+        } else if (connection != null) {
+            // back-compat path: fill sequentially on the caller's single connection
             warnIfPartitionsIgnored();
-            warnIfBulkIgnored();
-            fillSequential(connection, database, reversedGraph);
+            fillSequential(connection, database, reversedGraph, false);
         } else if (threads > 1) {
-            // parallel path: either the ordered level-by-level walk, or the unordered bulk path that
+            // parallel path: either the ordered dependency-driven walk, or the unordered bulk path that
             // disables constraints and fills every table at once (when configured and supported)
+            if (workStealing) {
+                logger.info("work stealing: each table fills as one row range split on demand by idle workers; "
+                        + "configured and planned partitions are not used");
+            }
             BulkLoadStrategy bulkLoadStrategy = configuration.bulkLoadStrategy();
             if (bulkLoadStrategy.isUnordered() && configuration.databaseSupport().supportsBulkLoad()) {
                 fillUnordered(database, reversedGraph);
             } else {
                 if (bulkLoadStrategy.isUnordered()) {
-                    logger.warn("UNORDERED_BULK requested but {} does not support bulk load; using the ordered level-parallel path",
+                    logger.warn("UNORDERED_BULK requested but {} does not support bulk load; using the ordered parallel path",
                             configuration.databaseSupport().getClass().getSimpleName());
                 }
                 fillParallel(database, reversedGraph);
@@ -191,44 +379,403 @@ public class DatabaseFiller implements Fillable {
         } else {
             // DataSource supplied but no parallelism requested: borrow one connection, fill in order
             warnIfPartitionsIgnored();
-            warnIfBulkIgnored();
             try (Connection conn = dataSource.getConnection()) {
-                fillSequential(conn, database, reversedGraph);
+                fillSequential(conn, database, reversedGraph, true);
             }
         }
 
+        if (rejectedRows != null) {
+            rejectedRows.report();
+        }
+
+        // a sequential fill logs each table as it fills; a parallel one reports once per table here
+        settledBatching.values().stream()
+                .sorted(Comparator.comparing(BatchController.Settled::table))
+                .forEach(settled -> logger.info("adaptive batching: {}", settled));
+
         databaseWatch.stop();
 
         logger.info("{}", databaseWatch);
 
     }
 
+    /**
+     * Ends the {@linkplain Builder#stream(String, IngestRate) streaming} fill in progress on another
+     * thread: each stream commits the rows it has written, within about a tenth of a second at its rate,
+     * and {@link #fill()} returns. Has no effect on an ordinary fill.
+     *
+     * @since 2.20.0
+     */
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Streams rows into every {@linkplain Builder#stream(String, IngestRate) streamed} table at its rate
+     * until the {@linkplain Builder#streamFor(Duration) duration} elapses or the fill is
+     * {@linkplain #stop() stopped}: on the caller's connection for a single stream, else one pooled
+     * connection and thread per stream. The first stream to fail stops the others and fails the fill.
+     */
+    private void streamTables(Database database) throws SQLException {
+        Map<Table, IngestRate> rates = new LinkedHashMap<>();
+        for (Map.Entry<String, IngestRate> stream : streams.entrySet()) {
+            Table table = database.tables().stream()
+                    .filter(candidate -> candidate.name().equalsIgnoreCase(stream.getKey()))
+                    .findFirst()
+                    .orElse(null);
+            if (table == null) {
+                logger.warn("stream for table [{}] is ignored: the database has no such table", stream.getKey());
+            } else {
+                rates.put(table, stream.getValue());
+            }
+        }
+
+        long deadline = streamDuration != null ? System.nanoTime() + streamDuration.toNanos() : 0;
+        AtomicBoolean failed = new AtomicBoolean();
+        BooleanSupplier stopped = () -> stopRequested || failed.get()
+                || (streamDuration != null && System.nanoTime() - deadline >= 0);
+
+        logger.info("streaming into {} table(s) {}", rates.size(), streamDuration != null ? "for " + streamDuration : "until stopped");
+
+        if (connection != null) {
+            for (Map.Entry<Table, IngestRate> stream : rates.entrySet()) {
+                streamTable(connection, database, stream.getKey(), stream.getValue(), stopped);
+            }
+            return;
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, rates.size()))) {
+            CompletionService<Table> completionService = new ExecutorCompletionService<>(executor);
+            for (Map.Entry<Table, IngestRate> stream : rates.entrySet()) {
+                completionService.submit(() -> {
+                    try (Connection conn = dataSource.getConnection()) {
+                        streamTable(conn, database, stream.getKey(), stream.getValue(), stopped);
+                    }
+                    return stream.getKey();
+                });
+            }
+            try {
+                for (int done = 0; done < rates.size(); done++) {
+                    awaitFuture(completionService.take());
+                }
+            } catch (InterruptedException e) {
+                failed.set(true);
+                Thread.currentThread().interrupt();
+                throw new SQLException("streaming was interrupted", e);
+            } catch (SQLException | RuntimeException e) {
+                // the other streams commit what they have and end before the executor closes
+                failed.set(true);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Streams rows into {@code table} from its current row count: one {@link TableFiller} over an
+     * open-ended row range, paced to {@code rate} (and to {@link #throughputPacer}, if any), committing on
+     * the {@linkplain Builder#streamCommitInterval(Duration) commit interval} until {@code stopped}. The
+     * generators start at the count exactly as an {@linkplain Builder#append(boolean) append} does, and
+     * continue from one commit to the next.
+     */
+    private void streamTable(Connection conn, Database database, Table table, IngestRate rate, BooleanSupplier stopped)
+            throws SQLException {
+        long startRow = countRows(conn, table);
+        if (!conn.getAutoCommit()) {
+            // end the counting transaction, so it does not pin a snapshot while the stream runs
+            conn.commit();
+        }
+        TableFiller.Builder filler = planned(new TableFiller.Builder(conn, database, configuration), table)
+                .table(table)
+                .constraints(constraintsFor(conn, table))
+                .rowRange(startRow, Long.MAX_VALUE)
+                .commitStrategy(effectiveParallelCommitStrategy())
+                .stream(stopped, streamCommitInterval)
+                .pacedBy(new RowPacer(rate))
+                .wallClockTimestamps(streamWallClockTimestamps);
+        if (throughputPacer != null) {
+            filler.pacedBy(throughputPacer);
+        }
+        if (rejectedRows != null) {
+            filler.rejectedRows(rejectedRows);
+        }
+        filler.build().fill();
+    }
+
     /**
      * Fills every table on a single connection in dependency order — the original, default
      * behavior. Parent (referenced) tables are filled before the tables that depend on them.
      *
-     * @param conn         the connection to fill on
-     * @param database     the database metadata
+     * <p>With {@link BulkLoadStrategy#unorderedBulk()} and a support that reports
+     * {@link DatabaseSupport#supportsBulkLoad()}, the connection's session is put in bulk-load mode
+     * for the whole fill (see {@link DatabaseSupport#disableConstraints}) and restored afterwards; the
+     * tables still fill in dependency order, as there is only one connection to fill them on.
+     *
+     * @param conn          the connection to fill on
+     * @param database      the database metadata
      * @param reversedGraph the reversed dependency graph (parents before children)
+     * @param pooled        whether {@code conn} was borrowed from the pool (and may be aborted if its
+     *                      session cannot be restored) rather than supplied by the caller
      * @throws SQLException if any table fill fails
      */
-    private void fillSequential(Connection conn, Database database, Graph<Table, DefaultEdge> reversedGraph) throws SQLException {
+    private void fillSequential(Connection conn, Database database, Graph<Table, DefaultEdge> reversedGraph, boolean pooled) throws SQLException {
+        DatabaseSupport support = configuration.databaseSupport();
+        BulkLoadHandle handle = disableConstraintsForSequentialFill(conn, database);
+        try {
+            TopologicalOrderIterator<Table, DefaultEdge> iterator = new TopologicalOrderIterator<>(reversedGraph);
+            while (iterator.hasNext()) {
+                Table table = iterator.next();
+                long startRow = startRowFor(table);
+                long rowCount = rowCountFor(table);
+                if (startRow > 0 && startRow >= rowCount) {
+                    logger.info("table [{}] already holds {} rows; nothing to append", table.name(), startRow);
+                    continue;
+                }
+                TableFiller.Builder filler = planned(new TableFiller.Builder(conn, database, configuration), table)
+                        .table(table)
+                        .pipelineProducers(pipelineProducers);
+                if (startRow > 0) {
+                    filler.rowRange(startRow, rowCount);
+                }
+                if (checkpoint != null) {
+                    filler.checkpoint(checkpoint);
+                }
+                if (rejectedRows != null) {
+                    filler.rejectedRows(rejectedRows);
+                }
+                if (throughputPacer != null) {
+                    filler.pacedBy(throughputPacer);
+                }
+                if (checkpoint != null || rejectedRows != null || configuration.retryPolicy().retries()) {
+                    // a checkpoint is recorded in the transaction it counts, failed rows are isolated under
+                    // savepoints and a retry replays from the last commit, so autocommit is not an option
+                    filler.commitStrategy(effectiveParallelCommitStrategy());
+                }
+                filler.build().fill();
+            }
+        } finally {
+            if (handle != null) {
+                if (pooled) {
+                    restoreConstraints(support, conn, database, handle);
+                } else {
+                    // the caller owns the connection: restore, but leave its fate to the caller
+                    support.enableConstraints(conn, database, handle);
+                }
+            }
+        }
+    }
+
+    /**
+     * Exports this fill as a {@link FillPlan} for independent worker processes to share (see
+     * {@link Builder#planWorker(FillPlan, int, int, Path)}). Tables are grouped into dependency levels —
+     * a table's level is one past the deepest table it references — and carry their row counts,
+     * partition counts and per-column seeds. Nothing is filled.
+     *
+     * @param workers the worker processes that will share the plan; under {@link IngestStrategy#auto()}
+     *                tables are partitioned for that many workers, as {@code threads(workers)} would
+     * @return the plan
+     * @throws SQLException if the database metadata cannot be read
+     * @throws IllegalArgumentException if {@code workers} is less than {@code 1}
+     * @since 2.20.0
+     */
+    public FillPlan plan(int workers) throws SQLException {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be >= 1");
+        }
+        plans.clear();
+        Database database = readMetadata();
+        if (configuration.ingestStrategy().isAuto()) {
+            planTables(database, workers);
+        }
+
+        Graph<Table, DefaultEdge> reversedGraph = buildReversedDependencyGraph(database);
+        Map<Table, Integer> levelOf = new HashMap<>();
+        List<List<String>> levels = new ArrayList<>();
+        List<FillPlan.PlannedTable> tables = new ArrayList<>();
         TopologicalOrderIterator<Table, DefaultEdge> iterator = new TopologicalOrderIterator<>(reversedGraph);
         while (iterator.hasNext()) {
-            new TableFiller.Builder(conn, database, configuration)
-                    .table(iterator.next())
-                    .build().fill();
+            Table table = iterator.next();
+            // the reversed graph's edges run from each parent to its children
+            int level = reversedGraph.incomingEdgesOf(table).stream()
+                    .mapToInt(edge -> levelOf.get(reversedGraph.getEdgeSource(edge)) + 1)
+                    .max()
+                    .orElse(0);
+            levelOf.put(table, level);
+            while (levels.size() <= level) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(level).add(table.name());
+            tables.add(new FillPlan.PlannedTable(table.name(), rowCountFor(table), partitionsFor(table), columnSeeds(table)));
         }
+        FillPlan plan = new FillPlan(UUID.randomUUID().toString(), database.catalog(), configuration.seed(), tables, levels);
+        logger.info("planned {} tables in {} dependency levels for {} worker(s) [plan {}]",
+                tables.size(), levels.size(), workers, plan.id());
+        return plan;
     }
 
     /**
-     * Fills tables concurrently, one topological level at a time. All tables within a level are
-     * independent (none references another in the same level), so they can fill in parallel; the
-     * walk barriers between levels so a child table is never filled before its parent is committed.
+     * Reads the database metadata — on the caller's connection for the sequential path, otherwise on one
+     * borrowed from the pool — leaving out the {@linkplain FillCheckpoint#TABLE checkpoint table}, which
+     * a checkpointed fill may have created and which is never filled.
+     */
+    private Database readMetadata() throws SQLException {
+        Database database = connection != null
+                ? DatabaseUtils.getMetadata(connection)
+                : DatabaseUtils.getMetadata(dataSource);
+        if (database.tables() == null
+                || database.tables().stream().noneMatch(table -> table.name().equalsIgnoreCase(FillCheckpoint.TABLE))) {
+            return database;
+        }
+        return new Database(database.product(), database.productVersion(), database.catalog(), database.schema(),
+                database.tables().stream().filter(table -> !table.name().equalsIgnoreCase(FillCheckpoint.TABLE)).toList());
+    }
+
+    /** Each generated column's seed, by name in column order, as {@link TableFiller} derives it. */
+    private Map<String, Long> columnSeeds(Table table) {
+        Map<String, Long> seeds = new LinkedHashMap<>();
+        for (Column column : table.filteredColumns()) {
+            seeds.put(column.name(), DatabaseUtils.columnSeed(column, configuration.seed()));
+        }
+        return seeds;
+    }
+
+    /**
+     * Fills this worker's share of {@link #fillPlan} on one connection: its tasks level by level,
+     * waiting at the {@link FillBarrier} after each level until every worker has filled its share, so
+     * a table is only filled once every table it references has been, by whichever process. A failure
+     * is recorded at the barrier, so the other workers stop waiting and fail too.
+     *
+     * <p>Each partition fills as it would in a parallel fill (see {@link #fillTablePartition}), so
+     * the workers together fill the rows one parallel fill with the plan's partitions would. With
+     * {@link BulkLoadStrategy#unorderedBulk()} the connection fills in bulk-load mode, as on the
+     * sequential path.
+     *
+     * @param conn     the connection to fill on
+     * @param database the database metadata
+     * @param pooled   whether {@code conn} was borrowed from the pool rather than supplied by the caller
+     * @throws SQLException if the barrier holds an earlier run's markers, a task fails, another worker
+     *                      fails or times out, or the wait is interrupted
+     * @throws IllegalStateException if the plan does not match the database or the configuration
+     */
+    private void fillPlanShare(Connection conn, Database database, boolean pooled) throws SQLException {
+        checkPlan(database);
+        // before anything can fail at the barrier, so a refused re-run leaves no marker of its own
+        barrier.checkUnused();
+        List<List<FillPlan.Task>> levels = fillPlan.tasksFor(workerIndex, workerCount);
+        logger.info("filling {} planned task(s) over {} level(s) as worker {} of {} [plan {}]",
+                levels.stream().mapToInt(List::size).sum(), levels.size(), workerIndex, workerCount, fillPlan.id());
+
+        DatabaseSupport support = configuration.databaseSupport();
+        BulkLoadHandle handle = disableConstraintsForSequentialFill(conn, database);
+        int level = 0;
+        try {
+            for (; level < levels.size(); level++) {
+                for (FillPlan.Task task : levels.get(level)) {
+                    Table table = database.getTable(task.table());
+                    TableFiller.Builder filler = planned(new TableFiller.Builder(conn, database, configuration), table)
+                            .table(table)
+                            .constraints(constraintsFor(conn, table))
+                            .commitStrategy(effectiveParallelCommitStrategy())
+                            .pipelineProducers(pipelineProducers);
+                    if (checkpoint != null) {
+                        filler.checkpoint(checkpoint);
+                    }
+                    if (rejectedRows != null) {
+                        filler.rejectedRows(rejectedRows);
+                    }
+                    if (throughputPacer != null) {
+                        filler.pacedBy(throughputPacer);
+                    }
+                    // an unpartitioned table fills whole, exactly as a parallel fill's single task would
+                    if (fillPlan.table(task.table()).partitions() > 1) {
+                        filler.rowRange(task.startRow(), task.endRow());
+                    }
+                    filler.build().fill();
+                }
+                // every level, the last included, so no worker returns before the whole plan has filled
+                barrier.await(level);
+            }
+        } catch (SQLException | RuntimeException e) {
+            barrier.fail(level, e);
+            throw e;
+        } finally {
+            if (handle != null) {
+                if (pooled) {
+                    restoreConstraints(support, conn, database, handle);
+                } else {
+                    support.enableConstraints(conn, database, handle);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks that {@link #fillPlan} was exported from this schema with this configuration's seed: every
+     * planned table exists, with the same generated columns and seeds. Another catalog, seed or schema
+     * would silently fill different rows from the other workers'.
+     *
+     * @throws IllegalStateException on any mismatch
+     */
+    private void checkPlan(Database database) {
+        if (fillPlan.seed() != configuration.seed()) {
+            throw new IllegalStateException("fill plan [" + fillPlan.id() + "] was exported with seed " + fillPlan.seed()
+                    + ", but this worker is configured with seed " + configuration.seed());
+        }
+        if (!Objects.equals(fillPlan.catalog(), database.catalog())) {
+            throw new IllegalStateException("fill plan [" + fillPlan.id() + "] was exported from catalog [" + fillPlan.catalog()
+                    + "], but this worker is connected to [" + database.catalog() + "]");
+        }
+        for (FillPlan.PlannedTable planned : fillPlan.tables()) {
+            Table table;
+            try {
+                table = database.getTable(planned.name());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("fill plan [" + fillPlan.id() + "] names table [" + planned.name()
+                        + "], which this worker's database does not have", e);
+            }
+            if (!planned.columnSeeds().equals(columnSeeds(table))) {
+                throw new IllegalStateException("fill plan [" + fillPlan.id() + "] does not match the columns of table ["
+                        + planned.name() + "] in this worker's database");
+            }
+        }
+    }
+
+    /**
+     * Puts the single fill connection in bulk-load mode when {@link BulkLoadStrategy#unorderedBulk()}
+     * is configured and supported, returning the handle to restore it with, or {@code null} (with a
+     * warning when bulk loading was requested) when the fill runs in the ordinary session mode.
+     */
+    private BulkLoadHandle disableConstraintsForSequentialFill(Connection conn, Database database) throws SQLException {
+        if (!configuration.bulkLoadStrategy().isUnordered()) {
+            return null;
+        }
+        DatabaseSupport support = configuration.databaseSupport();
+        if (!support.supportsBulkLoad()) {
+            logger.warn("UNORDERED_BULK requested but {} does not support bulk load; filling with constraints enabled",
+                    support.getClass().getSimpleName());
+            return null;
+        }
+        try {
+            BulkLoadHandle handle = support.disableConstraints(conn, database);
+            logger.info("filling on a single connection in bulk-load mode [{}]", handle.description());
+            return handle;
+        } catch (BulkLoadUnsupportedException e) {
+            logger.warn("UNORDERED_BULK requested but constraints could not be disabled ({}); filling with constraints enabled",
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Fills tables concurrently in dependency order. A table becomes runnable the moment every table
+     * it references has committed (see {@link DependencySchedule}), so one slow table holds back only
+     * its own descendants, never unrelated tables that happen to sit at the same topological depth.
      *
      * <p>Each worker borrows its own {@link Connection} from the {@link DataSource}, fills a single
-     * table inside an explicit transaction (autocommit off, one commit per table), and returns the
-     * connection to the pool. JDBC connections are not thread-safe, so they are never shared.
+     * table (or one partition of it) inside an explicit transaction, and returns the connection to the
+     * pool. JDBC connections are not thread-safe, so they are never shared. A partitioned table counts
+     * as committed once its last partition has. When more tasks are runnable than there are workers,
+     * the ones with the longest remaining critical path are submitted first (see
+     * {@link DependencySchedule#priority()}), so deep, heavy chains start early.
      *
      * <p>Reproducibility is preserved: a table's generated data depends only on its own per-column
      * seeds and its own sequential row counter, never on the order in which tables are filled, so for
@@ -241,36 +788,142 @@ public class DatabaseFiller implements Fillable {
      * @throws SQLException if any table fill fails or the run is interrupted
      */
     private void fillParallel(Database database, Graph<Table, DefaultEdge> reversedGraph) throws SQLException {
-        List<List<Table>> levels = fillLevels(reversedGraph);
+        // never spin up more workers than there is work; a partitioned table contributes one unit of
+        // work per partition, so a single large partitioned table can use all threads. Under work
+        // stealing a single range can be split across every thread, so the pool is never trimmed
+        int work = reversedGraph.vertexSet().stream().mapToInt(this::partitionsFor).sum();
+        int poolSize = workStealing ? threads : Math.clamp(threads, 1, Math.max(1, work));
+
+        logger.info("filling {} tables in dependency order with {} {}",
+                reversedGraph.vertexSet().size(), poolSize, workers());
+
+        // under range pipelining a child's row ranges wait on the parent rows they reference, not the parent table
+        RangeGate<TableTask> gate = new RangeGate<>(rangePipelining ? clusteredForeignKeys(database, reversedGraph) : Map.of());
+        DependencySchedule schedule = new DependencySchedule(reversedGraph, this::fillCost, gate::isGated);
+        // the rows an appended table already holds were committed before this fill started
+        for (Table table : reversedGraph.vertexSet()) {
+            long startRow = startRowFor(table);
+            if (startRow > 0) {
+                gate.commit(table, 0, startRow);
+            }
+        }
+        // per table, the tasks (one per partition) still to finish; only touched by this thread
+        Map<Table, Integer> pendingTasks = new HashMap<>();
+        // when more tasks are runnable than there are workers, the longest remaining chain goes first
+        Queue<TableTask> ready = new PriorityQueue<>(
+                Comparator.comparing(TableTask::table, schedule.priority()).thenComparingInt(TableTask::part));
+        // the ranges idle workers may split (work stealing only); only touched by this thread
+        List<TableTask> stealable = new ArrayList<>();
+        for (Table table : schedule.roots()) {
+            release(table, database, schedule, gate, pendingTasks, ready, stealable);
+        }
 
-        // never spin up more workers than the widest level can use; a partitioned table contributes
-        // one unit of work per partition, so a single large partitioned table can use all threads
-        int widest = levels.stream()
-                .mapToInt(level -> level.stream().mapToInt(this::partitionsFor).sum())
-                .max().orElse(1);
-        int poolSize = Math.clamp(threads, 1, widest);
+        // ExecutorService#close() shuts the pool down and awaits termination (and shutdownNow()s on
+        // interrupt), so the pool is always cleanly torn down — before the worker connections, which
+        // are closed once no task can still be using one
+        Throwable primary = null;
+        try (ExecutorService executor = newFillExecutor(poolSize)) {
+            // each completed task may release its table's children into the ready queue; submitted
+            // with backpressure so queued tasks stay bounded however many partitions become runnable
+            runWithBackpressure(executor, ready, poolSize, task -> coalesce(task, ready, database, false), task -> {
+                Table table = task.table();
+                List<TableTask> unblocked = gate.commit(table, task.start(), task.filledEnd());
+                ready.addAll(unblocked);
+                trackStealable(unblocked, stealable);
+                if (pendingTasks.merge(table, -1, Integer::sum) == 0) {
+                    logger.debug("table [{}] committed", table.name());
+                    for (Table child : schedule.complete(table)) {
+                        release(child, database, schedule, gate, pendingTasks, ready, stealable);
+                    }
+                }
+            }, () -> {
+                // a stolen range is one more task its table must finish before its children run
+                TableTask stolen = steal(stealable, database, false);
+                if (stolen != null) {
+                    pendingTasks.merge(stolen.table(), 1, Integer::sum);
+                    ready.add(stolen);
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            SQLException interrupted = new SQLException("parallel table fill was interrupted", e);
+            primary = interrupted;
+            throw interrupted;
+        } catch (SQLException | RuntimeException | Error e) {
+            primary = e;
+            throw e;
+        } finally {
+            closeWorkerConnections(database, primary);
+        }
 
-        logger.info("filling {} tables across {} topological level(s) with {} worker thread(s)",
-                reversedGraph.vertexSet().size(), levels.size(), poolSize);
+        if (gate.held() > 0) {
+            logger.warn("{} row range(s) still waited on parent rows that were never committed and were not filled", gate.held());
+        }
+        if (schedule.unfilled() > 0) {
+            logger.warn("dependency graph contains a cycle; {} of {} table(s) could not be ordered and were not filled",
+                    schedule.unfilled(), reversedGraph.vertexSet().size());
+        }
+    }
 
-        // try-with-resources: ExecutorService#close() shuts the pool down and awaits termination
-        // (and shutdownNow()s on interrupt), so the pool is always cleanly torn down
-        try (ExecutorService executor = Executors.newFixedThreadPool(poolSize)) {
-            for (List<Table> level : levels) {
-                List<Callable<Void>> tasks = new ArrayList<>(level.size());
-                for (Table table : level) {
-                    addTableTasks(tasks, database, table, false);
-                }
+    /**
+     * Queues the task(s) for a table that has just become runnable; a task whose parent rows are not yet
+     * committed is held by the {@code gate} instead. Children over range-gated edges are released as soon
+     * as the table has started. A table with no rows to fill in any partition produces no task, so it
+     * completes at once and its children are released in turn.
+     */
+    private void release(Table table, Database database, DependencySchedule schedule, RangeGate<TableTask> gate,
+                         Map<Table, Integer> pendingTasks, Queue<TableTask> ready, List<TableTask> stealable) {
+        List<TableTask> tasks = new ArrayList<>();
+        addTableTasks(tasks, database, table, false);
+        if (!tasks.isEmpty()) {
+            pendingTasks.put(table, tasks.size());
+            List<TableTask> admitted = tasks.stream().filter(task -> gate.admit(task, table, task.start(), task.end())).toList();
+            ready.addAll(admitted);
+            trackStealable(admitted, stealable);
+        }
+        for (Table child : schedule.start(table)) {
+            release(child, database, schedule, gate, pendingTasks, ready, stealable);
+        }
+        if (tasks.isEmpty()) {
+            for (Table child : schedule.complete(table)) {
+                release(child, database, schedule, gate, pendingTasks, ready, stealable);
+            }
+        }
+    }
 
-                // barrier: every table in this level must finish before the next level may start.
-                // Submitted with backpressure so queued tasks stay bounded even for a level whose
-                // tables carry a large partition count (see runWithBackpressure).
-                runWithBackpressure(executor, tasks, poolSize);
+    /**
+     * Finds, per table, the clustered foreign keys (see {@link ClusteredForeignKey}) whose edges can be
+     * range-gated: a table's edge to a parent is gated only when every one of its foreign keys to that
+     * parent is clustered.
+     */
+    private Map<Table, List<ClusteredForeignKey>> clusteredForeignKeys(Database database, Graph<Table, DefaultEdge> reversedGraph) {
+        Map<Table, List<ClusteredForeignKey>> clustered = new HashMap<>();
+        for (Table table : reversedGraph.vertexSet()) {
+            if (table.foreignKeys() == null) {
+                continue;
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new SQLException("parallel table fill was interrupted", e);
+            Map<String, List<ClusteredForeignKey>> byParent = new LinkedHashMap<>();
+            Set<String> tableLevel = new HashSet<>();
+            for (ForeignKey foreignKey : table.foreignKeys()) {
+                String parentName = foreignKey.primaryKey().tableName();
+                if (parentName.equals(table.name())) {
+                    continue;
+                }
+                ClusteredForeignKey resolved = ClusteredForeignKey.resolve(configuration, database, table, foreignKey, this::rowCountFor);
+                if (resolved != null) {
+                    byParent.computeIfAbsent(parentName, key -> new ArrayList<>()).add(resolved);
+                } else {
+                    tableLevel.add(parentName);
+                }
+            }
+            // one foreign key that is not clustered keeps the whole parent a table-level dependency
+            byParent.keySet().removeAll(tableLevel);
+            byParent.forEach((parentName, foreignKeys) -> {
+                logger.info("range pipelining: row ranges of [{}] start as the rows of [{}] they reference commit", table.name(), parentName);
+                clustered.computeIfAbsent(table, key -> new ArrayList<>()).addAll(foreignKeys);
+            });
         }
+        return clustered;
     }
 
     /**
@@ -278,8 +931,8 @@ public class DatabaseFiller implements Fillable {
      * topological barrier — the {@link BulkLoadStrategy#unorderedBulk()} path. Each worker borrows its
      * own connection, disables constraints on that session (see
      * {@link DatabaseSupport#disableConstraints}), fills its table/partition, and restores enforcement
-     * in a {@code finally} before the connection returns to the pool. Collapsing all topological levels
-     * into a single wave removes the serialization cost of deep, narrow dependency chains.
+     * in a {@code finally} before the connection returns to the pool. Starting every table at once
+     * removes the wait on parents that serializes deep, narrow dependency chains on the ordered path.
      *
      * <p>This is only correct because Bloviate's data is referentially consistent by construction (a
      * foreign-key column is seeded from its referenced primary-key column), so insert order does not
@@ -307,30 +960,51 @@ public class DatabaseFiller implements Fillable {
             restoreConstraints(support, conn, database, handle);
         } catch (BulkLoadUnsupportedException e) {
             logger.warn("UNORDERED_BULK requested but constraints could not be disabled ({}); "
-                    + "falling back to the ordered level-parallel path", e.getMessage());
+                    + "falling back to the ordered parallel path", e.getMessage());
             fillParallel(database, graph);
             return;
         }
 
         // one wave: every table (and partition) becomes a task with no topological barrier; the
-        // worker bodies disable/restore constraints per connection (see fillTableInOwnTransaction)
-        List<Callable<Void>> tasks = new ArrayList<>();
+        // worker bodies disable/restore constraints per connection (see fillTableInOwnTransaction).
+        // With nothing to wait on, each table's critical path is its own cost: costliest first
+        Queue<TableTask> tasks = new PriorityQueue<>(Comparator.comparing(TableTask::table, Comparator.comparingLong(this::fillCost).reversed())
+                .thenComparing(task -> task.table().name())
+                .thenComparingInt(TableTask::part));
         for (Table table : graph.vertexSet()) {
             addTableTasks(tasks, database, table, true);
         }
 
-        int poolSize = Math.clamp(threads, 1, Math.max(1, tasks.size()));
+        int poolSize = workStealing ? threads : Math.clamp(threads, 1, Math.max(1, tasks.size()));
+        List<TableTask> stealable = new ArrayList<>();
+        trackStealable(tasks, stealable);
 
-        logger.info("bulk-filling {} table(s) with constraints disabled across {} worker thread(s) (no topological barrier)",
-                graph.vertexSet().size(), poolSize);
+        logger.info("bulk-filling {} table(s) with constraints disabled across {} {} (no topological barrier)",
+                graph.vertexSet().size(), poolSize, workers());
 
-        try (ExecutorService executor = Executors.newFixedThreadPool(poolSize)) {
+        // ExecutorService#close() shuts the pool down and awaits termination (and shutdownNow()s on
+        // interrupt), so the pool is always cleanly torn down — before the worker connections, which
+        // are closed once no task can still be using one
+        Throwable primary = null;
+        try (ExecutorService executor = newFillExecutor(poolSize)) {
             // submitted with backpressure so queued tasks stay bounded even when the schema (or a
             // partitioned table) produces far more tasks than worker threads (see runWithBackpressure)
-            runWithBackpressure(executor, tasks, poolSize);
+            runWithBackpressure(executor, tasks, poolSize, task -> coalesce(task, tasks, database, true), task -> { }, () -> {
+                TableTask stolen = steal(stealable, database, true);
+                if (stolen != null) {
+                    tasks.add(stolen);
+                }
+            });
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            throw new SQLException("bulk table fill was interrupted", e);
+            SQLException interrupted = new SQLException("bulk table fill was interrupted", e);
+            primary = interrupted;
+            throw interrupted;
+        } catch (SQLException | RuntimeException | Error e) {
+            primary = e;
+            throw e;
+        } finally {
+            closeWorkerConnections(database, primary);
         }
     }
 
@@ -358,38 +1032,100 @@ public class DatabaseFiller implements Fillable {
     }
 
     /**
-     * Runs every task on {@code executor} but keeps at most {@code ~2 × poolSize} in flight at once,
-     * draining a completed task before submitting the next. This bounds the executor's work queue (and
-     * the outstanding {@link Future}s) to a small multiple of the pool size rather than letting them
-     * scale with the total task count — important when a large {@code partitions} value (or many
-     * partitioned tables) produces far more tasks than worker threads, which an eager
-     * {@code invokeAll(allTasks)} would queue all at once. All tasks still complete before this returns,
-     * preserving the level barrier in {@link #fillParallel}. The first task failure is rethrown; the
-     * surrounding {@code try-with-resources} on the executor then drains the in-flight tasks on close.
+     * Runs every task in {@code ready} on {@code executor} but keeps at most {@code ~2 × poolSize} in
+     * flight at once, submitting the next ready task only as one completes. This bounds the executor's
+     * work queue (and the outstanding {@link Future}s) to a small multiple of the pool size rather than
+     * letting them scale with the total task count — important when a large {@code partitions} value
+     * (or many partitioned tables) produces far more tasks than worker threads, which an eager
+     * {@code invokeAll(allTasks)} would queue all at once.
+     *
+     * <p>On {@linkplain Builder#virtualThreads(boolean) virtual threads} the executor starts every
+     * submitted task at once, and {@code poolSize} is the connection budget instead: the tasks beyond it
+     * park on {@link #connectionPermits} — which plays the part of the fixed pool's work queue and, being
+     * fair, hands out connections in submission (priority) order — so the same cap bounds them.
+     *
+     * <p>Under {@linkplain Builder#adaptiveConcurrency(boolean) adaptive concurrency} the cap is instead
+     * the limit of a {@link ConcurrencyLimiter} of at most {@code poolSize}, so no task waits for a worker
+     * and the time from submission to completion is the task's own. The limiter is told how many tasks
+     * are in flight whenever that changes, and samples the rows every worker has written, through
+     * {@link #writtenRows}, once per window while tasks run — not only as they complete.
+     *
+     * <p>Each task taken from {@code ready} passes through {@code onSubmit}, which may replace it with a
+     * task that also fills other ready tasks (see {@link #coalesce}). Each task's result — or, for such a
+     * task, each of the tasks it filled — is handed to {@code onCompletion} on the calling thread, which
+     * may add newly runnable tasks to {@code ready}; this returns once {@code ready} is empty and nothing
+     * is in flight.
+     * Whenever nothing is ready and fewer tasks are in flight than there are workers, {@code onIdle}
+     * runs on the calling thread and may add a task (split off a running one) for the idle worker.
+     * The first task failure is rethrown; the surrounding {@code try-with-resources} on the executor
+     * then drains the in-flight tasks on close.
      */
-    private void runWithBackpressure(ExecutorService executor, List<Callable<Void>> tasks, int poolSize) throws SQLException, InterruptedException {
-        CompletionService<Void> completionService = new ExecutorCompletionService<>(executor);
-        int inFlightCap = Math.max(1, 2 * poolSize);
-        int next = 0;
+    private void runWithBackpressure(ExecutorService executor, Queue<TableTask> ready, int poolSize, UnaryOperator<TableTask> onSubmit,
+                                     Consumer<TableTask> onCompletion, Runnable onIdle) throws SQLException, InterruptedException {
+        CompletionService<TableTask> completionService = new ExecutorCompletionService<>(executor);
+        ConcurrencyLimiter limiter = adaptiveConcurrency ? new ConcurrencyLimiter(poolSize, System.nanoTime()) : null;
+        writtenRows = limiter != null ? new LongAdder() : null;
+        int inFlight = 0;
+
+        while (true) {
+            int inFlightCap = limiter != null ? limiter.limit() : Math.max(1, 2 * poolSize);
+            int workers = limiter != null ? limiter.limit() : poolSize;
+
+            // top the pipeline up to the in-flight cap
+            while (!ready.isEmpty() && inFlight < inFlightCap) {
+                TableTask task = onSubmit.apply(ready.remove());
+                completionService.submit(task);
+                inFlight++;
+                if (limiter != null) {
+                    limiter.running(inFlight, System.nanoTime());
+                }
+            }
+            if (inFlight == 0) {
+                if (limiter != null) {
+                    logger.info("adaptive concurrency: ended at {} of up to {} tasks in flight (peak {})",
+                            limiter.limit(), poolSize, limiter.peak());
+                }
+                return;
+            }
+            if (ready.isEmpty() && inFlight < workers) {
+                onIdle.run();
+                if (!ready.isEmpty()) {
+                    continue;
+                }
+            }
 
-        // prime the pipeline up to the in-flight cap
-        while (next < tasks.size() && next < inFlightCap) {
-            completionService.submit(tasks.get(next++));
-        }
+            // under adaptive concurrency wake at least once per window, so the limiter samples while
+            // long tasks run rather than only as they finish
+            Future<TableTask> completed;
+            if (limiter != null) {
+                completed = completionService.poll(Math.max(1, limiter.nanosToSample(System.nanoTime())), TimeUnit.NANOSECONDS);
+                int previous = limiter.limit();
+                if (limiter.sample(writtenRows.sum(), System.nanoTime()) && limiter.limit() != previous) {
+                    logger.debug("adaptive concurrency: {} -> {} tasks in flight", previous, limiter.limit());
+                }
+                if (completed == null) {
+                    continue;
+                }
+            } else {
+                completed = completionService.take();
+            }
 
-        // for each completion, surface any failure and top the pipeline back up
-        for (int completed = 0; completed < tasks.size(); completed++) {
-            awaitFuture(completionService.take());
-            if (next < tasks.size()) {
-                completionService.submit(tasks.get(next++));
+            // surface any failure, then let the caller release whatever the completion unblocks
+            TableTask task = awaitFuture(completed);
+            inFlight--;
+            if (limiter != null) {
+                limiter.running(inFlight, System.nanoTime());
+            }
+            for (TableTask filled : task.filled()) {
+                onCompletion.accept(filled);
             }
         }
     }
 
     /** Unwraps a worker future, re-throwing the underlying {@link SQLException} or runtime failure. */
-    private void awaitFuture(Future<Void> future) throws SQLException {
+    private <T> T awaitFuture(Future<T> future) throws SQLException {
         try {
-            future.get();
+            return future.get();
         } catch (ExecutionException e) {
             switch (e.getCause()) {
                 case SQLException sqlException -> throw sqlException;
@@ -404,35 +1140,46 @@ public class DatabaseFiller implements Fillable {
 
     /**
      * Adds the worker task(s) for one table to {@code tasks}. A table with the default single
-     * partition contributes one whole-table task; a table configured with {@code partitions > 1}
+     * partition contributes one whole-table task; a table with {@code partitions > 1} (configured, or planned)
      * contributes one task per contiguous row range, so the ranges fill concurrently (intra-table
-     * parallelism). When {@code bulk} is true the worker disables foreign-key enforcement on its
-     * connection for the duration of the fill (the unordered bulk path); otherwise it fills with
-     * enforcement intact (the ordered level-parallel path).
+     * parallelism). Under work stealing every table instead contributes one task over a single
+     * {@link RowRange} that idle workers split as the fill runs. When {@code bulk} is true the worker
+     * disables foreign-key enforcement on its connection for the duration of the fill (the unordered
+     * bulk path); otherwise it fills with enforcement intact (the ordered parallel path). An appended table
+     * splits only the rows from its {@linkplain #startRowFor start row}, and contributes no task once full.
      */
-    private void addTableTasks(List<Callable<Void>> tasks, Database database, Table table, boolean bulk) {
+    private void addTableTasks(Collection<TableTask> tasks, Database database, Table table, boolean bulk) {
+        long rowCount = rowCountFor(table);
+        long startRow = startRowFor(table);
+        if (startRow > 0 && startRow >= rowCount) {
+            logger.info("table [{}] already holds {} rows; nothing to append", table.name(), startRow);
+            return;
+        }
+        if (workStealing) {
+            if (rowCount > 0) {
+                tasks.add(rangeTask(database, table, 0,
+                        new RowRange(startRow, rowCount, (long) batchSizeFor(table) * RowRange.BLOCK_BATCHES), bulk));
+            }
+            return;
+        }
         int partitions = partitionsFor(table);
-        if (partitions <= 1) {
-            tasks.add(() -> {
-                fillTableInOwnTransaction(database, table, bulk);
-                return null;
-            });
+        if (partitions <= 1 && startRow == 0) {
+            tasks.add(new TableTask(table, 0, 0, rowCount, null,
+                    () -> fillTableInOwnTransaction(database, table, bulk)));
             return;
         }
 
-        long rowCount = rowCountFor(table);
-        long base = rowCount / partitions;
-        long remainder = rowCount % partitions;
-        long start = 0;
+        partitions = Math.max(1, partitions);
+        long base = (rowCount - startRow) / partitions;
+        long remainder = (rowCount - startRow) % partitions;
+        long start = startRow;
         for (int p = 0; p < partitions; p++) {
             long size = base + (p < remainder ? 1 : 0);
             long end = start + size;
             if (size > 0) {
                 long rangeStart = start;
-                tasks.add(() -> {
-                    fillTablePartition(database, table, rangeStart, end, bulk);
-                    return null;
-                });
+                tasks.add(new TableTask(table, p, rangeStart, end, null,
+                        () -> fillTablePartition(database, table, rangeStart, end, bulk)));
             }
             start = end;
         }
@@ -447,11 +1194,10 @@ public class DatabaseFiller implements Fillable {
      * the connection returns to the pool.
      */
     private void fillTableInOwnTransaction(Database database, Table table, boolean bulk) throws SQLException {
-        fillOnPooledConnection(database, bulk, conn ->
-                new TableFiller.Builder(conn, database, configuration)
-                        .table(table)
-                        .constraints(constraintsFor(conn, table))
-                        .commitStrategy(effectiveParallelCommitStrategy())
+        FillProgress progress = new FillProgress();
+        fillOnPooledConnection(database, bulk, (conn, statements) ->
+                workerFiller(conn, statements, database, table, progress)
+                        .pipelineProducers(pipelineProducers)
                         .build().fill());
     }
 
@@ -464,15 +1210,241 @@ public class DatabaseFiller implements Fillable {
      * the pool.
      */
     private void fillTablePartition(Database database, Table table, long startInclusive, long endExclusive, boolean bulk) throws SQLException {
-        fillOnPooledConnection(database, bulk, conn ->
-                new TableFiller.Builder(conn, database, configuration)
-                        .table(table)
-                        .constraints(constraintsFor(conn, table))
-                        .commitStrategy(effectiveParallelCommitStrategy())
+        FillProgress progress = new FillProgress();
+        fillOnPooledConnection(database, bulk, (conn, statements) ->
+                workerFiller(conn, statements, database, table, progress)
                         .rowRange(startInclusive, endExclusive)
+                        .pipelineProducers(pipelineProducers)
+                        .build().fill());
+    }
+
+    /** A task filling {@code range} of a table, which idle workers may split (see {@link #steal}). */
+    private TableTask rangeTask(Database database, Table table, int part, RowRange range, boolean bulk) {
+        return new TableTask(table, part, range.start(), range.end(), range,
+                () -> fillTableRange(database, table, range, bulk));
+    }
+
+    /**
+     * Fills a stealable {@link RowRange} of a table on its own pooled connection, exactly like
+     * {@link #fillTablePartition}, except that the range's end can move while it fills: the filler
+     * reserves one block at a time and stops when an idle worker has split the rest off.
+     */
+    private void fillTableRange(Database database, Table table, RowRange range, boolean bulk) throws SQLException {
+        FillProgress progress = new FillProgress();
+        fillOnPooledConnection(database, bulk, (conn, statements) ->
+                workerFiller(conn, statements, database, table, progress)
+                        .stealableRange(range)
                         .build().fill());
     }
 
+    /**
+     * The {@link TableFiller} builder every parallel task starts from: the table's plan, cached
+     * constraints and the parallel commit cadence, preparing through the worker's statement cache
+     * under connection affinity, reporting to {@link #settledBatching} under adaptive batching and
+     * recording its commits in {@link #checkpoint} when checkpointed, and in the task's
+     * {@code progress}, from which a replay on a new connection resumes.
+     */
+    private TableFiller.Builder workerFiller(Connection conn, StatementCache statements, Database database, Table table,
+                                             FillProgress progress) {
+        TableFiller.Builder builder = planned(new TableFiller.Builder(conn, database, configuration), table)
+                .table(table)
+                .constraints(constraintsFor(conn, table))
+                .commitStrategy(effectiveParallelCommitStrategy())
+                .progress(progress);
+        if (configuration.batchSizing().isAdaptive()) {
+            builder.batchingSettled(settled -> settledBatching.merge(settled.table(), settled,
+                    (current, next) -> next.rows() > current.rows() ? next : current));
+        }
+        if (checkpoint != null) {
+            builder.checkpoint(checkpoint);
+        }
+        if (rejectedRows != null) {
+            builder.rejectedRows(rejectedRows);
+        }
+        if (throughputPacer != null) {
+            builder.pacedBy(throughputPacer);
+        }
+        if (writtenRows != null) {
+            builder.countedBy(writtenRows);
+        }
+        return statements != null ? builder.statementCache(statements) : builder;
+    }
+
+    /**
+     * Under {@link Builder#coalesceSmallTables(long)}, groups {@code task}, when it fills a whole small
+     * table, with the other such tasks waiting in {@code ready}, up to {@link #coalesceRows} rows in
+     * all, into one task that fills them back to back on one connection (see {@link #fillTablesTogether}).
+     * Any other task, or a small one with no partner, is returned as is.
+     */
+    private TableTask coalesce(TableTask task, Queue<TableTask> ready, Database database, boolean bulk) {
+        if (!coalescible(task)) {
+            return task;
+        }
+        List<TableTask> members = new ArrayList<>();
+        members.add(task);
+        long rows = task.rows();
+        for (Iterator<TableTask> it = ready.iterator(); it.hasNext(); ) {
+            TableTask next = it.next();
+            if (coalescible(next) && rows + next.rows() <= coalesceRows) {
+                members.add(next);
+                rows += next.rows();
+                it.remove();
+            }
+        }
+        if (members.size() == 1) {
+            return task;
+        }
+        List<TableTask> group = List.copyOf(members);
+        logger.debug("coalesced {} small tables ({} rows) into one task: {}", group.size(), rows,
+                group.stream().map(member -> member.table().name()).toList());
+        return new TableTask(task.table(), task.part(), 0, rows, null, () -> fillTablesTogether(database, group, bulk), group);
+    }
+
+    /**
+     * Whether {@code task} fills a whole table small enough to be {@linkplain #coalesce coalesced}. A
+     * stealable range qualifies only while it is a single block, which is never split.
+     */
+    private boolean coalescible(TableTask task) {
+        return coalesceRows > 0
+                && task.members().isEmpty()
+                && task.start() == 0
+                && task.end() > 0
+                && task.end() <= coalesceRows
+                && task.end() == rowCountFor(task.table())
+                && (task.range() == null || task.end() <= (long) batchSizeFor(task.table()) * RowRange.BLOCK_BATCHES);
+    }
+
+    /**
+     * Fills the whole tables of a {@linkplain #coalesce coalesced} task back to back on one pooled
+     * connection, in one transaction that commits when the last has filled and rolls back on failure —
+     * one borrow, one session setup and one commit for the group instead of one per table. Each table
+     * fills as it would alone, so the rows are unchanged. Under the configured {@link RetryPolicy} a
+     * transient failure rolls the group back and fills it again, as does a lost connection, on a new one.
+     */
+    private void fillTablesTogether(Database database, List<TableTask> members, boolean bulk) throws SQLException {
+        RetryPolicy retryPolicy = configuration.retryPolicy();
+        // across the connections the group is replayed on: whether it has committed, and whether a
+        // member's single stealable block has been reserved already
+        AtomicBoolean committed = new AtomicBoolean();
+        AtomicBoolean reserved = new AtomicBoolean();
+        fillOnPooledConnection(database, bulk, (conn, statements) -> {
+            if (committed.get()) {
+                // the connection was lost after the commit, restoring autocommit
+                return;
+            }
+            boolean previousAutoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            SQLException failure = null;
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    boolean refill = reserved.getAndSet(true);
+                    for (TableTask member : members) {
+                        // the group owns the transaction, so each filler leaves it alone, and its
+                        // progress is the group's, not the member's
+                        TableFiller.Builder filler = workerFiller(conn, statements, database, member.table(), new FillProgress())
+                                .commitStrategy(CommitStrategy.connectionDefault());
+                        if (member.range() != null) {
+                            // a member's single block was reserved by the attempt before, so a retry
+                            // refills the whole table from a fresh range
+                            filler.stealableRange(!refill ? member.range()
+                                    : new RowRange(0, member.end(), (long) batchSizeFor(member.table()) * RowRange.BLOCK_BATCHES));
+                        }
+                        filler.build().fill();
+                    }
+                    conn.commit();
+                    committed.set(true);
+                    break;
+                } catch (SQLException e) {
+                    try {
+                        conn.rollback();
+                    } catch (SQLException rollbackFailure) {
+                        e.addSuppressed(rollbackFailure);
+                        failure = e;
+                        break;
+                    }
+                    if (attempt >= retryPolicy.maxAttempts() || !retryPolicy.isRetryable(e)) {
+                        failure = e;
+                        break;
+                    }
+                    Duration backoff = retryPolicy.backoff(attempt);
+                    logger.warn("retrying {} coalesced tables in {} ms after a transient failure (attempt {} of {}): {}",
+                            members.size(), backoff.toMillis(), attempt + 1, retryPolicy.maxAttempts(), e.getMessage());
+                    try {
+                        Thread.sleep(backoff);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        e.addSuppressed(interrupted);
+                        failure = e;
+                        break;
+                    }
+                }
+            }
+            // as in TableFiller, a connection whose autocommit cannot be restored is aborted rather than
+            // reused in an unknown transaction state
+            try {
+                conn.setAutoCommit(previousAutoCommit);
+            } catch (SQLException restoreFailure) {
+                try {
+                    conn.abort(Runnable::run);
+                } catch (SQLException abortFailure) {
+                    restoreFailure.addSuppressed(abortFailure);
+                }
+                if (failure == null) {
+                    failure = restoreFailure;
+                } else {
+                    failure.addSuppressed(restoreFailure);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+        });
+    }
+
+    /** Adds the stealable range tasks among {@code tasks} to {@code stealable}. */
+    private static void trackStealable(Collection<TableTask> tasks, List<TableTask> stealable) {
+        for (TableTask task : tasks) {
+            if (task.range() != null) {
+                stealable.add(task);
+            }
+        }
+    }
+
+    /**
+     * Splits off the unfilled tail of a running range for an idle worker. Ranges with nothing left to
+     * reserve are dropped; of the rest, the one furthest from finishing at its measured rate (a range
+     * not yet measured counts as furthest) is split first, falling back to the next when a range is too
+     * short to be worth splitting — less than {@value #MIN_STEAL_MILLIS} ms of work per half.
+     *
+     * @return the stolen range's task, already tracked as stealable, or {@code null} when nothing is
+     *         worth stealing
+     */
+    private TableTask steal(List<TableTask> stealable, Database database, boolean bulk) {
+        stealable.removeIf(task -> task.range().unreserved() == 0);
+        List<TableTask> victims = new ArrayList<>(stealable);
+        victims.sort(Comparator.comparingDouble(DatabaseFiller::secondsLeft)
+                .thenComparingLong(task -> task.range().unreserved())
+                .reversed());
+        for (TableTask victim : victims) {
+            RowRange range = victim.range();
+            long minRows = (long) (range.rowsPerSecond() * MIN_STEAL_MILLIS / 1_000);
+            RowRange stolen = range.split(minRows);
+            if (stolen != null) {
+                logger.debug("idle worker stole rows {} of table [{}] (victim now {})", stolen, victim.table().name(), range);
+                TableTask task = rangeTask(database, victim.table(), victim.part() + 1, stolen, bulk);
+                stealable.add(task);
+                return task;
+            }
+        }
+        return null;
+    }
+
+    /** The seconds a range task needs for its unreserved rows at its measured rate; infinite when unmeasured. */
+    private static double secondsLeft(TableTask task) {
+        double rate = task.range().rowsPerSecond();
+        return rate > 0 ? task.range().unreserved() / rate : Double.POSITIVE_INFINITY;
+    }
+
     /**
      * Returns the value-constraint metadata for {@code table}, reading it from the catalog at most
      * once per {@link #fill()} run — an intra-table parallel fill would otherwise issue the same
@@ -496,19 +1468,216 @@ public class DatabaseFiller implements Fillable {
      * connection never leaks to other pool users, even if the fill throws. If the restore itself fails,
      * the connection is aborted rather than returned to the pool (see {@link #restoreConstraints}). The
      * disable/enable mechanism is database-specific (see {@link DatabaseSupport#disableConstraints}).
+     *
+     * <p>Under {@linkplain Builder#connectionAffinity(boolean) connection affinity} {@code body} runs on a
+     * worker connection instead (see {@link #fillOnWorkerConnection}).
+     *
+     * <p>When the connection is lost — {@code body} fails with one of the
+     * {@linkplain RetryPolicy#connectionSqlStates() connection SQLStates} of the {@link RetryPolicy} —
+     * the connection is discarded and {@code body} runs again on a new one, after a backoff, up to the
+     * policy's attempts. {@code body} resumes from the task's last commit (see {@link FillProgress}).
+     */
+    private void fillOnPooledConnection(Database database, boolean bulk, ConnectionFill body) throws SQLException {
+        acquireConnectionPermit();
+        try {
+            RetryPolicy retryPolicy = configuration.retryPolicy();
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    if (connectionAffinity) {
+                        fillOnWorkerConnection(database, bulk, body);
+                    } else {
+                        fillOnBorrowedConnection(database, bulk, body);
+                    }
+                    return;
+                } catch (SQLException e) {
+                    if (attempt >= retryPolicy.maxAttempts() || !retryPolicy.isConnectionFailure(e)) {
+                        throw e;
+                    }
+                    Duration backoff = retryPolicy.backoff(attempt);
+                    logger.warn("replaying a fill on a new connection in {} ms after its connection was lost (attempt {} of {}): {}",
+                            backoff.toMillis(), attempt + 1, retryPolicy.maxAttempts(), e.getMessage());
+                    try {
+                        Thread.sleep(backoff);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        e.addSuppressed(interrupted);
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            if (connectionPermits != null) {
+                connectionPermits.release();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code body} on a connection borrowed for it alone (see {@link #fillOnPooledConnection}). A
+     * connection lost in {@code body} is aborted, so the pool discards it, with nothing to restore.
+     */
+    private void fillOnBorrowedConnection(Database database, boolean bulk, ConnectionFill body) throws SQLException {
+        DatabaseSupport support = configuration.databaseSupport();
+        try (Connection conn = dataSource.getConnection()) {
+            BulkLoadHandle handle = bulk ? support.disableConstraints(conn, database) : null;
+            boolean lost = false;
+            try {
+                body.fill(conn, null);
+            } catch (SQLException e) {
+                lost = configuration.retryPolicy().isConnectionFailure(e);
+                if (lost) {
+                    abortLostConnection(conn, e);
+                }
+                throw e;
+            } finally {
+                if (bulk && !lost) {
+                    restoreConstraints(support, conn, database, handle);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs {@code body} on a worker connection held for the rest of the parallel fill: the idle one
+     * used most recently, or a newly borrowed one, set up (constraints disabled when {@code bulk}) once
+     * and for every task it runs. At most one connection per worker is ever opened, since a task only
+     * opens one when every open connection is busy. A connection goes back to the idle ones only when
+     * its fill succeeds; {@link #closeWorkerConnections} restores and closes them all when the fill ends.
+     * A lost connection is discarded at once, with its statement cache, so a replay opens a new one.
+     */
+    private void fillOnWorkerConnection(Database database, boolean bulk, ConnectionFill body) throws SQLException {
+        WorkerConnection worker = idleWorkerConnections.pollFirst();
+        if (worker == null) {
+            worker = openWorkerConnection(database, bulk);
+        }
+        try {
+            body.fill(worker.connection(), worker.statements());
+        } catch (SQLException e) {
+            if (configuration.retryPolicy().isConnectionFailure(e)) {
+                discardWorkerConnection(worker, e);
+            }
+            throw e;
+        }
+        idleWorkerConnections.addFirst(worker);
+    }
+
+    /**
+     * Drops a lost worker connection from the fill: its statements are closed and the connection is
+     * aborted and closed, so the pool discards it rather than lending it again. Its constraints are not
+     * restored, as the session they were disabled in has gone with it. Failures are suppressed into
+     * {@code failure}, the error that lost it.
+     */
+    private void discardWorkerConnection(WorkerConnection worker, SQLException failure) {
+        workerConnections.remove(worker);
+        logger.debug("discarding a lost worker connection of the fill; {} remain", workerConnections.size());
+        try {
+            worker.statements().close();
+        } catch (SQLException closeFailure) {
+            failure.addSuppressed(closeFailure);
+        }
+        abortLostConnection(worker.connection(), failure);
+    }
+
+    /**
+     * Aborts and closes a connection that was lost, so the pool discards the physical connection
+     * instead of lending it again; failures are suppressed into {@code failure}, the error that lost it.
+     */
+    private static void abortLostConnection(Connection conn, SQLException failure) {
+        try {
+            conn.abort(Runnable::run);
+        } catch (SQLException abortFailure) {
+            failure.addSuppressed(abortFailure);
+        }
+        try {
+            conn.close();
+        } catch (SQLException closeFailure) {
+            failure.addSuppressed(closeFailure);
+        }
+    }
+
+    /** Borrows a connection from the pool and sets it up as a worker connection (see {@link #fillOnWorkerConnection}). */
+    private WorkerConnection openWorkerConnection(Database database, boolean bulk) throws SQLException {
+        Connection conn = dataSource.getConnection();
+        try {
+            BulkLoadHandle handle = bulk ? configuration.databaseSupport().disableConstraints(conn, database) : null;
+            WorkerConnection worker = new WorkerConnection(conn, bulk, handle, new StatementCache(conn));
+            workerConnections.add(worker);
+            logger.debug("opened worker connection {} of the fill", workerConnections.size());
+            return worker;
+        } catch (SQLException | RuntimeException e) {
+            try {
+                conn.close();
+            } catch (SQLException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Closes every worker connection of the fill that just ended — each one's statements, then its
+     * constraint enforcement restored (see {@link #restoreConstraints}), then the connection itself.
+     * Every connection is closed even if one fails. The failures are suppressed into {@code primary},
+     * the error the fill is already ending with, if any; otherwise the first is thrown with the rest
+     * suppressed.
+     */
+    private void closeWorkerConnections(Database database, Throwable primary) throws SQLException {
+        idleWorkerConnections.clear();
+        SQLException failure = null;
+        WorkerConnection worker;
+        while ((worker = workerConnections.poll()) != null) {
+            StatementCache statements = worker.statements();
+            try (Connection conn = worker.connection(); statements) {
+                if (worker.bulk()) {
+                    restoreConstraints(configuration.databaseSupport(), conn, database, worker.handle());
+                }
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            if (primary == null) {
+                throw failure;
+            }
+            primary.addSuppressed(failure);
+        }
+    }
+
+    /**
+     * Waits for a slot in the connection budget on {@linkplain Builder#virtualThreads(boolean) virtual
+     * threads}; a no-op on platform worker threads, whose count already bounds the connections.
+     */
+    private void acquireConnectionPermit() throws SQLException {
+        if (connectionPermits == null) {
+            return;
+        }
+        try {
+            connectionPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("waiting for a connection was interrupted", e);
+        }
+    }
+
+    /**
+     * The executor for a parallel fill: a fixed pool of {@code poolSize} platform threads, or one
+     * virtual thread per task under {@link Builder#virtualThreads(boolean)}, where
+     * {@link #connectionPermits} bounds the work instead.
      */
-    private void fillOnPooledConnection(Database database, boolean bulk, ConnectionFill body) throws SQLException {
-        DatabaseSupport support = configuration.databaseSupport();
-        try (Connection conn = dataSource.getConnection()) {
-            BulkLoadHandle handle = bulk ? support.disableConstraints(conn, database) : null;
-            try {
-                body.fill(conn);
-            } finally {
-                if (bulk) {
-                    restoreConstraints(support, conn, database, handle);
-                }
-            }
+    private ExecutorService newFillExecutor(int poolSize) {
+        if (connectionPermits != null) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bloviate-fill-", 0).factory());
         }
+        return Executors.newFixedThreadPool(poolSize);
+    }
+
+    /** How the parallel fill's workers are described in its log lines. */
+    private String workers() {
+        return connectionPermits != null ? "connection(s) on virtual threads" : "worker thread(s)";
     }
 
     /**
@@ -535,18 +1704,164 @@ public class DatabaseFiller implements Fillable {
         }
     }
 
-    /** A fill action against a borrowed connection; see {@link #fillOnPooledConnection}. */
+    /**
+     * One unit of parallel work: a whole table, or partition {@code part} of it, filling rows
+     * {@code [start, end)}. Returns itself so the scheduler knows which table's dependents, and which
+     * held row ranges, a completion may release. {@code range} is the stealable row range under work
+     * stealing, else null. A {@linkplain #coalesce coalesced} task fills each of its {@code members}
+     * instead, and is named after the first; {@code members} is empty for any other task.
+     */
+    private record TableTask(Table table, int part, long start, long end, RowRange range, TaskFill fill,
+                             List<TableTask> members) implements Callable<TableTask> {
+
+        TableTask(Table table, int part, long start, long end, RowRange range, TaskFill fill) {
+            this(table, part, start, end, range, fill, List.of());
+        }
+
+        @Override
+        public TableTask call() throws SQLException {
+            fill.fill();
+            return this;
+        }
+
+        /** The tasks this one filled: its members when coalesced, else itself. */
+        List<TableTask> filled() {
+            return members.isEmpty() ? List.of(this) : members;
+        }
+
+        /** The rows this task filled. */
+        long rows() {
+            return filledEnd() - start;
+        }
+
+        /** The end of the rows actually filled: a stealable range may have been split since the task was created. */
+        long filledEnd() {
+            return range != null ? range.end() : end;
+        }
+    }
+
+    /** The fill a {@link TableTask} runs. */
+    @FunctionalInterface
+    private interface TaskFill {
+        void fill() throws SQLException;
+    }
+
+    /**
+     * A fill action against a borrowed connection; see {@link #fillOnPooledConnection}. {@code statements}
+     * is the connection's statement cache under connection affinity, else null.
+     */
     @FunctionalInterface
     private interface ConnectionFill {
-        void fill(Connection connection) throws SQLException;
+        void fill(Connection connection, StatementCache statements) throws SQLException;
+    }
+
+    /**
+     * A connection one worker keeps for a whole parallel fill under connection affinity, with its
+     * constraint-disable {@code handle} when {@code bulk} and the statements its fills have prepared.
+     */
+    private record WorkerConnection(Connection connection, boolean bulk, BulkLoadHandle handle, StatementCache statements) {
+    }
+
+    /**
+     * Plans every table under {@link IngestStrategy#auto()} (see {@link IngestPlanner}), logging each
+     * decision. Partitions are only planned for more than one worker.
+     */
+    private void planTables(Database database, int workers) {
+        logger.info("planning ingest for {} tables with up to {} worker(s)", database.tables().size(), workers);
+        for (Table table : database.tables()) {
+            plans.put(table.name(), IngestPlanner.plan(configuration, database, table, workers));
+        }
+    }
+
+    /** The rows per batch for a table: its {@linkplain #planTables planned} batch size, else the configured one. */
+    private int batchSizeFor(Table table) {
+        IngestPlanner.Plan plan = plans.get(table.name());
+        return plan != null ? plan.batchSize() : configuration.batchSize();
     }
 
-    /** The configured intra-table partition count for a table, or {@code 1} when not configured. */
+    /** Applies the table's {@linkplain #planTables planned} ingest strategy and batch size, if any, to {@code builder}. */
+    private TableFiller.Builder planned(TableFiller.Builder builder, Table table) {
+        IngestPlanner.Plan plan = plans.get(table.name());
+        return plan == null ? builder : builder.ingestStrategy(plan.ingestStrategy()).batchSize(plan.batchSize());
+    }
+
+    /**
+     * The intra-table partition count for a table: its {@linkplain #planTables planned} count under
+     * {@link IngestStrategy#auto()}, else the configured count, or {@code 1} when not configured.
+     */
     private int partitionsFor(Table table) {
+        IngestPlanner.Plan plan = plans.get(table.name());
+        if (plan != null) {
+            return plan.partitions();
+        }
         TableConfiguration tableConfiguration = configuration.tableConfiguration(table.name());
         return tableConfiguration != null ? tableConfiguration.partitions() : 1;
     }
 
+    /**
+     * The estimated cost of filling a table, used to prioritize runnable tasks: the rows its largest
+     * partition fills, since a table's partitions fill concurrently.
+     */
+    private long fillCost(Table table) {
+        return Math.ceilDiv(rowCountFor(table) - Math.min(startRowFor(table), rowCountFor(table)), Math.max(1, partitionsFor(table)));
+    }
+
+    /**
+     * The rejected-row counter for a fill under {@link Builder#tolerateFailedRows(long)}, or null, with a
+     * warning, when the database cannot isolate failed rows because it does not support savepoints.
+     */
+    private RejectedRows tolerateFailedRows(Connection conn) throws SQLException {
+        if (!conn.getMetaData().supportsSavepoints()) {
+            logger.warn("tolerateFailedRows({}) is ignored: {} does not support savepoints, so a failed batch fails the fill",
+                    maxRejectedRows, conn.getMetaData().getDatabaseProductName());
+            return null;
+        }
+        logger.info("tolerating up to {} failed row(s); failed batches are bisected to skip them", maxRejectedRows);
+        return new RejectedRows(maxRejectedRows);
+    }
+
+    /** The first row to fill of a table: {@code 0} unless it is appended to (see {@link #resolveStartRows}). */
+    private long startRowFor(Table table) {
+        return startRows.getOrDefault(table.name(), 0L);
+    }
+
+    /**
+     * Resolves the first row to fill of every table that is appended to: its configured
+     * {@link TableConfiguration#startRow()}, or its current row count for
+     * {@link TableConfiguration#DETECT_START_ROW} and, under {@link Builder#append(boolean)}, for every
+     * table without a configured start row. Counted once, before anything fills.
+     */
+    private void resolveStartRows(Connection conn, Database database) throws SQLException {
+        for (Table table : database.tables()) {
+            TableConfiguration tableConfiguration = configuration.tableConfiguration(table.name());
+            long startRow = tableConfiguration != null ? tableConfiguration.startRow() : 0;
+            if (startRow == 0 && append) {
+                startRow = TableConfiguration.DETECT_START_ROW;
+            }
+            if (startRow == TableConfiguration.DETECT_START_ROW) {
+                startRow = countRows(conn, table);
+            }
+            if (startRow > 0) {
+                startRows.put(table.name(), startRow);
+                logger.info("appending to table [{}] from row {} to {}", table.name(), startRow, rowCountFor(table));
+            }
+        }
+        if (!conn.getAutoCommit()) {
+            // end the counting transaction, so it does not pin a snapshot on a pooled or caller's connection
+            conn.commit();
+        }
+    }
+
+    /** The rows {@code table} holds now. */
+    private static long countRows(Connection conn, Table table) throws SQLException {
+        String quote = conn.getMetaData().getIdentifierQuoteString();
+        try (Statement statement = conn.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(*) from " + table.qualifiedName(quote))) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
     /** The row count for a table: its per-table override if present, otherwise the default. */
     private long rowCountFor(Table table) {
         TableConfiguration tableConfiguration = configuration.tableConfiguration(table.name());
@@ -573,16 +1888,37 @@ public class DatabaseFiller implements Fillable {
         }
     }
 
+    /** Whether rows are streamed through native ingest: requested and supported by the database. */
+    private boolean usesNativeIngest() {
+        return configuration.ingestStrategy().isNative() && configuration.databaseSupport().supportsNativeIngest();
+    }
+
+    /**
+     * Logs a warning when {@link IngestStrategy#nativeIngest()} was requested but the active
+     * {@link DatabaseSupport} has no native bulk-ingest mechanism, so every table falls back to
+     * batched {@code INSERT}s.
+     */
+    private void warnIfNativeIngestUnsupported() {
+        if (configuration.ingestStrategy().isNative() && !configuration.databaseSupport().supportsNativeIngest()) {
+            logger.warn("NATIVE ingest requested but {} does not support it; using batched INSERTs",
+                    configuration.databaseSupport().getClass().getSimpleName());
+        }
+    }
+
+    /** Whether batches are inserted as array-unnest statements: requested and supported by the database. */
+    private boolean usesArrayUnnest() {
+        return configuration.ingestStrategy().isArrayUnnest() && configuration.databaseSupport().supportsArrayUnnest();
+    }
+
     /**
-     * Logs a warning when an {@link BulkLoadStrategy#unorderedBulk()} fill was requested but the fill
-     * will not run on the parallel path (single connection, or a {@link DataSource} with one thread).
-     * Bulk loading needs per-worker session control, so it only applies to the {@code threads > 1}
-     * {@link DataSource} path; elsewhere the engine fills in dependency order.
+     * Logs a warning when {@link IngestStrategy#arrayUnnest()} was requested but the active
+     * {@link DatabaseSupport} cannot insert columnar arrays, so every table falls back to batched
+     * {@code INSERT}s.
      */
-    private void warnIfBulkIgnored() {
-        if (configuration.bulkLoadStrategy().isUnordered()) {
-            logger.warn("UNORDERED_BULK is ignored on the sequential fill path; use the DataSource "
-                    + "constructor with threads(n) > 1 for unordered bulk loading");
+    private void warnIfArrayUnnestUnsupported() {
+        if (configuration.ingestStrategy().isArrayUnnest() && !configuration.databaseSupport().supportsArrayUnnest()) {
+            logger.warn("ARRAY_UNNEST ingest requested but {} does not support it; using batched INSERTs",
+                    configuration.databaseSupport().getClass().getSimpleName());
         }
     }
 
@@ -603,59 +1939,6 @@ public class DatabaseFiller implements Fillable {
                 : configured;
     }
 
-    /**
-     * Partitions the dependency graph into topological levels via Kahn's algorithm: level 0 holds
-     * every table that references nothing, level 1 the tables whose parents are all in level 0, and
-     * so on. Tables in the same level are mutually independent and therefore safe to fill in
-     * parallel. Iteration order of the graph's vertex set is preserved, so levels are deterministic.
-     *
-     * <p>If the graph contains a cycle (e.g. mutually referencing tables), the tables in the cycle
-     * never reach in-degree zero and are omitted from the levels — matching the sequential
-     * {@link TopologicalOrderIterator}, which likewise cannot order a cycle.
-     *
-     * @param graph the reversed dependency graph (an edge points from a parent to a child)
-     * @return the tables grouped into dependency-respecting levels, parents before children
-     */
-    List<List<Table>> fillLevels(Graph<Table, DefaultEdge> graph) {
-        Map<Table, Integer> inDegree = new HashMap<>();
-        for (Table table : graph.vertexSet()) {
-            inDegree.put(table, graph.inDegreeOf(table));
-        }
-
-        List<Table> current = new ArrayList<>();
-        for (Table table : graph.vertexSet()) {
-            if (inDegree.get(table) == 0) {
-                current.add(table);
-            }
-        }
-
-        List<List<Table>> levels = new ArrayList<>();
-        int ordered = 0;
-        while (!current.isEmpty()) {
-            levels.add(current);
-            List<Table> next = new ArrayList<>();
-            for (Table table : current) {
-                ordered++;
-                for (DefaultEdge edge : graph.outgoingEdgesOf(table)) {
-                    Table child = graph.getEdgeTarget(edge);
-                    int remaining = inDegree.get(child) - 1;
-                    inDegree.put(child, remaining);
-                    if (remaining == 0) {
-                        next.add(child);
-                    }
-                }
-            }
-            current = next;
-        }
-
-        if (ordered != graph.vertexSet().size()) {
-            logger.warn("dependency graph contains a cycle; {} of {} table(s) could not be ordered and will not be filled",
-                    graph.vertexSet().size() - ordered, graph.vertexSet().size());
-        }
-
-        return levels;
-    }
-
     /**
      * Builds the table dependency graph used to determine fill order.
      *
@@ -769,6 +2052,12 @@ public class DatabaseFiller implements Fillable {
      * 
      * <p>Follows the builder pattern to provide a clean API for creating
      * DatabaseFiller objects with required dependencies.
+     *
+     * <p>The parallel-only options — {@link #workStealing(boolean)},
+     * {@link #rangePipelining(boolean)}, {@link #virtualThreads(boolean)},
+     * {@link #connectionAffinity(boolean)}, {@link #adaptiveConcurrency(boolean)} and
+     * {@link #coalesceSmallTables(long)} — only apply to the {@link DataSource} path with
+     * {@code threads > 1}, and are off by default; elsewhere they are ignored.
      */
     public static class Builder {
 
@@ -777,6 +2066,26 @@ public class DatabaseFiller implements Fillable {
         private final DatabaseConfiguration configuration;
 
         private int threads = 1;
+        private int pipelineProducers;
+        private boolean workStealing;
+        private boolean rangePipelining;
+        private boolean virtualThreads;
+        private boolean connectionAffinity;
+        private boolean adaptiveConcurrency;
+        private long coalesceRows;
+        private FillPlan fillPlan;
+        private int workerIndex;
+        private int workerCount;
+        private Path barrierDirectory;
+        private Duration barrierTimeout;
+        private String checkpointName;
+        private boolean append;
+        private long maxRejectedRows;
+        private final Map<String, IngestRate> streams = new LinkedHashMap<>();
+        private Duration streamDuration;
+        private Duration streamCommitInterval = Duration.ofSeconds(1);
+        private boolean streamWallClockTimestamps;
+        private double maxRowsPerSecond;
 
         /**
          * Creates a builder that fills sequentially on a single caller-managed connection — the
@@ -825,10 +2134,412 @@ public class DatabaseFiller implements Fillable {
             return this;
         }
 
+        /**
+         * Sets the number of producer threads that generate each table's rows while the thread
+         * filling it binds and writes them (see {@link TableFiller.Builder#pipelineProducers(int)}).
+         * Works on both the {@link Connection} and the {@link DataSource} paths; on the sequential
+         * path it is the only way to overlap generation with I/O. The default of {@code 0} generates
+         * rows on the filling thread.
+         *
+         * @param producers the producer-thread count per table fill; {@code 0} disables pipelining
+         * @return this builder
+         * @throws IllegalArgumentException if {@code producers} is negative
+         * @since 2.20.0
+         */
+        public Builder pipelineProducers(int producers) {
+            if (producers < 0) {
+                throw new IllegalArgumentException("pipelineProducers must be >= 0");
+            }
+            this.pipelineProducers = producers;
+            return this;
+        }
+
+        /**
+         * Balances parallel fills dynamically instead of by fixed partitions. Each table is filled as a
+         * single row range; whenever a worker would otherwise sit idle, the unfilled tail of the busy
+         * range furthest from finishing is split off at a block boundary and handed to it, so a skewed
+         * or slow table never leaves threads waiting on its last partition. Configured and planned
+         * {@code partitions} are ignored, and {@link #pipelineProducers(int)} does not apply to these
+         * ranges.
+         *
+         * <p>Rows are generated block by block ({@value RowRange#BLOCK_BATCHES} batches per block) with
+         * generators positioned at every block's first row, so the data is identical for any thread
+         * count and any timing of the splits. Keys and foreign keys match a sequential fill; non-key
+         * random columns are reseeded per block, as they are per partition. A
+         * {@linkplain Builder parallel-only} option.
+         *
+         * @param workStealing whether idle workers split busy tables' row ranges
+         * @return this builder
+         * @since 2.20.0
+         */
+        public Builder workStealing(boolean workStealing) {
+            this.workStealing = workStealing;
+            return this;
+        }
+
+        /**
+         * Lets a child table's row ranges start before its parent table has finished. When a foreign
+         * key is clustered — the child copies its parent's key with the positional key generators
+         * ({@link io.bloviate.gen.CompositeKeyComponentGenerator},
+         * {@link io.bloviate.gen.ChildKeyComponentGenerator}), so the parent rows a child range references
+         * can be computed from its row indexes — each of the child's partitions starts as soon as the
+         * parent rows it references are committed. A chain such as {@code open_order → order_line} then
+         * fills as a wavefront instead of one table after another. Foreign keys that cannot be shown to
+         * be clustered (random, permuted, or wrapping keys) keep waiting for the whole parent table.
+         *
+         * <p>The rows are unchanged; only the order tables fill in is. A
+         * {@linkplain Builder parallel-only} option for the ordered path; works best with several
+         * partitions on both ends of the chain.
+         *
+         * @param rangePipelining whether child row ranges start as soon as their parent rows commit
+         * @return this builder
+         * @since 2.20.0
+         */
+        public Builder rangePipelining(boolean rangePipelining) {
+            this.rangePipelining = rangePipelining;
+            return this;
+        }
+
+        /**
+         * Runs each parallel fill task on its own virtual thread instead of on a fixed pool of platform
+         * threads. {@link #threads(int)} then bounds the pooled connections held at once — a fair
+         * semaphore hands them out in task-priority order — rather than the number of threads, so a
+         * large connection budget no longer costs a platform thread per connection. Best suited to
+         * fills whose time is spent waiting on the database: many small tables or partitions over a
+         * high-latency link. The data is unchanged. A {@linkplain Builder parallel-only} option; size the
+         * pool for at least {@code threads} connections.
+         *
+         * @param virtualThreads whether fill tasks run on virtual threads
+         * @return this builder
+         * @since 2.20.0
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Keeps one pooled connection per worker for the whole parallel fill instead of borrowing one per
+         * task. Session setup — including disabling foreign-key enforcement on the
+         * {@linkplain BulkLoadStrategy#unorderedBulk() unordered bulk} path — then runs once per worker
+         * rather than once per table or partition, and each worker prepares a table's {@code INSERT} once
+         * and reuses it for every later partition of that table it fills, so the server parses it once per
+         * connection. Each task still commits its own rows. The connections are restored and returned to
+         * the pool when the fill ends. Pays off with many partitions, under
+         * {@linkplain #workStealing(boolean) work stealing}, and where preparing a statement is a round
+         * trip (e.g. server-side prepares over a high-latency link). The data is unchanged. A
+         * {@linkplain Builder parallel-only} option.
+         *
+         * @param connectionAffinity whether each worker keeps its connection for the whole fill
+         * @return this builder
+         * @since 2.20.0
+         */
+        public Builder connectionAffinity(boolean connectionAffinity) {
+            this.connectionAffinity = connectionAffinity;
+            return this;
+        }
+
+        /**
+         * Adjusts how many parallel tasks run at once while the fill runs, instead of always running
+         * {@link #threads(int)}: the fill starts with two, adds one while the database keeps up, and backs
+         * off once the rows all tasks write per second stop keeping up with their number, because they
+         * queue inside the database — TCP-Vegas style over fixed windows (see {@link ConcurrencyLimiter}).
+         * {@code threads(n)} becomes the upper bound. Going past a database's saturation point makes
+         * throughput collapse under lock contention, WAL pressure and pool waits, and the point differs
+         * by database, hardware and schema. The limit only grows while enough tasks are ready to use it,
+         * so it adapts best with partitioned tables or {@linkplain #workStealing(boolean) work stealing}.
+         * The data is unchanged. A {@linkplain Builder parallel-only} option.
+         *
+         * @param adaptiveConcurrency whether the number of running tasks adapts to the database
+         * @return this builder
+         * @since 2.20.0
+         */
+        public Builder adaptiveConcurrency(boolean adaptiveConcurrency) {
+            this.adaptiveConcurrency = adaptiveConcurrency;
+            return this;
+        }
+
+        /**
+         * Fills small tables together: when a task for a whole table of at most {@code maxRows} rows is
+         * about to start, the other such tables already runnable join it, up to {@code maxRows} rows in
+         * all, and the group fills back to back on one pooled connection in one transaction. Schemas with
+         * dozens of small reference tables then pay the per-table overhead — a borrowed connection, its
+         * session setup, a prepared statement, an autocommit toggle and a commit — once per group
+         * instead of once per table. Partitioned tables are never coalesced; under
+         * {@linkplain #workStealing(boolean) work stealing} only tables that fit in one block, and so
+         * have nothing to steal, are. The data is unchanged. A {@linkplain Builder parallel-only} option;
+         * the default of {@code 0} fills every table as its own task.
+         *
+         * @param maxRows the row count up to which tables are coalesced, and the most rows per group;
+         *                {@code 0} disables coalescing
+         * @return this builder
+         * @throws IllegalArgumentException if {@code maxRows} is negative
+         * @since 2.20.0
+         */
+        public Builder coalesceSmallTables(long maxRows) {
+            if (maxRows < 0) {
+                throw new IllegalArgumentException("coalesceSmallTables must be >= 0");
+            }
+            this.coalesceRows = maxRows;
+            return this;
+        }
+
+        /**
+         * Makes this filler one of {@code workerCount} independent processes sharing {@code plan}
+         * (exported by {@link DatabaseFiller#plan(int)}): {@link DatabaseFiller#fill()} fills only this
+         * worker's share of it (see {@link FillPlan#tasksFor(int, int)}), level by level on one
+         * connection, and after each level waits until every worker has filled its share of it. The
+         * workers meet through marker files in {@code barrierDirectory}, which they must all see — a
+         * local directory for processes on one machine, a shared mount across machines — and which
+         * must not hold markers from an earlier run of the same plan: {@code fill()} refuses to start
+         * while it does. {@code fill()} returns once the whole plan has filled, and fails if any worker
+         * does, or if a worker has not filled its share of a level an hour after this one did (see
+         * {@link #planWorker(FillPlan, int, int, Path, Duration)} to wait longer or less).
+         *
+         * <p>Every worker must use the same {@link DatabaseConfiguration} and schema the plan was
+         * exported with; {@code fill()} checks the seeds and fails otherwise. The parallel options, such
+         * as {@link #threads(int)}, do not apply: run more workers instead.
+         *
+         * @param plan             the plan to share
+         * @param workerIndex      this worker's index, from {@code 0}
+         * @param workerCount      the number of workers sharing the plan
+         * @param barrierDirectory the directory the workers meet in between levels
+         * @return this builder
+         * @throws IllegalArgumentException if {@code plan} or {@code barrierDirectory} is null, or
+         *                                  {@code workerIndex} is not in {@code [0, workerCount)}
+         * @since 2.20.0
+         */
+        public Builder planWorker(FillPlan plan, int workerIndex, int workerCount, Path barrierDirectory) {
+            return planWorker(plan, workerIndex, workerCount, barrierDirectory, Duration.ofHours(1));
+        }
+
+        /**
+         * Makes this filler one of {@code workerCount} independent processes sharing {@code plan}, as
+         * {@link #planWorker(FillPlan, int, int, Path)} does, waiting at most {@code barrierTimeout}
+         * at each level for the other workers. A worker that dies without recording its failure — a
+         * killed process, a lost machine — then fails the others after that long, naming it, rather
+         * than leaving them waiting on their connections forever. Allow for the longest any worker's
+         * share of a level may take beyond this one's.
+         *
+         * @param plan             the plan to share
+         * @param workerIndex      this worker's index, from {@code 0}
+         * @param workerCount      the number of workers sharing the plan
+         * @param barrierDirectory the directory the workers meet in between levels
+         * @param barrierTimeout   how long to wait at each level for the other workers
+         * @return this builder
+         * @throws IllegalArgumentException if {@code plan} or {@code barrierDirectory} is null,
+         *                                  {@code workerIndex} is not in {@code [0, workerCount)}, or
+         *                                  {@code barrierTimeout} is null, zero or negative
+         * @since 2.20.0
+         */
+        public Builder planWorker(FillPlan plan, int workerIndex, int workerCount, Path barrierDirectory, Duration barrierTimeout) {
+            if (barrierTimeout == null || barrierTimeout.isZero() || barrierTimeout.isNegative()) {
+                throw new IllegalArgumentException("barrierTimeout must be a positive duration");
+            }
+            if (plan == null || barrierDirectory == null) {
+                throw new IllegalArgumentException("plan and barrierDirectory must not be null");
+            }
+            if (workerCount < 1 || workerIndex < 0 || workerIndex >= workerCount) {
+                throw new IllegalArgumentException("workerIndex must be in [0, workerCount), got " + workerIndex + " of " + workerCount);
+            }
+            this.fillPlan = plan;
+            this.workerIndex = workerIndex;
+            this.workerCount = workerCount;
+            this.barrierDirectory = barrierDirectory;
+            this.barrierTimeout = barrierTimeout;
+            return this;
+        }
+
+        /**
+         * Checkpoints the fill under {@code name}, so an interrupted fill can be resumed rather than
+         * restarted. Each commit also records, in the same transaction, how far its unit has committed,
+         * in a {@code bloviate_checkpoint} side table of the target database; a unit is a whole table or
+         * one partition's row range. The side table is created when missing and is never filled.
+         *
+         * <p>A fill started again under the same name, with the same configuration, skips the units
+         * that committed, and resumes each partly committed one from its last commit. It regenerates
+         * the committed rows without writing them, so the generators reach the resume point exactly as
+         * they would have in an uninterrupted fill. The data is therefore the same as one uninterrupted
+         * fill's. Once a fill completes, running it again under the same name fills nothing; use a new
+         * name, or delete the name's rows, to fill again.
+         *
+         * <p>Commits are recorded, so a fill on the connection's autocommit uses the parallel path's
+         * bounded commit cadence instead. {@linkplain #workStealing(boolean) Work-stealing} ranges
+         * split differently on every run, so a parallel fill cannot combine the two; use partitions.
+         *
+         * @param name names the fill in the side table
+         * @return this builder
+         * @throws IllegalArgumentException if {@code name} is null or blank
+         * @since 2.20.0
+         */
+        public Builder checkpoint(String name) {
+            if (name == null || name.isBlank()) {
+                throw new IllegalArgumentException("checkpoint name must not be blank");
+            }
+            this.checkpointName = name;
+            return this;
+        }
+
+        /**
+         * Appends to the tables' existing rows rather than filling them from row {@code 0}: each table
+         * without a configured {@link TableConfiguration#startRow()} counts its rows when the fill starts
+         * and fills only those from there up to its row count, as {@link TableConfiguration#DETECT_START_ROW}
+         * does for one table. A table already holding its row count is left alone.
+         *
+         * <p>The generators are positioned at the count exactly as for a partition starting there, and
+         * foreign keys are drawn over each parent's configured row count. Topping up a database filled with
+         * smaller row counts, under the same configuration otherwise, therefore gives the keys and foreign
+         * keys of a fill at the larger counts (see {@link TableConfiguration} for plain random columns).
+         *
+         * @param append whether to append to existing rows; defaults to {@code false}
+         * @return this builder
+         * @since 2.20.0
+         */
+        public Builder append(boolean append) {
+            this.append = append;
+            return this;
+        }
+
+        /**
+         * Skips up to {@code maxRejected} rows the database rejects — a unique-key collision, a value a
+         * constraint refuses — instead of failing the whole fill on the first. Each batch is sent under a
+         * savepoint. When it fails, it is rolled back to the savepoint and resent in halves, recursively,
+         * until the failure is narrowed to the rows that cause it. Those rows are skipped and the rest of
+         * the batch is written. At the end of the fill the skipped rows are reported per table, with the
+         * first error each table's rows failed with. A fill that rejects more than {@code maxRejected}
+         * rows fails.
+         *
+         * <p>Skipped rows leave gaps rather than being regenerated, so every other row keeps the values
+         * it would have had. A successful batch costs one savepoint more, and a failed one about two
+         * round trips per failed row per halving. Savepoints need a transaction, so a fill on the
+         * connection's autocommit uses the parallel path's bounded commit cadence instead. A database
+         * without savepoints fails on the first rejected row, as before, with a warning.
+         *
+         * @param maxRejected the most rows to skip before failing the fill; {@code 0} (the default)
+         *                    fails on the first
+         * @return this builder
+         * @throws IllegalArgumentException if {@code maxRejected} is negative
+         * @since 2.20.0
+         */
+        public Builder tolerateFailedRows(long maxRejected) {
+            if (maxRejected < 0) {
+                throw new IllegalArgumentException("tolerateFailedRows must be >= 0");
+            }
+            this.maxRejectedRows = maxRejected;
+            return this;
+        }
+
+        /**
+         * Turns the fill into a stream that keeps appending rows to {@code tableName} at {@code rate},
+         * simulating live ingest, instead of filling the database. May be called once per table to
+         * stream several; only the streamed tables receive rows.
+         *
+         * <p>Each stream starts at its table's current row count, with the generators positioned there as
+         * under {@link #append(boolean)}, and runs past the table's configured row count: keys continue
+         * where the table's rows end, and foreign keys are drawn over each parent's configured row count.
+         * The rows are held to the rate by a token bucket in front of the table's row sink, so every batch
+         * waits its turn whichever {@link IngestStrategy} sends it, and are committed every
+         * {@linkplain #streamCommitInterval(Duration) commit interval}. The generators carry on from one
+         * commit to the next, so a stream writes the rows a fill at a larger row count would. The stream
+         * runs for {@link #streamFor(Duration)}, or until {@link DatabaseFiller#stop()}.
+         *
+         * <p>A single {@link Connection} streams one table; several streams need the {@link DataSource}
+         * constructor, and each holds one pooled connection and thread. {@link #checkpoint(String)},
+         * {@link #planWorker} and the parallel fill options do not apply to a stream.
+         *
+         * @param tableName the table to stream into
+         * @param rate      the rows per second to write, constant or following the time of day
+         * @return this builder
+         * @throws IllegalArgumentException if {@code tableName} is null or blank, or {@code rate} is null
+         * @since 2.20.0
+         */
+        public Builder stream(String tableName, IngestRate rate) {
+            if (tableName == null || tableName.isBlank()) {
+                throw new IllegalArgumentException("stream table name must not be blank");
+            }
+            if (rate == null) {
+                throw new IllegalArgumentException("stream rate must not be null");
+            }
+            this.streams.put(tableName, rate);
+            return this;
+        }
+
+        /**
+         * Ends the {@linkplain #stream(String, IngestRate) streams} after {@code duration}. Without it they
+         * run until {@link DatabaseFiller#stop()}.
+         *
+         * @param duration how long to stream
+         * @return this builder
+         * @throws IllegalArgumentException if {@code duration} is null, zero or negative
+         * @since 2.20.0
+         */
+        public Builder streamFor(Duration duration) {
+            if (duration == null || duration.isZero() || duration.isNegative()) {
+                throw new IllegalArgumentException("streamFor must be a positive duration");
+            }
+            this.streamDuration = duration;
+            return this;
+        }
+
+        /**
+         * Sets how often each {@linkplain #stream(String, IngestRate) stream} commits the rows it has
+         * written, so they show up at about the pace they are written however slow the rate. A stream
+         * also commits on its {@link CommitStrategy}'s cadence.
+         *
+         * @param interval the commit interval; defaults to one second
+         * @return this builder
+         * @throws IllegalArgumentException if {@code interval} is null, zero or negative
+         * @since 2.20.0
+         */
+        public Builder streamCommitInterval(Duration interval) {
+            if (interval == null || interval.isZero() || interval.isNegative()) {
+                throw new IllegalArgumentException("streamCommitInterval must be a positive duration");
+            }
+            this.streamCommitInterval = interval;
+            return this;
+        }
+
+        /**
+         * Stamps the timestamp columns of {@linkplain #stream(String, IngestRate) streamed} rows with the
+         * wall-clock time each row is generated, rather than a random instant, so the data advances with
+         * real time as live traffic would. Columns with a configured, registered or constrained generator
+         * keep it. Stamped values are, by nature, not reproducible.
+         *
+         * @param wallClockTimestamps whether to stamp streamed rows with the wall-clock time; defaults to
+         *                            {@code false}
+         * @return this builder
+         * @since 2.20.0
+         */
+        public Builder streamWallClockTimestamps(boolean wallClockTimestamps) {
+            this.streamWallClockTimestamps = wallClockTimestamps;
+            return this;
+        }
+
+        /**
+         * Caps the rows the fill writes per second, across every table and worker, so a fill of a shared
+         * environment does not saturate it. The cap is a token bucket in front of every table's row sink,
+         * shared by all of them, and applies to {@linkplain #stream(String, IngestRate) streams} on top of
+         * their own rates. The rows are unchanged; only their pace is.
+         *
+         * @param rowsPerSecond the most rows per second; {@code 0} (the default) for no cap
+         * @return this builder
+         * @throws IllegalArgumentException if {@code rowsPerSecond} is negative or not finite
+         * @since 2.20.0
+         */
+        public Builder maxRowsPerSecond(double rowsPerSecond) {
+            if (!(rowsPerSecond >= 0) || Double.isInfinite(rowsPerSecond)) {
+                throw new IllegalArgumentException("maxRowsPerSecond must be >= 0: " + rowsPerSecond);
+            }
+            this.maxRowsPerSecond = rowsPerSecond;
+            return this;
+        }
+
         /**
          * Builds a new DatabaseFiller instance with the configured parameters.
          *
          * @return a new DatabaseFiller ready to fill the database
+         * @throws IllegalArgumentException if a parallel fill is both {@linkplain #checkpoint(String)
+         *                                  checkpointed} and {@linkplain #workStealing(boolean) work stealing}
          */
         public DatabaseFiller build() {
             return new DatabaseFiller(this);
@@ -845,9 +2556,71 @@ public class DatabaseFiller implements Fillable {
         this.dataSource = builder.dataSource;
         this.configuration = builder.configuration;
         this.threads = builder.threads;
+        this.pipelineProducers = builder.pipelineProducers;
+        this.workStealing = builder.workStealing;
+        this.rangePipelining = builder.rangePipelining;
+        this.connectionPermits = builder.virtualThreads && dataSource != null && threads > 1 ? new Semaphore(threads, true) : null;
+        this.connectionAffinity = builder.connectionAffinity && dataSource != null && threads > 1;
+        this.adaptiveConcurrency = builder.adaptiveConcurrency && dataSource != null && threads > 1;
+        this.coalesceRows = dataSource != null && threads > 1 ? builder.coalesceRows : 0;
+        this.fillPlan = builder.fillPlan;
+        this.workerIndex = builder.workerIndex;
+        this.workerCount = builder.workerCount;
+        this.barrier = fillPlan != null
+                ? new FillBarrier(builder.barrierDirectory, fillPlan.id(), workerIndex, workerCount, builder.barrierTimeout)
+                : null;
+        this.checkpointName = builder.checkpointName;
+        this.append = builder.append;
+        this.maxRejectedRows = builder.maxRejectedRows;
+        this.streams = new LinkedHashMap<>(builder.streams);
+        this.streamDuration = builder.streamDuration;
+        this.streamCommitInterval = builder.streamCommitInterval;
+        this.streamWallClockTimestamps = builder.streamWallClockTimestamps;
+        this.maxRowsPerSecond = builder.maxRowsPerSecond;
+
+        if (connection != null && streams.size() > 1) {
+            throw new IllegalStateException("streaming into " + streams.size() + " tables needs the DataSource constructor: "
+                    + "a single Connection streams one table");
+        }
+        if (!streams.isEmpty() && (fillPlan != null || checkpointName != null)) {
+            logger.warn("planWorker(...) and checkpoint(...) are ignored while streaming");
+        }
+        if (!streams.isEmpty() && threads > 1) {
+            logger.warn("threads({}) is ignored while streaming: each streamed table fills on a connection and thread of its own", threads);
+        }
+
+        if (fillPlan != null && threads > 1) {
+            logger.warn("threads({}) and the other parallel options are ignored by a fill plan worker, which fills its "
+                    + "share on one connection; run more workers instead", threads);
+        }
 
         if (connection != null && threads > 1) {
             logger.warn("threads({}) is ignored when filling on a single Connection; use the DataSource constructor for parallel fills", threads);
         }
+        if (workStealing && (connection != null || threads <= 1)) {
+            logger.warn("workStealing(true) is ignored unless filling from a DataSource with threads(n) > 1");
+        }
+        if (rangePipelining && (connection != null || threads <= 1)) {
+            logger.warn("rangePipelining(true) is ignored unless filling from a DataSource with threads(n) > 1");
+        }
+        if (builder.virtualThreads && connectionPermits == null) {
+            logger.warn("virtualThreads(true) is ignored unless filling from a DataSource with threads(n) > 1");
+        }
+        if (builder.connectionAffinity && !connectionAffinity) {
+            logger.warn("connectionAffinity(true) is ignored unless filling from a DataSource with threads(n) > 1");
+        }
+        if (builder.adaptiveConcurrency && !adaptiveConcurrency) {
+            logger.warn("adaptiveConcurrency(true) is ignored unless filling from a DataSource with threads(n) > 1");
+        }
+        if (checkpointName != null && workStealing && streams.isEmpty() && fillPlan == null && dataSource != null && threads > 1) {
+            throw new IllegalArgumentException("checkpoint(" + checkpointName + ") cannot resume workStealing(true) fills: "
+                    + "their ranges split differently on every run; use partitions instead");
+        }
+        if (append && fillPlan != null) {
+            logger.warn("append(true) is ignored by a fill plan worker, which fills the plan's rows");
+        }
+        if (builder.coalesceRows > 0 && coalesceRows == 0) {
+            logger.warn("coalesceSmallTables({}) is ignored unless filling from a DataSource with threads(n) > 1", builder.coalesceRows);
+        }
     }
 }
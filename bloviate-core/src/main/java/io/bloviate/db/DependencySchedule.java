@@ -0,0 +1,194 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiPredicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Dependency counting for the parallel fill: a table becomes runnable the moment every table it
+ * references has been filled, rather than when a whole topological level has (Kahn's algorithm,
+ * driven by completions instead of by level). One slow table therefore only delays its own
+ * descendants.
+ *
+ * <p>Runnable tables are reported in a deterministic order: the roots in the graph's vertex order,
+ * then each completion's children in edge order. When more tables are runnable than there are
+ * workers, {@link #priority()} orders them by their remaining critical path — the table's own
+ * estimated fill cost plus the costliest chain of descendants still waiting on it — so the deep, heavy
+ * chains that bound the fill's end-to-end time start first. Tables on (or downstream of) a cycle
+ * never become runnable, matching the sequential {@link org.jgrapht.traverse.TopologicalOrderIterator}.
+ *
+ * <p>An edge can instead be <em>range-gated</em>: the child then becomes runnable once the parent has
+ * {@linkplain #start(Table) started}, and the caller holds each of the child's row ranges back until the
+ * parent rows it references are committed (see {@link ClusteredForeignKey}). A chain of range-gated
+ * tables fills as a wavefront rather than one table after another.
+ *
+ * <p>Not thread-safe: {@link DatabaseFiller} drives it from the coordinating thread only.
+ */
+final class DependencySchedule {
+
+    private final Graph<Table, DefaultEdge> graph;
+
+    /** Whether the edge from a parent (first) to a child (second) is satisfied when the parent starts. */
+    private final BiPredicate<Table, Table> rangeGated;
+
+    /** Per table, the referenced tables not yet filled (or, over a range-gated edge, not yet started). */
+    private final Map<Table, Integer> pendingParents = new HashMap<>();
+
+    /** Per table, its own cost plus the costliest chain of descendants. */
+    private final Map<Table, Long> criticalPaths = new HashMap<>();
+
+    /** Per table, its position in the graph's vertex order; breaks critical-path ties deterministically. */
+    private final Map<Table, Integer> ordinals = new HashMap<>();
+
+    private int completed;
+
+    /**
+     * @param graph the reversed dependency graph (an edge points from a parent to a child)
+     * @param cost  the estimated cost of filling one table, e.g. the rows each of its partitions fills
+     */
+    DependencySchedule(Graph<Table, DefaultEdge> graph, ToLongFunction<Table> cost) {
+        this(graph, cost, (parent, child) -> false);
+    }
+
+    /**
+     * @param graph      the reversed dependency graph (an edge points from a parent to a child)
+     * @param cost       the estimated cost of filling one table, e.g. the rows each of its partitions fills
+     * @param rangeGated whether the edge from a parent (first) to a child (second) is range-gated
+     */
+    DependencySchedule(Graph<Table, DefaultEdge> graph, ToLongFunction<Table> cost, BiPredicate<Table, Table> rangeGated) {
+        this.graph = graph;
+        this.rangeGated = rangeGated;
+        for (Table table : graph.vertexSet()) {
+            pendingParents.put(table, graph.inDegreeOf(table));
+            ordinals.put(table, ordinals.size());
+        }
+        Set<Table> visiting = new HashSet<>();
+        for (Table table : graph.vertexSet()) {
+            criticalPath(table, cost, visiting);
+        }
+    }
+
+    /** Memoized depth-first walk; an edge back onto the current path (a cycle) contributes nothing. */
+    private long criticalPath(Table table, ToLongFunction<Table> cost, Set<Table> visiting) {
+        Long known = criticalPaths.get(table);
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(table)) {
+            return 0;
+        }
+        long heaviestChild = 0;
+        for (DefaultEdge edge : graph.outgoingEdgesOf(table)) {
+            heaviestChild = Math.max(heaviestChild, criticalPath(graph.getEdgeTarget(edge), cost, visiting));
+        }
+        visiting.remove(table);
+        long path = cost.applyAsLong(table) + heaviestChild;
+        criticalPaths.put(table, path);
+        return path;
+    }
+
+    /**
+     * The estimated cost still ahead once {@code table} starts: its own cost plus the costliest chain
+     * of tables that (transitively) reference it.
+     *
+     * @param table a table in the graph
+     * @return the table's remaining critical path
+     */
+    long criticalPath(Table table) {
+        return criticalPaths.get(table);
+    }
+
+    /**
+     * Orders runnable tables for submission: longest remaining critical path first, then the graph's
+     * vertex order.
+     *
+     * @return the submission priority, highest first
+     */
+    Comparator<Table> priority() {
+        return Comparator.comparingLong((Table table) -> criticalPaths.get(table)).reversed()
+                .thenComparingInt(ordinals::get);
+    }
+
+    /**
+     * The tables that are runnable before anything has been filled: those that reference nothing.
+     *
+     * @return the root tables, in the graph's vertex order
+     */
+    List<Table> roots() {
+        List<Table> roots = new ArrayList<>();
+        for (Table table : graph.vertexSet()) {
+            if (pendingParents.get(table) == 0) {
+                roots.add(table);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Records that {@code table}'s fill has been queued, which satisfies its range-gated edges.
+     *
+     * @param table a table previously reported runnable
+     * @return the tables that became runnable because of it, in edge order
+     */
+    List<Table> start(Table table) {
+        return release(table, true);
+    }
+
+    /**
+     * Records that {@code table} has been completely filled and committed, which satisfies its other
+     * edges.
+     *
+     * @param table a table previously reported runnable
+     * @return the tables that became runnable because of it, in edge order
+     */
+    List<Table> complete(Table table) {
+        completed++;
+        return release(table, false);
+    }
+
+    private List<Table> release(Table table, boolean gated) {
+        List<Table> runnable = new ArrayList<>();
+        for (DefaultEdge edge : graph.outgoingEdgesOf(table)) {
+            Table child = graph.getEdgeTarget(edge);
+            if (rangeGated.test(table, child) == gated && pendingParents.merge(child, -1, Integer::sum) == 0) {
+                runnable.add(child);
+            }
+        }
+        return runnable;
+    }
+
+    /**
+     * The number of tables that can never run because they sit on a dependency cycle; meaningful once
+     * every runnable table has completed.
+     *
+     * @return the tables left unfilled
+     */
+    int unfilled() {
+        return graph.vertexSet().size() - completed;
+    }
+}
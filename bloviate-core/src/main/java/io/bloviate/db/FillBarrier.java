@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The dependency barrier between the worker processes sharing a {@link FillPlan}: a directory they
+ * can all see, in which each worker leaves a marker file once it has filled its share of a level,
+ * and polls for everyone else's before moving on to the next. A worker that fails leaves a failure
+ * marker instead, so the others stop waiting and fail too. A worker that dies without leaving one
+ * is caught by the timeout: the others give up on it once they have waited that long at one level.
+ *
+ * <p>Markers are named after the plan's id, so one directory can serve several plans; re-running the
+ * same plan needs the earlier run's markers cleared, since they would release a barrier early, and a
+ * worker refuses to start while any are left.
+ */
+final class FillBarrier {
+
+    /** How often a waiting worker looks for the other workers' markers. */
+    private static final long POLL_MILLIS = 50;
+
+    private final Path directory;
+    private final String planId;
+    private final int workerIndex;
+    private final int workerCount;
+    private final Duration timeout;
+
+    FillBarrier(Path directory, String planId, int workerIndex, int workerCount, Duration timeout) {
+        this.directory = directory;
+        this.planId = planId;
+        this.workerIndex = workerIndex;
+        this.workerCount = workerCount;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Fails unless the directory is free of markers an earlier run of the plan left: this worker's
+     * own, which a fresh run has not written yet, or any worker's failure marker.
+     *
+     * @throws SQLException if such markers exist or the directory cannot be read
+     */
+    void checkUnused() throws SQLException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<Path> stale = new ArrayList<>();
+        collect(planId + ".level-*.worker-" + workerIndex + ".{done,failed}", stale);
+        collect(planId + ".level-*.worker-*.failed", stale);
+        if (!stale.isEmpty()) {
+            throw new SQLException("the fill plan barrier in " + directory + " holds markers of an earlier run of plan "
+                    + planId + " " + stale + "; clear them, or export a new plan, before filling again");
+        }
+    }
+
+    /**
+     * Records that this worker has filled its share of {@code level}, then waits until every worker
+     * has.
+     *
+     * @throws SQLException if the marker cannot be written, another worker failed, the workers still
+     *                      missing have not arrived within the timeout, or the wait is interrupted
+     */
+    void await(int level) throws SQLException {
+        mark(level, workerIndex, "done", "");
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            for (int worker = 0; worker < workerCount; worker++) {
+                while (!Files.exists(marker(level, worker, "done"))) {
+                    Optional<String> failure = failure(level);
+                    if (failure.isPresent()) {
+                        throw new SQLException("fill plan worker failed at level " + level + ": " + failure.get());
+                    }
+                    if (System.nanoTime() - deadline >= 0) {
+                        throw new SQLException("timed out after " + timeout + " at level " + level
+                                + " waiting for fill plan worker(s) " + missing(level));
+                    }
+                    Thread.sleep(POLL_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("waiting for the other fill plan workers was interrupted", e);
+        } catch (IOException e) {
+            throw new SQLException("could not read the fill plan barrier in " + directory, e);
+        }
+    }
+
+    /**
+     * Records that this worker failed at {@code level}, releasing the others from the barrier. A
+     * marker that cannot be written is attached to {@code cause} rather than thrown.
+     */
+    void fail(int level, Exception cause) {
+        try {
+            mark(level, workerIndex, "failed", "worker " + workerIndex + ": " + cause);
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /** Adds the directory's file names matching {@code glob} to {@code names}, skipping any already there. */
+    private void collect(String glob, List<Path> names) throws SQLException {
+        try (DirectoryStream<Path> markers = Files.newDirectoryStream(directory, glob)) {
+            for (Path marker : markers) {
+                if (!names.contains(marker.getFileName())) {
+                    names.add(marker.getFileName());
+                }
+            }
+        } catch (IOException e) {
+            throw new SQLException("could not read the fill plan barrier in " + directory, e);
+        }
+    }
+
+    /** The workers that have not yet filled their share of {@code level}. */
+    private List<Integer> missing(int level) {
+        List<Integer> missing = new ArrayList<>();
+        for (int worker = 0; worker < workerCount; worker++) {
+            if (!Files.exists(marker(level, worker, "done"))) {
+                missing.add(worker);
+            }
+        }
+        return missing;
+    }
+
+    /** The first failure recorded at {@code level} or any earlier one, if any worker failed. */
+    private Optional<String> failure(int level) throws IOException {
+        for (int l = 0; l <= level; l++) {
+            for (int worker = 0; worker < workerCount; worker++) {
+                Path marker = marker(l, worker, "failed");
+                if (Files.exists(marker)) {
+                    return Optional.of(Files.readString(marker));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Writes a marker, through a temporary file so no worker ever sees it half written. */
+    private void mark(int level, int worker, String state, String content) throws SQLException {
+        Path marker = marker(level, worker, state);
+        try {
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, marker.getFileName().toString(), ".tmp");
+            Files.writeString(temporary, content);
+            Files.move(temporary, marker, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new SQLException("could not write the fill plan barrier marker " + marker, e);
+        }
+    }
+
+    private Path marker(int level, int worker, String state) {
+        return directory.resolve(planId + ".level-" + level + ".worker-" + worker + "." + state);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The progress of a checkpointed fill (see {@link DatabaseFiller.Builder#checkpoint(String)}), kept in
+ * the {@value #TABLE} side table of the target database: one row per committed unit — a whole table,
+ * or one partition's row range — holding the row its fill has committed through.
+ *
+ * <p>A unit's row is written in the same transaction as the rows it counts, just before each commit,
+ * so the checkpoint can never claim rows that did not commit, nor miss rows that did. A fill resumed
+ * under the same name skips the units that completed and restarts the others from their last commit.
+ *
+ * <p>Thread-safe: the progress read at {@link #open} is only read afterwards, and each worker records
+ * its own units on its own connection.
+ */
+final class FillCheckpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(FillCheckpoint.class);
+
+    /** The side table checkpoints are kept in; never filled itself. */
+    static final String TABLE = "bloviate_checkpoint";
+
+    private final String name;
+
+    /** The committed progress found at {@link #open}, keyed by {@link #key}: {@code {rangeEnd, committedRow}}. */
+    private final Map<String, long[]> committed;
+
+    private FillCheckpoint(String name, Map<String, long[]> committed) {
+        this.name = name;
+        this.committed = committed;
+    }
+
+    /**
+     * Creates the side table if it does not exist yet and reads the progress recorded under
+     * {@code name}. The creation is committed straight away when {@code conn} is not in autocommit
+     * mode, so every worker connection can see the table.
+     *
+     * @throws SQLException if the table cannot be created or read
+     */
+    static FillCheckpoint open(Connection conn, String name) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + TABLE + " ("
+                    + "fill_name VARCHAR(255) NOT NULL, "
+                    + "table_name VARCHAR(255) NOT NULL, "
+                    + "range_start BIGINT NOT NULL, "
+                    + "range_end BIGINT NOT NULL, "
+                    + "committed_row BIGINT NOT NULL, "
+                    + "PRIMARY KEY (fill_name, table_name, range_start))");
+        }
+        Map<String, long[]> committed = new HashMap<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT table_name, range_start, range_end, committed_row FROM " + TABLE + " WHERE fill_name = ?")) {
+            ps.setString(1, name);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    committed.put(key(rs.getString(1), rs.getLong(2)), new long[]{rs.getLong(3), rs.getLong(4)});
+                }
+            }
+        }
+        if (!conn.getAutoCommit()) {
+            conn.commit();
+        }
+        if (committed.isEmpty()) {
+            logger.info("checkpointing fill [{}] in table [{}]", name, TABLE);
+        } else {
+            logger.info("resuming fill [{}]: {} unit(s) have committed rows", name, committed.size());
+        }
+        return new FillCheckpoint(name, committed);
+    }
+
+    /**
+     * The unit filling rows {@code [start, end)} of {@code table}.
+     *
+     * @throws IllegalStateException if the checkpoint recorded this unit with another end, which means
+     *                               the fill was started with another row count or partitioning
+     */
+    Unit unit(String table, long start, long end) {
+        long[] progress = committed.get(key(table, start));
+        if (progress != null && progress[0] != end) {
+            throw new IllegalStateException("checkpoint [" + name + "] recorded table [" + table + "] rows [" + start + ", "
+                    + progress[0] + "), but this fill has rows [" + start + ", " + end + "); resume with the configuration "
+                    + "the fill was started with");
+        }
+        return new Unit(table, start, end, progress != null ? progress[1] : start);
+    }
+
+    private static String key(String table, long start) {
+        return table + '\u0000' + start;
+    }
+
+    /** One unit's progress: where to resume it, and how to record its commits. */
+    final class Unit {
+
+        private final String table;
+        private final long start;
+        private final long end;
+        private final long resumeRow;
+
+        private Unit(String table, long start, long end, long resumeRow) {
+            this.table = table;
+            this.start = start;
+            this.end = end;
+            this.resumeRow = resumeRow;
+        }
+
+        /** The first row not yet committed; {@code end} when the unit is complete. */
+        long resumeRow() {
+            return resumeRow;
+        }
+
+        /** Whether every row of the unit has committed. */
+        boolean complete() {
+            return resumeRow >= end;
+        }
+
+        /**
+         * Records, in {@code conn}'s open transaction, that the unit has committed through row
+         * {@code row} once that transaction commits: the unit's row is updated, or inserted when the
+         * unit has none yet.
+         *
+         * @throws SQLException if the row cannot be written
+         */
+        void record(Connection conn, long row) throws SQLException {
+            try (PreparedStatement ps = conn.prepareStatement("UPDATE " + TABLE
+                    + " SET committed_row = ? WHERE fill_name = ? AND table_name = ? AND range_start = ?")) {
+                ps.setLong(1, row);
+                ps.setString(2, name);
+                ps.setString(3, table);
+                ps.setLong(4, start);
+                if (ps.executeUpdate() > 0) {
+                    return;
+                }
+            }
+            try (PreparedStatement ps = conn.prepareStatement("INSERT INTO " + TABLE
+                    + " (fill_name, table_name, range_start, range_end, committed_row) VALUES (?, ?, ?, ?, ?)")) {
+                ps.setString(1, name);
+                ps.setString(2, table);
+                ps.setLong(3, start);
+                ps.setLong(4, end);
+                ps.setLong(5, row);
+                ps.executeUpdate();
+            }
+        }
+    }
+}
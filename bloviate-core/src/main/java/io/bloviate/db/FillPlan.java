@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fill split into work that independent processes can share: the tables with their row counts,
+ * partitions and per-column seeds, grouped into dependency levels, so that every table a level
+ * references sits in an earlier one.
+ *
+ * <p>A plan is exported once by {@link DatabaseFiller#plan(int)}, {@linkplain #write(Path) written}
+ * to a file and {@linkplain #read(Path) read} by every worker process, each of which fills its share
+ * through {@link DatabaseFiller.Builder#planWorker(FillPlan, int, int, Path)}. Each partition is a
+ * row range whose generators seek to its first row, so its values depend only on its position, and
+ * the processes together fill exactly what one parallel fill with the same partitions would.
+ * The generators themselves are code, not data: every worker supplies the same
+ * {@link DatabaseConfiguration}, and the seeds recorded here let it check that it does, against the
+ * same schema.
+ *
+ * <p>{@link #tasksFor(int, int)} deals the tasks out the same way in every process: level by level,
+ * largest first, each to the worker with the fewest rows so far.
+ *
+ * @param id      identifies the plan, so that the barrier files of different plans never mix
+ * @param catalog the catalog the plan was exported from, which is part of every column's seed
+ * @param seed    the configuration's base seed
+ * @param tables  the tables to fill
+ * @param levels  the table names of each dependency level, parents first
+ * @since 2.20.0
+ * @see DatabaseFiller.Builder#planWorker(FillPlan, int, int, Path)
+ */
+public record FillPlan(String id, String catalog, long seed, List<PlannedTable> tables, List<List<String>> levels) {
+
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Validates the plan and copies its lists.
+     *
+     * @throws IllegalArgumentException if the id, the tables or the levels are null, or a level names
+     *                                  a table the plan does not have
+     */
+    public FillPlan {
+        if (id == null || tables == null || levels == null) {
+            throw new IllegalArgumentException("id, tables and levels must not be null");
+        }
+        tables = List.copyOf(tables);
+        levels = levels.stream().map(List::copyOf).toList();
+        for (List<String> level : levels) {
+            for (String name : level) {
+                if (tables.stream().noneMatch(table -> table.name().equals(name))) {
+                    throw new IllegalArgumentException("level names unknown table [" + name + "]");
+                }
+            }
+        }
+    }
+
+    /**
+     * One table of a plan.
+     *
+     * @param name        the table name
+     * @param rowCount    the rows to fill
+     * @param partitions  the row ranges the table is split into; {@code 1} fills it as one task
+     * @param columnSeeds each generated column's seed (see
+     *                    {@link io.bloviate.util.DatabaseUtils#columnSeed(Column, long)}), by column
+     *                    name in column order
+     */
+    public record PlannedTable(String name, long rowCount, int partitions, Map<String, Long> columnSeeds) {
+
+        /**
+         * @throws IllegalArgumentException if the name is null, the row count is negative or the
+         *                                  partition count is less than {@code 1}
+         */
+        public PlannedTable {
+            if (name == null) {
+                throw new IllegalArgumentException("name must not be null");
+            }
+            if (rowCount < 0) {
+                throw new IllegalArgumentException("rowCount must be >= 0");
+            }
+            if (partitions < 1) {
+                throw new IllegalArgumentException("partitions must be >= 1");
+            }
+            columnSeeds = columnSeeds == null ? Map.of() : Collections.unmodifiableMap(new LinkedHashMap<>(columnSeeds));
+        }
+    }
+
+    /**
+     * One unit of work: partition {@code partition} of a table, filling rows {@code [startRow, endRow)}.
+     *
+     * @param table     the table name
+     * @param partition the partition index; {@code 0} for an unpartitioned table
+     * @param startRow  the first row, inclusive
+     * @param endRow    the row to stop at, exclusive
+     */
+    public record Task(String table, int partition, long startRow, long endRow) {
+
+        /** The rows the task fills. */
+        public long rows() {
+            return endRow - startRow;
+        }
+    }
+
+    /**
+     * The tasks worker {@code workerIndex} of {@code workerCount} fills, per level. Every worker gets
+     * every level, possibly empty, since it must still wait at each level's barrier. Across all
+     * workers each row of each table is dealt out exactly once.
+     *
+     * @param workerIndex this worker's index, from {@code 0}
+     * @param workerCount the number of workers sharing the plan
+     * @return the worker's tasks, one list per level
+     * @throws IllegalArgumentException if {@code workerIndex} is not in {@code [0, workerCount)}
+     */
+    public List<List<Task>> tasksFor(int workerIndex, int workerCount) {
+        if (workerCount < 1 || workerIndex < 0 || workerIndex >= workerCount) {
+            throw new IllegalArgumentException("workerIndex must be in [0, workerCount), got " + workerIndex + " of " + workerCount);
+        }
+        long[] load = new long[workerCount];
+        List<List<Task>> assigned = new ArrayList<>();
+        for (List<String> level : levels) {
+            List<Task> tasks = new ArrayList<>();
+            for (String name : level) {
+                tasks.addAll(tasks(table(name)));
+            }
+            tasks.sort(Comparator.comparingLong(Task::rows).reversed()
+                    .thenComparing(Task::table)
+                    .thenComparingInt(Task::partition));
+            List<Task> mine = new ArrayList<>();
+            for (Task task : tasks) {
+                int worker = 0;
+                for (int w = 1; w < workerCount; w++) {
+                    if (load[w] < load[worker]) {
+                        worker = w;
+                    }
+                }
+                load[worker] += task.rows();
+                if (worker == workerIndex) {
+                    mine.add(task);
+                }
+            }
+            assigned.add(List.copyOf(mine));
+        }
+        return List.copyOf(assigned);
+    }
+
+    /**
+     * The planned table named {@code name}.
+     *
+     * @param name the table name
+     * @return the table
+     * @throws IllegalArgumentException if the plan has no such table
+     */
+    public PlannedTable table(String name) {
+        return tables.stream()
+                .filter(table -> table.name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("plan has no table [" + name + "]"));
+    }
+
+    /**
+     * Writes the plan as JSON.
+     *
+     * @param file the file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        mapper.writeValue(file.toFile(), this);
+    }
+
+    /**
+     * Reads a plan written by {@link #write(Path)}.
+     *
+     * @param file the file to read
+     * @return the plan
+     * @throws IOException if the file cannot be read or is not a plan
+     */
+    public static FillPlan read(Path file) throws IOException {
+        return mapper.readValue(file.toFile(), FillPlan.class);
+    }
+
+    /** The table's non-empty row ranges, split as {@link DatabaseFiller} splits a partitioned table. */
+    private static List<Task> tasks(PlannedTable table) {
+        List<Task> tasks = new ArrayList<>();
+        long base = table.rowCount() / table.partitions();
+        long remainder = table.rowCount() % table.partitions();
+        long start = 0;
+        for (int p = 0; p < table.partitions(); p++) {
+            long end = start + base + (p < remainder ? 1 : 0);
+            if (end > start) {
+                tasks.add(new Task(table.name(), p, start, end));
+            }
+            start = end;
+        }
+        return tasks;
+    }
+}
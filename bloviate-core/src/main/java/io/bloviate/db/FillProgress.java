@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The progress one parallel task's fill has committed, kept across the connections the task runs on:
+ * when its connection is lost, {@link DatabaseFiller} replays the task on a new one, and the
+ * {@link TableFiller} it builds there resumes from the row recorded here instead of the range start.
+ * A stealable range also keeps the blocks it has reserved, so the replay refills those before it
+ * reserves more.
+ *
+ * <p>Not thread-safe: a task runs on one thread at a time, and so does every replay of it.
+ */
+final class FillProgress {
+
+    private long committedRow = -1;
+    private final List<Long> reservedBlocks = new ArrayList<>();
+
+    /**
+     * The first row not yet committed, or {@code startRow} when nothing has committed.
+     *
+     * @param startRow the first row of the fill
+     * @return the row a replay resumes at
+     */
+    long resumeRow(long startRow) {
+        return Math.max(committedRow, startRow);
+    }
+
+    /**
+     * Records that the fill has committed every row before {@code row}.
+     *
+     * @param row the first row not committed
+     */
+    void committed(long row) {
+        committedRow = row;
+    }
+
+    /** The ends of the blocks a stealable range has reserved, in order; the fill adds to it. */
+    List<Long> reservedBlocks() {
+        return reservedBlocks;
+    }
+}
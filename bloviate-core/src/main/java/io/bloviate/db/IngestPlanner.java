@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.DatabaseSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Chooses how each table is filled under {@link IngestStrategy#auto()}: the ingest mechanism, the
+ * intra-table partition count and the batch size, from the table's row count, its generated columns'
+ * estimated width, and what the {@link DatabaseSupport} can do. Every decision is logged at
+ * {@code INFO} with the inputs that drove it.
+ *
+ * <p>The rules, in order:
+ * <ul>
+ *   <li><b>Ingest.</b> A table under {@value #SMALL_TABLE_ROWS} rows uses batched {@code INSERT}s,
+ *       since opening a bulk path costs more than it saves. A larger table uses native ingest where
+ *       the support offers it for the table, then array-unnest inserts, then multi-row
+ *       {@code INSERT}s when the driver has no batch rewrite to collapse single-row batches, and
+ *       batched {@code INSERT}s otherwise.</li>
+ *   <li><b>Partitions.</b> Only a fill with more than one worker partitions. There a configured
+ *       partition count always wins; otherwise a table of at least two × {@value #ROWS_PER_PARTITION} rows is split
+ *       into one partition per {@value #ROWS_PER_PARTITION} rows, at most one per worker. Only tables
+ *       no foreign key references are split automatically, since a partitioned parent with a random
+ *       primary key could orphan its children's references.</li>
+ *   <li><b>Batch size.</b> Enough rows for about {@value #TARGET_BATCH_BYTES} bytes of values,
+ *       within [{@value #MIN_BATCH_SIZE}, {@value #MAX_BATCH_SIZE}] and never more than the table's rows.</li>
+ * </ul>
+ *
+ * <p>Plans change how rows are sent and how the range is split, never the generators' seeds: the
+ * same planned fill is reproducible, and only an automatic partitioning changes non-key random
+ * columns, exactly as configuring that partition count would.
+ */
+final class IngestPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(IngestPlanner.class);
+
+    /** Tables with fewer rows than this are filled with batched {@code INSERT}s. */
+    static final long SMALL_TABLE_ROWS = 10_000;
+
+    /** The rows an automatically partitioned table puts in each partition. */
+    static final long ROWS_PER_PARTITION = 1_000_000;
+
+    /** The bytes of values a planned batch aims to carry. */
+    static final long TARGET_BATCH_BYTES = 1_048_576;
+
+    static final int MIN_BATCH_SIZE = 100;
+    static final int MAX_BATCH_SIZE = 50_000;
+
+    /** The width assumed for a text or binary column without a declared length. */
+    private static final int UNSIZED_WIDTH = 32;
+
+    /** The most a single sized text or binary column is assumed to carry. */
+    private static final int MAX_COLUMN_WIDTH = 1_024;
+
+    private IngestPlanner() {
+    }
+
+    /**
+     * How one table is filled.
+     *
+     * @param ingestStrategy the concrete (never {@link IngestStrategy.Mode#AUTO}) ingest strategy
+     * @param partitions     the intra-table partition count; {@code 1} fills the table as one range
+     * @param batchSize      the rows per batch
+     * @param reason         why the plan was chosen, for the log
+     */
+    record Plan(IngestStrategy ingestStrategy, int partitions, int batchSize, String reason) {
+    }
+
+    /**
+     * Plans the fill of {@code table} and logs the decision.
+     *
+     * @param configuration the fill configuration; supplies row counts, partitions and the support
+     * @param database      the database metadata, used to tell whether another table references this one
+     * @param table         the table to plan
+     * @param workers       the worker threads that could fill partitions concurrently; {@code 1} on
+     *                      the sequential path
+     * @return the plan
+     */
+    static Plan plan(DatabaseConfiguration configuration, Database database, Table table, int workers) {
+        DatabaseSupport support = configuration.databaseSupport();
+        TableConfiguration tableConfiguration = configuration.tableConfiguration(table.name());
+        long rows = tableConfiguration != null ? tableConfiguration.rowCount() : configuration.defaultRowCount();
+        List<Column> columns = table.filteredColumns();
+        long rowBytes = estimateRowBytes(columns);
+
+        IngestStrategy ingestStrategy;
+        String ingestReason;
+        if (columns.isEmpty()) {
+            ingestStrategy = IngestStrategy.batchInsert();
+            ingestReason = "no generated columns";
+        } else if (rows < SMALL_TABLE_ROWS) {
+            ingestStrategy = IngestStrategy.batchInsert();
+            ingestReason = "fewer than " + SMALL_TABLE_ROWS + " rows";
+        } else if (support.supportsNativeIngest(table)) {
+            ingestStrategy = IngestStrategy.nativeIngest();
+            ingestReason = "native ingest supported";
+        } else if (support.supportsArrayUnnest(table)) {
+            ingestStrategy = IngestStrategy.arrayUnnest();
+            ingestReason = "array-unnest supported";
+        } else if (support.batchRewriteUrlParameter() == null) {
+            ingestStrategy = IngestStrategy.multiRowInsert();
+            ingestReason = "no driver batch rewrite";
+        } else {
+            ingestStrategy = IngestStrategy.batchInsert();
+            ingestReason = "driver batch rewrite available";
+        }
+
+        int partitions;
+        String partitionReason;
+        int configured = tableConfiguration != null ? tableConfiguration.partitions() : 1;
+        if (workers <= 1) {
+            partitions = 1;
+            partitionReason = "single worker";
+        } else if (configured > 1) {
+            partitions = configured;
+            partitionReason = "configured";
+        } else if (rows < 2 * ROWS_PER_PARTITION) {
+            partitions = 1;
+            partitionReason = "fewer than " + 2 * ROWS_PER_PARTITION + " rows";
+        } else if (isReferenced(database, table)) {
+            partitions = 1;
+            partitionReason = "referenced by a foreign key";
+        } else {
+            partitions = (int) Math.min(workers, rows / ROWS_PER_PARTITION);
+            partitionReason = "one per " + ROWS_PER_PARTITION + " rows, up to " + workers + " workers";
+        }
+
+        int batchSize = Math.clamp(TARGET_BATCH_BYTES / rowBytes, MIN_BATCH_SIZE, MAX_BATCH_SIZE);
+        batchSize = (int) Math.max(1, Math.min(batchSize, rows));
+
+        String reason = "ingest: " + ingestReason + "; partitions: " + partitionReason;
+        logger.info("table [{}] ({} rows, {} columns, ~{} bytes/row): {} ingest, {} partition(s), batch size {} ({})",
+                table.name(), rows, columns.size(), rowBytes, ingestStrategy.mode(), partitions, batchSize, reason);
+        return new Plan(ingestStrategy, partitions, batchSize, reason);
+    }
+
+    /** Estimates the bytes one row's generated values occupy; always at least one. */
+    static long estimateRowBytes(List<Column> columns) {
+        long bytes = 0;
+        for (Column column : columns) {
+            bytes += estimateColumnBytes(column);
+        }
+        return Math.max(1, bytes);
+    }
+
+    private static int estimateColumnBytes(Column column) {
+        if (column.jdbcType() == null) {
+            return UNSIZED_WIDTH;
+        }
+        return switch (column.jdbcType()) {
+            case BIT, BOOLEAN, TINYINT -> 1;
+            case SMALLINT -> 2;
+            case INTEGER, REAL, DATE -> 4;
+            case BIGINT, FLOAT, DOUBLE, TIME, TIMESTAMP -> 8;
+            case TIME_WITH_TIMEZONE, TIMESTAMP_WITH_TIMEZONE -> 12;
+            case NUMERIC, DECIMAL -> 16;
+            // generated text and binary values average about half their declared length
+            case CHAR, NCHAR, VARCHAR, NVARCHAR, LONGVARCHAR, LONGNVARCHAR, CLOB, NCLOB,
+                 BINARY, VARBINARY, LONGVARBINARY, BLOB -> column.maxSize() == null || column.maxSize() <= 0
+                    ? UNSIZED_WIDTH
+                    : Math.max(1, Math.min(column.maxSize(), MAX_COLUMN_WIDTH) / 2);
+            default -> UNSIZED_WIDTH;
+        };
+    }
+
+    /** Whether any table in {@code database} (including {@code table} itself) has a foreign key to {@code table}. */
+    private static boolean isReferenced(Database database, Table table) {
+        for (Table other : database.tables()) {
+            for (ForeignKey foreignKey : other.foreignKeys()) {
+                if (foreignKey.primaryKey() != null && table.name().equals(foreignKey.primaryKey().tableName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
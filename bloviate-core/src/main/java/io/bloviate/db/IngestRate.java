@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import java.time.LocalTime;
+
+/**
+ * The rate at which a {@linkplain DatabaseFiller.Builder#stream(String, IngestRate) streamed} table
+ * receives rows: a constant number of rows per second, or a diurnal curve that rises and falls with
+ * the time of day around that mean.
+ *
+ * <p>A diurnal rate follows a cosine over the day, peaking at {@code peak} at
+ * {@code rowsPerSecond * (1 + amplitude)} and bottoming out twelve hours later at
+ * {@code rowsPerSecond * (1 - amplitude)}, so its daily mean is {@code rowsPerSecond}. The time of day
+ * is read from the system clock in the system time zone.
+ *
+ * @param rowsPerSecond the mean rate, in rows per second
+ * @param amplitude     how far the rate swings either side of the mean, as a fraction of it; {@code 0}
+ *                      for a constant rate
+ * @param peak          the time of day the rate peaks; irrelevant for a constant rate
+ * @since 2.20.0
+ * @see DatabaseFiller.Builder#maxRowsPerSecond(double)
+ */
+public record IngestRate(double rowsPerSecond, double amplitude, LocalTime peak) {
+
+    private static final double SECONDS_PER_DAY = 24 * 60 * 60;
+
+    /**
+     * Validates the rate and curve.
+     *
+     * @throws IllegalArgumentException if {@code rowsPerSecond} is not a finite positive number,
+     *                                  {@code amplitude} is outside {@code [0, 1)}, or {@code peak}
+     *                                  is null
+     */
+    public IngestRate {
+        if (!(rowsPerSecond > 0) || Double.isInfinite(rowsPerSecond)) {
+            throw new IllegalArgumentException("rowsPerSecond must be a positive number: " + rowsPerSecond);
+        }
+        if (!(amplitude >= 0 && amplitude < 1)) {
+            throw new IllegalArgumentException("amplitude must be in [0, 1): " + amplitude);
+        }
+        if (peak == null) {
+            throw new IllegalArgumentException("peak must not be null");
+        }
+    }
+
+    /**
+     * A constant rate.
+     *
+     * @param rowsPerSecond the rate, in rows per second
+     * @return the rate
+     */
+    public static IngestRate constant(double rowsPerSecond) {
+        return new IngestRate(rowsPerSecond, 0, LocalTime.MIDNIGHT);
+    }
+
+    /**
+     * A rate that follows the time of day, as live traffic does.
+     *
+     * @param meanRowsPerSecond the daily mean rate, in rows per second
+     * @param amplitude         how far the rate swings either side of the mean, as a fraction of it
+     * @param peak              the time of day the rate peaks
+     * @return the rate
+     */
+    public static IngestRate diurnal(double meanRowsPerSecond, double amplitude, LocalTime peak) {
+        return new IngestRate(meanRowsPerSecond, amplitude, peak);
+    }
+
+    /**
+     * The rate at {@code time} of day.
+     *
+     * @param time the time of day
+     * @return the rate, in rows per second
+     */
+    public double rowsPerSecondAt(LocalTime time) {
+        if (amplitude == 0) {
+            return rowsPerSecond;
+        }
+        double sincePeak = time.toNanoOfDay() / 1e9 - peak.toNanoOfDay() / 1e9;
+        return rowsPerSecond * (1 + amplitude * Math.cos(2 * Math.PI * sincePeak / SECONDS_PER_DAY));
+    }
+}
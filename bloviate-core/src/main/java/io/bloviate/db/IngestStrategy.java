@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.DatabaseSupport;
+
+/**
+ * How {@link TableFiller} moves generated rows into the database.
+ *
+ * <p>By default ({@link #batchInsert()}) every row is bound to a parameterized {@code INSERT} and
+ * submitted through JDBC batching — portable, and fast when the driver's batch rewrite is enabled
+ * (see {@link DatabaseSupport#batchRewriteUrlParameter()}). Even rewritten, that path still parses
+ * and plans SQL and round-trips bind parameters for every batch.
+ *
+ * <p>{@link #nativeIngest()} instead streams rows through the database's own bulk-ingest protocol
+ * when the active {@link DatabaseSupport} offers one ({@link DatabaseSupport#supportsNativeIngest()}):
+ * for PostgreSQL that is {@code COPY ... FROM STDIN} in the binary format, and for MySQL and MariaDB
+ * {@code LOAD DATA LOCAL INFILE} fed from an in-memory stream; DuckDB uses its {@code Appender} and an
+ * embedded H2 loads a temporary CSV file with {@code CSVREAD}. Values come from the same
+ * seeded generators in the same order, so the loaded data is identical to what the {@code INSERT}
+ * path produces for the same seed; only the wire format changes. When the support has no native
+ * mechanism the engine logs a one-time warning and uses batched {@code INSERT}s.
+ *
+ * <p>{@link #multiRowInsert()} keeps plain SQL but packs many rows into each statement's
+ * {@code VALUES} list ({@code insert into t (a,b) values (?,?),(?,?),...}), so a batch costs one
+ * statement execution rather than one per row. It helps most where the driver has no batch rewrite
+ * (CockroachDB, SQLite, H2, unknown databases). Rows per statement are the batch size, capped so the
+ * statement stays within {@link DatabaseSupport#maxBindParameters()}; a second statement sized to the
+ * remainder carries the final rows of the range. The database must accept multi-row {@code VALUES}.
+ *
+ * <p>{@link #arrayUnnest()} goes further for PostgreSQL and CockroachDB
+ * ({@link DatabaseSupport#supportsArrayUnnest()}): each batch's values are collected column by column
+ * into one array per column and sent as a single
+ * {@code insert into t select * from unnest(?::int8[], ?::text[], ...)}, so a batch of any size is one
+ * statement with one parameter per column — no per-row parse or plan work and no bind-parameter cap.
+ * Tables the support cannot unnest (array columns) and databases without it use batched
+ * {@code INSERT}s, with a one-time warning for the latter.
+ *
+ * <p>Native ingest and array-unnest inserts honor the {@link CommitStrategy}: each commit point ends the in-flight stream
+ * (so its rows become part of the committed transaction) and the next row opens a new one. Under
+ * {@link CommitStrategy#connectionDefault()} there are no engine commit points, so one stream
+ * carries the whole table (or, for an intra-table partitioned fill, the whole partition).
+ *
+ * <p>{@link #auto()} chooses per table instead: from each table's row count, its estimated row width
+ * and what the {@link DatabaseSupport} offers, it picks one of the modes above, a batch size and — on a
+ * parallel fill — an intra-table partition count, and logs each decision with its reasons. Small tables
+ * use batched {@code INSERT}s; large ones the fastest bulk path the database supports. A configured
+ * {@link TableConfiguration#partitions() partition count} is always honored; the configured batch size
+ * is not used.
+ *
+ * @param mode the ingest mode
+ * @since 2.20.0
+ * @see DatabaseConfiguration
+ * @see DatabaseSupport#supportsNativeIngest()
+ * @see DatabaseSupport#supportsArrayUnnest()
+ */
+public record IngestStrategy(Mode mode) {
+
+    /** The available ingest modes. */
+    public enum Mode {
+        /** Parameterized single-row {@code INSERT}s submitted as JDBC batches (the default). */
+        BATCH_INSERT,
+        /** The database's native bulk-ingest protocol (e.g. PostgreSQL {@code COPY}), where supported. */
+        NATIVE,
+        /** Parameterized multi-row {@code INSERT ... VALUES (...), (...)} statements, one per batch. */
+        MULTI_ROW_INSERT,
+        /** Columnar {@code INSERT ... SELECT * FROM unnest(?::type[], ...)}, one statement per batch, where supported. */
+        ARRAY_UNNEST,
+        /** One of the other modes per table, with a planned batch size and partition count. */
+        AUTO
+    }
+
+    /**
+     * Validates the mode.
+     *
+     * @throws IllegalArgumentException if {@code mode} is null
+     */
+    public IngestStrategy {
+        if (mode == null) {
+            throw new IllegalArgumentException("mode must not be null");
+        }
+    }
+
+    /**
+     * The back-compatible default: batched, parameterized {@code INSERT} statements.
+     *
+     * @return a {@link Mode#BATCH_INSERT} strategy
+     */
+    public static IngestStrategy batchInsert() {
+        return new IngestStrategy(Mode.BATCH_INSERT);
+    }
+
+    /**
+     * Stream rows through the database's native bulk-ingest protocol, falling back to batched
+     * {@code INSERT}s when the active {@link DatabaseSupport} has none.
+     *
+     * @return a {@link Mode#NATIVE} strategy
+     */
+    public static IngestStrategy nativeIngest() {
+        return new IngestStrategy(Mode.NATIVE);
+    }
+
+    /**
+     * Pack each batch into one multi-row {@code INSERT} statement, capped by the database's
+     * {@linkplain DatabaseSupport#maxBindParameters() bind-parameter limit}.
+     *
+     * @return a {@link Mode#MULTI_ROW_INSERT} strategy
+     */
+    public static IngestStrategy multiRowInsert() {
+        return new IngestStrategy(Mode.MULTI_ROW_INSERT);
+    }
+
+    /**
+     * Insert each batch as one statement over per-column arrays
+     * ({@code select * from unnest(?::int8[], ...)}), falling back to batched {@code INSERT}s when the
+     * active {@link DatabaseSupport} cannot.
+     *
+     * @return a {@link Mode#ARRAY_UNNEST} strategy
+     */
+    public static IngestStrategy arrayUnnest() {
+        return new IngestStrategy(Mode.ARRAY_UNNEST);
+    }
+
+    /**
+     * Plan each table's ingest mode, batch size and partition count from its size, width and the
+     * active {@link DatabaseSupport}'s capabilities.
+     *
+     * @return a {@link Mode#AUTO} strategy
+     */
+    public static IngestStrategy auto() {
+        return new IngestStrategy(Mode.AUTO);
+    }
+
+    /**
+     * Whether this strategy is {@link Mode#AUTO}.
+     *
+     * @return {@code true} for per-table planning
+     */
+    public boolean isAuto() {
+        return mode == Mode.AUTO;
+    }
+
+    /**
+     * Whether this strategy is {@link Mode#ARRAY_UNNEST}.
+     *
+     * @return {@code true} for array-unnest inserts
+     */
+    public boolean isArrayUnnest() {
+        return mode == Mode.ARRAY_UNNEST;
+    }
+
+    /**
+     * Whether this strategy is {@link Mode#MULTI_ROW_INSERT}.
+     *
+     * @return {@code true} for multi-row inserts
+     */
+    public boolean isMultiRow() {
+        return mode == Mode.MULTI_ROW_INSERT;
+    }
+
+    /**
+     * Whether this strategy is {@link Mode#NATIVE}.
+     *
+     * @return {@code true} for native ingest
+     */
+    public boolean isNative() {
+        return mode == Mode.NATIVE;
+    }
+}
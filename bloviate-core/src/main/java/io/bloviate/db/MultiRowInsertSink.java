@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.DatabaseSupport;
+import io.bloviate.ext.RowSink;
+import io.bloviate.gen.DataGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link RowSink} for {@link IngestStrategy#multiRowInsert()}: rows are buffered and sent as one
+ * multi-row {@code INSERT} once {@code rowsPerStatement} have been written; a {@link #flush()} sends
+ * the rows still buffered through a statement sized to exactly them. Each value is bound through its
+ * column's generator, as on the single-row path.
+ *
+ * <p>Statements are prepared on first use and kept per row count, so a fill prepares the full-size
+ * statement plus at most one for the rows left at a commit point and one for the end of the range.
+ * Given a {@link StatementCache} they are prepared through it instead, and stay open for the next fill
+ * on the connection.
+ */
+final class MultiRowInsertSink implements RowSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(MultiRowInsertSink.class);
+
+    private final Connection connection;
+    private final Table table;
+    private final DataGenerator<?>[] generators;
+    private final String quote;
+    private final Object[][] rows;
+    private final Map<Integer, PreparedStatement> statements = new HashMap<>();
+
+    /** The connection's statement cache, which owns the statements; null when this sink owns them. */
+    private final StatementCache statementCache;
+
+    private int pending;
+
+    private MultiRowInsertSink(Connection connection, Table table, DataGenerator<?>[] generators, String quote, int rowsPerStatement,
+                               StatementCache statementCache) {
+        this.connection = connection;
+        this.table = table;
+        this.generators = generators;
+        this.quote = quote;
+        this.rows = new Object[rowsPerStatement][generators.length];
+        this.statementCache = statementCache;
+    }
+
+    /**
+     * Creates a sink packing up to {@code batchSize} rows into each statement — fewer when the
+     * database's {@linkplain DatabaseSupport#maxBindParameters() bind-parameter limit} would be exceeded.
+     *
+     * @param connection      the connection to insert on; the sink does not own or close it
+     * @param table           the table to fill
+     * @param generators      the column generators, used to bind each value; at least one
+     * @param batchSize       the rows per statement before the bind-parameter cap
+     * @param databaseSupport the support whose bind-parameter limit applies
+     * @param statements      the connection's statement cache to prepare through; null for statements
+     *                        the sink closes
+     * @return a sink for the table
+     * @throws SQLException if the identifier quote cannot be read
+     */
+    static MultiRowInsertSink open(Connection connection, Table table, DataGenerator<?>[] generators, int batchSize,
+                                   DatabaseSupport databaseSupport, StatementCache statements) throws SQLException {
+        int rowsPerStatement = Math.clamp(databaseSupport.maxBindParameters() / generators.length, 1, batchSize);
+        logger.trace("filling table [{}] with [{}] rows per statement", table.name(), rowsPerStatement);
+        return new MultiRowInsertSink(connection, table, generators, connection.getMetaData().getIdentifierQuoteString(), rowsPerStatement,
+                statements);
+    }
+
+    @Override
+    public void write(Object[] row) throws SQLException {
+        // the caller reuses its array, so keep a copy until the statement is sent
+        System.arraycopy(row, 0, rows[pending], 0, row.length);
+        if (++pending == rows.length) {
+            execute();
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (pending > 0) {
+            execute();
+        }
+    }
+
+    private void execute() throws SQLException {
+        PreparedStatement ps = statements.get(pending);
+        if (ps == null) {
+            String sql = table.insertString(quote, pending);
+            ps = statementCache != null ? statementCache.prepare(sql) : connection.prepareStatement(sql);
+            statements.put(pending, ps);
+        }
+        int columnCount = generators.length;
+        for (int row = 0; row < pending; row++) {
+            TableFiller.bindRow(connection, generators, rows[row], ps, row * columnCount);
+        }
+        ps.executeUpdate();
+        pending = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        pending = 0;
+        if (statementCache != null) {
+            statements.clear();
+            return;
+        }
+        SQLException failure = null;
+        for (PreparedStatement ps : statements.values()) {
+            try {
+                ps.close();
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        statements.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
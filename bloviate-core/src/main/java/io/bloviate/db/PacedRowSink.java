@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.RowSink;
+
+import java.sql.SQLException;
+
+/**
+ * A {@link RowSink} that holds the rows written to another to a {@link RowPacer}'s rate. Rows are
+ * granted ahead of being written, up to a batch at a time, so every batch the inner sink sends has
+ * waited its turn, whichever ingest strategy sends it.
+ */
+final class PacedRowSink implements RowSink {
+
+    private final RowSink sink;
+    private final RowPacer pacer;
+    private final int batchSize;
+
+    // rows granted and not yet written
+    private long granted;
+
+    PacedRowSink(RowSink sink, RowPacer pacer, int batchSize) {
+        this.sink = sink;
+        this.pacer = pacer;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void write(Object[] row) throws SQLException {
+        if (granted == 0) {
+            try {
+                granted = pacer.acquire(batchSize);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("interrupted while pacing rows", e);
+            }
+        }
+        granted--;
+        sink.write(row);
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        sink.flush();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        sink.close();
+    }
+}
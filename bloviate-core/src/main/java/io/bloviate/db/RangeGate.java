@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds back a child table's row ranges until the parent rows they reference are committed, for the
+ * range-gated edges of a {@link DependencySchedule} (see {@link DatabaseFiller.Builder#rangePipelining(boolean)}).
+ * Each parent's committed rows are tracked in a {@link RowIntervalSet}; a held range is let through once
+ * every {@linkplain ClusteredForeignKey clustered foreign key} of its table finds the rows it needs
+ * covered.
+ *
+ * <p>Not thread-safe: {@link DatabaseFiller} drives it from the coordinating thread only.
+ *
+ * @param <T> the task filling a row range
+ */
+final class RangeGate<T> {
+
+    /** Per child table, its clustered foreign keys over range-gated edges. */
+    private final Map<Table, List<ClusteredForeignKey>> clustered;
+
+    /** Per parent table, the rows committed so far. */
+    private final Map<Table, RowIntervalSet> committed = new HashMap<>();
+
+    /** The tasks waiting on parent rows, in the order they were held. */
+    private final List<Held<T>> held = new ArrayList<>();
+
+    /**
+     * @param clustered per child table, the clustered foreign keys whose edges are range-gated; a
+     *                  child's every foreign key to a given parent must be among them for that edge
+     */
+    RangeGate(Map<Table, List<ClusteredForeignKey>> clustered) {
+        this.clustered = clustered;
+    }
+
+    /**
+     * Whether the edge from {@code parent} to {@code child} is range-gated.
+     *
+     * @param parent the referenced table
+     * @param child  the referencing table
+     * @return true when the child's ranges wait on the parent's rows rather than on the whole table
+     */
+    boolean isGated(Table parent, Table child) {
+        return clustered.getOrDefault(child, List.of()).stream().anyMatch(foreignKey -> foreignKey.parent().equals(parent));
+    }
+
+    /**
+     * Admits a task filling rows {@code [start, end)} of {@code table}, or holds it until the parent
+     * rows it references have been {@linkplain #commit committed}.
+     *
+     * @param task  the task
+     * @param table the table it fills
+     * @param start the first row it fills, inclusive
+     * @param end   the row it stops at, exclusive
+     * @return true if the task may run now; false if it is held
+     */
+    boolean admit(T task, Table table, long start, long end) {
+        List<ClusteredForeignKey> foreignKeys = clustered.getOrDefault(table, List.of());
+        if (foreignKeys.isEmpty() || end <= start) {
+            return true;
+        }
+        List<Need> needs = new ArrayList<>(foreignKeys.size());
+        for (ClusteredForeignKey foreignKey : foreignKeys) {
+            needs.add(new Need(foreignKey.parent(), foreignKey.parentRow(start), foreignKey.parentRow(end - 1) + 1));
+        }
+        Held<T> waiting = new Held<>(task, needs);
+        if (isCovered(waiting)) {
+            return true;
+        }
+        held.add(waiting);
+        return false;
+    }
+
+    /**
+     * Records that rows {@code [start, end)} of {@code table} are committed.
+     *
+     * @param table the table
+     * @param start the first committed row, inclusive
+     * @param end   the row the commit stops at, exclusive
+     * @return the held tasks this lets through, in the order they were held
+     */
+    List<T> commit(Table table, long start, long end) {
+        committed.computeIfAbsent(table, key -> new RowIntervalSet()).add(start, end);
+        List<T> runnable = new ArrayList<>();
+        for (Iterator<Held<T>> iterator = held.iterator(); iterator.hasNext(); ) {
+            Held<T> waiting = iterator.next();
+            if (isCovered(waiting)) {
+                iterator.remove();
+                runnable.add(waiting.task());
+            }
+        }
+        return runnable;
+    }
+
+    /** The tasks still waiting on parent rows. */
+    int held() {
+        return held.size();
+    }
+
+    private boolean isCovered(Held<T> waiting) {
+        for (Need need : waiting.needs()) {
+            RowIntervalSet rows = committed.get(need.parent());
+            if (rows == null || !rows.covers(need.start(), need.end())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The parent rows {@code [start, end)} a held task references. */
+    private record Need(Table parent, long start, long end) {
+    }
+
+    private record Held<T>(T task, List<Need> needs) {
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The rows a fill tolerating failed rows (see {@link DatabaseFiller.Builder#tolerateFailedRows(long)})
+ * has skipped, counted per table along with the first error each table's rows failed with, and capped
+ * for the whole fill: once more rows are rejected than the fill tolerates, it fails as an intolerant
+ * fill would have at the first.
+ *
+ * <p>Thread-safe: every worker of a parallel fill rejects into the same instance.
+ */
+final class RejectedRows {
+
+    private static final Logger logger = LoggerFactory.getLogger(RejectedRows.class);
+
+    /** The most rows the fill may reject before it fails. */
+    private final long maxRejected;
+
+    private final AtomicLong total = new AtomicLong();
+
+    private final Map<String, Rejections> byTable = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxRejected the most rows the fill may reject before it fails; must be positive
+     */
+    RejectedRows(long maxRejected) {
+        if (maxRejected < 1) {
+            throw new IllegalArgumentException("maxRejected must be >= 1");
+        }
+        this.maxRejected = maxRejected;
+    }
+
+    /**
+     * Counts one row of {@code table} that failed with {@code cause} and was skipped.
+     *
+     * @throws SQLException with {@code cause} as its cause, once the fill has rejected more rows than it tolerates
+     */
+    void reject(String table, SQLException cause) throws SQLException {
+        byTable.merge(table, new Rejections(1, cause.getMessage()),
+                (counted, rejected) -> new Rejections(counted.rows() + 1, counted.firstCause()));
+        logger.debug("skipped a row of table [{}]: {}", table, cause.getMessage());
+        if (total.incrementAndGet() > maxRejected) {
+            throw new SQLException(String.format("more than %d row(s) failed; the last in table [%s]", maxRejected, table), cause);
+        }
+    }
+
+    /** The rows rejected so far. */
+    long total() {
+        return total.get();
+    }
+
+    /** Logs, per table, the rows rejected and the first error they failed with. */
+    void report() {
+        byTable.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> logger.warn("table [{}]: skipped {} failed row(s); first failure: {}",
+                        entry.getKey(), entry.getValue().rows(), entry.getValue().firstCause()));
+    }
+
+    private record Rejections(long rows, String firstCause) {
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Whether, and how often, {@link TableFiller} retries a fill that fails with a transient error: a
+ * serialization failure ({@code 40001}, as CockroachDB and PostgreSQL's serializable isolation report
+ * contention), a deadlock, or any other SQLState listed.
+ *
+ * <p>By default ({@link #none()}) the first error fails the fill. Under a retrying policy a retryable
+ * error rolls the transaction back to the last commit and the fill replays from there, so the data is
+ * identical to a fill that never failed. Between attempts the filler backs off exponentially, from
+ * {@code initialBackoff} doubling up to {@code maxBackoff}, with jitter so that workers contending for
+ * the same rows spread out. The retry counts per transaction: every commit resets the attempts.
+ *
+ * <p>A replay does not write the committed rows again, but it still has to put the generators where
+ * the failed attempt had them. Key and foreign-key columns seek straight to the last commit. Any other
+ * random column cannot skip its draws, so it regenerates its value for every committed row of the
+ * table, or of the partition: a replay costs that generation, but none of the writes, again. A
+ * stealable range only regenerates the uncommitted part of its blocks, as every block seeks, while a
+ * pipelined fill regenerates every column of the committed rows through its producers.
+ *
+ * <p>Retries need a transaction the engine owns, so they apply under every {@link CommitStrategy}
+ * except {@link CommitStrategy#connectionDefault()} (which {@link DatabaseFiller} replaces with its
+ * bounded cadence when retrying). A connection that is lost, with an SQLState in
+ * {@code connectionSqlStates}, cannot be rolled back: a parallel fill discards it with its prepared
+ * statements, borrows another from the pool and replays the task on it from the task's last commit,
+ * within {@code maxAttempts} per task. A fill on a connection the caller supplied cannot replace it,
+ * so there a lost connection fails the fill.
+ *
+ * @param maxAttempts         the most attempts per transaction, the first included; {@code 1} never
+ *                            retries
+ * @param initialBackoff      the wait before the first retry
+ * @param maxBackoff          the longest wait between attempts
+ * @param sqlStates           the retryable SQLStates; an entry of fewer than five characters is a
+ *                            class prefix, such as {@code "40"} for every transaction rollback
+ * @param connectionSqlStates the SQLStates, or class prefixes, of a lost connection, which a parallel
+ *                            fill replays on a new connection
+ * @since 2.20.0
+ * @see DatabaseConfiguration
+ */
+public record RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Set<String> sqlStates,
+                          Set<String> connectionSqlStates) {
+
+    /** The SQLStates {@link #transientFailures()} retries: serialization failure and deadlock. */
+    public static final Set<String> TRANSIENT_SQL_STATES = Set.of("40001", "40P01");
+
+    /** The SQLStates {@link #transientFailures()} treats as a lost connection: the connection exception class. */
+    public static final Set<String> CONNECTION_SQL_STATES = Set.of("08");
+
+    /** The most exceptions {@link #isRetryable} inspects in a cause / next-exception chain. */
+    private static final int MAX_CHAIN = 32;
+
+    /**
+     * Validates the attempts and backoffs, and copies the SQLStates so the record is deeply immutable.
+     *
+     * @throws IllegalArgumentException if {@code maxAttempts} is less than {@code 1}, a backoff is
+     *                                  null or negative, {@code maxBackoff} is less than
+     *                                  {@code initialBackoff}, or either set of SQLStates is null
+     */
+    public RetryPolicy {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be >= 1: " + maxAttempts);
+        }
+        if (initialBackoff == null || maxBackoff == null || initialBackoff.isNegative() || maxBackoff.compareTo(initialBackoff) < 0) {
+            throw new IllegalArgumentException("invalid backoff bounds [" + initialBackoff + ", " + maxBackoff + "]");
+        }
+        if (sqlStates == null || connectionSqlStates == null) {
+            throw new IllegalArgumentException("sqlStates and connectionSqlStates must not be null");
+        }
+        sqlStates = Set.copyOf(sqlStates);
+        connectionSqlStates = Set.copyOf(connectionSqlStates);
+    }
+
+    /**
+     * The default: no retries; the first error fails the fill.
+     *
+     * @return a policy of one attempt
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, Duration.ZERO, Duration.ZERO, Set.of(), Set.of());
+    }
+
+    /**
+     * Up to ten attempts on serialization failures and deadlocks ({@link #TRANSIENT_SQL_STATES}) and on
+     * lost connections ({@link #CONNECTION_SQL_STATES}), backing off from 50 milliseconds up to 5 seconds.
+     *
+     * @return a retrying policy
+     */
+    public static RetryPolicy transientFailures() {
+        return new RetryPolicy(10, Duration.ofMillis(50), Duration.ofSeconds(5), TRANSIENT_SQL_STATES, CONNECTION_SQL_STATES);
+    }
+
+    /**
+     * Whether this policy ever retries.
+     *
+     * @return whether {@code maxAttempts > 1}
+     */
+    public boolean retries() {
+        return maxAttempts > 1;
+    }
+
+    /**
+     * Whether {@code failure} is retryable: whether it, a cause or a chained
+     * {@linkplain SQLException#getNextException() next exception} — where drivers report the error
+     * behind a failed batch — has a listed SQLState.
+     *
+     * @param failure the error
+     * @return whether the error is retryable under this policy
+     */
+    public boolean isRetryable(SQLException failure) {
+        return hasState(failure, sqlStates);
+    }
+
+    /**
+     * Whether {@code failure} reports a lost connection: whether it, a cause or a chained next exception
+     * has an SQLState in {@code connectionSqlStates}.
+     *
+     * @param failure the error
+     * @return whether the error's connection should be replaced and the work replayed on a new one
+     */
+    public boolean isConnectionFailure(SQLException failure) {
+        return hasState(failure, connectionSqlStates);
+    }
+
+    private static boolean hasState(SQLException failure, Set<String> states) {
+        int inspected = 0;
+        for (Throwable cause = failure; cause != null && inspected < MAX_CHAIN; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                for (SQLException next = sqlException; next != null && inspected < MAX_CHAIN; next = next.getNextException()) {
+                    inspected++;
+                    String state = next.getSQLState();
+                    if (state != null && states.stream().anyMatch(state::startsWith)) {
+                        return true;
+                    }
+                }
+            } else {
+                inspected++;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The wait before retry number {@code retry} (from {@code 1}): {@code initialBackoff} doubled per
+     * earlier retry, capped at {@code maxBackoff}; half of it, plus a random share of the other half.
+     *
+     * @param retry the retry number, from {@code 1}
+     * @return the wait
+     */
+    public Duration backoff(int retry) {
+        long cap = maxBackoff.toMillis();
+        long millis = Math.min(cap, initialBackoff.toMillis() << Math.min(retry - 1, 30));
+        if (millis < 0) {
+            millis = cap;
+        }
+        return Duration.ofMillis(millis / 2 + ThreadLocalRandom.current().nextLong(millis / 2 + 1));
+    }
+}
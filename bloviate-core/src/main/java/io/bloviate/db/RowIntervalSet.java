@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The rows of one table committed so far, as a set of disjoint half-open intervals
+ * {@code [start, end)}. Adjacent and overlapping intervals are merged as they are added, so a table
+ * whose partitions have all committed collapses to the single interval {@code [0, rowCount)} and
+ * {@link #covers(long, long)} stays a single floor lookup however many ranges were added.
+ *
+ * <p>Not thread-safe: {@link DatabaseFiller} records commits and checks coverage from the
+ * coordinating thread only.
+ */
+final class RowIntervalSet {
+
+    /** Interval start to interval end (exclusive); the intervals are disjoint and never adjacent. */
+    private final TreeMap<Long, Long> intervals = new TreeMap<>();
+
+    /**
+     * Adds the rows {@code [start, end)}, merging them with any interval they overlap or touch.
+     *
+     * @param start the first row, inclusive
+     * @param end   the row to stop at, exclusive; an empty interval is ignored
+     */
+    void add(long start, long end) {
+        if (end <= start) {
+            return;
+        }
+        Map.Entry<Long, Long> before = intervals.floorEntry(start);
+        if (before != null && before.getValue() >= start) {
+            start = before.getKey();
+            end = Math.max(end, before.getValue());
+        }
+        Map.Entry<Long, Long> after;
+        while ((after = intervals.ceilingEntry(start)) != null && after.getKey() <= end) {
+            end = Math.max(end, after.getValue());
+            intervals.remove(after.getKey());
+        }
+        intervals.put(start, end);
+    }
+
+    /**
+     * Whether every row in {@code [start, end)} has been added.
+     *
+     * @param start the first row, inclusive
+     * @param end   the row to stop at, exclusive
+     * @return true if the rows are covered; always true for an empty interval
+     */
+    boolean covers(long start, long end) {
+        if (end <= start) {
+            return true;
+        }
+        Map.Entry<Long, Long> floor = intervals.floorEntry(start);
+        return floor != null && floor.getValue() >= end;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        intervals.forEach((start, end) -> builder.append(builder.isEmpty() ? "" : ", ").append('[').append(start).append(", ").append(end).append(')'));
+        return "{" + builder + "}";
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import java.time.Clock;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket that holds row writers to an {@link IngestRate}. Tokens accrue at the rate in force,
+ * up to a small burst, and each grant takes as many as it hands out. A grant that overdraws the bucket
+ * waits until the debt would have accrued, so concurrent writers sharing one pacer are held to its rate
+ * together, in the order they asked.
+ *
+ * <p>A grant covers at most {@value #GRANT_SECONDS} seconds of rows at the current rate, so a slow
+ * stream still writes, commits and notices it should stop at least that often, and writers sharing a
+ * pacer interleave. Thread-safe.
+ */
+final class RowPacer {
+
+    /** The most rows one grant covers, and the most the bucket banks while idle, in seconds at the current rate. */
+    private static final double GRANT_SECONDS = 0.1;
+
+    private final IngestRate rate;
+    private final Clock clock;
+
+    // the tokens banked (negative while a writer waits off a debt), and when they were last accrued
+    private double tokens;
+    private long accruedAt;
+
+    RowPacer(IngestRate rate) {
+        this(rate, Clock.systemDefaultZone());
+    }
+
+    RowPacer(IngestRate rate, Clock clock) {
+        this.rate = rate;
+        this.clock = clock;
+        this.accruedAt = System.nanoTime();
+    }
+
+    /**
+     * Grants up to {@code maxRows} rows, waiting first for as long as the rate requires.
+     *
+     * @param maxRows the most rows the caller can use; at least {@code 1}
+     * @return the rows granted, from {@code 1} to {@code maxRows}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    long acquire(long maxRows) throws InterruptedException {
+        long granted;
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            double perSecond = rate.rowsPerSecondAt(LocalTime.now(clock));
+            double burst = Math.max(1, perSecond * GRANT_SECONDS);
+            tokens = Math.min(burst, tokens + (now - accruedAt) / 1e9 * perSecond);
+            accruedAt = now;
+            granted = Math.max(1, Math.min(maxRows, (long) burst));
+            tokens -= granted;
+            waitNanos = tokens < 0 ? (long) (-tokens / perSecond * 1e9) : 0;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return granted;
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.gen.DataGenerator;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Generates the rows of one table range on producer threads while the filling thread binds and writes
+ * them, so value generation overlaps JDBC I/O (see {@link TableFiller.Builder#pipelineProducers(int)}).
+ *
+ * <p>The range is cut into segments of {@value #SEGMENT_BATCHES} batches, handed to the producers
+ * round-robin. Each producer owns its generators and a bounded ring of {@value #RING_BATCHES} reusable
+ * batch buffers: it takes a free buffer, fills it with rows, and queues it for the writer, which reads
+ * the producers' queues in segment order and returns each buffer once its rows are written. At most
+ * {@code producers × RING_BATCHES} batches are therefore in flight, whatever the row count.
+ *
+ * <p>A single producer draws every value in the same order, with the same wraparound reseeds, as the
+ * unpipelined fill, so the rows are identical. With several producers each one positions its generators
+ * at the start of every segment it takes, exactly as a partition is positioned (see
+ * {@link TableFiller#seekGeneratorsTo}): keys and foreign keys are unchanged, while non-key random
+ * columns are reseeded per segment — deterministic for any producer count, but not the sequential values.
+ *
+ * <p>Not thread-safe: {@link #next()} and {@link #close()} must be called from the writer thread.
+ */
+final class RowPipeline implements AutoCloseable {
+
+    /** Batches per segment; a segment is the unit a producer positions its generators for. */
+    static final int SEGMENT_BATCHES = 16;
+
+    /** Reusable batch buffers per producer; bounds how far a producer can run ahead of the writer. */
+    static final int RING_BATCHES = 4;
+
+    /** Queued in place of a batch when a producer fails, so a writer waiting on it wakes up. */
+    private static final Batch FAILED = new Batch(0, 0);
+
+    private final String tableName;
+    private final long[] reseedSeeds;
+    private final long[] maxInvocations;
+    private final long startRow;
+    private final long endRow;
+    private final int batchRows;
+    private final long segmentRows;
+    private final Producer[] producers;
+
+    /** The first producer failure, rethrown to the writer. */
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private Batch current;
+    private int position;
+    private int producerIndex;
+
+    /**
+     * Starts one producer thread per generator set.
+     *
+     * @param tableName      the table being filled, for thread names and messages
+     * @param generatorSets  one independently seeded generator array per producer; the first must
+     *                       already be positioned at {@code startRow}
+     * @param reseedSeeds    the per-column wraparound reseed seeds
+     * @param maxInvocations the per-column parent row counts (0 when the column never reseeds)
+     * @param startRow       the first row to produce, inclusive
+     * @param endRow         the row to stop at, exclusive
+     * @param batchRows      the rows per batch buffer
+     */
+    RowPipeline(String tableName, List<DataGenerator<?>[]> generatorSets, long[] reseedSeeds, long[] maxInvocations,
+                long startRow, long endRow, int batchRows) {
+        this.tableName = tableName;
+        this.reseedSeeds = reseedSeeds;
+        this.maxInvocations = maxInvocations;
+        this.startRow = startRow;
+        this.endRow = endRow;
+        this.batchRows = batchRows;
+        this.segmentRows = (long) batchRows * SEGMENT_BATCHES;
+        this.producers = new Producer[generatorSets.size()];
+        for (int i = 0; i < producers.length; i++) {
+            producers[i] = new Producer(i, generatorSets.get(i));
+        }
+        for (Producer producer : producers) {
+            producer.thread = Thread.ofPlatform().daemon()
+                    .name("bloviate-producer-" + tableName + "-" + producer.index)
+                    .start(producer);
+        }
+    }
+
+    /**
+     * Returns the next row of the range, waiting for a producer when none is ready. The array is a
+     * slot of a reusable buffer: it stays valid only until the following call, so the caller must bind
+     * or copy it first. Must be called no more than {@code endRow - startRow} times.
+     *
+     * @return the next row's values, in column order
+     * @throws SQLException if a producer failed or the wait was interrupted
+     */
+    Object[] next() throws SQLException {
+        if (current == null || position == current.size) {
+            advance();
+        }
+        return current.rows[position++];
+    }
+
+    private void advance() throws SQLException {
+        if (current != null) {
+            Producer producer = producers[producerIndex];
+            if (current.lastOfSegment) {
+                producerIndex = (producerIndex + 1) % producers.length;
+            }
+            producer.free.add(current);
+            current = null;
+        }
+        Batch batch;
+        try {
+            batch = producers[producerIndex].full.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("generating rows for table [" + tableName + "] was interrupted", e);
+        }
+        if (batch == FAILED) {
+            Throwable cause = failure.get();
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new SQLException("generating rows for table [" + tableName + "] failed", cause);
+        }
+        current = batch;
+        position = 0;
+    }
+
+    /**
+     * Stops the producers and waits for them to exit. Called once the range is written, or when the
+     * writer fails part way; a producer blocked on a full ring is interrupted.
+     */
+    @Override
+    public void close() {
+        for (Producer producer : producers) {
+            producer.thread.interrupt();
+        }
+        boolean interrupted = false;
+        for (Producer producer : producers) {
+            while (true) {
+                try {
+                    producer.thread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** A reusable buffer of up to {@code batchRows} rows. */
+    private static final class Batch {
+        private final Object[][] rows;
+        private int size;
+        private boolean lastOfSegment;
+
+        private Batch(int rows, int columns) {
+            this.rows = new Object[rows][columns];
+        }
+    }
+
+    /** Fills segments {@code index, index + producers, ...} with one generator set. */
+    private final class Producer implements Runnable {
+
+        private final int index;
+        private final DataGenerator<?>[] generators;
+        private final BlockingQueue<Batch> free = new ArrayBlockingQueue<>(RING_BATCHES);
+        // one slot more than the ring, so the failure marker can always be queued
+        private final BlockingQueue<Batch> full = new ArrayBlockingQueue<>(RING_BATCHES + 1);
+        private Thread thread;
+
+        private Producer(int index, DataGenerator<?>[] generators) {
+            this.index = index;
+            this.generators = generators;
+            for (int i = 0; i < RING_BATCHES; i++) {
+                free.add(new Batch(batchRows, generators.length));
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                produce();
+            } catch (InterruptedException e) {
+                // closed by the writer
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+                full.offer(FAILED);
+            }
+        }
+
+        private void produce() throws InterruptedException {
+            int columnCount = generators.length;
+            boolean reposition = producers.length > 1;
+            // the row the generators are positioned at; the first set starts positioned at startRow
+            long positionedAt = index == 0 ? startRow : -1;
+            for (long from = startRow + index * segmentRows; from < endRow; from += producers.length * segmentRows) {
+                long to = Math.min(from + segmentRows, endRow);
+                if (reposition) {
+                    TableFiller.seekGeneratorsTo(generators, reseedSeeds, maxInvocations, positionedAt, from);
+                }
+                long row = from;
+                while (row < to) {
+                    Batch batch = free.take();
+                    int size = 0;
+                    while (size < batchRows && row < to) {
+                        TableFiller.reseedExhausted(generators, reseedSeeds, maxInvocations, row);
+                        Object[] values = batch.rows[size++];
+                        for (int col = 0; col < columnCount; col++) {
+                            values[col] = generators[col].generate();
+                        }
+                        row++;
+                    }
+                    batch.size = size;
+                    batch.lastOfSegment = row == to;
+                    full.put(batch);
+                }
+                positionedAt = to;
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+/**
+ * A table's rows {@code [start, end)} filled by one worker while idle workers may split off its
+ * unfinished tail — the unit of work of a work-stealing fill (see
+ * {@link DatabaseFiller.Builder#workStealing(boolean)}).
+ *
+ * <p>The filling {@link TableFiller} {@linkplain #reserve() reserves} one block at a time and writes
+ * it; {@link #split(long)} only ever takes unreserved rows, so a block is never filled twice or
+ * dropped. Blocks lie on a fixed grid of {@code blockRows} rows counted from row 0, and the filler
+ * positions its generators at the start of every block (see {@link TableFiller#seekGeneratorsTo}), so
+ * the rows depend only on the grid — never on where, when or how often the range was split.
+ *
+ * <p>Thread-safe: the filler and the coordinating thread that splits it synchronize on the range.
+ */
+final class RowRange {
+
+    /** Batches per block; a block is the unit rows are reserved, positioned and split in. */
+    static final int BLOCK_BATCHES = 8;
+
+    private final long start;
+    private final long blockRows;
+
+    /** The first row not yet reserved by the filler. */
+    private long next;
+    private long end;
+
+    /** The rows before the filler's current block, which it has therefore written. */
+    private long written;
+
+    /** When the filler reserved its first block; 0 until then. */
+    private long startedNanos;
+
+    /**
+     * @param start     the first row, inclusive; on the block grid
+     * @param end       the row to stop at, exclusive
+     * @param blockRows the rows per block ({@code > 0})
+     */
+    RowRange(long start, long end, long blockRows) {
+        this.start = start;
+        this.next = start;
+        this.written = start;
+        this.end = end;
+        this.blockRows = blockRows;
+    }
+
+    /** The first row of the range, inclusive. */
+    long start() {
+        return start;
+    }
+
+    /** The row the range currently stops at, exclusive; moves down when the range is split. */
+    synchronized long end() {
+        return end;
+    }
+
+    /**
+     * Reserves the next block for the filler: the rows from the previous reservation's end (or
+     * {@link #start()}) up to the next grid boundary or the range's current end.
+     *
+     * @return the end of the reserved block, exclusive; the previous end when nothing is left
+     */
+    synchronized long reserve() {
+        if (startedNanos == 0) {
+            startedNanos = System.nanoTime();
+        }
+        written = next;
+        next = Math.min(end, (next / blockRows + 1) * blockRows);
+        return next;
+    }
+
+    /**
+     * Rows not yet reserved by the filler; these are what {@link #split(long)} can take.
+     *
+     * @return the unreserved row count
+     */
+    synchronized long unreserved() {
+        return Math.max(0, end - next);
+    }
+
+    /**
+     * The filler's throughput so far, measured over the blocks it has finished.
+     *
+     * @return rows per second, or {@code 0} before the filler has finished its first block
+     */
+    synchronized double rowsPerSecond() {
+        long elapsed = startedNanos == 0 ? 0 : System.nanoTime() - startedNanos;
+        return elapsed <= 0 || written == start ? 0 : (written - start) * 1e9 / elapsed;
+    }
+
+    /**
+     * Splits off the second half of the unreserved rows, cut at a block boundary, when each half
+     * would keep at least {@code minRows} rows.
+     *
+     * @param minRows the fewest rows worth handing to another worker
+     * @return the stolen tail as a new range, or {@code null} when too little is left to split
+     */
+    synchronized RowRange split(long minRows) {
+        long unreserved = end - next;
+        if (unreserved < 2 * Math.max(minRows, blockRows)) {
+            return null;
+        }
+        long cut = Math.ceilDiv(next + unreserved / 2, blockRows) * blockRows;
+        if (cut <= next || cut >= end) {
+            return null;
+        }
+        RowRange stolen = new RowRange(cut, end, blockRows);
+        end = cut;
+        return stolen;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "[" + start + ", " + end + ")";
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The prepared statements of one connection, keyed by their SQL, kept open across the table fills that
+ * run on it. Under {@linkplain DatabaseFiller.Builder#connectionAffinity(boolean) connection affinity} a
+ * worker holds one for the whole fill, so every later partition of a table reuses the {@code INSERT}
+ * (and whatever server-side statement the driver keeps for it) that the first one prepared.
+ *
+ * <p>Not thread-safe: a cache belongs to one connection, which only one worker uses at a time.
+ */
+final class StatementCache implements AutoCloseable {
+
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    StatementCache(Connection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Returns the open statement for {@code sql}, preparing it on first use. A statement is handed out
+     * with no parameters bound and an empty batch.
+     *
+     * @param sql the statement text
+     * @return the prepared statement; the cache owns and closes it
+     * @throws SQLException if the statement cannot be prepared or reset
+     */
+    PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement ps = statements.get(sql);
+        if (ps == null) {
+            ps = connection.prepareStatement(sql);
+            statements.put(sql, ps);
+        } else {
+            // a fill that failed part way may have left rows batched or values bound
+            ps.clearBatch();
+            ps.clearParameters();
+        }
+        return ps;
+    }
+
+    /**
+     * Closes every cached statement, throwing the first failure with the rest suppressed.
+     *
+     * @throws SQLException if any statement fails to close
+     */
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        for (PreparedStatement ps : statements.values()) {
+            try {
+                ps.close();
+            } catch (SQLException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        statements.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
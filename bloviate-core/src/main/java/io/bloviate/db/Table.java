@@ -98,24 +98,117 @@ public record Table(String name, PrimaryKey primaryKey, List<Column> columns, Li
      * @return a parameterized SQL INSERT statement string
      */
     public String insertString(String identifierQuote) {
-        StringJoiner nameJoiner = new StringJoiner(",");
-        StringJoiner valueJoiner = new StringJoiner(",");
+        return insertString(identifierQuote, 1);
+    }
 
-        for (Column column : filteredColumns()) {
-            nameJoiner.add(quote(column.name(), identifierQuote));
+    /**
+     * Generates a multi-row SQL INSERT statement template for this table: the statement of
+     * {@link #insertString(String)} with {@code rows} parenthesized placeholder groups in its
+     * {@code VALUES} list. Parameters are numbered row by row, so row {@code r} (0-based) binds its
+     * columns at indexes {@code r * columnCount + 1} through {@code (r + 1) * columnCount}.
+     *
+     * @param identifierQuote the identifier quote string; {@code null} or blank emits unquoted identifiers
+     * @param rows            the number of rows the statement inserts; must be positive
+     * @return a parameterized multi-row SQL INSERT statement string
+     * @throws IllegalArgumentException if {@code rows} is not positive
+     * @since 2.20.0
+     */
+    public String insertString(String identifierQuote, int rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("rows must be positive");
+        }
+
+        int columnCount = filteredColumns().size();
+        StringJoiner valueJoiner = new StringJoiner(",", "(", ")");
+        for (int i = 0; i < columnCount; i++) {
             valueJoiner.add("?");
         }
+        String group = valueJoiner.toString();
 
-        return String.format("insert into %s (%s) values (%s)", qualifiedName(identifierQuote), nameJoiner, valueJoiner);
+        StringBuilder values = new StringBuilder(rows * (group.length() + 1));
+        for (int row = 0; row < rows; row++) {
+            if (row > 0) {
+                values.append(',');
+            }
+            values.append(group);
+        }
 
+        return String.format("insert into %s (%s) values %s", qualifiedName(identifierQuote), columnList(identifierQuote), values);
     }
 
-    private String qualifiedName(String identifierQuote) {
+    /**
+     * Generates a columnar SQL INSERT statement template for this table: the target of
+     * {@link #insertString(String)} fed by {@code select * from unnest(?::type[],...)}, one array
+     * parameter per {@linkplain #filteredColumns() filtered column}, so a whole batch binds one value
+     * per column rather than one per cell (PostgreSQL and CockroachDB syntax).
+     *
+     * @param identifierQuote the identifier quote string; {@code null} or blank emits unquoted identifiers
+     * @param elementTypes    the SQL element type each column's array is cast to, in filtered-column order
+     * @return a parameterized array-unnest SQL INSERT statement string
+     * @throws IllegalArgumentException if {@code elementTypes} does not have one entry per filtered column
+     * @since 2.20.0
+     */
+    public String unnestInsertString(String identifierQuote, List<String> elementTypes) {
+        if (elementTypes.size() != filteredColumns().size()) {
+            throw new IllegalArgumentException("expected one element type per column");
+        }
+
+        StringJoiner arrayJoiner = new StringJoiner(",");
+        for (String elementType : elementTypes) {
+            arrayJoiner.add("?::" + elementType + "[]");
+        }
+
+        return String.format("insert into %s (%s) select * from unnest(%s)", qualifiedName(identifierQuote), columnList(identifierQuote), arrayJoiner);
+    }
+
+    /**
+     * Returns this table's name, quoted with the supplied identifier quote string and qualified with
+     * the schema its columns were introspected from — the same target {@link #insertString(String)}
+     * writes to. Native bulk-ingest statements (e.g. PostgreSQL {@code COPY}) use it to address the
+     * table exactly as the {@code INSERT} path does.
+     *
+     * @param identifierQuote the identifier quote string; {@code null} or blank emits unquoted identifiers
+     * @return the (optionally schema-qualified) quoted table name
+     * @since 2.20.0
+     */
+    public String qualifiedName(String identifierQuote) {
         String schema = columns.isEmpty() ? null : columns.getFirst().schema();
         String quotedName = quote(name, identifierQuote);
         return schema == null ? quotedName : quote(schema, identifierQuote) + "." + quotedName;
     }
 
+    /**
+     * Returns the quoted, comma-separated names of the {@linkplain #filteredColumns() filtered columns},
+     * in the order {@link #insertString(String)} binds them. Native bulk-ingest statements use it as
+     * their column list so each streamed field lands in the same column as the corresponding
+     * {@code INSERT} parameter.
+     *
+     * @param identifierQuote the identifier quote string; {@code null} or blank emits unquoted identifiers
+     * @return the column list, without surrounding parentheses
+     * @since 2.20.0
+     */
+    public String columnList(String identifierQuote) {
+        return String.join(",", quotedColumnNames(identifierQuote));
+    }
+
+    /**
+     * Returns the quoted names of the {@linkplain #filteredColumns() filtered columns}, in the order
+     * {@link #insertString(String)} binds them — {@link #columnList(String)} before joining, for
+     * ingest statements that address some columns indirectly (e.g. through a MySQL
+     * {@code LOAD DATA} user variable).
+     *
+     * @param identifierQuote the identifier quote string; {@code null} or blank emits unquoted identifiers
+     * @return a new list of quoted column names
+     * @since 2.20.0
+     */
+    public List<String> quotedColumnNames(String identifierQuote) {
+        List<String> names = new ArrayList<>();
+        for (Column column : filteredColumns()) {
+            names.add(quote(column.name(), identifierQuote));
+        }
+        return names;
+    }
+
     private static String quote(String identifier, String identifierQuote) {
         if (identifierQuote == null || identifierQuote.isBlank()) {
             return identifier;
@@ -38,27 +38,63 @@ import java.util.Set;
  * child table instead, or use the positional key generators (as the bundled TPC-C/TPC-H
  * configurations do).
  *
+ * <p><strong>Appending.</strong> A {@code startRow > 0} tops up a table that already holds its first
+ * {@code startRow} rows: only rows {@code [startRow, rowCount)} are filled, with the generators
+ * positioned at {@code startRow} exactly as for a partition starting there. Keys and foreign keys are
+ * therefore those a fill of {@code rowCount} rows would generate, and plain non-key random columns
+ * those of such a fill partitioned at {@code startRow}. {@link #DETECT_START_ROW} takes the offset
+ * from the table's current row count when the fill starts (see
+ * {@link DatabaseFiller.Builder#append(boolean)}). The partitioning caveat above applies here too.
+ *
  * @param tableName the name of the table to configure
  * @param rowCount the number of rows to generate for this table
  * @param columnConfigurations optional per-column generator overrides; may be null or empty
  * @param partitions the number of intra-table partitions for parallel fills; {@code 1} (the default)
  *        disables intra-table partitioning. Must be {@code >= 1}.
+ * @param startRow the first row to fill, appending to the rows before it; {@code 0} (the default)
+ *        fills the whole table, and {@link #DETECT_START_ROW} starts at the table's current row count
  * @since 1.0.0
  */
-public record TableConfiguration(String tableName, long rowCount, Set<ColumnConfiguration> columnConfigurations, int partitions) {
+public record TableConfiguration(String tableName, long rowCount, Set<ColumnConfiguration> columnConfigurations, int partitions,
+                                 long startRow) {
+
+    /**
+     * The {@code startRow} that appends from the table's current row count, counted when the fill starts.
+     *
+     * @since 2.20.0
+     */
+    public static final long DETECT_START_ROW = -1;
 
     /**
      * Validates and normalizes the partition count: a non-positive value defaults to {@code 1}
      * (no intra-table partitioning). Copies the column-configuration set so the record is
      * deeply immutable.
+     *
+     * @throws IllegalArgumentException if {@code startRow} is neither {@link #DETECT_START_ROW} nor in
+     *                                  {@code [0, rowCount]}
      */
     public TableConfiguration {
         if (partitions < 1) {
             partitions = 1;
         }
+        if (startRow != DETECT_START_ROW && (startRow < 0 || startRow > rowCount)) {
+            throw new IllegalArgumentException("startRow must be in [0, rowCount] or DETECT_START_ROW, got " + startRow);
+        }
         columnConfigurations = columnConfigurations == null ? null : Set.copyOf(columnConfigurations);
     }
 
+    /**
+     * Creates a table configuration that fills the whole table.
+     *
+     * @param tableName the name of the table to configure
+     * @param rowCount the number of rows to generate for this table
+     * @param columnConfigurations optional per-column generator overrides; may be null or empty
+     * @param partitions the number of intra-table partitions for parallel fills ({@code >= 1})
+     */
+    public TableConfiguration(String tableName, long rowCount, Set<ColumnConfiguration> columnConfigurations, int partitions) {
+        this(tableName, rowCount, columnConfigurations, partitions, 0);
+    }
+
     /**
      * Creates a table configuration with no per-column overrides and no intra-table partitioning.
      *
@@ -18,6 +18,8 @@ package io.bloviate.db;
 
 import io.bloviate.ext.DatabaseSupport;
 import io.bloviate.ext.GeneratorRegistry;
+import io.bloviate.ext.RowSink;
+import io.bloviate.gen.CurrentSqlTimestampGenerator;
 import io.bloviate.gen.DataGenerator;
 import io.bloviate.gen.IndexedDataGenerator;
 import io.bloviate.util.DatabaseUtils;
@@ -28,12 +30,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.JDBCType;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 import java.util.random.RandomGenerator;
 
 /**
@@ -56,6 +64,12 @@ public class TableFiller implements Fillable {
     /** How this filler commits; resolved from the builder override or {@link DatabaseConfiguration}. */
     private final CommitStrategy commitStrategy;
 
+    /** How rows reach the database; resolved from the builder override or {@link DatabaseConfiguration}. */
+    private final IngestStrategy ingestStrategy;
+
+    /** Rows per batch; 0 uses the configuration's batch size (or, under {@link IngestStrategy#auto()}, the planned one). */
+    private final int batchSize;
+
     /** Pre-resolved constraint metadata, or null to read from the catalog at fill time. */
     private final Map<String, ColumnConstraint> constraints;
 
@@ -64,6 +78,45 @@ public class TableFiller implements Fillable {
     private final long rangeStartInclusive;
     private final long rangeEndExclusive;
 
+    /** A range idle workers may split, filled block by block; null for a fixed range or the whole table. */
+    private final RowRange stealableRange;
+
+    /** Row-generating producer threads in pipelined mode; 0 generates on the filling thread. */
+    private final int pipelineProducers;
+
+    /** The connection's cache to prepare {@code INSERT}s through, kept open past this fill; null to close them with it. */
+    private final StatementCache statementCache;
+
+    /** Receives what an adaptive fill settled on; null to log it here instead. */
+    private final Consumer<BatchController.Settled> batchingSettled;
+
+    /** Records this fill's commits and tells it where to resume; null for an unrecorded fill. */
+    private final FillCheckpoint checkpoint;
+
+    /** Where rows the database rejects are counted and skipped; null to fail on the first rejected row. */
+    private final RejectedRows rejectedRows;
+
+    /** The task's committed progress, kept across its connections; null when the fill is not replayed on another. */
+    private final FillProgress progress;
+
+    /** The pacers every row written waits on, innermost first; empty for an unpaced fill. */
+    private final List<RowPacer> pacers;
+
+    /** Counts every row written, across the fills sharing it; null when nothing counts them. */
+    private final LongAdder writtenRows;
+
+    /** Whether to end a streaming fill, checked before every row; null for a fill of a fixed range. */
+    private final BooleanSupplier streamStopped;
+
+    /** How often a streaming fill commits what it has written, in nanoseconds. */
+    private final long streamCommitNanos;
+
+    /** Whether timestamp columns without a configured generator take the wall-clock time of each row. */
+    private final boolean wallClockTimestamps;
+
+    // per-fill: the row the fill has committed through, from which a retry replays
+    private long committedRow;
+
     /**
      * Constructs a new TableFiller with an explicit {@link CommitStrategy} override.
      *
@@ -79,10 +132,24 @@ public class TableFiller implements Fillable {
         this.databaseConfiguration = Objects.requireNonNull(databaseConfiguration, "databaseConfiguration must not be null");
         this.table = Objects.requireNonNull(table, "table must not be null");
         this.commitStrategy = commitStrategy != null ? commitStrategy : databaseConfiguration.commitStrategy();
+        this.ingestStrategy = databaseConfiguration.ingestStrategy();
+        this.batchSize = 0;
         this.constraints = null;
         this.partitioned = false;
         this.rangeStartInclusive = 0;
         this.rangeEndExclusive = 0;
+        this.stealableRange = null;
+        this.pipelineProducers = 0;
+        this.statementCache = null;
+        this.batchingSettled = null;
+        this.checkpoint = null;
+        this.rejectedRows = null;
+        this.progress = null;
+        this.pacers = List.of();
+        this.writtenRows = null;
+        this.streamStopped = null;
+        this.streamCommitNanos = 0;
+        this.wallClockTimestamps = false;
     }
 
     /**
@@ -91,22 +158,23 @@ public class TableFiller implements Fillable {
      *
      * <p>Generators are resolved once per column (per-column override, then custom registry, then
      * any applicable {@code CHECK}/enum constraint, then the {@link DatabaseSupport} default) and the
-     * engine seeds each one for reproducibility. Rows are then produced in batches of the configured
-     * size and inserted through a {@link PreparedStatement}. Unless the {@link CommitStrategy} leaves
+     * engine seeds each one for reproducibility. Rows are then produced into the {@link RowSink} that
+     * {@link DatabaseSupport#openRowSink} resolves for the {@link IngestStrategy} — the database's
+     * native bulk-ingest stream or array-unnest statements where supported — or else into batches of
+     * the configured size inserted through a {@link PreparedStatement} (one multi-row statement per
+     * batch under {@link IngestStrategy#multiRowInsert()}). Unless the {@link CommitStrategy} leaves
      * the connection on its default, the engine owns the transaction: autocommit is turned off for the
      * fill, commits happen at the configured cadence, the work is rolled back on error, and the prior
-     * autocommit setting is restored on completion. When a row range is configured this fills only that
-     * one partition; otherwise it fills the whole table.
+     * autocommit setting is restored on completion. When a row range is configured this fills only
+     * that one partition; otherwise it fills the whole table. With
+     * {@linkplain Builder#pipelineProducers(int) pipeline producers} the rows are generated on producer
+     * threads and this thread only writes them.
      *
      * @throws SQLException if any database access error occurs during the fill operation
      */
     @Override
     public void fill() throws SQLException {
 
-        String sql = table.insertString(connection.getMetaData().getIdentifierQuoteString());
-
-        logger.trace("{}", sql);
-
         // The fill loop is the hot path: it runs once per cell (rowCount * columnCount times).
         // To keep it allocation- and lookup-free, everything is resolved up front into arrays
         // indexed by column position, so the inner loop only does positional array reads instead
@@ -114,19 +182,15 @@ public class TableFiller implements Fillable {
         List<Column> filteredColumns = table.filteredColumns();
         int columnCount = filteredColumns.size();
 
-        DataGenerator<?>[] generators = new DataGenerator<?>[columnCount];
         long[] reseedSeeds = new long[columnCount];
         // 0 means "this column never reseeds"; a positive value is the parent row count past which
         // a foreign-key generator must be reseeded to stay within the parent key space (wraparound)
         long[] maxInvocations = new long[columnCount];
 
         DatabaseSupport databaseSupport = databaseConfiguration.databaseSupport();
-        GeneratorRegistry registry = databaseConfiguration.generatorRegistry();
 
         TableConfiguration tableConfiguration = databaseConfiguration.tableConfiguration(table.name());
 
-        long baseSeed = databaseConfiguration.seed();
-
         // value constraints (CHECK / enum) for this table's columns, so generated values conform
         // (issue #479). Empty for databases without support; keyed by lower-cased column name.
         // A pre-resolved map (from DatabaseFiller's per-fill cache) skips the catalog queries,
@@ -137,6 +201,241 @@ public class TableFiller implements Fillable {
             constraints = databaseSupport.readConstraints(connection, schema, table.name());
         }
 
+        DataGenerator<?>[] generators = createGenerators(filteredColumns, tableConfiguration, constraints, reseedSeeds, maxInvocations, true);
+
+        int batchSize = this.batchSize > 0 ? this.batchSize : databaseConfiguration.batchSize();
+
+        // DatabaseFiller resolves AUTO into a concrete strategy per table; a filler used on its own
+        // plans its table here, as one unpartitioned range
+        IngestStrategy ingestStrategy = this.ingestStrategy;
+        if (ingestStrategy.isAuto()) {
+            IngestPlanner.Plan plan = IngestPlanner.plan(databaseConfiguration, database, table, 1);
+            ingestStrategy = plan.ingestStrategy();
+            if (this.batchSize == 0) {
+                batchSize = plan.batchSize();
+            }
+        }
+
+        // under adaptive sizing the controller picks each batch's size and the batches per commit, and
+        // the sink is opened for the largest batch so only the controller's flushes send rows
+        BatchSizing batchSizing = databaseConfiguration.batchSizing();
+        boolean adaptsCommits = commitStrategy.mode() == CommitStrategy.Mode.EVERY_N_BATCHES;
+        BatchController batchController = batchSizing.isAdaptive()
+                ? new BatchController(batchSizing, batchSize, adaptsCommits ? commitStrategy.batches() : 1)
+                : null;
+
+        long totalRowCount = databaseConfiguration.defaultRowCount();
+        if (tableConfiguration != null) {
+            totalRowCount = tableConfiguration.rowCount();
+        }
+
+        // when a sub-range is configured this filler handles one partition of the table; otherwise
+        // it fills the whole table on the original, byte-for-byte-unchanged path
+        long startRow = partitioned ? rangeStartInclusive : 0;
+        long endRow = partitioned ? Math.min(rangeEndExclusive, totalRowCount) : totalRowCount;
+
+        if (streamStopped != null) {
+            // a stream is not bounded by the row count, only by when it is stopped
+            endRow = rangeEndExclusive;
+            logger.info("streaming table [{}] from row [{}]", table.name(), startRow);
+        } else if (stealableRange != null) {
+            startRow = stealableRange.start();
+            logger.debug("filling table [{}] rows {} of [{}] in stealable blocks", table.name(), stealableRange, totalRowCount);
+        } else if (partitioned) {
+            logger.debug("filling table [{}] rows [{}, {}) of [{}]", table.name(), startRow, endRow, totalRowCount);
+        } else {
+            logger.debug("filling table [{}] with [{}] rows", table.name(), totalRowCount);
+        }
+
+        // a checkpointed unit that has committed is skipped; one that has partly committed resumes
+        FillCheckpoint.Unit unit = checkpoint != null && stealableRange == null
+                ? checkpoint.unit(table.name(), startRow, endRow)
+                : null;
+        if (unit != null && unit.complete()) {
+            logger.info("table [{}] rows [{}, {}) already committed; skipping", table.name(), startRow, endRow);
+            return;
+        }
+        if (unit != null && unit.resumeRow() > startRow) {
+            logger.info("resuming table [{}] rows [{}, {}) at row [{}]", table.name(), startRow, endRow, unit.resumeRow());
+        }
+
+        // a task replayed on a new connection resumes where its lost connection last committed
+        long resumeRow = unit != null ? unit.resumeRow() : startRow;
+        if (progress != null && progress.resumeRow(resumeRow) > resumeRow) {
+            resumeRow = progress.resumeRow(resumeRow);
+            if (stealableRange == null && resumeRow >= endRow) {
+                logger.info("table [{}] rows [{}, {}) committed before the connection was lost; skipping", table.name(), startRow, endRow);
+                return;
+            }
+            logger.info("replaying table [{}] rows [{}, {}) from row [{}] on a new connection", table.name(), startRow, endRow, resumeRow);
+        }
+
+        StopWatch tableWatch = new StopWatch(String.format("filled table [%s] in", table.name()));
+        tableWatch.start();
+
+        // For anything other than CONNECTION_DEFAULT the engine owns the transaction: autocommit off
+        // for the fill, commit at the configured cadence, roll back on error, and restore the prior
+        // autocommit in the finally. CONNECTION_DEFAULT leaves the connection exactly as the caller
+        // (or pool) configured it — the original, back-compatible behavior.
+        boolean manageTransaction = commitStrategy.managesTransaction();
+        boolean previousAutoCommit = manageTransaction && connection.getAutoCommit();
+        if (manageTransaction) {
+            connection.setAutoCommit(false);
+        }
+        if (unit != null && connection.getAutoCommit()) {
+            throw new IllegalStateException("a checkpointed fill of table [" + table.name() + "] needs a transaction: "
+                    + "use a commit strategy other than CONNECTION_DEFAULT, or a connection without autocommit");
+        }
+        if (rejectedRows != null && connection.getAutoCommit()) {
+            throw new IllegalStateException("a fill of table [" + table.name() + "] tolerating failed rows needs a transaction "
+                    + "for its savepoints: use a commit strategy other than CONNECTION_DEFAULT, or a connection without autocommit");
+        }
+
+        // rows [startRow, committedRow) are committed, and a retry replays the fill from there; a stealable
+        // range's retry refills the blocks this filler reserved
+        RetryPolicy retryPolicy = databaseConfiguration.retryPolicy();
+        committedRow = resumeRow;
+        List<Long> reservedBlocks = progress != null ? progress.reservedBlocks() : new ArrayList<>();
+        int attempt = 1;
+        long attemptFrom = committedRow;
+        // the row the write loop ended at: endRow, or for a stream the row it was stopped at
+        long filledEnd = endRow;
+
+        // captures a fill/rollback failure so autocommit restore (below) can attach to it rather than
+        // replace it; null when the fill succeeds
+        SQLException failure = null;
+        while (true) {
+            try {
+
+                if (attempt > 1) {
+                    // a retry starts from generators in their initial state, exactly as the first attempt did
+                    System.arraycopy(createGenerators(filteredColumns, tableConfiguration, constraints, reseedSeeds, maxInvocations, false),
+                            0, generators, 0, generators.length);
+                }
+
+                if (partitioned && stealableRange == null) {
+                    // position every generator at the partition's first absolute row so its values match
+                    // the sequential fill: keys/foreign keys stay byte-identical, while non-key random
+                    // columns are reseeded per partition (deterministic for the chosen partition count)
+                    seekGeneratorsTo(generators, reseedSeeds, maxInvocations, -1, startRow);
+                }
+
+                // in pipelined mode producer threads generate the rows and this thread only binds and
+                // writes them; null keeps generation on this thread. A stealable range is generated here,
+                // since its end can move while it fills
+                try (RowPipeline pipeline = pipelineProducers > 0 && stealableRange == null && streamStopped == null && generators.length > 0 && endRow > startRow
+                        ? openPipeline(generators, filteredColumns, tableConfiguration, constraints, reseedSeeds, maxInvocations, startRow, endRow, batchSize)
+                        : null) {
+                    int sinkBatchSize = batchController != null ? batchSizing.maxBatchSize() : batchSize;
+                    IngestStrategy sinkStrategy = ingestStrategy;
+                    RowSink rowSink = rejectedRows != null && generators.length > 0
+                            ? TolerantRowSink.open(connection, table.name(), rejectedRows, retryPolicy, sinkBatchSize,
+                                    () -> openRowSink(databaseSupport, sinkStrategy, generators, sinkBatchSize))
+                            : openRowSink(databaseSupport, sinkStrategy, generators, sinkBatchSize);
+                    for (RowPacer pacer : pacers) {
+                        rowSink = new PacedRowSink(rowSink, pacer, sinkBatchSize);
+                    }
+                    if (writtenRows != null) {
+                        rowSink = new CountedRowSink(rowSink, writtenRows);
+                    }
+                    filledEnd = writeRows(rowSink, pipeline, generators, reseedSeeds, maxInvocations, startRow, endRow, batchSize,
+                            batchController, unit, committedRow, reservedBlocks);
+                }
+
+                if (manageTransaction) {
+                    // commit the final partial batch (and any whole batches not yet committed under EVERY_N_BATCHES)
+                    commit(unit, filledEnd);
+                } else if (unit != null) {
+                    // the caller's transaction commits the rows, and the record with them
+                    unit.record(connection, filledEnd);
+                }
+                break;
+            } catch (SQLException e) {
+                if (manageTransaction) {
+                    // roll back, but never let a rollback failure replace the original cause; a
+                    // connection that cannot roll back is not retried here, but a parallel fill replays
+                    // the task on a new one
+                    try {
+                        connection.rollback();
+                    } catch (SQLException rollbackFailure) {
+                        e.addSuppressed(rollbackFailure);
+                        failure = e;
+                        break;
+                    }
+                }
+                // the attempts count per transaction: a commit since the last failure starts afresh
+                if (committedRow > attemptFrom) {
+                    attempt = 1;
+                    attemptFrom = committedRow;
+                }
+                if (!manageTransaction || attempt >= retryPolicy.maxAttempts() || !retryPolicy.isRetryable(e)) {
+                    failure = e;
+                    break;
+                }
+                Duration backoff = retryPolicy.backoff(attempt);
+                logger.warn("retrying table [{}] from row [{}] in {} ms after a transient failure (attempt {} of {}): {}",
+                        table.name(), committedRow, backoff.toMillis(), attempt + 1, retryPolicy.maxAttempts(), e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    e.addSuppressed(interrupted);
+                    failure = e;
+                    break;
+                }
+                attempt++;
+            }
+        }
+
+        // restore autocommit outside the try/finally so a restore failure can neither mask a primary
+        // fill exception nor return a wrong-state connection to the pool (see restoreAutoCommit)
+        if (manageTransaction) {
+            failure = restoreAutoCommit(previousAutoCommit, failure);
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        tableWatch.stop();
+
+        if (streamStopped != null) {
+            logger.info("streamed {} rows into table [{}] in {}", filledEnd - startRow, table.name(), tableWatch.formatTime());
+        } else {
+            logger.debug("{}", tableWatch);
+        }
+
+        // a fill too short for one whole batch measured nothing worth reporting
+        BatchController.Settled settled = batchController != null ? batchController.settled(table.name(), adaptsCommits) : null;
+        if (settled != null && settled.rows() > 0) {
+            if (batchingSettled != null) {
+                batchingSettled.accept(settled);
+            } else {
+                logger.info("adaptive batching: {}", settled);
+            }
+        }
+    }
+
+    /**
+     * Resolves and seeds one generator per column (per-column override, then custom registry, then any
+     * applicable {@code CHECK}/enum constraint, then the {@link DatabaseSupport} default), filling in
+     * each column's wraparound reseed seed and parent row count. Every call returns fresh generators in
+     * the same initial state, so a pipelined fill can give each producer its own set.
+     *
+     * @param log whether to log each column's resolution (once per fill, not once per producer)
+     */
+    private DataGenerator<?>[] createGenerators(List<Column> filteredColumns, TableConfiguration tableConfiguration,
+                                                Map<String, ColumnConstraint> constraints, long[] reseedSeeds,
+                                                long[] maxInvocations, boolean log) {
+
+        int columnCount = filteredColumns.size();
+        DataGenerator<?>[] generators = new DataGenerator<?>[columnCount];
+
+        DatabaseSupport databaseSupport = databaseConfiguration.databaseSupport();
+        GeneratorRegistry registry = databaseConfiguration.generatorRegistry();
+
+        long baseSeed = databaseConfiguration.seed();
+
         for (int idx = 0; idx < columnCount; idx++) {
 
             Column column = filteredColumns.get(idx);
@@ -185,13 +484,17 @@ public class TableFiller implements Fillable {
                     // honor a CHECK/enum constraint when one applies and the user hasn't overridden the column
                     ColumnConstraint constraint = constraints.get(column.name().toLowerCase(Locale.ROOT));
                     DataGenerator<?> constrained = constraint != null ? ConstraintGenerators.create(column, constraint, random) : null;
-                    if (constraint != null && constrained == null) {
+                    if (log && constraint != null && constrained == null) {
                         logger.warn("constraint on column [{}.{}] could not be applied to its {} type; using the type default",
                                 table.name(), column.name(), column.jdbcType());
                     }
                     if (constrained != null) {
                         dataGenerator = constrained;
                         source = "constraint";
+                    } else if (wallClockTimestamps
+                            && (column.jdbcType() == JDBCType.TIMESTAMP || column.jdbcType() == JDBCType.TIMESTAMP_WITH_TIMEZONE)) {
+                        dataGenerator = new CurrentSqlTimestampGenerator.Builder(random).build();
+                        source = "wall-clock";
                     } else {
                         dataGenerator = databaseSupport.getDataGenerator(column, random);
                         source = "support-default";
@@ -201,125 +504,260 @@ public class TableFiller implements Fillable {
 
             // per-column resolution is the most useful diagnostic for a data-gen library: it reveals
             // which generator (incl. semantic/datafaker matches) each column got, and by which path
-            logger.debug("column [{}.{}] ({}) resolved to generator [{}] via {}",
-                    table.name(), column.name(), column.jdbcType(), dataGenerator.getClass().getSimpleName(), source);
+            if (log) {
+                logger.debug("column [{}.{}] ({}) resolved to generator [{}] via {}",
+                        table.name(), column.name(), column.jdbcType(), dataGenerator.getClass().getSimpleName(), source);
+            }
 
             generators[idx] = dataGenerator;
             reseedSeeds[idx] = seed;
         }
 
-        int batchSize = databaseConfiguration.batchSize();
+        return generators;
+    }
 
-        long totalRowCount = databaseConfiguration.defaultRowCount();
-        if (tableConfiguration != null) {
-            totalRowCount = tableConfiguration.rowCount();
+    /**
+     * Opens the {@link RowSink} this fill writes to: the one {@link DatabaseSupport#openRowSink} offers
+     * for the {@link IngestStrategy}, or else the engine's own — one multi-row {@code INSERT} per batch
+     * under {@link IngestStrategy#multiRowInsert()}, JDBC batches of single-row {@code INSERT}s otherwise.
+     */
+    private RowSink openRowSink(DatabaseSupport databaseSupport, IngestStrategy ingestStrategy, DataGenerator<?>[] generators,
+                                int batchSize) throws SQLException {
+        RowSink sink = generators.length > 0 ? databaseSupport.openRowSink(connection, table, ingestStrategy, batchSize) : null;
+        if (sink != null) {
+            logger.trace("filling table [{}] through {}", table.name(), sink.getClass().getSimpleName());
+            return sink;
         }
-
-        // when a sub-range is configured this filler handles one partition of the table; otherwise
-        // it fills the whole table on the original, byte-for-byte-unchanged path
-        long startRow = partitioned ? rangeStartInclusive : 0;
-        long endRow = partitioned ? Math.min(rangeEndExclusive, totalRowCount) : totalRowCount;
-
-        if (partitioned) {
-            logger.debug("filling table [{}] rows [{}, {}) of [{}]", table.name(), startRow, endRow, totalRowCount);
-        } else {
-            logger.debug("filling table [{}] with [{}] rows", table.name(), totalRowCount);
+        // DatabaseFiller warns once per fill when native ingest or array-unnest cannot be honored at
+        // all, so a per-table fallback is only traced here
+        if (ingestStrategy.isNative()) {
+            logger.debug("native ingest is not supported by {} for table [{}]; filling it with batched INSERTs",
+                    databaseSupport.getClass().getSimpleName(), table.name());
+        } else if (ingestStrategy.isArrayUnnest()) {
+            logger.debug("array-unnest inserts are not supported by {} for table [{}]; filling it with batched INSERTs",
+                    databaseSupport.getClass().getSimpleName(), table.name());
         }
-
-        StopWatch tableWatch = new StopWatch(String.format("filled table [%s] in", table.name()));
-        tableWatch.start();
-
-        // For anything other than CONNECTION_DEFAULT the engine owns the transaction: autocommit off
-        // for the fill, commit at the configured cadence, roll back on error, and restore the prior
-        // autocommit in the finally. CONNECTION_DEFAULT leaves the connection exactly as the caller
-        // (or pool) configured it — the original, back-compatible behavior.
-        boolean manageTransaction = commitStrategy.managesTransaction();
-        boolean previousAutoCommit = manageTransaction && connection.getAutoCommit();
-        if (manageTransaction) {
-            connection.setAutoCommit(false);
+        if (ingestStrategy.isMultiRow() && generators.length > 0) {
+            return MultiRowInsertSink.open(connection, table, generators, batchSize, databaseSupport, statementCache);
         }
+        return BatchInsertSink.open(connection, table, generators, batchSize, statementCache);
+    }
 
-        // captures a fill/rollback failure so autocommit restore (below) can attach to it rather than
-        // replace it; null when the fill succeeds
-        SQLException failure = null;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+    /**
+     * Produces rows {@code [startRow, endRow)} into {@code rowSink}. Rows come from {@code pipeline}
+     * when one is running, and are generated here otherwise, drawing every value in column order with
+     * the wraparound reseeds — so every sink receives the same rows and only the transport differs.
+     * Under {@link CommitStrategy.Mode#EVERY_N_BATCHES} the sink is flushed and the transaction
+     * committed every N × {@code batchSize} rows; otherwise only the final flush sends the tail. The
+     * final commit is left to {@link #fill()}. The sink is closed on return.
+     *
+     * <p>With a {@code batchController} ({@linkplain BatchSizing#adaptive(int, int, int, int) adaptive}
+     * sizing) the sink is flushed every {@link BatchController#batchSize()} rows instead, and under
+     * {@link CommitStrategy.Mode#EVERY_N_BATCHES} the transaction committed every
+     * {@link BatchController#commitBatches()} batches; each flush and commit is timed and reported back.
+     *
+     * <p>For a {@linkplain Builder#stealableRange(RowRange) stealable range} {@code endRow} is ignored:
+     * rows are reserved from the range one block at a time until it is exhausted, and the generators
+     * are positioned at every block's first row.
+     *
+     * <p>Rows before {@code resumeRow} — those a resumed checkpoint {@code unit} or an earlier attempt
+     * has committed — are not written. The generators skip past them to exactly where an uninterrupted
+     * fill would have them (see {@link #skipGeneratorsTo}); a pipelined fill generates them instead and
+     * drops them. Each commit records the rows it commits in {@code unit}.
+     * A stealable range records each block it reserves in {@code reservedBlocks}; a retry refills those
+     * first, skipping the committed blocks without generating them, then reserves more.
+     *
+     * <p>A {@linkplain Builder#stream(BooleanSupplier, Duration) stream} also flushes and commits what it
+     * has written every commit interval, and ends at the first row it finds itself stopped at.
+     *
+     * @return the row the loop ended at: {@code endRow}, the end of a stealable range's last block, or
+     *         the row a stream was stopped at
+     */
+    private long writeRows(RowSink rowSink, RowPipeline pipeline, DataGenerator<?>[] generators, long[] reseedSeeds,
+                           long[] maxInvocations, long startRow, long endRow, int batchSize, BatchController batchController,
+                           FillCheckpoint.Unit unit, long resumeRow, List<Long> reservedBlocks) throws SQLException {
 
-            if (partitioned) {
-                // position every generator at the partition's first absolute row so its values match
-                // the sequential fill: keys/foreign keys stay byte-identical, while non-key random
-                // columns are reseeded per partition (deterministic for the chosen partition count)
-                seekGeneratorsTo(generators, reseedSeeds, maxInvocations, startRow);
-            }
+        int columnCount = generators.length;
 
-            int batchesSinceCommit = 0;
-            long produced = 0;
-            for (long i = startRow; i < endRow; i++) {
+        // one reusable row array: the sink binds, copies or encodes each row before the next is generated
+        Object[] row = new Object[columnCount];
 
-                for (int col = 0; col < columnCount; col++) {
+        long rowsPerCommit = commitStrategy.mode() == CommitStrategy.Mode.EVERY_N_BATCHES
+                ? (long) batchSize * commitStrategy.batches()
+                : 0;
+        boolean adaptsCommits = rowsPerCommit > 0;
 
-                    DataGenerator<?> dataGenerator = generators[col];
+        try (RowSink sink = rowSink) {
 
-                    long maxInvocation = maxInvocations[col];
-                    if (maxInvocation > 0 && i != 0 && i % maxInvocation == 0) {
-                        // foreign-key generator has exhausted the parent key space; reseed its random
-                        // source so it replays the same parent keys and never references a non-existent
-                        // parent (positional generators ignore the unused RNG, so this is a no-op for
-                        // them; the index drives their wraparound by formula)
-                        dataGenerator.reseed(reseedSeeds[col]);
+            long rowsSinceCommit = 0;
+            // adaptive sizing only: the rows and batches since the last flush / commit, and when they ended
+            int rowsInBatch = 0;
+            int batchesSinceCommit = 0;
+            long batchStart = batchController != null ? System.nanoTime() : 0;
+            long commitStart = batchStart;
+            long i = startRow;
+            long blockEnd = endRow;
+            // the row the generators sit at, or -1 before any is generated
+            long position = -1;
+            int replayed = 0;
+            long nextStreamCommit = System.nanoTime() + streamCommitNanos;
+            if (stealableRange == null && pipeline == null && resumeRow > startRow) {
+                // the committed rows are not written again, so the generators skip past them
+                skipGeneratorsTo(generators, reseedSeeds, maxInvocations, startRow, resumeRow);
+                i = resumeRow;
+            }
+            while (true) {
+                if (stealableRange != null) {
+                    if (replayed < reservedBlocks.size()) {
+                        // a retry refills the blocks reserved before it; a committed one is skipped whole
+                        blockEnd = reservedBlocks.get(replayed++);
+                        if (blockEnd <= resumeRow) {
+                            i = blockEnd;
+                            continue;
+                        }
+                    } else {
+                        blockEnd = stealableRange.reserve();
+                        if (blockEnd <= i) {
+                            break;
+                        }
+                        reservedBlocks.add(blockEnd);
                     }
-
-                    dataGenerator.generateAndSet(connection, ps, col + 1);
+                    // every block starts from generators positioned for its first row, so the rows do
+                    // not depend on where the range was split
+                    seekGeneratorsTo(generators, reseedSeeds, maxInvocations, position, i);
                 }
+                for (; i < blockEnd; i++) {
+                    if (streamStopped != null && i >= resumeRow) {
+                        if (streamStopped.getAsBoolean()) {
+                            break;
+                        }
+                        // commit on the interval, however slowly the rows come, so they show up live
+                        long now = System.nanoTime();
+                        if (now - nextStreamCommit >= 0) {
+                            if (i > committedRow && commitStrategy.managesTransaction()) {
+                                sink.flush();
+                                commit(unit, i);
+                                rowsSinceCommit = 0;
+                            }
+                            nextStreamCommit = now + streamCommitNanos;
+                        }
+                    }
+
+                    Object[] values;
+                    if (pipeline != null) {
+                        values = pipeline.next();
+                    } else {
+                        reseedExhausted(generators, reseedSeeds, maxInvocations, i);
 
-                ps.addBatch();
-
-                if (++produced % batchSize == 0) {
-                    ps.executeBatch();
-                    // explicit clearBatch after executeBatch: the JDBC spec already clears the batch,
-                    // but this makes the O(batchSize) in-flight bound explicit and is cheap insurance
-                    // against drivers / rewriteBatchedInserts paths that might otherwise retain the
-                    // submitted row references
-                    ps.clearBatch();
-                    if (commitStrategy.mode() == CommitStrategy.Mode.EVERY_N_BATCHES
-                            && ++batchesSinceCommit % commitStrategy.batches() == 0) {
-                        connection.commit();
+                        for (int col = 0; col < columnCount; col++) {
+                            row[col] = generators[col].generate();
+                        }
+                        values = row;
                     }
-                }
-            }
 
-            ps.executeBatch();
-            ps.clearBatch();
+                    // already committed by the interrupted fill: a producer generated it only to advance its generators
+                    if (i < resumeRow) {
+                        continue;
+                    }
 
-            if (manageTransaction) {
-                // commit the final partial batch (and any whole batches not yet committed under EVERY_N_BATCHES)
-                connection.commit();
-            }
-        } catch (SQLException e) {
-            failure = e;
-            if (manageTransaction) {
-                // roll back, but never let a rollback failure replace the original cause
-                try {
-                    connection.rollback();
-                } catch (SQLException rollbackFailure) {
-                    e.addSuppressed(rollbackFailure);
+                    sink.write(values);
+
+                    if (batchController != null) {
+                        if (++rowsInBatch >= batchController.batchSize()) {
+                            sink.flush();
+                            long flushed = System.nanoTime();
+                            batchController.batchSent(rowsInBatch, flushed - batchStart);
+                            rowsInBatch = 0;
+                            batchStart = flushed;
+                            if (adaptsCommits && ++batchesSinceCommit >= batchController.commitBatches()) {
+                                commit(unit, i + 1);
+                                long committed = System.nanoTime();
+                                batchController.committed(committed - flushed, committed - commitStart);
+                                batchesSinceCommit = 0;
+                                batchStart = committed;
+                                commitStart = committed;
+                            }
+                        }
+                    } else if (rowsPerCommit > 0 && ++rowsSinceCommit == rowsPerCommit) {
+                        sink.flush();
+                        commit(unit, i + 1);
+                        rowsSinceCommit = 0;
+                    }
+                }
+                if (stealableRange == null) {
+                    break;
                 }
+                position = i;
             }
+
+            sink.flush();
+            return i;
         }
+    }
 
-        // restore autocommit outside the try/finally so a restore failure can neither mask a primary
-        // fill exception nor return a wrong-state connection to the pool (see restoreAutoCommit)
-        if (manageTransaction) {
-            failure = restoreAutoCommit(previousAutoCommit, failure);
+    /** Commits the open transaction, recording in it first that {@code unit} has committed through {@code row}. */
+    private void commit(FillCheckpoint.Unit unit, long row) throws SQLException {
+        if (unit != null) {
+            unit.record(connection, row);
+        }
+        connection.commit();
+        committedRow = row;
+        if (progress != null) {
+            progress.committed(row);
         }
+    }
 
-        if (failure != null) {
-            throw failure;
+    /**
+     * Starts the producers of a pipelined fill: the first reuses {@code generators}, already positioned
+     * at {@code startRow}, and each further producer gets a fresh generator set of its own.
+     */
+    private RowPipeline openPipeline(DataGenerator<?>[] generators, List<Column> filteredColumns, TableConfiguration tableConfiguration,
+                                     Map<String, ColumnConstraint> constraints, long[] reseedSeeds, long[] maxInvocations,
+                                     long startRow, long endRow, int batchSize) {
+        // never more producers than segments, so none is started just to exit
+        long segments = Math.ceilDiv(endRow - startRow, (long) batchSize * RowPipeline.SEGMENT_BATCHES);
+        int producers = (int) Math.min(pipelineProducers, segments);
+        List<DataGenerator<?>[]> generatorSets = new ArrayList<>(producers);
+        generatorSets.add(generators);
+        for (int i = 1; i < producers; i++) {
+            generatorSets.add(createGenerators(filteredColumns, tableConfiguration, constraints, reseedSeeds, maxInvocations, false));
         }
+        logger.debug("filling table [{}] with [{}] pipelined producer(s)", table.name(), producers);
+        return new RowPipeline(table.name(), generatorSets, reseedSeeds, maxInvocations, startRow, endRow, batchSize);
+    }
 
-        tableWatch.stop();
+    /**
+     * Binds one row to {@code ps} starting at parameter {@code offset + 1}. Binding goes through each
+     * column's generator, so values are set exactly as {@code generateAndSet} would set them.
+     */
+    static void bindRow(Connection connection, DataGenerator<?>[] generators, Object[] values, PreparedStatement ps, int offset) throws SQLException {
+        for (int col = 0; col < generators.length; col++) {
+            bind(connection, generators[col], ps, offset + col + 1, values[col]);
+        }
+    }
 
-        logger.debug("{}", tableWatch);
+    @SuppressWarnings("unchecked")
+    private static <T> void bind(Connection connection, DataGenerator<T> generator, PreparedStatement ps, int parameterIndex, Object value) throws SQLException {
+        // the value was produced by a generator of this column, so it is a T
+        generator.set(connection, ps, parameterIndex, (T) value);
+    }
 
+    /**
+     * Reseeds every foreign-key generator that has exhausted its parent key space at absolute row
+     * {@code row}, so it replays the same parent keys and never references a non-existent parent
+     * (positional generators ignore the unused RNG, so this is a no-op for them; the index drives their
+     * wraparound by formula).
+     */
+    static void reseedExhausted(DataGenerator<?>[] generators, long[] reseedSeeds, long[] maxInvocations, long row) {
+        if (row == 0) {
+            return;
+        }
+        for (int col = 0; col < generators.length; col++) {
+            long maxInvocation = maxInvocations[col];
+            if (maxInvocation > 0 && row % maxInvocation == 0) {
+                generators[col].reseed(reseedSeeds[col]);
+            }
+        }
     }
 
     /**
@@ -368,24 +806,69 @@ public class TableFiller implements Fillable {
      *       values are deterministic for the chosen partition count but (by design) need not match a
      *       different partitioning, as they carry no cross-row contract.</li>
      * </ul>
+     *
+     * <p>When the generators are known to sit at row {@code position} of the same parent key cycle,
+     * a foreign-key column just draws forward to {@code startRow} instead of replaying the cycle from
+     * its start, which a pipelined producer relies on as it skips from one segment to its next.
+     *
+     * @param position the row the generators are currently positioned at, or {@code -1} if unknown
+     * @param startRow the absolute row the next generated values must belong to
      */
-    private void seekGeneratorsTo(DataGenerator<?>[] generators, long[] reseedSeeds, long[] maxInvocations, long startRow) {
+    static void seekGeneratorsTo(DataGenerator<?>[] generators, long[] reseedSeeds, long[] maxInvocations, long position, long startRow) {
         for (int col = 0; col < generators.length; col++) {
             DataGenerator<?> generator = generators[col];
             if (generator instanceof IndexedDataGenerator indexed) {
                 indexed.seek(startRow);
             } else if (maxInvocations[col] > 0) {
-                generator.reseed(reseedSeeds[col]);
-                long advance = startRow % maxInvocations[col];
-                for (long k = 0; k < advance; k++) {
-                    generator.generate();
-                }
+                seekForeignKey(generator, reseedSeeds[col], maxInvocations[col], position, startRow);
             } else {
                 generator.reseed(Mixers.splitmix64(reseedSeeds[col] + startRow));
             }
         }
     }
 
+    /**
+     * Moves generators positioned at row {@code position} on to row {@code row}, exactly where
+     * generating every row in between would leave them: positional and foreign-key columns seek there
+     * as {@link #seekGeneratorsTo} seeks them, while any other column, whose draws cannot be skipped
+     * (including a positional one that {@linkplain IndexedDataGenerator#seeksExactly() only reseeds}
+     * its random values), generates the values in between.
+     */
+    static void skipGeneratorsTo(DataGenerator<?>[] generators, long[] reseedSeeds, long[] maxInvocations, long position, long row) {
+        for (int col = 0; col < generators.length; col++) {
+            DataGenerator<?> generator = generators[col];
+            if (generator instanceof IndexedDataGenerator indexed && indexed.seeksExactly()) {
+                indexed.seek(row);
+            } else if (maxInvocations[col] > 0) {
+                seekForeignKey(generator, reseedSeeds[col], maxInvocations[col], position, row);
+            } else {
+                for (long k = position; k < row; k++) {
+                    generator.generate();
+                }
+            }
+        }
+    }
+
+    /**
+     * Positions a foreign-key replay generator for row {@code row} of its parent key cycle: it draws
+     * forward from {@code position} when that is in the same cycle, and otherwise reseeds and draws
+     * from the cycle's start.
+     */
+    private static void seekForeignKey(DataGenerator<?> generator, long reseedSeed, long maxInvocation, long position, long row) {
+        long advance;
+        // a generator at a cycle boundary is exhausted and still needs the reseed
+        if (position >= 0 && position <= row && position % maxInvocation != 0
+                && position / maxInvocation == row / maxInvocation) {
+            advance = row - position;
+        } else {
+            generator.reseed(reseedSeed);
+            advance = row % maxInvocation;
+        }
+        for (long k = 0; k < advance; k++) {
+            generator.generate();
+        }
+    }
+
 
     /**
      * Builder for constructing {@link TableFiller} instances.
@@ -404,10 +887,24 @@ public class TableFiller implements Fillable {
 
         private Table table;
         private CommitStrategy commitStrategy;
+        private IngestStrategy ingestStrategy;
+        private int batchSize;
         private Map<String, ColumnConstraint> constraints;
         private boolean partitioned;
         private long rangeStartInclusive;
         private long rangeEndExclusive;
+        private RowRange stealableRange;
+        private int pipelineProducers;
+        private StatementCache statementCache;
+        private Consumer<BatchController.Settled> batchingSettled;
+        private FillCheckpoint checkpoint;
+        private RejectedRows rejectedRows;
+        private FillProgress progress;
+        private final List<RowPacer> pacers = new ArrayList<>();
+        private LongAdder writtenRows;
+        private BooleanSupplier streamStopped;
+        private Duration streamCommitInterval;
+        private boolean wallClockTimestamps;
 
         /**
          * Creates a builder for a filler bound to the given connection, database metadata, and
@@ -446,6 +943,38 @@ public class TableFiller implements Fillable {
             return this;
         }
 
+        /**
+         * Overrides the {@link IngestStrategy} for this table fill. When unset (or null), the
+         * configuration's strategy is used.
+         *
+         * @param ingestStrategy the ingest strategy to use, or null for the configuration default
+         * @return this builder
+         * @since 2.20.0
+         */
+        public Builder ingestStrategy(IngestStrategy ingestStrategy) {
+            this.ingestStrategy = ingestStrategy;
+            return this;
+        }
+
+        /**
+         * Overrides the batch size for this table fill: the rows per JDBC batch, multi-row statement,
+         * array-unnest statement or native-ingest commit unit. When unset, the configuration's batch
+         * size is used, or the planned one under {@link IngestStrategy#auto()}. {@link DatabaseFiller}
+         * uses this to apply a table's {@linkplain IngestStrategy#auto() planned} batch size.
+         *
+         * @param batchSize the rows per batch ({@code > 0})
+         * @return this builder
+         * @throws IllegalArgumentException if {@code batchSize} is not positive
+         * @since 2.20.0
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize <= 0) {
+                throw new IllegalArgumentException("batchSize must be > 0");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
         /**
          * Supplies pre-resolved value-constraint metadata (CHECK / enum) for this table, keyed by
          * lower-cased column name, so the fill skips its own catalog read. When unset (or null),
@@ -482,6 +1011,162 @@ public class TableFiller implements Fillable {
             return this;
         }
 
+        /**
+         * Fills a {@link RowRange} that idle workers may split while it fills — one task of a
+         * work-stealing fill. Rows are reserved and generated one block at a time, with generators
+         * positioned at each block's first row, so the rows match any other work-stealing fill of the
+         * same seed however the range is split. Takes precedence over {@link #rowRange(long, long)}, and
+         * generation stays on the filling thread whatever {@link #pipelineProducers(int)} says.
+         *
+         * @param range the range to fill
+         * @return this builder
+         */
+        Builder stealableRange(RowRange range) {
+            this.stealableRange = Objects.requireNonNull(range, "range must not be null");
+            return this;
+        }
+
+        /**
+         * Prepares the fill's {@code INSERT} statements through the connection's {@link StatementCache},
+         * which keeps them open for the next fill on the connection, instead of preparing statements the
+         * fill closes when it ends. Native-ingest and array-unnest sinks are unaffected.
+         *
+         * @param statements the cache of the connection passed to the builder
+         * @return this builder
+         */
+        Builder statementCache(StatementCache statements) {
+            this.statementCache = Objects.requireNonNull(statements, "statements must not be null");
+            return this;
+        }
+
+        /**
+         * Hands what an {@linkplain BatchSizing#adaptive(int, int, int, int) adaptive} fill settled on to
+         * {@code consumer} once the fill has committed, rather than logging it here — so a database fill
+         * can report one line per table however many partitions filled it.
+         *
+         * @param consumer receives the settled values, on the filling thread
+         * @return this builder
+         */
+        Builder batchingSettled(Consumer<BatchController.Settled> consumer) {
+            this.batchingSettled = Objects.requireNonNull(consumer, "consumer must not be null");
+            return this;
+        }
+
+        /**
+         * Records every commit of the fill's rows — the whole table, or its {@linkplain #rowRange row
+         * range} — in {@code checkpoint}, in the committing transaction, and resumes from what it has
+         * recorded: a unit that has committed is skipped, and one that has partly committed regenerates
+         * its committed rows without writing them, so the rows it writes are those an uninterrupted fill
+         * would. The transaction must not be in autocommit mode. Not applied to a
+         * {@linkplain #stealableRange stealable range}, whose split differs from run to run.
+         *
+         * @param checkpoint the fill's checkpoint
+         * @return this builder
+         */
+        Builder checkpoint(FillCheckpoint checkpoint) {
+            this.checkpoint = Objects.requireNonNull(checkpoint, "checkpoint must not be null");
+            return this;
+        }
+
+        /**
+         * Skips the rows the database rejects, counting them in {@code rejectedRows}, instead of failing
+         * the fill on them: each batch is sent under a savepoint and, when it fails, bisected down to the
+         * rows that fail (see {@link TolerantRowSink}). The transaction must not be in autocommit mode.
+         *
+         * @param rejectedRows where the fill's skipped rows are counted
+         * @return this builder
+         */
+        Builder rejectedRows(RejectedRows rejectedRows) {
+            this.rejectedRows = Objects.requireNonNull(rejectedRows, "rejectedRows must not be null");
+            return this;
+        }
+
+        /**
+         * Records every commit, and a stealable range's reserved blocks, in {@code progress}, and
+         * resumes from what it holds: a fill replayed on a new connection after its own was lost
+         * regenerates the rows the lost one committed without writing them again.
+         *
+         * @param progress the task's progress, shared by every fill of the task
+         * @return this builder
+         */
+        Builder progress(FillProgress progress) {
+            this.progress = Objects.requireNonNull(progress, "progress must not be null");
+            return this;
+        }
+
+        /**
+         * Holds the rows written to {@code pacer}'s rate (see {@link PacedRowSink}). May be called more
+         * than once; each row then waits on every pacer.
+         *
+         * @param pacer the pacer, possibly shared with other fillers
+         * @return this builder
+         */
+        Builder pacedBy(RowPacer pacer) {
+            this.pacers.add(Objects.requireNonNull(pacer, "pacer must not be null"));
+            return this;
+        }
+
+        /**
+         * Adds every row written to {@code writtenRows} (see {@link CountedRowSink}).
+         *
+         * @param writtenRows the count, possibly shared with other fillers
+         * @return this builder
+         */
+        Builder countedBy(LongAdder writtenRows) {
+            this.writtenRows = Objects.requireNonNull(writtenRows, "writtenRows must not be null");
+            return this;
+        }
+
+        /**
+         * Makes this fill a stream: it fills from the {@linkplain #rowRange(long, long) row range}'s start,
+         * regardless of the table's row count, until {@code stopped} says otherwise, committing what it has
+         * written every {@code commitInterval}. Generation stays on the filling thread.
+         *
+         * @param stopped        whether the stream should end, checked before every row
+         * @param commitInterval how often to commit the rows written
+         * @return this builder
+         */
+        Builder stream(BooleanSupplier stopped, Duration commitInterval) {
+            this.streamStopped = Objects.requireNonNull(stopped, "stopped must not be null");
+            this.streamCommitInterval = Objects.requireNonNull(commitInterval, "commitInterval must not be null");
+            return this;
+        }
+
+        /**
+         * Stamps every timestamp column that has no configured, registered or constrained generator with
+         * the wall-clock time its row is generated, rather than a random instant.
+         *
+         * @param wallClockTimestamps whether to stamp rows with the wall-clock time
+         * @return this builder
+         */
+        Builder wallClockTimestamps(boolean wallClockTimestamps) {
+            this.wallClockTimestamps = wallClockTimestamps;
+            return this;
+        }
+
+        /**
+         * Moves row generation off the filling thread: {@code producers} threads generate batches of
+         * rows into a bounded ring of reusable buffers while the filling thread binds and writes them,
+         * so generation overlaps the round trips to the database. Applies to every
+         * {@link IngestStrategy}. With one producer the rows are identical to an unpipelined fill;
+         * with several, each producer positions its generators per segment of the range as a
+         * partition would, so keys and foreign keys are unchanged and non-key random columns are
+         * deterministic but differ from the unpipelined values. The default of {@code 0} keeps
+         * generation on the filling thread.
+         *
+         * @param producers the producer-thread count; {@code 0} disables pipelining
+         * @return this builder
+         * @throws IllegalArgumentException if {@code producers} is negative
+         * @since 2.20.0
+         */
+        public Builder pipelineProducers(int producers) {
+            if (producers < 0) {
+                throw new IllegalArgumentException("pipelineProducers must be >= 0");
+            }
+            this.pipelineProducers = producers;
+            return this;
+        }
+
         /**
          * Builds a {@link TableFiller} from the configured parameters.
          *
@@ -502,9 +1187,23 @@ public class TableFiller implements Fillable {
         this.database = builder.database;
         this.databaseConfiguration = builder.databaseConfiguration;
         this.commitStrategy = builder.commitStrategy != null ? builder.commitStrategy : builder.databaseConfiguration.commitStrategy();
+        this.ingestStrategy = builder.ingestStrategy != null ? builder.ingestStrategy : builder.databaseConfiguration.ingestStrategy();
+        this.batchSize = builder.batchSize;
         this.constraints = builder.constraints;
         this.partitioned = builder.partitioned;
         this.rangeStartInclusive = builder.rangeStartInclusive;
         this.rangeEndExclusive = builder.rangeEndExclusive;
+        this.stealableRange = builder.stealableRange;
+        this.pipelineProducers = builder.pipelineProducers;
+        this.statementCache = builder.statementCache;
+        this.batchingSettled = builder.batchingSettled;
+        this.checkpoint = builder.checkpoint;
+        this.rejectedRows = builder.rejectedRows;
+        this.progress = builder.progress;
+        this.pacers = List.copyOf(builder.pacers);
+        this.writtenRows = builder.writtenRows;
+        this.streamStopped = builder.streamStopped;
+        this.streamCommitNanos = builder.streamCommitInterval != null ? builder.streamCommitInterval.toNanos() : 0;
+        this.wallClockTimestamps = builder.wallClockTimestamps;
     }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.RowSink;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Savepoint;
+import java.util.Arrays;
+
+/**
+ * A {@link RowSink} that isolates the rows the database rejects instead of failing the fill on them.
+ * It holds a copy of each batch and sends it through the sink it wraps under a savepoint. When the
+ * batch fails it rolls back to the savepoint and resends the two halves, recursively, until the
+ * failure is narrowed to single rows, which are skipped and counted in {@link RejectedRows}. The other
+ * rows of the batch are written. A batch that fails on {@code k} of its {@code n} rows costs about
+ * {@code 2k log2 n} extra round trips, and a batch that succeeds costs one savepoint.
+ *
+ * <p>A failed sink may be left mid-statement, so the wrapped sink is closed and reopened after every
+ * failure. It is closed before the rollback, which cancels a native bulk load still in flight so the
+ * connection is free to roll back. The connection must be in a transaction, for the savepoints. An
+ * error the fill's {@link RetryPolicy} retries, or one reporting a lost connection, is not isolated but
+ * thrown, for the filler to retry the transaction.
+ */
+final class TolerantRowSink implements RowSink {
+
+    /** Opens the sink the rows are sent through, again after each failure. */
+    @FunctionalInterface
+    interface Opener {
+        RowSink open() throws SQLException;
+    }
+
+    private final Connection connection;
+    private final String table;
+    private final RejectedRows rejectedRows;
+    private final RetryPolicy retryPolicy;
+    private final Opener opener;
+
+    /** The batch being collected: copies of the rows written since the last send. */
+    private final Object[][] rows;
+    private int pending;
+
+    private RowSink sink;
+
+    private TolerantRowSink(Connection connection, String table, RejectedRows rejectedRows, RetryPolicy retryPolicy, Opener opener,
+                            int batchSize, RowSink sink) {
+        this.connection = connection;
+        this.table = table;
+        this.rejectedRows = rejectedRows;
+        this.retryPolicy = retryPolicy;
+        this.opener = opener;
+        this.rows = new Object[batchSize][];
+        this.sink = sink;
+    }
+
+    /**
+     * Opens the wrapped sink and wraps it.
+     *
+     * @param connection   the connection the wrapped sink writes on, in a transaction
+     * @param table        the table's name, for the rejection counts
+     * @param rejectedRows where skipped rows are counted
+     * @param retryPolicy  the fill's retry policy, whose retryable errors fail the batch rather than a row
+     * @param batchSize    the rows per batch, each sent under one savepoint
+     * @param opener       opens the wrapped sink
+     * @return the tolerant sink
+     * @throws SQLException if the wrapped sink cannot be opened
+     */
+    static TolerantRowSink open(Connection connection, String table, RejectedRows rejectedRows, RetryPolicy retryPolicy,
+                                int batchSize, Opener opener) throws SQLException {
+        return new TolerantRowSink(connection, table, rejectedRows, retryPolicy, opener, batchSize, opener.open());
+    }
+
+    @Override
+    public void write(Object[] row) throws SQLException {
+        // the caller reuses its array, and a failed batch is resent
+        rows[pending] = row.clone();
+        if (++pending == rows.length) {
+            send();
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (pending > 0) {
+            send();
+        }
+    }
+
+    private void send() throws SQLException {
+        try {
+            send(0, pending);
+        } finally {
+            Arrays.fill(rows, 0, pending, null);
+            pending = 0;
+        }
+    }
+
+    /** Sends rows {@code [from, to)} of the batch, bisecting around the rows that fail. */
+    private void send(int from, int to) throws SQLException {
+        Savepoint savepoint = connection.setSavepoint();
+        try {
+            for (int row = from; row < to; row++) {
+                sink.write(rows[row]);
+            }
+            sink.flush();
+        } catch (SQLException failure) {
+            if (retryPolicy.isRetryable(failure) || retryPolicy.isConnectionFailure(failure)) {
+                // a transient failure or a lost connection is the transaction's, not a row's: the filler retries it
+                throw failure;
+            }
+            try {
+                // end any COPY or LOAD DATA the failed sink left open first, or the rollback fails or blocks
+                discardSink(failure);
+                connection.rollback(savepoint);
+                release(savepoint);
+                sink = opener.open();
+            } catch (SQLException rollbackFailure) {
+                failure.addSuppressed(rollbackFailure);
+                throw failure;
+            }
+            if (to - from == 1) {
+                rejectedRows.reject(table, failure);
+            } else {
+                int middle = (from + to) >>> 1;
+                send(from, middle);
+                send(middle, to);
+            }
+            return;
+        }
+        release(savepoint);
+    }
+
+    private void release(Savepoint savepoint) throws SQLException {
+        try {
+            connection.releaseSavepoint(savepoint);
+        } catch (SQLFeatureNotSupportedException e) {
+            // the savepoint lives until the commit instead
+        }
+    }
+
+    private void discardSink(SQLException failure) {
+        RowSink failed = sink;
+        sink = null;
+        try {
+            failed.close();
+        } catch (SQLException closeFailure) {
+            failure.addSuppressed(closeFailure);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        Arrays.fill(rows, 0, pending, null);
+        pending = 0;
+        if (sink != null) {
+            sink.close();
+        }
+    }
+}
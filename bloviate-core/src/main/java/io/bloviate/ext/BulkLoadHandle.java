@@ -16,22 +16,43 @@
 
 package io.bloviate.ext;
 
+import java.util.Map;
+
 /**
  * An opaque token returned by {@link DatabaseSupport#disableConstraints} describing what was disabled,
  * so {@link DatabaseSupport#enableConstraints} can restore it.
  *
  * <p>The session-based PostgreSQL ({@code session_replication_role}) and MySQL
  * ({@code FOREIGN_KEY_CHECKS}) mechanisms restore state with a fixed {@code SET} statement and carry no
- * per-table state, so the handle is purely informational (a short {@code description} used for logging).
- * It exists so a future catalog-level mechanism (e.g. dropping and recreating constraints) can carry the
- * list of objects it must restore without changing the SPI signatures.
+ * per-table state, so for them the handle is purely informational (a short {@code description} used
+ * for logging). Mechanisms whose prior state varies by connection record it in {@code settings} — e.g.
+ * SQLite's bulk-load {@code PRAGMA}s keep each pragma's value from before the load, so re-enabling puts
+ * the connection back exactly as it was rather than on a fixed default.
  *
  * @param description a short human-readable description of what was disabled, for logging
+ * @param settings    the prior values to restore, keyed by setting name; empty when the mechanism
+ *                    restores fixed values
  * @since 2.17.0
  * @see DatabaseSupport#disableConstraints
  * @see DatabaseSupport#enableConstraints
  */
-public record BulkLoadHandle(String description) {
+public record BulkLoadHandle(String description, Map<String, String> settings) {
+
+    /**
+     * Copies the settings so the handle is immutable; {@code null} becomes an empty map.
+     */
+    public BulkLoadHandle {
+        settings = settings == null ? Map.of() : Map.copyOf(settings);
+    }
+
+    /**
+     * Creates a handle with the given description and no settings to restore.
+     *
+     * @param description a short human-readable description of what was disabled
+     */
+    public BulkLoadHandle(String description) {
+        this(description, Map.of());
+    }
 
     /**
      * Creates a handle with the given description.
@@ -42,4 +63,17 @@ public record BulkLoadHandle(String description) {
     public static BulkLoadHandle of(String description) {
         return new BulkLoadHandle(description);
     }
+
+    /**
+     * Creates a handle that records the prior values {@link DatabaseSupport#enableConstraints} must
+     * restore.
+     *
+     * @param description a short human-readable description of what was disabled
+     * @param settings    the prior values, keyed by setting name
+     * @return the handle
+     * @since 2.20.0
+     */
+    public static BulkLoadHandle of(String description, Map<String, String> settings) {
+        return new BulkLoadHandle(description, settings);
+    }
 }
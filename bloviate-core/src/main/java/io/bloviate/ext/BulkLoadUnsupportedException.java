@@ -24,7 +24,7 @@ import java.sql.SQLException;
  * PostgreSQL's {@code session_replication_role}.
  *
  * <p>{@link io.bloviate.db.DatabaseFiller} probes for this once before fanning out and, when it is
- * thrown, gracefully falls back to the ordered level-parallel fill path rather than running with
+ * thrown, gracefully falls back to the ordered parallel fill path rather than running with
  * constraints half-disabled. It extends {@link SQLException} so it propagates naturally through the
  * fill API while remaining catchable as a distinct type.
  *
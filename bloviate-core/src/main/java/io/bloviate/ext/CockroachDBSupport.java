@@ -65,7 +65,7 @@ public class CockroachDBSupport extends PostgresSupport {
      * {@code session_replication_role} switch, and its foreign keys and secondary indexes are
      * maintained transactionally across a distributed cluster, so there is no cheap session-level way
      * to disable enforcement. An {@code UNORDERED_BULK} request therefore falls back to the ordered
-     * level-parallel fill path. Overrides {@link PostgresSupport#supportsBulkLoad()} back to
+     * parallel fill path. Overrides {@link PostgresSupport#supportsBulkLoad()} back to
      * {@code false}.
      *
      * @return {@code false}
@@ -75,4 +75,18 @@ public class CockroachDBSupport extends PostgresSupport {
     public boolean supportsBulkLoad() {
         return false;
     }
+
+    /**
+     * CockroachDB's {@code COPY FROM STDIN} support is limited (no binary format on older releases and
+     * different atomicity semantics), so native ingest is not offered and a {@code NATIVE} request
+     * falls back to batched {@code INSERT}s. Overrides {@link PostgresSupport#supportsNativeIngest()}
+     * back to {@code false}.
+     *
+     * @return {@code false}
+     * @since 2.20.0
+     */
+    @Override
+    public boolean supportsNativeIngest() {
+        return false;
+    }
 }
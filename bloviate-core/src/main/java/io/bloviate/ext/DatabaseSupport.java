@@ -19,6 +19,8 @@ package io.bloviate.ext;
 import io.bloviate.db.Column;
 import io.bloviate.db.ColumnConstraint;
 import io.bloviate.db.Database;
+import io.bloviate.db.IngestStrategy;
+import io.bloviate.db.Table;
 import io.bloviate.gen.DataGenerator;
 
 import java.sql.Connection;
@@ -79,6 +81,24 @@ public interface DatabaseSupport {
         return null;
     }
 
+    /**
+     * Returns the most bind parameters one statement may carry, which caps how many rows a
+     * {@link IngestStrategy#multiRowInsert() multi-row} {@code INSERT} packs into a
+     * single {@code VALUES} list (rows per statement = this limit &divide; column count, but never more
+     * than the batch size).
+     *
+     * <p>The default, {@code 2000}, stays under the smallest limit among mainstream databases (SQL
+     * Server's 2,100). Known overrides: PostgreSQL and CockroachDB {@code 32767} (the wire protocol's
+     * signed 16-bit parameter count), MySQL and MariaDB {@code 65535}, SQLite {@code 32766}
+     * ({@code SQLITE_MAX_VARIABLE_NUMBER} since 3.32.0), and H2 {@code 100000}.
+     *
+     * @return the bind-parameter limit per statement; always positive
+     * @since 2.20.0
+     */
+    default int maxBindParameters() {
+        return 2000;
+    }
+
     /**
      * Reads the value constraints (CHECK constraints and enum/domain allowed values) for a table's
      * columns, so the fill engine can generate values that satisfy them (issue #479). The default
@@ -104,7 +124,7 @@ public interface DatabaseSupport {
      * {@code false}; callers must check this before invoking {@link #disableConstraints} and fall back
      * to the ordered fill path when it returns {@code false}.
      *
-     * <p>PostgreSQL and MySQL override this to {@code true}; CockroachDB leaves it {@code false}
+     * <p>PostgreSQL, MySQL, H2 and SQLite override this to {@code true}; CockroachDB leaves it {@code false}
      * (no {@code session_replication_role}, distributed foreign-key/index handling).
      *
      * @return whether unordered bulk loading with disabled constraints is supported
@@ -119,10 +139,14 @@ public interface DatabaseSupport {
      * on the <strong>given connection's session</strong>. Returns a {@link BulkLoadHandle} describing
      * what was disabled so {@link #enableConstraints} can restore it.
      *
-     * <p>The session-based mechanisms used by PostgreSQL and MySQL are <em>per connection</em>: this
-     * must be called on every connection that will insert. {@link io.bloviate.db.DatabaseFiller}
-     * applies it inside each worker task and restores it in a {@code finally} before returning the
-     * connection to the pool, so no constraint-disabled connection ever leaks back to the pool.
+     * <p>The session-based mechanisms used by PostgreSQL, MySQL and SQLite are <em>per connection</em>:
+     * this must be called on every connection that will insert. {@link io.bloviate.db.DatabaseFiller}
+     * applies it inside each worker task (or once around a sequential fill) and restores it in a
+     * {@code finally} before returning the connection to the pool, so no constraint-disabled connection
+     * ever leaks back to the pool. A mechanism whose prior state varies (e.g. SQLite's pragmas) records
+     * it in the handle's {@link BulkLoadHandle#settings() settings}. H2's mechanism is database-wide
+     * rather than per session, so {@link H2Support} counts the connections in bulk-load mode and only
+     * the last {@link #enableConstraints} call turns enforcement back on.
      *
      * <p>The default throws {@link UnsupportedOperationException}; only override it alongside
      * {@link #supportsBulkLoad()} returning {@code true}.
@@ -156,6 +180,135 @@ public interface DatabaseSupport {
         throw new UnsupportedOperationException("bulk load not supported");
     }
 
+    /**
+     * Whether this support can stream rows through the database's native bulk-ingest protocol for an
+     * {@link IngestStrategy#nativeIngest() NATIVE} fill. The default is {@code false};
+     * {@link #openRowSink} checks this before calling {@link #openIngestWriter}, and the engine otherwise
+     * uses batched {@code INSERT}s.
+     *
+     * <p>PostgreSQL overrides this to {@code true} ({@code COPY ... FROM STDIN}), as do MySQL (and,
+     * through it, MariaDB) with {@code LOAD DATA LOCAL INFILE}, DuckDB with its {@code Appender} and
+     * H2 with {@code CSVREAD}.
+     *
+     * @return whether native ingest is supported
+     * @since 2.20.0
+     */
+    default boolean supportsNativeIngest() {
+        return false;
+    }
+
+    /**
+     * Whether {@code table} in particular can be filled through native ingest; a table with a column
+     * the mechanism cannot write falls back to batched {@code INSERT}s. The default defers to
+     * {@link #supportsNativeIngest()}.
+     *
+     * @param table the table to fill
+     * @return whether the table can be filled through native ingest
+     * @since 2.20.0
+     */
+    default boolean supportsNativeIngest(Table table) {
+        return supportsNativeIngest();
+    }
+
+    /**
+     * Opens a {@link RowSink} that streams rows into {@code table} on the given connection. Rows
+     * are written in {@link Table#filteredColumns()} order, exactly as the {@code INSERT} path binds
+     * them.
+     *
+     * <p>The default throws {@link UnsupportedOperationException}; only override it alongside
+     * {@link #supportsNativeIngest(Table)} returning {@code true}.
+     *
+     * @param connection the connection to ingest on; the writer does not own or close it
+     * @param table      the table to fill
+     * @param batchSize  the configured {@link io.bloviate.db.DatabaseConfiguration#batchSize() batch size};
+     *                   a writer that hands rows to the driver in chunks may use it as the chunk size
+     * @return a writer for the table
+     * @throws SQLException if the ingest stream cannot be prepared
+     * @since 2.20.0
+     */
+    default RowSink openIngestWriter(Connection connection, Table table, int batchSize) throws SQLException {
+        throw new UnsupportedOperationException("native ingest not supported");
+    }
+
+    /**
+     * Whether this support can insert batches as columnar arrays for an
+     * {@link IngestStrategy#arrayUnnest() ARRAY_UNNEST} fill
+     * ({@code insert into t select * from unnest(?::int8[], ?::text[], ...)}). The default is
+     * {@code false}, and the engine then uses batched {@code INSERT}s.
+     *
+     * <p>PostgreSQL overrides this to {@code true}, and CockroachDB inherits it.
+     *
+     * @return whether array-unnest inserts are supported
+     * @since 2.20.0
+     */
+    default boolean supportsArrayUnnest() {
+        return false;
+    }
+
+    /**
+     * Whether {@code table} in particular can be filled with array-unnest inserts; a table whose
+     * columns cannot be carried as array elements (e.g. array columns) falls back to batched
+     * {@code INSERT}s. The default defers to {@link #supportsArrayUnnest()}.
+     *
+     * @param table the table to fill
+     * @return whether the table can be filled with array-unnest inserts
+     * @since 2.20.0
+     */
+    default boolean supportsArrayUnnest(Table table) {
+        return supportsArrayUnnest();
+    }
+
+    /**
+     * Opens a {@link RowSink} that inserts rows into {@code table} one array-unnest statement per
+     * {@code batchSize} rows. Rows are written in {@link Table#filteredColumns()} order, exactly as the
+     * {@code INSERT} path binds them.
+     *
+     * <p>The default throws {@link UnsupportedOperationException}; only override it alongside
+     * {@link #supportsArrayUnnest(Table)} returning {@code true}.
+     *
+     * @param connection the connection to insert on; the writer does not own or close it
+     * @param table      the table to fill
+     * @param batchSize  the rows each statement carries
+     * @return a writer for the table
+     * @throws SQLException if the statement cannot be prepared
+     * @since 2.20.0
+     */
+    default RowSink openUnnestWriter(Connection connection, Table table, int batchSize) throws SQLException {
+        throw new UnsupportedOperationException("array-unnest inserts not supported");
+    }
+
+    /**
+     * Resolves the {@link RowSink} that fills {@code table} under {@code ingestStrategy}, so each database
+     * can offer its fastest path. The default opens the {@linkplain #openIngestWriter native ingest
+     * writer} for {@link IngestStrategy#nativeIngest()} and the {@linkplain #openUnnestWriter array-unnest
+     * writer} for {@link IngestStrategy#arrayUnnest()} when the table supports them, and returns
+     * {@code null} otherwise, which selects the engine's built-in {@code INSERT} sink: single-row
+     * {@code INSERT}s in JDBC batches, or one multi-row {@code INSERT} per batch under
+     * {@link IngestStrategy#multiRowInsert()}, with every value bound through its column's generator.
+     *
+     * <p>Override this to plug in a custom sink — a faster writer, a file, or a no-op sink that measures
+     * generation alone — without changing the engine. It is called once per table fill (and per
+     * intra-table partition) on the thread that fills it, and only for tables with at least one
+     * generated column.
+     *
+     * @param connection     the connection to write on; the sink does not own or close it
+     * @param table          the table to fill
+     * @param ingestStrategy the configured ingest strategy
+     * @param batchSize      the configured {@link io.bloviate.db.DatabaseConfiguration#batchSize() batch size}
+     * @return a sink for the table, or {@code null} for the engine's {@code INSERT} sink
+     * @throws SQLException if the sink cannot be opened
+     * @since 2.20.0
+     */
+    default RowSink openRowSink(Connection connection, Table table, IngestStrategy ingestStrategy, int batchSize) throws SQLException {
+        if (ingestStrategy.isNative() && supportsNativeIngest(table)) {
+            return openIngestWriter(connection, table, batchSize);
+        }
+        if (ingestStrategy.isArrayUnnest() && supportsArrayUnnest(table)) {
+            return openUnnestWriter(connection, table, batchSize);
+        }
+        return null;
+    }
+
     /**
      * Selects a {@link DatabaseSupport} for the given JDBC product name (as reported by
      * {@link java.sql.DatabaseMetaData#getDatabaseProductName()}), so callers don't have
@@ -164,7 +317,8 @@ public interface DatabaseSupport {
      * <p>Matching is case-insensitive and substring-based: names containing
      * {@code "cockroach"} map to {@link CockroachDBSupport}, {@code "mariadb"} to
      * {@link MariaDBSupport}, {@code "mysql"} to {@link MySQLSupport}, {@code "postgres"} to
-     * {@link PostgresSupport}, {@code "h2"} to {@link H2Support}, and {@code "sqlite"} to
+     * {@link PostgresSupport}, {@code "duckdb"} to {@link DuckDBSupport}, {@code "h2"} to
+     * {@link H2Support}, and {@code "sqlite"} to
      * {@link SQLiteSupport}. Anything else (including {@code null}) falls back to
      * {@link DefaultSupport}.
      *
@@ -200,6 +354,9 @@ public interface DatabaseSupport {
             if (name.contains("postgres")) {
                 return new PostgresSupport();
             }
+            if (name.contains("duckdb")) {
+                return new DuckDBSupport();
+            }
             if (name.contains("sqlite")) {
                 return new SQLiteSupport();
             }
@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Column;
+import io.bloviate.db.Table;
+import org.duckdb.DuckDBAppender;
+import org.duckdb.DuckDBConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Appends rows to a DuckDB table through the JDBC driver's {@link DuckDBAppender}, which writes each
+ * value straight into the table's column vectors: there is no SQL to parse, plan or bind per row.
+ *
+ * <p>The appender is strictly typed — it rejects a value whose Java type does not match the column's
+ * DuckDB type rather than casting it — so every value is converted to the column's exact type first,
+ * the way DuckDB casts the parameters the {@code INSERT} path binds: integers are range-checked,
+ * {@code DECIMAL}s are rounded half-up to the column's scale, timestamps are truncated to microseconds
+ * (and {@code TIMESTAMP_MS}/{@code TIMESTAMP_S} rounded to their unit), and {@code TIMESTAMPTZ}
+ * values are read as wall-clock times in the session's {@code TimeZone}. Columns the table has but the
+ * fill does not generate are appended as their defaults.
+ *
+ * <p>A DuckDB appender outside an open transaction commits each time it flushes, so when the
+ * connection is not in auto-commit mode every stream begins with a trivial statement that opens the
+ * transaction the appender then joins; {@link #flush()} closes the appender so the next stream starts
+ * in the transaction that follows the engine's commit. Tables with a column the appender cannot write
+ * ({@code BIT}, {@code INTERVAL}, {@code TIME WITH TIME ZONE}, and the nested types) are
+ * {@linkplain #supports(Table) not supported}.
+ */
+final class DuckDBAppenderWriter implements RowSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuckDBAppenderWriter.class);
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final BigInteger UNSIGNED_LONG_MAX = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+    private static final BigInteger HUGEINT_MIN = BigInteger.ONE.shiftLeft(127).negate();
+    private static final BigInteger HUGEINT_MAX = BigInteger.ONE.shiftLeft(127).subtract(BigInteger.ONE);
+    private static final BigInteger UHUGEINT_MAX = BigInteger.ONE.shiftLeft(128).subtract(BigInteger.ONE);
+
+    /** How a column's values are converted and appended. */
+    enum Kind {
+        BOOLEAN, TINYINT, UTINYINT, SMALLINT, USMALLINT, INTEGER, UINTEGER, BIGINT, UBIGINT, HUGEINT, UHUGEINT,
+        FLOAT, DOUBLE, DECIMAL, VARCHAR, BLOB, UUID, DATE, TIME, TIMESTAMP, TIMESTAMP_MS, TIMESTAMP_S, TIMESTAMPTZ,
+        UNSUPPORTED
+    }
+
+    private final DuckDBConnection connection;
+    private final String catalog;
+    private final String schema;
+    private final String table;
+    private final ZoneId sessionZone;
+    private final Column[] columns;
+    private final Kind[] kinds;
+    private final int[] scales;
+    private final int[] rowIndexes;
+
+    private DuckDBAppender appender;
+
+    private DuckDBAppenderWriter(DuckDBConnection connection, String catalog, String schema, String table,
+                                 ZoneId sessionZone, List<Column> tableColumns, List<Column> filtered) {
+        this.connection = connection;
+        this.catalog = catalog;
+        this.schema = schema;
+        this.table = table;
+        this.sessionZone = sessionZone;
+        this.columns = tableColumns.toArray(new Column[0]);
+        this.kinds = new Kind[columns.length];
+        this.scales = new int[columns.length];
+        this.rowIndexes = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            kinds[i] = kindOf(columns[i].typeName());
+            scales[i] = columns[i].maxDigits() == null ? 0 : columns[i].maxDigits();
+            rowIndexes[i] = filtered.indexOf(columns[i]);
+        }
+    }
+
+    /**
+     * Whether the appender can write every column of {@code table}. Columns the fill does not
+     * generate count too, since the appender writes whole rows.
+     *
+     * @param table the table to check
+     * @return {@code false} when any column's type cannot be appended
+     */
+    static boolean supports(Table table) {
+        for (Column column : table.columns()) {
+            if (kindOf(column.typeName()) == Kind.UNSUPPORTED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prepares a writer for {@code table} on {@code connection}.
+     *
+     * @param connection a DuckDB connection, or a wrapper that unwraps to one
+     * @param table      the target table; must be {@linkplain #supports(Table) supported}
+     * @return a writer; no appender is created until the first row
+     * @throws SQLException if the connection does not unwrap to a DuckDB connection
+     */
+    static DuckDBAppenderWriter open(Connection connection, Table table) throws SQLException {
+        DuckDBConnection duckdb = connection.unwrap(DuckDBConnection.class);
+        Column first = table.columns().isEmpty() ? null : table.columns().getFirst();
+        String schema = first == null || first.schema() == null ? duckdb.getSchema() : first.schema();
+        String catalog = first == null ? null : first.catalog();
+        ZoneId zone;
+        try (Statement statement = duckdb.createStatement();
+             ResultSet resultSet = statement.executeQuery("select current_setting('TimeZone')")) {
+            resultSet.next();
+            zone = ZoneId.of(resultSet.getString(1));
+        }
+        logger.debug("ingesting table [{}.{}] through the DuckDB appender", schema, table.name());
+        return new DuckDBAppenderWriter(duckdb, catalog, schema, table.name(), zone, table.columns(), table.filteredColumns());
+    }
+
+    /**
+     * Maps a driver-reported DuckDB type name to its {@link Kind}, ignoring type parameters (e.g. the
+     * precision of {@code DECIMAL(10,2)} or the labels of an {@code ENUM}).
+     *
+     * @param typeName the type name from {@link Column#typeName()}
+     * @return the kind, {@link Kind#UNSUPPORTED} when the appender cannot write the type
+     */
+    static Kind kindOf(String typeName) {
+        if (typeName == null || typeName.endsWith("]")) {
+            return Kind.UNSUPPORTED;
+        }
+        int parameters = typeName.indexOf('(');
+        String base = (parameters < 0 ? typeName : typeName.substring(0, parameters)).strip().toUpperCase(Locale.ROOT);
+        return switch (base) {
+            case "BOOLEAN" -> Kind.BOOLEAN;
+            case "TINYINT" -> Kind.TINYINT;
+            case "UTINYINT" -> Kind.UTINYINT;
+            case "SMALLINT" -> Kind.SMALLINT;
+            case "USMALLINT" -> Kind.USMALLINT;
+            case "INTEGER" -> Kind.INTEGER;
+            case "UINTEGER" -> Kind.UINTEGER;
+            case "BIGINT" -> Kind.BIGINT;
+            case "UBIGINT" -> Kind.UBIGINT;
+            case "HUGEINT" -> Kind.HUGEINT;
+            case "UHUGEINT" -> Kind.UHUGEINT;
+            case "FLOAT" -> Kind.FLOAT;
+            case "DOUBLE" -> Kind.DOUBLE;
+            case "DECIMAL" -> Kind.DECIMAL;
+            case "VARCHAR", "JSON", "ENUM" -> Kind.VARCHAR;
+            case "BLOB" -> Kind.BLOB;
+            case "UUID" -> Kind.UUID;
+            case "DATE" -> Kind.DATE;
+            case "TIME" -> Kind.TIME;
+            case "TIMESTAMP", "TIMESTAMP_NS" -> Kind.TIMESTAMP;
+            case "TIMESTAMP_MS" -> Kind.TIMESTAMP_MS;
+            case "TIMESTAMP_S" -> Kind.TIMESTAMP_S;
+            case "TIMESTAMP WITH TIME ZONE" -> Kind.TIMESTAMPTZ;
+            default -> Kind.UNSUPPORTED;
+        };
+    }
+
+    @Override
+    public void write(Object[] row) throws SQLException {
+        if (appender == null) {
+            begin();
+        }
+        appender.beginRow();
+        for (int col = 0; col < columns.length; col++) {
+            int index = rowIndexes[col];
+            if (index < 0) {
+                appender.appendDefault();
+            } else if (row[index] == null) {
+                appender.appendNull();
+            } else {
+                append(col, row[index]);
+            }
+        }
+        appender.endRow();
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (appender != null) {
+            long rows = appender.flush();
+            logger.trace("appended [{}] rows to [{}]", rows, table);
+            close();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (appender != null) {
+            DuckDBAppender closing = appender;
+            appender = null;
+            closing.close();
+        }
+    }
+
+    private void begin() throws SQLException {
+        if (!connection.getAutoCommit()) {
+            // the appender joins the connection's transaction only once a statement has opened it
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("select 1");
+            }
+        }
+        appender = catalog == null
+                ? connection.createAppender(schema, table)
+                : connection.createAppender(catalog, schema, table);
+    }
+
+    private void append(int col, Object value) throws SQLException {
+        switch (kinds[col]) {
+            case BOOLEAN -> appender.append(toBoolean(col, value));
+            case TINYINT -> appender.append((byte) toIntegral(col, value, Byte.MIN_VALUE, Byte.MAX_VALUE));
+            // unsigned values travel as the two's-complement bits of the same-width signed type
+            case UTINYINT -> appender.append((byte) toIntegral(col, value, 0, 0xFF));
+            case SMALLINT -> appender.append((short) toIntegral(col, value, Short.MIN_VALUE, Short.MAX_VALUE));
+            case USMALLINT -> appender.append((short) toIntegral(col, value, 0, 0xFFFF));
+            case INTEGER -> appender.append((int) toIntegral(col, value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            case UINTEGER -> appender.append((int) toIntegral(col, value, 0, 0xFFFF_FFFFL));
+            case BIGINT -> appender.append(toIntegral(col, value, Long.MIN_VALUE, Long.MAX_VALUE));
+            case UBIGINT -> appender.append(toBigInteger(col, value, BigInteger.ZERO, UNSIGNED_LONG_MAX).longValue());
+            case HUGEINT -> appender.append(toBigInteger(col, value, HUGEINT_MIN, HUGEINT_MAX));
+            case UHUGEINT -> appender.append(toBigInteger(col, value, BigInteger.ZERO, UHUGEINT_MAX));
+            case FLOAT -> appender.append(toNumber(col, value).floatValue());
+            case DOUBLE -> appender.append(toNumber(col, value).doubleValue());
+            case DECIMAL -> appender.append(toDecimal(col, value).setScale(scales[col], RoundingMode.HALF_UP));
+            case VARCHAR -> appender.append(value.toString());
+            case BLOB -> appender.append(toBytes(col, value));
+            case UUID -> appender.append(toUuid(col, value));
+            case DATE -> appender.append(toLocalDate(col, value));
+            case TIME -> appender.append(toLocalTime(col, value));
+            case TIMESTAMP -> appender.append(toLocalDateTime(col, value));
+            case TIMESTAMP_MS -> appender.append(roundedTo(toLocalDateTime(col, value), ChronoUnit.MILLIS));
+            case TIMESTAMP_S -> appender.append(roundedTo(toLocalDateTime(col, value), ChronoUnit.SECONDS));
+            case TIMESTAMPTZ -> appender.append(toLocalDateTime(col, value).atZone(sessionZone).toOffsetDateTime());
+            case UNSUPPORTED -> throw new SQLException("cannot append to column " + describe(col));
+        }
+    }
+
+    private boolean toBoolean(int col, Object value) throws SQLException {
+        return switch (value) {
+            case Boolean bool -> bool;
+            case Number number -> number.longValue() != 0;
+            case String string -> Boolean.parseBoolean(string.strip());
+            default -> throw unsupported(col, value);
+        };
+    }
+
+    /** Converts to an integer the way DuckDB casts a bound parameter: integral types exactly, others rounded half away from zero. */
+    private long toIntegral(int col, Object value, long min, long max) throws SQLException {
+        long result;
+        try {
+            result = switch (value) {
+                case Long l -> l;
+                case Integer i -> i;
+                case Short s -> s;
+                case Byte b -> b;
+                default -> toDecimal(col, value).setScale(0, RoundingMode.HALF_UP).longValueExact();
+            };
+        } catch (ArithmeticException e) {
+            throw outOfRange(col, value);
+        }
+        if (result < min || result > max) {
+            throw outOfRange(col, value);
+        }
+        return result;
+    }
+
+    private BigInteger toBigInteger(int col, Object value, BigInteger min, BigInteger max) throws SQLException {
+        BigInteger result = value instanceof BigInteger bigInteger
+                ? bigInteger
+                : toDecimal(col, value).setScale(0, RoundingMode.HALF_UP).toBigInteger();
+        if (result.compareTo(min) < 0 || result.compareTo(max) > 0) {
+            throw outOfRange(col, value);
+        }
+        return result;
+    }
+
+    private Number toNumber(int col, Object value) throws SQLException {
+        if (value instanceof Number number) {
+            return number;
+        }
+        return toDecimal(col, value);
+    }
+
+    private BigDecimal toDecimal(int col, Object value) throws SQLException {
+        return switch (value) {
+            case BigDecimal decimal -> decimal;
+            case BigInteger bigInteger -> new BigDecimal(bigInteger);
+            case Double d -> BigDecimal.valueOf(d);
+            case Float f -> new BigDecimal(f.toString());
+            case Number number -> BigDecimal.valueOf(number.longValue());
+            case String string -> {
+                try {
+                    yield new BigDecimal(string.strip());
+                } catch (NumberFormatException e) {
+                    throw new SQLException("invalid input [" + string + "] for column " + describe(col), "22018", e);
+                }
+            }
+            default -> throw unsupported(col, value);
+        };
+    }
+
+    private byte[] toBytes(int col, Object value) throws SQLException {
+        return switch (value) {
+            case byte[] bytes -> bytes;
+            case Byte[] boxed -> {
+                byte[] bytes = new byte[boxed.length];
+                for (int i = 0; i < boxed.length; i++) {
+                    bytes[i] = boxed[i];
+                }
+                yield bytes;
+            }
+            default -> throw unsupported(col, value);
+        };
+    }
+
+    private UUID toUuid(int col, Object value) throws SQLException {
+        return switch (value) {
+            case UUID uuid -> uuid;
+            case String string -> {
+                try {
+                    yield UUID.fromString(string.strip());
+                } catch (IllegalArgumentException e) {
+                    throw new SQLException("invalid input [" + string + "] for column " + describe(col), "22018", e);
+                }
+            }
+            default -> throw unsupported(col, value);
+        };
+    }
+
+    private LocalDate toLocalDate(int col, Object value) throws SQLException {
+        return switch (value) {
+            case java.sql.Date date -> date.toLocalDate();
+            case LocalDate date -> date;
+            case Timestamp timestamp -> timestamp.toLocalDateTime().toLocalDate();
+            case LocalDateTime local -> local.toLocalDate();
+            default -> throw unsupported(col, value);
+        };
+    }
+
+    /** A {@link Time} as the driver binds it: its epoch milliseconds taken as the time of day. */
+    private LocalTime toLocalTime(int col, Object value) throws SQLException {
+        return switch (value) {
+            case Time time -> LocalTime.ofNanoOfDay(Math.floorMod(time.getTime(), MILLIS_PER_DAY) * 1_000_000L);
+            case LocalTime time -> time.truncatedTo(ChronoUnit.MICROS);
+            case Timestamp timestamp -> timestamp.toLocalDateTime().toLocalTime().truncatedTo(ChronoUnit.MICROS);
+            default -> throw unsupported(col, value);
+        };
+    }
+
+    /** A timestamp's wall clock in the JVM zone, truncated to DuckDB's microsecond resolution. */
+    private LocalDateTime toLocalDateTime(int col, Object value) throws SQLException {
+        LocalDateTime local = switch (value) {
+            case Timestamp timestamp -> timestamp.toLocalDateTime();
+            case java.sql.Date date -> date.toLocalDate().atStartOfDay();
+            case java.util.Date date -> LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+            case LocalDateTime dateTime -> dateTime;
+            case LocalDate date -> date.atStartOfDay();
+            case Instant instant -> LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+            case OffsetDateTime offset -> offset.atZoneSameInstant(sessionZone).toLocalDateTime();
+            default -> throw unsupported(col, value);
+        };
+        return local.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    /** Rounds half up to {@code unit}, as DuckDB's cast from {@code TIMESTAMP} to a coarser timestamp does. */
+    private static LocalDateTime roundedTo(LocalDateTime local, ChronoUnit unit) {
+        return local.plus(unit.getDuration().dividedBy(2)).truncatedTo(unit);
+    }
+
+    private String describe(int col) {
+        return "[" + columns[col].name() + "] of type [" + columns[col].typeName() + "]";
+    }
+
+    private SQLException unsupported(int col, Object value) {
+        return new SQLException("cannot append a " + value.getClass().getName() + " to column " + describe(col));
+    }
+
+    private SQLException outOfRange(int col, Object value) {
+        return new SQLException("value [" + value + "] is out of range for column " + describe(col), "22003");
+    }
+}
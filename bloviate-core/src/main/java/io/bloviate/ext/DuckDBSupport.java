@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Column;
+import io.bloviate.db.Table;
+import io.bloviate.gen.BitStringGenerator;
+import io.bloviate.gen.ByteGenerator;
+import io.bloviate.gen.IntegerGenerator;
+import io.bloviate.gen.IntervalGenerator;
+import io.bloviate.gen.JsonbGenerator;
+import io.bloviate.gen.LongGenerator;
+import io.bloviate.gen.ShortGenerator;
+import io.bloviate.gen.SqlTimeGenerator;
+import io.bloviate.gen.SqlTimestampGenerator;
+import io.bloviate.gen.UUIDGenerator;
+import io.bloviate.gen.WeightedCategoricalGenerator;
+
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * DuckDB-specific {@link DatabaseSupport}.
+ *
+ * <p>DuckDB is an embedded, in-process columnar database. Its JDBC driver reports the standard
+ * SQL types through their usual {@link JDBCType}s, so most columns map through the cross-database
+ * defaults in {@link AbstractDatabaseSupport}. This class customizes the types where DuckDB
+ * diverges:
+ *
+ * <ul>
+ *   <li>{@code TINYINT} — signed 8-bit ({@code -128..127}), whereas the cross-database default
+ *       targets MySQL's unsigned {@code 0..255} range.</li>
+ *   <li>Unsigned integers — {@code UTINYINT}, {@code USMALLINT} and {@code UINTEGER} are reported
+ *       as the next-wider signed JDBC type ({@code SMALLINT}, {@code INTEGER}, {@code BIGINT}) and
+ *       are filled within their unsigned range; {@code UBIGINT}, {@code HUGEINT} and
+ *       {@code UHUGEINT} surface as {@link JDBCType#OTHER} and are filled with non-negative
+ *       {@code BIGINT} values.</li>
+ *   <li>{@code UUID}, {@code JSON}, {@code INTERVAL}, {@code ENUM} and the precision-qualified
+ *       timestamps ({@code TIMESTAMP_S}, {@code TIMESTAMP_MS}, {@code TIMESTAMP_NS}) — surface as
+ *       {@link JDBCType#OTHER} and are dispatched on the type name; an {@code ENUM} is filled with
+ *       its labels (read from the reported type name) with equal weight, and an {@code INTERVAL}
+ *       with unit-labeled spans, since DuckDB rejects the SQL-standard year-month form.</li>
+ *   <li>{@code TIME} and {@code TIME WITH TIME ZONE} — drawn from a single day: the driver binds a
+ *       {@link Time}'s epoch milliseconds verbatim as the time of day, so a later instant would
+ *       store an out-of-range time.</li>
+ *   <li>{@code BIT} — a variable-length bit string rather than a single bit.</li>
+ *   <li>{@code BLOB} — filled with random bytes.</li>
+ * </ul>
+ *
+ * <p>DuckDB's nested types ({@code LIST}, {@code STRUCT}, {@code MAP}, {@code UNION}) are not yet
+ * supported and cause {@link #getDataGenerator} to throw.
+ *
+ * <p>With {@link io.bloviate.db.IngestStrategy#nativeIngest()} rows are written through DuckDB's
+ * {@code Appender}, which fills the table's column vectors directly with no SQL to parse or plan.
+ *
+ * @since 2.20.0
+ * @see AbstractDatabaseSupport
+ * @see DatabaseSupport
+ */
+public class DuckDBSupport extends AbstractDatabaseSupport {
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /** Creates the DuckDB support with its default configuration. */
+    public DuckDBSupport() {
+    }
+
+    /**
+     * DuckDB supports native ingest through its {@code Appender}.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean supportsNativeIngest() {
+        return true;
+    }
+
+    /**
+     * A table with a column the {@code Appender} cannot write ({@code BIT}, {@code INTERVAL},
+     * {@code TIME WITH TIME ZONE}, and the nested types) is filled with batched {@code INSERT}s.
+     *
+     * @param table the table to fill
+     * @return {@code false} when any column cannot be appended
+     */
+    @Override
+    public boolean supportsNativeIngest(Table table) {
+        return DuckDBAppenderWriter.supports(table);
+    }
+
+    /**
+     * Opens an {@code Appender} writer for the table. Values are converted to each column's exact
+     * DuckDB type before they are appended, as the driver would convert the {@code INSERT} path's
+     * bound parameters. Requires the DuckDB JDBC driver on the classpath.
+     *
+     * @param connection a DuckDB connection (or a pool proxy that unwraps to one)
+     * @param table      the table to fill
+     * @param batchSize  unused; the appender flushes as it fills its internal chunks
+     * @return an {@code Appender} writer
+     * @throws SQLException if the connection does not unwrap to a DuckDB connection
+     */
+    @Override
+    public RowSink openIngestWriter(Connection connection, Table table, int batchSize) throws SQLException {
+        return DuckDBAppenderWriter.open(connection, table);
+    }
+
+    @Override
+    protected void configure(Map<JDBCType, GeneratorFactory> registry) {
+
+        // DuckDB TINYINT is signed (max 127); the cross-database default targets the unsigned
+        // 0..255 range (MySQL) and would overflow. The generator requires a non-negative range.
+        registry.put(JDBCType.TINYINT, (column, random) ->
+                new ShortGenerator.Builder(random).start(0).end(127).build());
+
+        // unsigned types are reported as the next-wider signed JDBC type; keep them in range
+        registry.put(JDBCType.SMALLINT, (column, random) -> isType(column, "utinyint")
+                ? new ShortGenerator.Builder(random).start(0).end(255).build()
+                : new ShortGenerator.Builder(random).build());
+        registry.put(JDBCType.INTEGER, (column, random) -> isType(column, "usmallint")
+                ? new IntegerGenerator.Builder(random).start(0).end(65_536).build()
+                : new IntegerGenerator.Builder(random).build());
+        registry.put(JDBCType.BIGINT, (column, random) -> isType(column, "uinteger")
+                ? new LongGenerator.Builder(random).start(0).end(1L << 32).build()
+                : new LongGenerator.Builder(random).build());
+
+        // the driver binds a Time's epoch millis as-is; keep them within one day
+        GeneratorFactory time = (column, random) -> new SqlTimeGenerator.Builder(random)
+                .start(new Time(0))
+                .end(new Time(MILLIS_PER_DAY))
+                .build();
+        registry.put(JDBCType.TIME, time);
+        registry.put(JDBCType.TIME_WITH_TIMEZONE, time);
+
+        // BIT is a variable-length bit string; COLUMN_SIZE is not reported
+        registry.put(JDBCType.BIT, (column, random) -> new BitStringGenerator.Builder(random).size(8).build());
+
+        // the cross-database BLOB generator yields nulls; generate bytes instead
+        registry.put(JDBCType.BLOB, (column, random) -> new ByteGenerator.Builder(random).build());
+
+        // STRUCT values are not generated yet (the cross-database generator targets other databases)
+        registry.put(JDBCType.STRUCT, (column, random) -> {
+            throw new UnsupportedOperationException("Data Type [" + column.typeName() + "] for STRUCT not supported");
+        });
+
+        // DuckDB-specific types surface as OTHER, dispatched on the type name
+        registry.put(JDBCType.OTHER, (column, random) -> {
+            String typeName = column.typeName() == null ? "" : column.typeName().toLowerCase(Locale.ROOT);
+            return switch (typeName) {
+                case "ubigint", "hugeint", "uhugeint" -> new LongGenerator.Builder(random).build();
+                case "uuid" -> new UUIDGenerator.Builder(random).build();
+                case "json" -> new JsonbGenerator.Builder(random).build();
+                case "interval" -> new IntervalGenerator.Builder(random).unitLabels(true).build();
+                case "timestamp_s", "timestamp_ms", "timestamp_ns" -> new SqlTimestampGenerator.Builder(random).build();
+                default -> {
+                    if (typeName.startsWith("enum(")) {
+                        WeightedCategoricalGenerator.Builder<String> builder = new WeightedCategoricalGenerator.Builder<>(random);
+                        for (String label : enumLabels(column.typeName())) {
+                            builder.add(label, 1.0);
+                        }
+                        yield builder.build();
+                    }
+                    throw new UnsupportedOperationException("Data Type [" + column.typeName() + "] for OTHER not supported");
+                }
+            };
+        });
+    }
+
+    /**
+     * Parses the labels of an enum type name as the driver reports it, e.g. {@code ENUM('a', 'it''s')}.
+     *
+     * @param typeName the reported type name
+     * @return the labels in declaration order
+     */
+    static List<String> enumLabels(String typeName) {
+        List<String> labels = new ArrayList<>();
+        StringBuilder label = null;
+        for (int i = typeName.indexOf('(') + 1; i < typeName.length(); i++) {
+            char c = typeName.charAt(i);
+            if (label == null) {
+                if (c == '\'') {
+                    label = new StringBuilder();
+                }
+            } else if (c != '\'') {
+                label.append(c);
+            } else if (i + 1 < typeName.length() && typeName.charAt(i + 1) == '\'') {
+                label.append(c);
+                i++;
+            } else {
+                labels.add(label.toString());
+                label = null;
+            }
+        }
+        if (labels.isEmpty()) {
+            throw new UnsupportedOperationException("Data Type [" + typeName + "] has no enum labels");
+        }
+        return labels;
+    }
+
+    private static boolean isType(Column column, String typeName) {
+        return typeName.equalsIgnoreCase(column.typeName());
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Column;
+import io.bloviate.db.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Streams rows into an H2 table through a CSV file: rows are written to a temporary file as they are
+ * generated, and each {@link #flush()} loads the whole file with one
+ * {@code INSERT INTO t (...) SELECT * FROM CSVREAD(...)}, so H2 parses and plans one statement per
+ * commit unit instead of executing a prepared statement per row.
+ *
+ * <p>{@code CSVREAD} yields every field as a character string, which the {@code INSERT} casts to the
+ * column's type exactly as H2 converts a string bound on the {@code INSERT} path. Every non-null value
+ * is quoted, so an empty string stays distinct from {@code NULL} (an empty unquoted field). Binary
+ * columns have no lossless text form H2 can cast back, so tables with a binary, array or other
+ * non-text column are {@linkplain #supports(Table) not supported}.
+ *
+ * <p>H2 reads the file itself, so the database must run in this JVM or on this host: an embedded
+ * ({@code mem:} or file) database, not one reached over {@code tcp:} or {@code ssl:}. {@code CSVREAD}
+ * also requires admin rights.
+ */
+final class H2CsvWriter implements RowSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(H2CsvWriter.class);
+
+    private final Connection connection;
+    private final Table table;
+    private final Path file;
+    private final String sql;
+
+    private BufferedWriter writer;
+    private long rowsWritten;
+
+    private H2CsvWriter(Connection connection, Table table, Path file, String sql) {
+        this.connection = connection;
+        this.table = table;
+        this.file = file;
+        this.sql = sql;
+    }
+
+    /**
+     * Whether every generated column of {@code table} survives a round trip through text.
+     *
+     * @param table the table to check
+     * @return {@code false} when any filtered column is binary, an array, or another non-text type
+     */
+    static boolean supports(Table table) {
+        for (Column column : table.filteredColumns()) {
+            if (!supports(column)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean supports(Column column) {
+        if (column.jdbcType() == null) {
+            return false;
+        }
+        String typeName = column.typeName() == null ? "" : column.typeName().toLowerCase(Locale.ROOT);
+        return switch (column.jdbcType()) {
+            case BIT, BOOLEAN, TINYINT, SMALLINT, INTEGER, BIGINT, REAL, FLOAT, DOUBLE, NUMERIC, DECIMAL,
+                 CHAR, NCHAR, VARCHAR, NVARCHAR, LONGVARCHAR, LONGNVARCHAR, CLOB, NCLOB,
+                 DATE, TIME, TIME_WITH_TIMEZONE, TIMESTAMP, TIMESTAMP_WITH_TIMEZONE -> true;
+            // H2 reports UUID as BINARY and JSON as OTHER; both are cast from their text form
+            case BINARY -> typeName.equals("uuid");
+            case OTHER -> typeName.equals("json");
+            default -> false;
+        };
+    }
+
+    /**
+     * Prepares a writer for {@code table} on {@code connection}.
+     *
+     * @param connection an embedded H2 connection
+     * @param table      the target table; must be {@linkplain #supports(Table) supported}
+     * @return a writer; the temporary file is empty until the first row
+     * @throws SQLException if the database is remote or the temporary file cannot be created
+     */
+    static H2CsvWriter open(Connection connection, Table table) throws SQLException {
+        String url = connection.getMetaData().getURL();
+        if (url != null && (url.startsWith("jdbc:h2:tcp:") || url.startsWith("jdbc:h2:ssl:"))) {
+            throw new SQLException("CSVREAD ingest requires an embedded H2 database; the server cannot read a file "
+                    + "written by this client [" + url + "]");
+        }
+        Path file;
+        try {
+            file = Files.createTempFile("bloviate-" + table.name() + "-", ".csv");
+        } catch (IOException e) {
+            throw new SQLException("could not create the CSV file for table [" + table.name() + "]", e);
+        }
+
+        List<Column> columns = table.filteredColumns();
+        StringJoiner fields = new StringJoiner(",");
+        for (int i = 1; i <= columns.size(); i++) {
+            fields.add("C" + i);
+        }
+        String quote = connection.getMetaData().getIdentifierQuoteString();
+        String sql = "INSERT INTO " + table.qualifiedName(quote) + " (" + table.columnList(quote) + ") SELECT * FROM CSVREAD("
+                + literal(file.toAbsolutePath().toString()) + ", " + literal(fields.toString())
+                + ", 'charset=UTF-8 fieldSeparator=,')";
+        logger.debug("ingesting table [{}] with {}", table.name(), sql);
+        return new H2CsvWriter(connection, table, file, sql);
+    }
+
+    @Override
+    public void write(Object[] row) throws SQLException {
+        try {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            }
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (row[i] != null) {
+                    writeQuoted(text(row[i]));
+                }
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new SQLException("could not write a row of table [" + table.name() + "] to " + file, e);
+        }
+        rowsWritten++;
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (writer == null) {
+            return;
+        }
+        closeFile();
+        long written = rowsWritten;
+        rowsWritten = 0;
+        long loaded;
+        try (Statement statement = connection.createStatement()) {
+            loaded = statement.executeLargeUpdate(sql);
+        }
+        if (loaded != written) {
+            throw new SQLException("CSVREAD loaded [" + loaded + "] of [" + written + "] rows into table [" + table.name() + "]");
+        }
+        logger.trace("{} completed with [{}] rows", sql, written);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        rowsWritten = 0;
+        try {
+            closeFile();
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                logger.warn("could not delete {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private void closeFile() throws SQLException {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new SQLException("could not write the rows of table [" + table.name() + "] to " + file, e);
+        } finally {
+            writer = null;
+        }
+    }
+
+    private static String text(Object value) throws SQLException {
+        if (value instanceof byte[]) {
+            throw new SQLException("binary values cannot be ingested through CSVREAD");
+        }
+        return value.toString();
+    }
+
+    private void writeQuoted(String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+
+    private static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+}
@@ -16,12 +16,18 @@
 
 package io.bloviate.ext;
 
+import io.bloviate.db.Database;
+import io.bloviate.db.Table;
 import io.bloviate.gen.ByteGenerator;
 import io.bloviate.gen.JsonbGenerator;
 import io.bloviate.gen.ShortGenerator;
 import io.bloviate.gen.UUIDGenerator;
 
+import java.sql.Connection;
 import java.sql.JDBCType;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -45,16 +51,143 @@ import java.util.Map;
  * and {@code GEOMETRY} types are not yet supported and cause
  * {@link #getDataGenerator} to throw.
  *
+ * <p><strong>Bulk loading</strong> ({@link io.bloviate.db.BulkLoadStrategy#unorderedBulk()}) turns off
+ * foreign-key checking with {@code SET REFERENTIAL_INTEGRITY FALSE}. In H2 this is a database-wide
+ * setting rather than a session one, so it stays off while any connection is still loading and is
+ * turned back on when the last one finishes. With {@link io.bloviate.db.IngestStrategy#nativeIngest()}
+ * rows are written to a temporary CSV file and loaded with one {@code INSERT ... SELECT FROM CSVREAD}
+ * per commit unit; this needs an embedded database (H2 reads the file itself) and admin rights.
+ *
  * @since 2.18.0
  * @see AbstractDatabaseSupport
  * @see DatabaseSupport
  */
 public class H2Support extends AbstractDatabaseSupport {
 
+    /** Connections in bulk-load mode, per database URL; guarded by {@code this}. */
+    private final Map<String, Integer> bulkLoads = new HashMap<>();
+
     /** Creates the H2 support with its default configuration. */
     public H2Support() {
     }
 
+    /**
+     * H2's parameter-index limit ({@code Constants.MAX_PARAMETER_INDEX}).
+     *
+     * @return {@code 100000}
+     * @since 2.20.0
+     */
+    @Override
+    public int maxBindParameters() {
+        return 100_000;
+    }
+
+    /**
+     * H2 supports unordered bulk loading by turning off referential-integrity checking.
+     *
+     * @return {@code true}
+     * @since 2.20.0
+     */
+    @Override
+    public boolean supportsBulkLoad() {
+        return true;
+    }
+
+    /**
+     * Runs {@code SET REFERENTIAL_INTEGRITY FALSE}, which stops foreign-key checks for the whole
+     * database, not just this connection. The parallel engine disables constraints on every worker's
+     * connection, so the calls are counted per database URL: only the first runs the statement, and
+     * only the matching last {@link #enableConstraints} turns checking back on. The statement needs
+     * admin rights; a failure is reported as a {@link BulkLoadUnsupportedException} so the engine can
+     * fall back to the ordered path.
+     *
+     * @param connection an open connection to the database
+     * @param database   the database metadata (unused by this mechanism)
+     * @return a handle recording that referential integrity was disabled
+     * @throws BulkLoadUnsupportedException if the user lacks admin rights
+     * @throws SQLException                 if the database URL cannot be read
+     * @since 2.20.0
+     */
+    @Override
+    public synchronized BulkLoadHandle disableConstraints(Connection connection, Database database) throws SQLException {
+        String url = connection.getMetaData().getURL();
+        int loads = bulkLoads.getOrDefault(url, 0);
+        if (loads == 0) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            } catch (SQLException e) {
+                throw new BulkLoadUnsupportedException(
+                        "could not set REFERENTIAL_INTEGRITY FALSE (admin rights are required): " + e.getMessage(), e);
+            }
+        }
+        bulkLoads.put(url, loads + 1);
+        return BulkLoadHandle.of("REFERENTIAL_INTEGRITY=FALSE");
+    }
+
+    /**
+     * Runs {@code SET REFERENTIAL_INTEGRITY TRUE} once no other connection to the database is still in
+     * bulk-load mode. H2 does not check existing rows when checking is turned back on.
+     *
+     * @param connection the same connection passed to {@link #disableConstraints}
+     * @param database   the database metadata (unused by this mechanism)
+     * @param handle     the handle returned by {@link #disableConstraints}
+     * @throws SQLException if the statement fails
+     * @since 2.20.0
+     */
+    @Override
+    public synchronized void enableConstraints(Connection connection, Database database, BulkLoadHandle handle) throws SQLException {
+        String url = connection.getMetaData().getURL();
+        int loads = bulkLoads.getOrDefault(url, 0) - 1;
+        if (loads > 0) {
+            bulkLoads.put(url, loads);
+            return;
+        }
+        bulkLoads.remove(url);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+    }
+
+    /**
+     * H2 supports native ingest by loading a CSV file with {@code CSVREAD}.
+     *
+     * @return {@code true}
+     * @since 2.20.0
+     */
+    @Override
+    public boolean supportsNativeIngest() {
+        return true;
+    }
+
+    /**
+     * A table with a column that cannot round-trip through text (binary columns other than
+     * {@code UUID}, arrays, and the other unsupported types) is filled with batched {@code INSERT}s.
+     *
+     * @param table the table to fill
+     * @return {@code false} when any filtered column cannot be read back from CSV
+     * @since 2.20.0
+     */
+    @Override
+    public boolean supportsNativeIngest(Table table) {
+        return H2CsvWriter.supports(table);
+    }
+
+    /**
+     * Opens a {@code CSVREAD} writer for the table. Rows are written to a temporary file and loaded with
+     * one {@code INSERT ... SELECT} per flush.
+     *
+     * @param connection an embedded H2 connection
+     * @param table      the table to fill
+     * @param batchSize  unused; the file holds every row of a commit unit
+     * @return a {@code CSVREAD} writer
+     * @throws SQLException if the database is remote or the temporary file cannot be created
+     * @since 2.20.0
+     */
+    @Override
+    public RowSink openIngestWriter(Connection connection, Table table, int batchSize) throws SQLException {
+        return H2CsvWriter.open(connection, table);
+    }
+
     @Override
     protected void configure(Map<JDBCType, GeneratorFactory> registry) {
 
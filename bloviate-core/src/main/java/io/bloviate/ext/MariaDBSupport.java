@@ -26,6 +26,10 @@ package io.bloviate.ext;
  * standard types; {@code TINYINT UNSIGNED} surfaces as JDBC {@code TINYINT} (type name
  * {@code "TINYINT UNSIGNED"}) and accepts the inherited 0&ndash;255 generator.
  *
+ * <p>Native ingest is inherited too: {@code LOAD DATA LOCAL INFILE} streamed through MariaDB
+ * Connector/J's {@code setLocalInfileInputStream}, which (unlike MySQL Connector/J) allows local infile
+ * by default; the server's {@code local_infile} is also on by default.
+ *
  * <p><strong>JSON cannot be auto-detected.</strong> Unlike MySQL — whose driver reports a
  * {@code JSON} column with type name {@code "JSON"}, letting {@link MySQLSupport} route it to
  * a JSON generator — MariaDB implements {@code JSON} as an alias for {@code LONGTEXT}, and the
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Column;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Encodes generated rows into the tab-separated text that MySQL's {@code LOAD DATA} reads with its
+ * default field and line handling ({@code FIELDS TERMINATED BY '\t' ESCAPED BY '\\' LINES TERMINATED
+ * BY '\n'}): fields are backslash-escaped and {@code NULL} is written as {@code \N}.
+ *
+ * <p>Values are rendered as Connector/J renders the same Java type into a client-side prepared
+ * {@code INSERT} (booleans as {@code 1}/{@code 0}, decimals in plain notation, temporal values as local
+ * wall-clock text in the JVM zone), so the server applies the same conversions and the loaded rows match
+ * the {@code INSERT} path. Two column kinds cannot be loaded from plain text and are routed through a
+ * user variable and a {@code SET} clause instead: binary columns are sent as hex and decoded with
+ * {@code UNHEX}, and {@code BIT} columns (which {@code LOAD DATA} would otherwise fill with the
+ * character bytes) are cast to an integer.
+ *
+ * <p>Encoders write into a caller-owned {@link IngestBuffer}; {@link MySQLLoadDataWriter} hands the
+ * buffered rows to the driver in chunks.
+ */
+final class MySQLLoadDataEncoder {
+
+    private static final DateTimeFormatter LOCAL_TIMESTAMP = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss.SSSSSS", Locale.ROOT);
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS", Locale.ROOT);
+
+    private static final HexFormat HEX = HexFormat.of().withUpperCase();
+
+    private static final byte[] NULL = {'\\', 'N'};
+
+    /** How a column's values travel through the {@code LOAD DATA} stream. */
+    enum Kind {
+        /** Escaped text assigned directly to the column. */
+        TEXT,
+        /** Hex text assigned through {@code UNHEX(@var)}. */
+        BINARY,
+        /** Integer text assigned through {@code CAST(@var AS UNSIGNED)}. */
+        BIT
+    }
+
+    private final List<Column> columns;
+    private final Kind[] kinds;
+
+    private MySQLLoadDataEncoder(List<Column> columns, Kind[] kinds) {
+        this.columns = columns;
+        this.kinds = kinds;
+    }
+
+    /**
+     * Creates an encoder for the given columns, in {@link io.bloviate.db.Table#filteredColumns()} order.
+     *
+     * @param columns the columns each row carries
+     * @return an encoder
+     */
+    static MySQLLoadDataEncoder forColumns(List<Column> columns) {
+        Kind[] kinds = new Kind[columns.size()];
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = kindOf(columns.get(i));
+        }
+        return new MySQLLoadDataEncoder(List.copyOf(columns), kinds);
+    }
+
+    /**
+     * Classifies a column by its JDBC type.
+     *
+     * @param column the column
+     * @return its kind
+     */
+    static Kind kindOf(Column column) {
+        if (column.jdbcType() == null) {
+            return Kind.TEXT;
+        }
+        return switch (column.jdbcType()) {
+            case BINARY, VARBINARY, LONGVARBINARY, BLOB -> Kind.BINARY;
+            case BIT -> Kind.BIT;
+            default -> Kind.TEXT;
+        };
+    }
+
+    /**
+     * Builds the {@code LOAD DATA LOCAL INFILE} statement for a table. The file name is a placeholder:
+     * the driver reads the rows from the input stream set on the statement rather than from disk.
+     *
+     * @param qualifiedTable the quoted target table
+     * @param quotedColumns  the quoted column names, in row order
+     * @return the statement
+     */
+    String loadStatement(String qualifiedTable, List<String> quotedColumns) {
+        StringJoiner targets = new StringJoiner(",", "(", ")");
+        StringJoiner assignments = new StringJoiner(",", " SET ", "");
+        assignments.setEmptyValue("");
+        for (int i = 0; i < kinds.length; i++) {
+            String column = quotedColumns.get(i);
+            switch (kinds[i]) {
+                case TEXT -> targets.add(column);
+                case BINARY -> {
+                    targets.add("@v" + i);
+                    assignments.add(column + " = UNHEX(@v" + i + ")");
+                }
+                case BIT -> {
+                    targets.add("@v" + i);
+                    assignments.add(column + " = CAST(@v" + i + " AS UNSIGNED)");
+                }
+            }
+        }
+        return "LOAD DATA LOCAL INFILE 'bloviate' INTO TABLE " + qualifiedTable
+                + " CHARACTER SET utf8mb4 " + targets + assignments;
+    }
+
+    /**
+     * Appends one row as a newline-terminated line of tab-separated fields.
+     *
+     * @param row the values, one per column
+     * @param out the buffer to append to
+     * @throws SQLException if a value cannot be rendered for its column
+     */
+    void row(Object[] row, IngestBuffer out) throws SQLException {
+        for (int i = 0; i < kinds.length; i++) {
+            if (i > 0) {
+                out.writeByte('\t');
+            }
+            Object value = row[i];
+            if (value == null) {
+                out.write(NULL);
+            } else if (kinds[i] == Kind.BINARY) {
+                out.write(HEX.formatHex(toBytes(i, value)).getBytes(StandardCharsets.US_ASCII));
+            } else {
+                escape(text(value), out);
+            }
+        }
+        out.writeByte('\n');
+    }
+
+    /**
+     * Renders a non-binary value as Connector/J renders it into a client-side prepared statement.
+     *
+     * @param value a non-null value
+     * @return its text form
+     */
+    static String text(Object value) {
+        return switch (value) {
+            case String string -> string;
+            case Boolean bool -> bool ? "1" : "0";
+            case BigDecimal decimal -> decimal.toPlainString();
+            case Timestamp timestamp -> LOCAL_TIMESTAMP.format(timestamp.toLocalDateTime());
+            case Time time -> LOCAL_TIME.format(LocalTime.ofInstant(Instant.ofEpochMilli(time.getTime()), ZoneId.systemDefault()));
+            case java.sql.Date date -> date.toLocalDate().toString();
+            case LocalDateTime local -> LOCAL_TIMESTAMP.format(local);
+            case LocalDate date -> date.toString();
+            case LocalTime time -> LOCAL_TIME.format(time);
+            case Instant instant -> LOCAL_TIMESTAMP.format(LocalDateTime.ofInstant(instant, ZoneId.systemDefault()));
+            default -> value.toString();
+        };
+    }
+
+    /** Writes {@code value} as UTF-8, backslash-escaping the bytes {@code LOAD DATA} treats specially. */
+    private static void escape(String value, IngestBuffer out) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            switch (b) {
+                case '\\' -> {
+                    out.writeByte('\\');
+                    out.writeByte('\\');
+                }
+                case '\t' -> {
+                    out.writeByte('\\');
+                    out.writeByte('t');
+                }
+                case '\n' -> {
+                    out.writeByte('\\');
+                    out.writeByte('n');
+                }
+                case '\r' -> {
+                    out.writeByte('\\');
+                    out.writeByte('r');
+                }
+                case 0 -> {
+                    out.writeByte('\\');
+                    out.writeByte('0');
+                }
+                default -> out.writeByte(b);
+            }
+        }
+    }
+
+    private byte[] toBytes(int index, Object value) throws SQLException {
+        return switch (value) {
+            case byte[] bytes -> bytes;
+            case Byte[] boxed -> {
+                byte[] bytes = new byte[boxed.length];
+                for (int i = 0; i < boxed.length; i++) {
+                    bytes[i] = boxed[i];
+                }
+                yield bytes;
+            }
+            case String string -> string.getBytes(StandardCharsets.UTF_8);
+            default -> throw new SQLException("cannot load a " + value.getClass().getName() + " into column " + describe(index));
+        };
+    }
+
+    private String describe(int index) {
+        Column column = columns.get(index);
+        return "[" + column.tableName() + "." + column.name() + "] (" + column.typeName() + ")";
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams rows into a MySQL or MariaDB table with {@code LOAD DATA LOCAL INFILE}, reading the "file"
+ * from an in-memory {@link InputStream} registered on the statement through the driver's
+ * {@code setLocalInfileInputStream} hook, so nothing is written to disk.
+ *
+ * <p>The driver pulls the stream while the statement executes, but the fill engine pushes rows, so the
+ * statement runs on a short-lived helper thread (one per statement) while the filling thread keeps
+ * generating. Rows are encoded into chunks of {@code batchSize} rows and handed over through a queue of
+ * at most {@value #QUEUED_CHUNKS} chunks: the generators never run more than a few chunks ahead of the
+ * server, so memory stays bounded by the chunk size however many rows the statement carries. Only the
+ * helper thread touches the connection between the first row and {@link #flush()}, which ends the
+ * stream and waits for the statement to finish before the engine commits.
+ *
+ * <p>With {@code LOCAL}, the server downgrades duplicate-key and conversion errors to warnings (it cannot
+ * stop the client mid-file), so rows could be silently skipped. The writer therefore compares the rows
+ * the server reports as loaded with the rows it sent and fails the flush, with the statement's warnings
+ * attached, when they differ — matching the {@code INSERT} path, which fails on the same rows.
+ *
+ * <p>Both MySQL Connector/J and MariaDB Connector/J are supported; the driver classes are looked up
+ * reflectively so neither driver is required on the classpath. Local infile must be enabled on the
+ * client ({@code allowLoadLocalInfile=true} for Connector/J; MariaDB Connector/J 3.x allows it by
+ * default) and on the server ({@code local_infile=ON}).
+ */
+final class MySQLLoadDataWriter implements RowSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(MySQLLoadDataWriter.class);
+
+    /** Encoded chunks that may wait for the driver before the filling thread blocks. */
+    static final int QUEUED_CHUNKS = 2;
+
+    private static final String CONNECTOR_J_CONNECTION = "com.mysql.cj.jdbc.JdbcConnection";
+    private static final String MARIADB_CONNECTION = "org.mariadb.jdbc.Connection";
+
+    private final Connection connection;
+    private final Table table;
+    private final String sql;
+    private final MySQLLoadDataEncoder encoder;
+    private final LocalInfile localInfile;
+    private final int chunkRows;
+    private final IngestBuffer chunk = new IngestBuffer(8 * 1024);
+
+    private int rowsInChunk;
+    private long rowsSent;
+    private ChunkStream stream;
+    private FutureTask<Loaded> load;
+
+    private MySQLLoadDataWriter(Connection connection, Table table, String sql, MySQLLoadDataEncoder encoder,
+                                LocalInfile localInfile, int chunkRows) {
+        this.connection = connection;
+        this.table = table;
+        this.sql = sql;
+        this.encoder = encoder;
+        this.localInfile = localInfile;
+        this.chunkRows = chunkRows;
+    }
+
+    /**
+     * Prepares a writer for {@code table} on {@code connection}, which must be (or wrap) a MySQL
+     * Connector/J or MariaDB Connector/J connection.
+     *
+     * @param connection the connection to load on
+     * @param table      the target table
+     * @param batchSize  the rows per chunk handed to the driver
+     * @return a writer; no {@code LOAD DATA} is started until the first row
+     * @throws SQLException if the connection belongs to neither driver
+     */
+    static MySQLLoadDataWriter open(Connection connection, Table table, int batchSize) throws SQLException {
+        LocalInfile localInfile;
+        if (wraps(connection, CONNECTOR_J_CONNECTION)) {
+            localInfile = ConnectorJ::attach;
+        } else if (wraps(connection, MARIADB_CONNECTION)) {
+            localInfile = MariaDb::attach;
+        } else {
+            throw new SQLException("LOAD DATA LOCAL INFILE ingest requires MySQL Connector/J or MariaDB Connector/J; "
+                    + "connection is a " + connection.getClass().getName());
+        }
+        MySQLLoadDataEncoder encoder = MySQLLoadDataEncoder.forColumns(table.filteredColumns());
+        String quote = connection.getMetaData().getIdentifierQuoteString();
+        String sql = encoder.loadStatement(table.qualifiedName(quote), table.quotedColumnNames(quote));
+        logger.debug("ingesting table [{}] with {}", table.name(), sql);
+        return new MySQLLoadDataWriter(connection, table, sql, encoder, localInfile, Math.max(1, batchSize));
+    }
+
+    @Override
+    public void write(Object[] row) throws SQLException {
+        if (stream == null) {
+            start();
+        }
+        encoder.row(row, chunk);
+        rowsSent++;
+        if (++rowsInChunk == chunkRows) {
+            handOff(chunk.toByteArray());
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (stream == null) {
+            return;
+        }
+        if (rowsInChunk > 0) {
+            handOff(chunk.toByteArray());
+        }
+        handOff(ChunkStream.END);
+
+        Loaded loaded = join();
+        long sent = rowsSent;
+        rowsSent = 0;
+        if (loaded.rows() != sent) {
+            SQLException skipped = new SQLException("LOAD DATA loaded [" + loaded.rows() + "] of [" + sent
+                    + "] rows into table [" + table.name() + "]; the server skipped rows it would have rejected as INSERTs");
+            if (loaded.warnings() != null) {
+                skipped.setNextException(loaded.warnings());
+            }
+            throw skipped;
+        }
+        logger.trace("{} completed with [{}] rows", sql, sent);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        chunk.reset();
+        rowsInChunk = 0;
+        rowsSent = 0;
+        if (stream == null) {
+            return;
+        }
+        // fail the driver's next read so the statement ends and the connection is free for the rollback
+        stream.cancel();
+        try {
+            join();
+        } catch (SQLException expected) {
+            logger.trace("abandoned LOAD DATA into table [{}] ended with: {}", table.name(), expected.getMessage());
+        }
+    }
+
+    private void start() {
+        ChunkStream input = new ChunkStream();
+        FutureTask<Loaded> task = new FutureTask<>(() -> {
+            try (Statement statement = connection.createStatement()) {
+                localInfile.attach(statement, input);
+                long rows = statement.executeLargeUpdate(sql);
+                return new Loaded(rows, statement.getWarnings());
+            }
+        });
+        Thread.ofPlatform().daemon().name("bloviate-load-data-" + table.name()).start(task);
+        stream = input;
+        load = task;
+    }
+
+    /**
+     * Queues an encoded chunk for the driver, blocking while the queue is full. If the statement ends
+     * before taking it (the server or driver failed), its failure is surfaced instead of blocking forever.
+     */
+    private void handOff(byte[] bytes) throws SQLException {
+        chunk.reset();
+        rowsInChunk = 0;
+        try {
+            while (!stream.chunks.offer(bytes, 100, TimeUnit.MILLISECONDS)) {
+                if (load.isDone()) {
+                    join();
+                    throw new SQLException("LOAD DATA into table [" + table.name() + "] ended before its input");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("LOAD DATA into table [" + table.name() + "] was interrupted", e);
+        }
+    }
+
+    /**
+     * Waits for the running statement and clears it. The wait is uninterruptible (the interrupt is
+     * re-asserted afterwards) because returning while the helper thread still uses the connection
+     * would let the engine commit or roll back under a running statement.
+     */
+    private Loaded join() throws SQLException {
+        FutureTask<Loaded> finishing = load;
+        stream = null;
+        load = null;
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return finishing.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof SQLException sqlException) {
+                        throw sqlException;
+                    }
+                    throw new SQLException("LOAD DATA into table [" + table.name() + "] failed", e.getCause());
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static boolean wraps(Connection connection, String className) throws SQLException {
+        Class<?> type;
+        try {
+            type = Class.forName(className, false, MySQLLoadDataWriter.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+        return connection.isWrapperFor(type);
+    }
+
+    /** The outcome of one {@code LOAD DATA} statement. */
+    private record Loaded(long rows, SQLWarning warnings) {
+    }
+
+    /** Registers the row stream on a driver statement. */
+    @FunctionalInterface
+    private interface LocalInfile {
+        void attach(Statement statement, InputStream input) throws SQLException;
+    }
+
+    /** MySQL Connector/J's hook; only loaded once the connection is known to be Connector/J. */
+    private static final class ConnectorJ {
+        static void attach(Statement statement, InputStream input) throws SQLException {
+            statement.unwrap(com.mysql.cj.jdbc.JdbcStatement.class).setLocalInfileInputStream(input);
+        }
+    }
+
+    /** MariaDB Connector/J's hook; only loaded once the connection is known to be MariaDB's. */
+    private static final class MariaDb {
+        static void attach(Statement statement, InputStream input) throws SQLException {
+            statement.unwrap(org.mariadb.jdbc.Statement.class).setLocalInfileInputStream(input);
+        }
+    }
+
+    /**
+     * The input stream the driver reads: it serves queued chunks in order and reports end of input
+     * after {@link #END}, or fails the read once {@linkplain #cancel() cancelled}.
+     */
+    private static final class ChunkStream extends InputStream {
+
+        static final byte[] END = new byte[0];
+
+        final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(QUEUED_CHUNKS);
+
+        private volatile boolean cancelled;
+        private byte[] current = END;
+        private int position;
+        private boolean ended;
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) == -1 ? -1 : single[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] target, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            while (position == current.length) {
+                if (ended) {
+                    return -1;
+                }
+                byte[] next;
+                try {
+                    next = chunks.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("LOAD DATA input was interrupted");
+                }
+                if (cancelled) {
+                    throw new IOException("LOAD DATA input was cancelled");
+                }
+                if (next == END) {
+                    ended = true;
+                    return -1;
+                }
+                current = next;
+                position = 0;
+            }
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, target, offset, count);
+            position += count;
+            return count;
+        }
+
+        /** Makes the driver's next read fail, waking it if it is waiting for a chunk. */
+        void cancel() {
+            cancelled = true;
+            chunks.clear();
+            chunks.offer(END);
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package io.bloviate.ext;
 
 import io.bloviate.db.Database;
+import io.bloviate.db.Table;
 import io.bloviate.gen.JsonbGenerator;
 import io.bloviate.gen.SimpleStringGenerator;
 
@@ -112,6 +113,50 @@ public class MySQLSupport extends AbstractDatabaseSupport {
         }
     }
 
+    /**
+     * MySQL's prepared-statement protocol counts parameters in an unsigned 16-bit integer.
+     *
+     * @return {@code 65535}
+     * @since 2.20.0
+     */
+    @Override
+    public int maxBindParameters() {
+        return 65_535;
+    }
+
+    /**
+     * MySQL supports native ingest through {@code LOAD DATA LOCAL INFILE}.
+     *
+     * @return {@code true}
+     * @since 2.20.0
+     */
+    @Override
+    public boolean supportsNativeIngest() {
+        return true;
+    }
+
+    /**
+     * Opens a {@code LOAD DATA LOCAL INFILE} writer for the table. Rows are streamed from memory through
+     * the driver's {@code setLocalInfileInputStream} hook in chunks of {@code batchSize} rows, produced
+     * only as fast as the server consumes them; no temporary file is written. Each intra-table partition
+     * runs its own {@code LOAD DATA} on its own connection.
+     *
+     * <p>Requires MySQL Connector/J or MariaDB Connector/J on the classpath, local infile enabled on the
+     * client ({@code allowLoadLocalInfile=true} on a Connector/J URL) and the server
+     * ({@code local_infile=ON}, off by default since MySQL 8.0).
+     *
+     * @param connection a Connector/J or MariaDB Connector/J connection (or a pool proxy that unwraps to one)
+     * @param table      the table to fill
+     * @param batchSize  the rows per chunk handed to the driver
+     * @return a {@code LOAD DATA} writer
+     * @throws SQLException if the connection belongs to neither driver
+     * @since 2.20.0
+     */
+    @Override
+    public RowSink openIngestWriter(Connection connection, Table table, int batchSize) throws SQLException {
+        return MySQLLoadDataWriter.open(connection, table, batchSize);
+    }
+
     @Override
     protected void configure(Map<JDBCType, GeneratorFactory> registry) {
 
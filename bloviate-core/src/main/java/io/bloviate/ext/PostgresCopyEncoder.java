@@ -0,0 +1,779 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Column;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Encodes generated rows in the PostgreSQL {@code COPY} wire formats.
+ *
+ * <p>A table is streamed in the {@code binary} format when every column's type has a binary encoder
+ * here (the integer, floating-point, {@code numeric}, character, {@code bool}, {@code bytea},
+ * {@code uuid}, {@code json}/{@code jsonb} and date/time types); otherwise the whole table falls back to
+ * the {@code text} format, which the server parses with each column's input function exactly as it
+ * parses an untyped {@code INSERT} parameter. Either way the stored values match the {@code INSERT}
+ * path: each encoder reproduces the conversion the server would apply to the value pgjdbc binds for the
+ * same Java type (for example a {@code double} into a {@code numeric} column is rounded to 15
+ * significant digits, as {@code float8_numeric} does, and a {@link Timestamp} is interpreted in the
+ * JVM's default time zone, as pgjdbc sends it).
+ *
+ * <p>Encoders write into a caller-owned {@link IngestBuffer}; {@link PostgresCopyWriter} drains it to
+ * the server in bounded chunks.
+ */
+final class PostgresCopyEncoder {
+
+    /** {@code PGCOPY\n\377\r\n\0}, the binary {@code COPY} signature. */
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+    /** Seconds between the Unix epoch and the PostgreSQL epoch (2000-01-01T00:00:00Z). */
+    private static final long PG_EPOCH_SECONDS = 946_684_800L;
+
+    /** Days between the Unix epoch and the PostgreSQL epoch. */
+    private static final long PG_EPOCH_DAYS = 10_957L;
+
+    private static final short NUMERIC_POS = 0x0000;
+    private static final short NUMERIC_NEG = 0x4000;
+    private static final short NUMERIC_NAN = (short) 0xC000;
+    private static final short NUMERIC_PINF = (short) 0xD000;
+    private static final short NUMERIC_NINF = (short) 0xF000;
+
+    /** {@code DBL_DIG} / {@code FLT_DIG}: the precision of the server's float-to-numeric casts. */
+    private static final MathContext DOUBLE_DIGITS = new MathContext(15, RoundingMode.HALF_EVEN);
+    private static final MathContext FLOAT_DIGITS = new MathContext(6, RoundingMode.HALF_EVEN);
+
+    private static final DateTimeFormatter LOCAL_TIMESTAMP = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss.SSSSSS", Locale.ROOT);
+    private static final DateTimeFormatter ZONED_TIMESTAMP = DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm:ss.SSSSSSxxx", Locale.ROOT);
+    private static final DateTimeFormatter LOCAL_TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSSSSS", Locale.ROOT);
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    /** The server-side type families this encoder distinguishes. */
+    enum Kind {
+        BOOL, INT2, INT4, INT8, FLOAT4, FLOAT8, NUMERIC, TEXT, JSONB, UUID, BYTEA, DATE, TIME, TIMESTAMP, TIMESTAMPTZ,
+        /** A type with no binary encoder here; forces the text format. */
+        OTHER
+    }
+
+    private final List<Column> columns;
+    private final Kind[] kinds;
+    private final boolean binary;
+
+    private PostgresCopyEncoder(List<Column> columns) {
+        this.columns = List.copyOf(columns);
+        this.kinds = new Kind[columns.size()];
+        boolean allBinary = true;
+        for (int i = 0; i < kinds.length; i++) {
+            kinds[i] = kindOf(columns.get(i).typeName());
+            allBinary &= kinds[i] != Kind.OTHER;
+        }
+        this.binary = allBinary;
+    }
+
+    /**
+     * Creates an encoder for the given columns, choosing the binary format when every column supports
+     * it and the text format otherwise.
+     *
+     * @param columns the columns being copied, in stream order
+     * @return an encoder for those columns
+     */
+    static PostgresCopyEncoder forColumns(List<Column> columns) {
+        return new PostgresCopyEncoder(columns);
+    }
+
+    /**
+     * Maps a driver-reported PostgreSQL type name to its {@link Kind}.
+     *
+     * @param typeName the type name from {@link Column#typeName()}
+     * @return the kind, {@link Kind#OTHER} when no binary encoder applies
+     */
+    static Kind kindOf(String typeName) {
+        if (typeName == null) {
+            return Kind.OTHER;
+        }
+        return switch (typeName.toLowerCase(Locale.ROOT)) {
+            case "bool" -> Kind.BOOL;
+            case "int2" -> Kind.INT2;
+            case "int4" -> Kind.INT4;
+            case "int8" -> Kind.INT8;
+            case "float4" -> Kind.FLOAT4;
+            case "float8" -> Kind.FLOAT8;
+            case "numeric" -> Kind.NUMERIC;
+            // json's binary input is its text; jsonb's is a version byte followed by the text
+            case "text", "varchar", "bpchar", "json" -> Kind.TEXT;
+            case "jsonb" -> Kind.JSONB;
+            case "uuid" -> Kind.UUID;
+            case "bytea" -> Kind.BYTEA;
+            case "date" -> Kind.DATE;
+            case "time" -> Kind.TIME;
+            case "timestamp" -> Kind.TIMESTAMP;
+            case "timestamptz" -> Kind.TIMESTAMPTZ;
+            default -> Kind.OTHER;
+        };
+    }
+
+    /**
+     * Whether rows are encoded in the binary format.
+     *
+     * @return {@code true} for binary, {@code false} for text
+     */
+    boolean binary() {
+        return binary;
+    }
+
+    /**
+     * The {@code COPY ... FROM STDIN} statement for a target table and column list in this encoder's
+     * format.
+     *
+     * @param qualifiedTable the quoted, schema-qualified table name
+     * @param columnList     the quoted column list
+     * @return the statement text
+     */
+    String copyStatement(String qualifiedTable, String columnList) {
+        return "copy " + qualifiedTable + " (" + columnList + ") from stdin"
+                + (binary ? " (format binary)" : " (format text)");
+    }
+
+    /**
+     * Writes the stream header (binary format only).
+     *
+     * @param out the buffer to write to
+     */
+    void header(IngestBuffer out) {
+        if (binary) {
+            out.write(SIGNATURE);
+            // flags, then header-extension length
+            out.writeInt(0);
+            out.writeInt(0);
+        }
+    }
+
+    /**
+     * Writes the stream trailer (binary format only).
+     *
+     * @param out the buffer to write to
+     */
+    void trailer(IngestBuffer out) {
+        if (binary) {
+            out.writeShort(-1);
+        }
+    }
+
+    /**
+     * Encodes one row.
+     *
+     * @param row the values, one per column
+     * @param out the buffer to write to
+     * @throws SQLException if a value cannot be represented in its column's type
+     */
+    void row(Object[] row, IngestBuffer out) throws SQLException {
+        if (binary) {
+            out.writeShort(kinds.length);
+            for (int i = 0; i < kinds.length; i++) {
+                binaryField(i, row[i], out);
+            }
+        } else {
+            for (int i = 0; i < kinds.length; i++) {
+                if (i > 0) {
+                    out.writeByte('\t');
+                }
+                textField(i, row[i], out);
+            }
+            out.writeByte('\n');
+        }
+    }
+
+    private void binaryField(int index, Object value, IngestBuffer out) throws SQLException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        Kind kind = kinds[index];
+        switch (kind) {
+            case BOOL -> {
+                out.writeInt(1);
+                out.writeByte(toBoolean(index, value) ? 1 : 0);
+            }
+            case INT2 -> {
+                out.writeInt(2);
+                out.writeShort((int) toIntegral(index, value, Short.MIN_VALUE, Short.MAX_VALUE));
+            }
+            case INT4 -> {
+                out.writeInt(4);
+                out.writeInt((int) toIntegral(index, value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            }
+            case INT8 -> {
+                out.writeInt(8);
+                out.writeLong(toIntegral(index, value, Long.MIN_VALUE, Long.MAX_VALUE));
+            }
+            case FLOAT4 -> {
+                out.writeInt(4);
+                out.writeInt(Float.floatToIntBits(toFloat(index, value)));
+            }
+            case FLOAT8 -> {
+                out.writeInt(8);
+                out.writeLong(Double.doubleToLongBits(toDouble(index, value)));
+            }
+            case NUMERIC -> writeNumeric(value, index, out);
+            case TEXT -> writeLengthPrefixed(text(value).getBytes(StandardCharsets.UTF_8), out);
+            case JSONB -> {
+                byte[] json = text(value).getBytes(StandardCharsets.UTF_8);
+                out.writeInt(json.length + 1);
+                out.writeByte(1);
+                out.write(json);
+            }
+            case UUID -> {
+                UUID uuid = toUuid(index, value);
+                out.writeInt(16);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+            }
+            case BYTEA -> writeLengthPrefixed(toBytes(index, value), out);
+            case DATE -> {
+                out.writeInt(4);
+                out.writeInt(Math.toIntExact(toLocalDate(index, value).toEpochDay() - PG_EPOCH_DAYS));
+            }
+            case TIME -> {
+                out.writeInt(8);
+                out.writeLong(toLocalTime(index, value).toNanoOfDay() / 1_000);
+            }
+            case TIMESTAMP -> {
+                LocalDateTime local = toLocalDateTime(index, value);
+                out.writeInt(8);
+                out.writeLong(pgMicros(local.toEpochSecond(ZoneOffset.UTC), local.getNano()));
+            }
+            case TIMESTAMPTZ -> {
+                Instant instant = toInstant(index, value);
+                out.writeInt(8);
+                out.writeLong(pgMicros(instant.getEpochSecond(), instant.getNano()));
+            }
+            case OTHER -> throw new IllegalStateException("no binary encoder for column " + describe(index));
+        }
+    }
+
+    private void textField(int index, Object value, IngestBuffer out) throws SQLException {
+        if (value == null) {
+            out.writeByte('\\');
+            out.writeByte('N');
+            return;
+        }
+        escapeText(render(index, value), out);
+    }
+
+    /**
+     * Renders the first {@code count} values of column {@code index} as one array literal of the
+     * column's type, each element in the same input syntax the text format uses — the parameter of an
+     * {@code unnest(?::type[])} insert.
+     *
+     * @param index  the column index
+     * @param values the column's values, null elements included
+     * @param count  how many leading values to render
+     * @return the array literal
+     * @throws SQLException if a value cannot be represented in its column's type
+     */
+    String arrayLiteral(int index, Object[] values, int count) throws SQLException {
+        StringBuilder literal = new StringBuilder(count * 8 + 2).append('{');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                literal.append("NULL");
+            } else {
+                appendQuoted(render(index, value), literal);
+            }
+        }
+        return literal.append('}').toString();
+    }
+
+    /** Renders a non-null value in its column type's text input syntax, before any format escaping. */
+    private String render(int index, Object value) throws SQLException {
+        Kind kind = kinds[index];
+        return switch (kind) {
+            case BOOL -> toBoolean(index, value) ? "t" : "f";
+            case INT2 -> Long.toString(toIntegral(index, value, Short.MIN_VALUE, Short.MAX_VALUE));
+            case INT4 -> Long.toString(toIntegral(index, value, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            case INT8 -> Long.toString(toIntegral(index, value, Long.MIN_VALUE, Long.MAX_VALUE));
+            case FLOAT4 -> floatText(toFloat(index, value));
+            case FLOAT8 -> doubleText(toDouble(index, value));
+            case NUMERIC -> numericText(index, value);
+            case UUID -> toUuid(index, value).toString();
+            case BYTEA -> "\\x" + HEX.formatHex(toBytes(index, value));
+            case DATE -> toLocalDate(index, value).toString();
+            case TIME -> LOCAL_TIME.format(toLocalTime(index, value));
+            case TIMESTAMP -> LOCAL_TIMESTAMP.format(toLocalDateTime(index, value));
+            case TIMESTAMPTZ -> ZONED_TIMESTAMP.format(OffsetDateTime.ofInstant(toInstant(index, value), ZoneId.systemDefault()));
+            case TEXT, JSONB, OTHER -> text(value);
+        };
+    }
+
+    /**
+     * Renders a value as the text a server-side input function parses into the same value the
+     * {@code INSERT} path stores: strings verbatim, temporal values as pgjdbc formats them (with the
+     * JVM's zone offset, which the server drops for zone-less types), arrays as array literals.
+     */
+    static String text(Object value) {
+        return switch (value) {
+            case String string -> string;
+            case Boolean bool -> bool ? "true" : "false";
+            case BigDecimal decimal -> decimal.toPlainString();
+            case Timestamp timestamp -> ZONED_TIMESTAMP.format(OffsetDateTime.ofInstant(instantOf(timestamp), ZoneId.systemDefault()));
+            case java.sql.Date date -> date.toLocalDate().toString();
+            case Time time -> LOCAL_TIME.format(localTimeOf(time));
+            case java.util.Date date -> ZONED_TIMESTAMP.format(OffsetDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()));
+            case Instant instant -> ZONED_TIMESTAMP.format(OffsetDateTime.ofInstant(instant, ZoneId.systemDefault()));
+            case byte[] bytes -> "\\x" + HEX.formatHex(bytes);
+            case Byte[] bytes -> "\\x" + HEX.formatHex(unbox(bytes));
+            case Object[] array -> arrayLiteral(array);
+            default -> String.valueOf(value);
+        };
+    }
+
+    /** Renders a one-dimensional array literal, quoting every non-null element. */
+    private static String arrayLiteral(Object[] array) {
+        StringBuilder literal = new StringBuilder("{");
+        for (int i = 0; i < array.length; i++) {
+            if (i > 0) {
+                literal.append(',');
+            }
+            Object element = array[i];
+            if (element == null) {
+                literal.append("NULL");
+            } else {
+                appendQuoted(text(element), literal);
+            }
+        }
+        return literal.append('}').toString();
+    }
+
+    /** Appends a double-quoted array element, backslash-escaping quotes and backslashes. */
+    private static void appendQuoted(String rendered, StringBuilder literal) {
+        literal.append('"');
+        for (int c = 0; c < rendered.length(); c++) {
+            char ch = rendered.charAt(c);
+            if (ch == '"' || ch == '\\') {
+                literal.append('\\');
+            }
+            literal.append(ch);
+        }
+        literal.append('"');
+    }
+
+    /** Writes {@code value} UTF-8 encoded with the text-format escapes for backslash and the delimiters. */
+    private static void escapeText(String value, IngestBuffer out) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            switch (b) {
+                case '\\' -> {
+                    out.writeByte('\\');
+                    out.writeByte('\\');
+                }
+                case '\n' -> {
+                    out.writeByte('\\');
+                    out.writeByte('n');
+                }
+                case '\r' -> {
+                    out.writeByte('\\');
+                    out.writeByte('r');
+                }
+                case '\t' -> {
+                    out.writeByte('\\');
+                    out.writeByte('t');
+                }
+                default -> out.writeByte(b);
+            }
+        }
+    }
+
+    private static void writeLengthPrefixed(byte[] bytes, IngestBuffer out) {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private boolean toBoolean(int index, Object value) throws SQLException {
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        if (value instanceof String string) {
+            // boolin's accepted spellings (unambiguous prefixes aside)
+            switch (string.strip().toLowerCase(Locale.ROOT)) {
+                case "t", "true", "y", "yes", "on", "1" -> {
+                    return true;
+                }
+                case "f", "false", "n", "no", "off", "0" -> {
+                    return false;
+                }
+                default -> {
+                }
+            }
+        }
+        throw unsupported(index, value);
+    }
+
+    /**
+     * Converts to an integer the way the server casts the bound parameter type: integral types exactly,
+     * {@code numeric} rounding half away from zero, {@code float4}/{@code float8} rounding half to even.
+     */
+    private long toIntegral(int index, Object value, long min, long max) throws SQLException {
+        long result;
+        switch (value) {
+            case Long l -> result = l;
+            case Integer i -> result = i;
+            case Short s -> result = s;
+            case Byte b -> result = b;
+            case BigInteger bigInteger -> result = checkedLong(index, new BigDecimal(bigInteger));
+            case BigDecimal decimal -> result = checkedLong(index, decimal.setScale(0, RoundingMode.HALF_UP));
+            case Double d -> result = checkedLong(index, d);
+            case Float f -> result = checkedLong(index, f.doubleValue());
+            case String string -> {
+                try {
+                    result = Long.parseLong(string.strip());
+                } catch (NumberFormatException e) {
+                    throw invalid(index, string, e);
+                }
+            }
+            default -> throw unsupported(index, value);
+        }
+        if (result < min || result > max) {
+            throw outOfRange(index, value);
+        }
+        return result;
+    }
+
+    private long checkedLong(int index, BigDecimal value) throws SQLException {
+        try {
+            return value.longValueExact();
+        } catch (ArithmeticException e) {
+            throw outOfRange(index, value);
+        }
+    }
+
+    private long checkedLong(int index, double value) throws SQLException {
+        double rounded = Math.rint(value);
+        if (Double.isNaN(rounded) || rounded < -0x1p63 || rounded >= 0x1p63) {
+            throw outOfRange(index, value);
+        }
+        return (long) rounded;
+    }
+
+    private float toFloat(int index, Object value) throws SQLException {
+        return switch (value) {
+            case Float f -> f;
+            // narrowing casts round to nearest, as the server's float8/int8/int4-to-float4 casts do
+            case Double d -> (float) d.doubleValue();
+            case Long l -> (float) l.longValue();
+            case Integer i -> (float) i.intValue();
+            case BigDecimal decimal -> decimal.floatValue();
+            case BigInteger bigInteger -> bigInteger.floatValue();
+            case Number number -> number.floatValue();
+            case String string -> {
+                try {
+                    yield Float.parseFloat(string.strip());
+                } catch (NumberFormatException e) {
+                    throw invalid(index, string, e);
+                }
+            }
+            default -> throw unsupported(index, value);
+        };
+    }
+
+    private double toDouble(int index, Object value) throws SQLException {
+        return switch (value) {
+            case Double d -> d;
+            // float4 widens exactly to float8, as the server's implicit cast does
+            case Float f -> f.doubleValue();
+            case Long l -> (double) l;
+            case BigDecimal decimal -> decimal.doubleValue();
+            case BigInteger bigInteger -> bigInteger.doubleValue();
+            case Number number -> number.doubleValue();
+            case String string -> {
+                try {
+                    yield Double.parseDouble(string.strip());
+                } catch (NumberFormatException e) {
+                    throw invalid(index, string, e);
+                }
+            }
+            default -> throw unsupported(index, value);
+        };
+    }
+
+    /**
+     * Converts to {@code numeric}. Integral and decimal values are exact; a {@code double} is rounded to
+     * 15 and a {@code float} to 6 significant digits, matching {@code float8_numeric} /
+     * {@code float4_numeric} (which print with {@code DBL_DIG} / {@code FLT_DIG} digits). Returns
+     * {@code null} for NaN and infinities, which callers encode specially.
+     */
+    private BigDecimal toNumeric(int index, Object value) throws SQLException {
+        return switch (value) {
+            case BigDecimal decimal -> decimal;
+            case BigInteger bigInteger -> new BigDecimal(bigInteger);
+            case Long l -> BigDecimal.valueOf(l);
+            case Integer i -> BigDecimal.valueOf(i);
+            case Short s -> BigDecimal.valueOf(s);
+            case Byte b -> BigDecimal.valueOf(b);
+            case Double d -> Double.isFinite(d) ? significant(new BigDecimal(d), DOUBLE_DIGITS) : null;
+            case Float f -> Float.isFinite(f) ? significant(new BigDecimal(f.doubleValue()), FLOAT_DIGITS) : null;
+            case String string -> {
+                try {
+                    yield new BigDecimal(string.strip());
+                } catch (NumberFormatException e) {
+                    throw invalid(index, string, e);
+                }
+            }
+            default -> throw unsupported(index, value);
+        };
+    }
+
+    private static BigDecimal significant(BigDecimal exact, MathContext digits) {
+        BigDecimal rounded = exact.round(digits).stripTrailingZeros();
+        return rounded.scale() < 0 ? rounded.setScale(0) : rounded;
+    }
+
+    private String numericText(int index, Object value) throws SQLException {
+        BigDecimal decimal = toNumeric(index, value);
+        if (decimal != null) {
+            return decimal.toPlainString();
+        }
+        double d = ((Number) value).doubleValue();
+        return Double.isNaN(d) ? "NaN" : d > 0 ? "Infinity" : "-Infinity";
+    }
+
+    private void writeNumeric(Object value, int index, IngestBuffer out) throws SQLException {
+        BigDecimal decimal = toNumeric(index, value);
+        if (decimal == null) {
+            double d = ((Number) value).doubleValue();
+            out.writeInt(8);
+            out.writeShort(0);
+            out.writeShort(0);
+            out.writeShort(Double.isNaN(d) ? NUMERIC_NAN : d > 0 ? NUMERIC_PINF : NUMERIC_NINF);
+            out.writeShort(0);
+            return;
+        }
+        writeNumeric(decimal, out);
+    }
+
+    /**
+     * Writes a {@code numeric} in its binary form: digit count, weight, sign and display scale followed
+     * by base-10000 digits, with leading and trailing zero digits stripped as {@code numeric_send} does.
+     *
+     * @param decimal the value
+     * @param out     the buffer to write to
+     */
+    static void writeNumeric(BigDecimal decimal, IngestBuffer out) {
+        int dscale = Math.max(0, decimal.scale());
+        String digits = decimal.abs().setScale(dscale, RoundingMode.UNNECESSARY).unscaledValue().toString();
+
+        String integer;
+        String fraction;
+        if (digits.length() > dscale) {
+            integer = digits.substring(0, digits.length() - dscale);
+            fraction = digits.substring(digits.length() - dscale);
+        } else {
+            integer = "";
+            fraction = "0".repeat(dscale - digits.length()) + digits;
+        }
+
+        int integerGroups = (integer.length() + 3) / 4;
+        int fractionGroups = (fraction.length() + 3) / 4;
+        String aligned = "0".repeat(integerGroups * 4 - integer.length()) + integer
+                + fraction + "0".repeat(fractionGroups * 4 - fraction.length());
+
+        short[] groups = new short[integerGroups + fractionGroups];
+        for (int g = 0; g < groups.length; g++) {
+            groups[g] = Short.parseShort(aligned.substring(g * 4, g * 4 + 4));
+        }
+
+        int first = 0;
+        int weight = integerGroups - 1;
+        while (first < groups.length && groups[first] == 0) {
+            first++;
+            weight--;
+        }
+        int last = groups.length;
+        while (last > first && groups[last - 1] == 0) {
+            last--;
+        }
+
+        int ndigits = last - first;
+        short sign = decimal.signum() < 0 ? NUMERIC_NEG : NUMERIC_POS;
+        if (ndigits == 0) {
+            weight = 0;
+            sign = NUMERIC_POS;
+        }
+
+        out.writeInt(8 + 2 * ndigits);
+        out.writeShort(ndigits);
+        out.writeShort(weight);
+        out.writeShort(sign);
+        out.writeShort(dscale);
+        for (int g = first; g < last; g++) {
+            out.writeShort(groups[g]);
+        }
+    }
+
+    private UUID toUuid(int index, Object value) throws SQLException {
+        return switch (value) {
+            case UUID uuid -> uuid;
+            case String string -> {
+                try {
+                    yield UUID.fromString(string.strip());
+                } catch (IllegalArgumentException e) {
+                    throw invalid(index, string, e);
+                }
+            }
+            default -> throw unsupported(index, value);
+        };
+    }
+
+    private byte[] toBytes(int index, Object value) throws SQLException {
+        return switch (value) {
+            case byte[] bytes -> bytes;
+            case Byte[] bytes -> unbox(bytes);
+            default -> throw unsupported(index, value);
+        };
+    }
+
+    private static byte[] unbox(Byte[] boxed) {
+        byte[] bytes = new byte[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            bytes[i] = boxed[i];
+        }
+        return bytes;
+    }
+
+    private LocalDate toLocalDate(int index, Object value) throws SQLException {
+        return switch (value) {
+            case java.sql.Date date -> date.toLocalDate();
+            case Timestamp timestamp -> timestamp.toLocalDateTime().toLocalDate();
+            case LocalDate date -> date;
+            case java.util.Date date -> LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault());
+            case Instant instant -> LocalDate.ofInstant(instant, ZoneId.systemDefault());
+            case String string -> LocalDate.parse(string.strip());
+            default -> throw unsupported(index, value);
+        };
+    }
+
+    private LocalTime toLocalTime(int index, Object value) throws SQLException {
+        return switch (value) {
+            case Time time -> localTimeOf(time);
+            case Timestamp timestamp -> roundedToMicros(timestamp.toLocalDateTime()).toLocalTime();
+            case LocalTime time -> time.withNano(time.getNano() / 1_000 * 1_000);
+            case String string -> LocalTime.parse(string.strip());
+            default -> throw unsupported(index, value);
+        };
+    }
+
+    /** A {@link Time}'s wall-clock time in the JVM zone, keeping the milliseconds pgjdbc sends. */
+    private static LocalTime localTimeOf(Time time) {
+        return LocalTime.ofInstant(Instant.ofEpochMilli(time.getTime()), ZoneId.systemDefault());
+    }
+
+    private LocalDateTime toLocalDateTime(int index, Object value) throws SQLException {
+        return switch (value) {
+            case Timestamp timestamp -> roundedToMicros(timestamp.toLocalDateTime());
+            case java.sql.Date date -> date.toLocalDate().atStartOfDay();
+            case LocalDateTime local -> roundedToMicros(local);
+            case java.util.Date date -> LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+            case Instant instant -> roundedToMicros(LocalDateTime.ofInstant(instant, ZoneId.systemDefault()));
+            default -> throw unsupported(index, value);
+        };
+    }
+
+    private Instant toInstant(int index, Object value) throws SQLException {
+        return switch (value) {
+            case Timestamp timestamp -> instantOf(timestamp);
+            case java.sql.Date date -> date.toLocalDate().atStartOfDay(ZoneId.systemDefault()).toInstant();
+            case java.util.Date date -> date.toInstant();
+            case Instant instant -> roundedToMicros(instant);
+            case OffsetDateTime offset -> roundedToMicros(offset.toInstant());
+            default -> throw unsupported(index, value);
+        };
+    }
+
+    private static Instant instantOf(Timestamp timestamp) {
+        return roundedToMicros(timestamp.toInstant());
+    }
+
+    /** Rounds sub-microsecond nanos half up, as pgjdbc does when it formats a timestamp parameter. */
+    private static LocalDateTime roundedToMicros(LocalDateTime local) {
+        int nanos = local.getNano();
+        return nanos % 1_000 == 0 ? local : local.withNano(0).plusNanos((nanos + 500L) / 1_000 * 1_000);
+    }
+
+    private static Instant roundedToMicros(Instant instant) {
+        int nanos = instant.getNano();
+        return nanos % 1_000 == 0 ? instant : Instant.ofEpochSecond(instant.getEpochSecond(), (nanos + 500L) / 1_000 * 1_000);
+    }
+
+    private static long pgMicros(long epochSecond, int nanos) {
+        return (epochSecond - PG_EPOCH_SECONDS) * 1_000_000L + nanos / 1_000;
+    }
+
+    /** float4out: the shortest text that reads back to the same {@code float}. */
+    private static String floatText(float value) {
+        if (Float.isNaN(value)) {
+            return "NaN";
+        }
+        return Float.isInfinite(value) ? (value > 0 ? "Infinity" : "-Infinity") : Float.toString(value);
+    }
+
+    /** float8out: the shortest text that reads back to the same {@code double}. */
+    private static String doubleText(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        return Double.isInfinite(value) ? (value > 0 ? "Infinity" : "-Infinity") : Double.toString(value);
+    }
+
+    private String describe(int index) {
+        Column column = columns.get(index);
+        return "[" + column.tableName() + "." + column.name() + "] (" + column.typeName() + ")";
+    }
+
+    private SQLException unsupported(int index, Object value) {
+        return new SQLException("cannot copy a " + value.getClass().getName() + " into column " + describe(index));
+    }
+
+    private SQLException invalid(int index, String value, RuntimeException cause) {
+        return new SQLException("invalid input [" + value + "] for column " + describe(index), "22P02", cause);
+    }
+
+    private SQLException outOfRange(int index, Object value) {
+        return new SQLException("value [" + value + "] is out of range for column " + describe(index), "22003");
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Table;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Streams rows into a PostgreSQL table with {@code COPY ... FROM STDIN} through pgjdbc's
+ * {@link CopyManager}.
+ *
+ * <p>Rows are encoded by a {@link PostgresCopyEncoder} into a reusable buffer that is handed to the
+ * server every {@value #FLUSH_THRESHOLD_BYTES} bytes, so memory stays bounded by one buffer (plus at
+ * most one row) no matter how many rows a stream carries. A {@code COPY} is opened lazily on the first
+ * row after each {@link #flush()}, which ends it; {@link #close()} cancels an unfinished one so the
+ * connection is left ready for a rollback.
+ *
+ * <p>This is the only class that touches pgjdbc types, and it is loaded only when a native-ingest fill
+ * runs, so the PostgreSQL driver stays an optional dependency of Bloviate.
+ */
+final class PostgresCopyWriter implements RowSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresCopyWriter.class);
+
+    /** Encoded bytes accumulated before a write to the server. */
+    static final int FLUSH_THRESHOLD_BYTES = 64 * 1024;
+
+    private final CopyManager copyManager;
+    private final String sql;
+    private final PostgresCopyEncoder encoder;
+    private final IngestBuffer buffer = new IngestBuffer(FLUSH_THRESHOLD_BYTES + 1024);
+
+    private CopyIn copyIn;
+
+    private PostgresCopyWriter(CopyManager copyManager, String sql, PostgresCopyEncoder encoder) {
+        this.copyManager = copyManager;
+        this.sql = sql;
+        this.encoder = encoder;
+    }
+
+    /**
+     * Prepares a writer for {@code table} on {@code connection}, which must be (or wrap) a pgjdbc
+     * connection.
+     *
+     * @param connection the connection to copy on
+     * @param table      the target table
+     * @return a writer; no {@code COPY} is started until the first row
+     * @throws SQLException if the connection is not a PostgreSQL connection
+     */
+    static PostgresCopyWriter open(Connection connection, Table table) throws SQLException {
+        PostgresCopyEncoder encoder = PostgresCopyEncoder.forColumns(table.filteredColumns());
+        String quote = connection.getMetaData().getIdentifierQuoteString();
+        String sql = encoder.copyStatement(table.qualifiedName(quote), table.columnList(quote));
+        logger.debug("ingesting table [{}] with {}", table.name(), sql);
+        return new PostgresCopyWriter(connection.unwrap(PGConnection.class).getCopyAPI(), sql, encoder);
+    }
+
+    @Override
+    public void write(Object[] row) throws SQLException {
+        if (copyIn == null) {
+            copyIn = copyManager.copyIn(sql);
+            encoder.header(buffer);
+        }
+        encoder.row(row, buffer);
+        if (buffer.size() >= FLUSH_THRESHOLD_BYTES) {
+            drain();
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (copyIn == null) {
+            return;
+        }
+        encoder.trailer(buffer);
+        drain();
+        CopyIn finishing = copyIn;
+        copyIn = null;
+        long rows = finishing.endCopy();
+        logger.trace("{} completed with [{}] rows", sql, rows);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        buffer.reset();
+        if (copyIn == null) {
+            return;
+        }
+        CopyIn abandoned = copyIn;
+        copyIn = null;
+        if (abandoned.isActive()) {
+            abandoned.cancelCopy();
+        }
+    }
+
+    private void drain() throws SQLException {
+        if (buffer.size() > 0) {
+            copyIn.writeToCopy(buffer.array(), 0, buffer.size());
+            buffer.reset();
+        }
+    }
+}
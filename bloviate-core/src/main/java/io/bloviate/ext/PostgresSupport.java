@@ -18,6 +18,7 @@ package io.bloviate.ext;
 
 import io.bloviate.db.Column;
 import io.bloviate.db.Database;
+import io.bloviate.db.Table;
 import io.bloviate.gen.BitStringGenerator;
 import io.bloviate.gen.BooleanGenerator;
 import io.bloviate.gen.CidrGenerator;
@@ -149,6 +150,89 @@ public class PostgresSupport extends AbstractDatabaseSupport {
         }
     }
 
+    /**
+     * The PostgreSQL wire protocol sends a statement's parameter count as a 16-bit integer, which
+     * pgjdbc treats as signed.
+     *
+     * @return {@code 32767}
+     * @since 2.20.0
+     */
+    @Override
+    public int maxBindParameters() {
+        return Short.MAX_VALUE;
+    }
+
+    /**
+     * PostgreSQL supports native ingest through {@code COPY ... FROM STDIN}.
+     *
+     * @return {@code true}
+     * @since 2.20.0
+     */
+    @Override
+    public boolean supportsNativeIngest() {
+        return true;
+    }
+
+    /**
+     * Opens a {@code COPY ... FROM STDIN} writer for the table. The binary format is used when every
+     * filtered column has a binary encoder (integers, floats, {@code numeric}, character types,
+     * {@code bool}, {@code bytea}, {@code uuid}, {@code json}/{@code jsonb}, dates, times and
+     * timestamps); a table with any other type (e.g. {@code inet}, {@code interval}, bit strings,
+     * arrays) is copied in the text format instead. Requires the pgjdbc driver on the classpath.
+     *
+     * @param connection a pgjdbc connection (or a pool proxy that unwraps to one)
+     * @param table      the table to fill
+     * @param batchSize  unused; the writer drains its buffer by size rather than by row count
+     * @return a {@code COPY} writer
+     * @throws SQLException if the connection does not unwrap to a pgjdbc connection
+     * @since 2.20.0
+     */
+    @Override
+    public RowSink openIngestWriter(Connection connection, Table table, int batchSize) throws SQLException {
+        return PostgresCopyWriter.open(connection, table);
+    }
+
+    /**
+     * PostgreSQL inserts a batch as one {@code select * from unnest(...)} over per-column arrays.
+     *
+     * @return {@code true}
+     * @since 2.20.0
+     */
+    @Override
+    public boolean supportsArrayUnnest() {
+        return true;
+    }
+
+    /**
+     * A table with an array column falls back to batched {@code INSERT}s: unnesting an array of arrays
+     * would flatten it rather than yield one array per row.
+     *
+     * @param table the table to fill
+     * @return {@code false} when any filtered column is an array
+     * @since 2.20.0
+     */
+    @Override
+    public boolean supportsArrayUnnest(Table table) {
+        return supportsArrayUnnest() && PostgresUnnestWriter.supports(table);
+    }
+
+    /**
+     * Opens an array-unnest writer for the table. Each column's batch of values is bound as one array
+     * literal cast to the column's type, so only standard JDBC is used and any pgjdbc-compatible
+     * connection (including CockroachDB's) works.
+     *
+     * @param connection the connection to insert on
+     * @param table      the table to fill
+     * @param batchSize  the rows each statement carries
+     * @return an array-unnest writer
+     * @throws SQLException if the connection's metadata cannot be read
+     * @since 2.20.0
+     */
+    @Override
+    public RowSink openUnnestWriter(Connection connection, Table table, int batchSize) throws SQLException {
+        return PostgresUnnestWriter.open(connection, table, batchSize);
+    }
+
     @Override
     protected void configure(Map<JDBCType, GeneratorFactory> registry) {
 
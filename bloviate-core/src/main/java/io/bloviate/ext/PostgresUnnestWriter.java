@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Column;
+import io.bloviate.db.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Inserts rows into a PostgreSQL or CockroachDB table a batch at a time with
+ * {@code insert into t (...) select * from unnest(?::int8[], ?::text[], ...)}: the values of each
+ * column are collected into one array literal, so a batch of any size is one statement with one
+ * parameter per column — nothing for the server to re-parse per row and no bind-parameter limit to
+ * respect.
+ *
+ * <p>Each array element is rendered by a {@link PostgresCopyEncoder} in the type's text input syntax
+ * (the same rendering the {@code COPY} text format uses) and the literal is bound as a string that the
+ * statement casts to the column's array type, so the stored values match the {@code INSERT} path. A
+ * statement is prepared once on the first batch and executed every {@code batchSize} rows;
+ * {@link #flush()} executes the rows of a final partial batch.
+ *
+ * <p>Only JDBC types are used, so the writer works through any pool or driver wrapper. Columns that
+ * are themselves arrays cannot be unnested (a multi-dimensional array flattens), so such tables are
+ * {@linkplain #supports(Table) not supported}.
+ */
+final class PostgresUnnestWriter implements RowSink {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresUnnestWriter.class);
+
+    private final Connection connection;
+    private final String sql;
+    private final PostgresCopyEncoder encoder;
+    private final Object[][] columns;
+
+    private int rows;
+    private PreparedStatement statement;
+
+    private PostgresUnnestWriter(Connection connection, String sql, PostgresCopyEncoder encoder, int columnCount, int batchRows) {
+        this.connection = connection;
+        this.sql = sql;
+        this.encoder = encoder;
+        this.columns = new Object[columnCount][batchRows];
+    }
+
+    /**
+     * Whether every filtered column of {@code table} can travel as one element of an unnested array.
+     *
+     * @param table the table to check
+     * @return {@code false} when any column is an array
+     */
+    static boolean supports(Table table) {
+        for (Column column : table.filteredColumns()) {
+            String typeName = column.typeName();
+            if (column.jdbcType() == JDBCType.ARRAY || typeName == null || typeName.startsWith("_")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Prepares a writer for {@code table} on {@code connection}.
+     *
+     * @param connection the connection to insert on
+     * @param table      the target table; must be {@linkplain #supports(Table) supported}
+     * @param batchSize  the rows per statement
+     * @return a writer; no statement is prepared until the first batch
+     * @throws SQLException if the connection's metadata cannot be read
+     */
+    static PostgresUnnestWriter open(Connection connection, Table table, int batchSize) throws SQLException {
+        List<Column> filtered = table.filteredColumns();
+        List<String> elementTypes = new ArrayList<>(filtered.size());
+        for (Column column : filtered) {
+            elementTypes.add(elementType(column.typeName()));
+        }
+        String sql = table.unnestInsertString(connection.getMetaData().getIdentifierQuoteString(), elementTypes);
+        logger.debug("ingesting table [{}] with {}", table.name(), sql);
+        return new PostgresUnnestWriter(connection, sql, PostgresCopyEncoder.forColumns(filtered), filtered.size(), Math.max(1, batchSize));
+    }
+
+    /**
+     * Maps a driver-reported column type name to the element type its array parameter is cast to.
+     * pgjdbc reports {@code serial} columns by their pseudo-type, which has no array type, and an
+     * unqualified {@code bit} in a cast means {@code bit(1)}, so those are mapped to the underlying
+     * types; names that would not survive unquoted (e.g. a mixed-case enum) are quoted.
+     *
+     * @param typeName the type name from {@link Column#typeName()}
+     * @return the SQL element type
+     */
+    static String elementType(String typeName) {
+        return switch (typeName.toLowerCase(Locale.ROOT)) {
+            case "smallserial", "serial2" -> "int2";
+            case "serial", "serial4" -> "int4";
+            case "bigserial", "serial8" -> "int8";
+            case "bit" -> "varbit";
+            default -> typeName.matches("[a-z_][a-z0-9_]*") || typeName.contains("\"")
+                    ? typeName
+                    : '"' + typeName + '"';
+        };
+    }
+
+    @Override
+    public void write(Object[] row) throws SQLException {
+        for (int col = 0; col < columns.length; col++) {
+            columns[col][rows] = row[col];
+        }
+        if (++rows == columns[0].length) {
+            execute();
+        }
+    }
+
+    @Override
+    public void flush() throws SQLException {
+        if (rows > 0) {
+            execute();
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        clear();
+        if (statement != null) {
+            PreparedStatement closing = statement;
+            statement = null;
+            closing.close();
+        }
+    }
+
+    private void execute() throws SQLException {
+        if (statement == null) {
+            statement = connection.prepareStatement(sql);
+        }
+        for (int col = 0; col < columns.length; col++) {
+            statement.setString(col + 1, encoder.arrayLiteral(col, columns[col], rows));
+        }
+        int inserted = statement.executeUpdate();
+        logger.trace("{} inserted [{}] rows", sql, inserted);
+        clear();
+    }
+
+    /** Drops the buffered values so the batch's objects can be collected while the next one fills. */
+    private void clear() {
+        for (Object[] column : columns) {
+            Arrays.fill(column, 0, rows, null);
+        }
+        rows = 0;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import java.sql.SQLException;
+
+/**
+ * Where the fill engine sends the rows it generates for one table. A sink owns the transport —
+ * batched {@code INSERT}s, a native bulk-ingest stream such as {@code COPY}, array-unnest statements,
+ * a file, or nothing at all for benchmarking generation alone — while the engine owns generation,
+ * row order and the transaction.
+ *
+ * <p>The life cycle is open, batch, commit, close:
+ * <ul>
+ *   <li><b>open</b> — {@link DatabaseSupport#openRowSink} opens one sink per table fill (and per
+ *       intra-table partition), bound to that fill's connection.</li>
+ *   <li><b>batch</b> — each row goes to {@link #write(Object[])} as the values its generators produced,
+ *       in {@link io.bloviate.db.Table#filteredColumns()} order. The sink decides how many rows to
+ *       hold before sending them, typically the batch size it was opened with.</li>
+ *   <li><b>commit</b> — before every commit of the {@link io.bloviate.db.CommitStrategy} (and once at
+ *       the end) the engine calls {@link #flush()}, which must send every row written so far so it is
+ *       part of the connection's current transaction.</li>
+ *   <li><b>close</b> — {@link #close()} releases the sink. Rows written since the last flush are
+ *       discarded: close is the error path and must leave the connection usable so the engine can
+ *       roll back.</li>
+ * </ul>
+ *
+ * <p>Sinks are single-threaded; every call comes from the thread filling the table.
+ *
+ * @since 2.20.0
+ * @see DatabaseSupport#openRowSink
+ * @see io.bloviate.db.IngestStrategy
+ */
+public interface RowSink extends AutoCloseable {
+
+    /**
+     * Appends one row. The array is reused by the caller and must not be retained.
+     *
+     * @param row the generated values, one per filtered column; elements may be null
+     * @throws SQLException if the row cannot be encoded or sent
+     */
+    void write(Object[] row) throws SQLException;
+
+    /**
+     * Sends every row written so far, completing any in-flight statement, so the rows are applied to
+     * the connection's current transaction.
+     *
+     * @throws SQLException if the database rejects the rows
+     */
+    void flush() throws SQLException;
+
+    /**
+     * Releases the sink, abandoning any rows written since the last {@link #flush()}.
+     *
+     * @throws SQLException if the sink cannot be released cleanly
+     */
+    @Override
+    void close() throws SQLException;
+}
@@ -16,6 +16,16 @@
 
 package io.bloviate.ext;
 
+import io.bloviate.db.Database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * SQLite-specific {@link DatabaseSupport}.
  *
@@ -46,13 +56,119 @@ package io.bloviate.ext;
  * {@code PRAGMA foreign_keys = ON}). Bloviate derives table fill order from the foreign-key graph
  * regardless, so referentially consistent data is produced whether or not enforcement is enabled.
  *
+ * <p><strong>Bulk loading</strong> ({@link io.bloviate.db.BulkLoadStrategy#unorderedBulk()}) switches
+ * the connection into a load-optimized mode with {@code PRAGMA}s — no foreign-key enforcement, an
+ * in-memory rollback journal, no {@code fsync}s and a large page cache — and restores each pragma's
+ * prior value afterwards. Combined with a fill that commits rarely, this removes most of the disk
+ * traffic of filling a database file.
+ *
  * @since 2.18.0
  * @see AbstractDatabaseSupport
  * @see DatabaseSupport
  */
 public class SQLiteSupport extends AbstractDatabaseSupport {
 
+    /** The pragmas a bulk load changes, in the order they are restored. */
+    private static final List<String> BULK_LOAD_PRAGMAS = List.of("journal_mode", "synchronous", "cache_size", "foreign_keys");
+
+    /** The bulk-load page cache: a negative {@code cache_size} is a size in KiB, here 256 MiB. */
+    private static final int BULK_LOAD_CACHE_SIZE = -262_144;
+
     /** Creates the SQLite support with its default configuration. */
     public SQLiteSupport() {
     }
+
+    /**
+     * SQLite's {@code SQLITE_MAX_VARIABLE_NUMBER} compile-time limit, {@code 32766} by default since
+     * SQLite 3.32.0 (the bundled {@code sqlite-jdbc} builds are well past it; older builds used
+     * {@code 999}).
+     *
+     * @return {@code 32766}
+     * @since 2.20.0
+     */
+    @Override
+    public int maxBindParameters() {
+        return 32_766;
+    }
+
+    /**
+     * SQLite supports bulk loading by switching the connection's durability and enforcement
+     * {@code PRAGMA}s off for the duration of the load.
+     *
+     * @return {@code true}
+     * @since 2.20.0
+     */
+    @Override
+    public boolean supportsBulkLoad() {
+        return true;
+    }
+
+    /**
+     * Records the connection's {@code journal_mode}, {@code synchronous}, {@code cache_size} and
+     * {@code foreign_keys} settings, then sets {@code foreign_keys = OFF}, {@code synchronous = OFF},
+     * a 256 MiB {@code cache_size} (pages are only allocated as they are used) and
+     * {@code journal_mode = MEMORY}. The rollback journal is kept in memory rather than turned off, so a
+     * failed fill can still roll back. A database file that is lost mid-load (e.g. in a power failure)
+     * may be left corrupt, which suits generated fixtures that can simply be rebuilt.
+     *
+     * <p>SQLite ignores {@code foreign_keys} and refuses some journal-mode changes inside an open
+     * transaction, so this must be called while the connection is in auto-commit mode, as the fill
+     * engine does.
+     *
+     * @param connection an open connection whose pragmas are changed
+     * @param database   the database metadata (unused by this mechanism)
+     * @return a handle carrying each pragma's prior value
+     * @throws SQLException if a pragma cannot be read or set
+     * @since 2.20.0
+     */
+    @Override
+    public BulkLoadHandle disableConstraints(Connection connection, Database database) throws SQLException {
+        Map<String, String> prior = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : BULK_LOAD_PRAGMAS) {
+                prior.put(pragma, pragma(statement, "PRAGMA " + pragma));
+            }
+            statement.execute("PRAGMA foreign_keys = OFF");
+            statement.execute("PRAGMA synchronous = OFF");
+            statement.execute("PRAGMA cache_size = " + BULK_LOAD_CACHE_SIZE);
+            // returns the resulting mode; an in-memory database stays in its own "memory" mode
+            pragma(statement, "PRAGMA journal_mode = MEMORY");
+        }
+        return BulkLoadHandle.of("foreign_keys=OFF, synchronous=OFF, cache_size=" + BULK_LOAD_CACHE_SIZE
+                + ", journal_mode=MEMORY", prior);
+    }
+
+    /**
+     * Restores each pragma to the value recorded in {@code handle} by {@link #disableConstraints}.
+     *
+     * @param connection the same connection passed to {@link #disableConstraints}
+     * @param database   the database metadata (unused by this mechanism)
+     * @param handle     the handle returned by {@link #disableConstraints}
+     * @throws SQLException if a pragma cannot be set
+     * @since 2.20.0
+     */
+    @Override
+    public void enableConstraints(Connection connection, Database database, BulkLoadHandle handle) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String pragma : BULK_LOAD_PRAGMAS) {
+                String value = handle.settings().get(pragma);
+                if (value == null) {
+                    continue;
+                }
+                if (!value.matches("-?\\w+")) {
+                    throw new SQLException("cannot restore PRAGMA " + pragma + " to [" + value + "]");
+                }
+                statement.execute("PRAGMA " + pragma + " = " + value);
+            }
+        }
+    }
+
+    private static String pragma(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            if (!resultSet.next()) {
+                throw new SQLException(sql + " returned no value");
+            }
+            return resultSet.getString(1);
+        }
+    }
 }
@@ -50,7 +50,7 @@ import java.util.random.RandomGenerator;
  *
  * <p>The produced values do not depend on the random source.
  */
-public class ChildKeyComponentGenerator extends AbstractDataGenerator<Integer> implements IndexedDataGenerator {
+public class ChildKeyComponentGenerator extends AbstractDataGenerator<Integer> implements KeyDimensionGenerator {
 
     private final ChildCardinality cardinality;
     private final boolean sequence;
@@ -124,6 +124,46 @@ public class ChildKeyComponentGenerator extends AbstractDataGenerator<Integer> i
         this.childrenRemaining = cardinality.count(owningParent) - (int) positionInParent;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>In parent-component mode the value repeats one dimension of the parent's key, so the dimension
+     * is the parent's; a sequence number is no dimension of it.
+     */
+    @Override
+    public KeyDimension dimension() {
+        return sequence ? null : new KeyDimension(start, repeat, cycle);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The key tuple is the owning parent's: the index of the parent row the {@code rowIndex}-th
+     * child belongs to. O(1) for a fixed cardinality, otherwise an O(parentCount) scan (see
+     * {@link #seek(long)}).
+     */
+    @Override
+    public long keyIndex(long rowIndex) {
+        if (rowIndex < 0) {
+            throw new IllegalArgumentException("rowIndex must be non-negative: " + rowIndex);
+        }
+        return owningParent(rowIndex);
+    }
+
+    /** The parent that owns the {@code rowIndex}-th child, skipping parents with no children. */
+    private long owningParent(long rowIndex) {
+        if (cardinality.minChildren() == cardinality.maxChildren() && cardinality.minChildren() > 0) {
+            return rowIndex / cardinality.minChildren();
+        }
+        long cumulative = 0;
+        long parent = 0;
+        while (cumulative + cardinality.count(parent) <= rowIndex) {
+            cumulative += cardinality.count(parent);
+            parent++;
+        }
+        return parent;
+    }
+
     @Override
     public void set(Connection connection, PreparedStatement statement, int parameterIndex, Integer value) throws SQLException {
         statement.setInt(parameterIndex, value);
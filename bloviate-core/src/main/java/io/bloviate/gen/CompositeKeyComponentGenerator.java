@@ -45,7 +45,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * <p>The produced values do not depend on the random source; counter state is
  * held by the generator instance and advances on every {@link #generate()}.
  */
-public class CompositeKeyComponentGenerator extends AbstractDataGenerator<Integer> implements IndexedDataGenerator {
+public class CompositeKeyComponentGenerator extends AbstractDataGenerator<Integer> implements KeyDimensionGenerator {
 
     private final int start;
     private final long repeat;
@@ -72,6 +72,21 @@ public class CompositeKeyComponentGenerator extends AbstractDataGenerator<Intege
         counter.set(rowIndex);
     }
 
+    @Override
+    public KeyDimension dimension() {
+        return new KeyDimension(start, repeat, cycle);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Each row is its own key tuple, so this is {@code rowIndex}.
+     */
+    @Override
+    public long keyIndex(long rowIndex) {
+        return rowIndex;
+    }
+
     @Override
     public void set(Connection connection, PreparedStatement statement, int parameterIndex, Integer value) throws SQLException {
         statement.setInt(parameterIndex, value);
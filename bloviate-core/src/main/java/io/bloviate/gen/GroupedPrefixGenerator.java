@@ -79,6 +79,16 @@ public class GroupedPrefixGenerator<T> extends AbstractDataGenerator<T> implemen
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only when the delegate seeks exactly: a plain random delegate is reseeded by {@link #seek(long)}.
+     */
+    @Override
+    public boolean seeksExactly() {
+        return delegate instanceof IndexedDataGenerator indexed && indexed.seeksExactly();
+    }
+
     @Override
     public void set(Connection connection, PreparedStatement statement, int parameterIndex, T value) throws SQLException {
         if (value == null) {
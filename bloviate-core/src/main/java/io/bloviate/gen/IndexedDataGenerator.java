@@ -44,4 +44,18 @@ public interface IndexedDataGenerator {
      * @param rowIndex the absolute, 0-based row index to seek to; must be {@code >= 0}
      */
     void seek(long rowIndex);
+
+    /**
+     * Whether {@link #seek(long) seek(n)} leaves this generator exactly where {@code n} calls to
+     * {@link DataGenerator#generate()} from its initial state would, so its later values match a
+     * sequential fill's. A retried or resumed fill seeks such a generator past the rows it has already
+     * committed, and replays the draws of any other. True unless the generator wraps a plain random
+     * generator that a seek can only reseed.
+     *
+     * @return whether seeking reproduces the sequential values exactly
+     * @since 2.20.0
+     */
+    default boolean seeksExactly() {
+        return true;
+    }
 }
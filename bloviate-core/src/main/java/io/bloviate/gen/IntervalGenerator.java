@@ -22,7 +22,10 @@ import java.util.random.RandomGenerator;
 
 /**
  * Generates time spans as a {@link String} in PostgreSQL {@code interval} input form,
- * {@code years-months days hours:minutes:seconds}, e.g. {@code 3-7 14 21:45:09}.
+ * {@code years-months days hours:minutes:seconds}, e.g. {@code 3-7 14 21:45:09}, or — with
+ * {@link Builder#unitLabels(boolean)} — in the labeled form
+ * {@code 3 years 7 months 14 days 21:45:09}, which databases without the SQL-standard
+ * year-month syntax (e.g. DuckDB) also accept.
  *
  * <p>Each component is drawn from a fixed range: years {@code 1..9}, months {@code 1..11},
  * days {@code 1..29}, hours {@code 1..23}, minutes and seconds {@code 1..59} (all inclusive).
@@ -36,9 +39,21 @@ public class IntervalGenerator extends AbstractDataGenerator<String> {
     private IntegerGenerator hourGenerator;
     private IntegerGenerator minuteGenerator;
     private IntegerGenerator secondGenerator;
+    private final boolean unitLabels;
 
     @Override
     public String generate() {
+        if (unitLabels) {
+            // same draw order as the unlabeled form, so both styles describe the same spans
+            return new StringBuilder(40)
+                    .append(yearGenerator.generate()).append(" years ")
+                    .append(monthGenerator.generate()).append(" months ")
+                    .append(dayGenerator.generate()).append(" days ")
+                    .append(hourGenerator.generate()).append(':')
+                    .append(minuteGenerator.generate()).append(':')
+                    .append(secondGenerator.generate())
+                    .toString();
+        }
         // plain appends instead of String.format: identical output ("%d" is Integer.toString),
         // and the generate() draw order (year..second) is unchanged
         return new StringBuilder(20)
@@ -59,6 +74,8 @@ public class IntervalGenerator extends AbstractDataGenerator<String> {
     /** Fluent builder for {@link IntervalGenerator}. */
     public static class Builder extends AbstractBuilder<String> {
 
+        private boolean unitLabels;
+
         /**
          * Creates a builder backed by the given seeded random source.
          *
@@ -68,6 +85,20 @@ public class IntervalGenerator extends AbstractDataGenerator<String> {
             super(random);
         }
 
+        /**
+         * Whether to label each date component with its unit ({@code 3 years 7 months 14 days
+         * 21:45:09}) instead of the year-month form ({@code 3-7 14 21:45:09}). Defaults to
+         * {@code false}.
+         *
+         * @param unitLabels {@code true} for the labeled form
+         * @return this builder
+         * @since 2.20.0
+         */
+        public Builder unitLabels(boolean unitLabels) {
+            this.unitLabels = unitLabels;
+            return this;
+        }
+
         @Override
         public IntervalGenerator build() {
             return new IntervalGenerator(this);
@@ -76,6 +107,7 @@ public class IntervalGenerator extends AbstractDataGenerator<String> {
 
     private IntervalGenerator(Builder builder) {
         super(builder.random);
+        this.unitLabels = builder.unitLabels;
         buildDelegates();
     }
 
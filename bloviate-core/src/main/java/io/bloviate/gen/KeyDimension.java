@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.gen;
+
+/**
+ * The layout of one dimension of a dense, row-major composite key: for key tuple {@code t} (0-based)
+ * the dimension's value is {@code start + ((t / repeat) % cycle)}. A key whose dimensions chain —
+ * the innermost repeats once, and every other repeats as often as the product of the cycles nested
+ * inside it — enumerates each tuple exactly once, in order.
+ *
+ * @param start  the dimension's first value, inclusive
+ * @param repeat the number of consecutive key tuples that share a value ({@code > 0})
+ * @param cycle  the number of distinct values ({@code > 0})
+ * @since 2.20.0
+ * @see KeyDimensionGenerator
+ */
+public record KeyDimension(int start, long repeat, int cycle) {
+
+    /** Validates the layout. */
+    public KeyDimension {
+        if (repeat <= 0) {
+            throw new IllegalArgumentException("repeat must be > 0: " + repeat);
+        }
+        if (cycle <= 0) {
+            throw new IllegalArgumentException("cycle must be > 0: " + cycle);
+        }
+    }
+}
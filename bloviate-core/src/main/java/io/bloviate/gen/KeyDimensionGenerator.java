@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.gen;
+
+/**
+ * An {@link IndexedDataGenerator} that emits one {@linkplain KeyDimension dimension} of a dense,
+ * row-major composite key: its value for a row is
+ * {@code start + ((keyIndex(row) / repeat) % cycle)}. A table's own key component maps each row to
+ * itself; a child table's copy of its parent's key maps each row to the parent row that owns it.
+ *
+ * <p>Exposing the layout lets the fill engine work out which parent rows a range of child rows
+ * references, without generating them — so a child's row ranges can start filling as soon as the
+ * parent rows they need are committed, rather than after the whole parent table (see
+ * {@code DatabaseFiller.Builder#rangePipelining(boolean)}).
+ *
+ * @since 2.20.0
+ * @see CompositeKeyComponentGenerator
+ * @see ChildKeyComponentGenerator
+ */
+public interface KeyDimensionGenerator extends IndexedDataGenerator {
+
+    /**
+     * The dimension this generator emits.
+     *
+     * @return the dimension's layout, or {@code null} when the column is not a dimension of a
+     *         composite key (e.g. a child's sequence number within its parent)
+     */
+    KeyDimension dimension();
+
+    /**
+     * The index of the key tuple the given row's value is drawn from. Nondecreasing in {@code rowIndex}.
+     *
+     * @param rowIndex the absolute, 0-based row index; must be {@code >= 0}
+     * @return the 0-based key-tuple index
+     */
+    long keyIndex(long rowIndex);
+}
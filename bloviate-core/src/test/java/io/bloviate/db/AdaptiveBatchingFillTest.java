@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.H2Support;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies adaptive batching on H2's sequential {@link Connection} path: however the controller sizes
+ * batches and spaces commits, the rows match a fixed-size fill under every {@link IngestStrategy}, for
+ * an engine-managed commit cadence and for autocommit.
+ */
+class AdaptiveBatchingFillTest extends BaseEmbeddedTest {
+
+    private static final String URL = "jdbc:h2:mem:adaptive_batching";
+
+    @Test
+    void adaptiveFillMatchesFixedFill() throws SQLException {
+        for (IngestStrategy ingest : List.of(IngestStrategy.batchInsert(), IngestStrategy.multiRowInsert(), IngestStrategy.nativeIngest())) {
+            for (CommitStrategy commit : List.of(CommitStrategy.everyNBatches(4), CommitStrategy.connectionDefault())) {
+                assertEquals(fillAndDump(ingest, commit, BatchSizing.fixed()),
+                        fillAndDump(ingest, commit, BatchSizing.adaptive(4, 64, 1, 16)),
+                        "adaptive batching must not change the rows under " + ingest + " and " + commit);
+            }
+        }
+    }
+
+    /**
+     * Fills a fresh database and dumps it. The database is dropped when its only connection closes, so
+     * each fill reuses the name (and with it the catalog, which is part of every column's seed).
+     */
+    private Map<String, List<String>> fillAndDump(IngestStrategy ingest, CommitStrategy commit, BatchSizing sizing) throws SQLException {
+        DatabaseConfiguration configuration = new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(smallTpcc())
+                .seed(42L)
+                .commitStrategy(commit)
+                .ingestStrategy(ingest)
+                .batchSizing(sizing)
+                .build();
+
+        try (Connection connection = DriverManager.getConnection(URL)) {
+            runScript(connection, TPCC_SCRIPT);
+            new DatabaseFiller.Builder(connection, configuration).build().fill();
+
+            assertSmallTpcc(connection);
+            return dump(connection);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import io.bloviate.gen.SequentialIntegerGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies append fills against H2: topping up a parent and child table filled at smaller row counts
+ * appends exactly the rows, foreign keys included, of a fill at the larger counts partitioned at the
+ * old counts; a configured start row appends exactly as a detected one;
+ * full tables are left alone; and an out-of-range start row is rejected. The compared fills reuse one
+ * database name, since the catalog is part of every column's seed.
+ */
+class AppendFillTest extends BaseEmbeddedTest {
+
+    private static final int PARENTS = 100;
+    private static final int CHILDREN = 300;
+    private static final int THREADS = 2;
+
+    @AfterEach
+    void shutdown() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void appendedRowsMatchFillPartitionedAtTheOffset() throws SQLException {
+        List<String> expectedParents;
+        List<String> expectedChildren;
+        try (HikariDataSource dataSource = dataSource()) {
+            try (Connection connection = dataSource.getConnection()) {
+                createSchema(connection);
+            }
+            // two partitions split each table at its old row count
+            new DatabaseFiller.Builder(dataSource, config(2 * PARENTS, 2 * CHILDREN, 0, 0, 2)).threads(THREADS).build().fill();
+            try (Connection connection = dataSource.getConnection()) {
+                expectedParents = rows(connection, "select * from parent where id > " + PARENTS + " order by id");
+                expectedChildren = rows(connection, "select * from child where id > " + CHILDREN + " order by id");
+            }
+        }
+        shutdown();
+
+        try (HikariDataSource dataSource = dataSource()) {
+            try (Connection connection = dataSource.getConnection()) {
+                createSchema(connection);
+            }
+            new DatabaseFiller.Builder(dataSource, config(PARENTS, CHILDREN, 0, 0, 1)).threads(THREADS).build().fill();
+            new DatabaseFiller.Builder(dataSource, config(2 * PARENTS, 2 * CHILDREN, 0, 0, 1)).threads(THREADS)
+                    .rangePipelining(true).append(true).build().fill();
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertRowCount(connection, "parent", 2L * PARENTS);
+                assertRowCount(connection, "child", 2L * CHILDREN);
+                assertEquals(expectedParents, rows(connection, "select * from parent where id > " + PARENTS + " order by id"),
+                        "appended parent rows must be those of a fill at the larger row count");
+                assertEquals(expectedChildren, rows(connection, "select * from child where id > " + CHILDREN + " order by id"),
+                        "appended child rows, foreign keys included, must be those of a fill at the larger row count");
+            }
+        }
+    }
+
+    @Test
+    void configuredStartRowMatchesDetectedStartRow() throws SQLException {
+        List<String> detected;
+        try (Connection connection = DriverManager.getConnection(url())) {
+            createSchema(connection);
+            new DatabaseFiller.Builder(connection, config(PARENTS, CHILDREN, 0, 0, 1)).build().fill();
+            new DatabaseFiller.Builder(connection, config(2 * PARENTS, 2 * CHILDREN, 0, 0, 1)).append(true).build().fill();
+            detected = rows(connection, "select * from child order by id");
+        }
+        shutdown();
+
+        try (Connection connection = DriverManager.getConnection(url())) {
+            createSchema(connection);
+            new DatabaseFiller.Builder(connection, config(PARENTS, CHILDREN, 0, 0, 1)).build().fill();
+            new DatabaseFiller.Builder(connection, config(2 * PARENTS, 2 * CHILDREN, PARENTS, CHILDREN, 1)).build().fill();
+
+            assertRowCount(connection, "parent", 2L * PARENTS);
+            assertEquals(detected, rows(connection, "select * from child order by id"), "a configured start row must append as a detected one");
+        }
+    }
+
+    @Test
+    void fullTablesAreLeftAlone() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url())) {
+            createSchema(connection);
+            new DatabaseFiller.Builder(connection, config(PARENTS, CHILDREN, 0, 0, 1)).build().fill();
+            List<String> filled = rows(connection, "select * from child order by id");
+
+            new DatabaseFiller.Builder(connection, config(PARENTS, CHILDREN, 0, 0, 1)).append(true).build().fill();
+
+            assertRowCount(connection, "parent", PARENTS);
+            assertEquals(filled, rows(connection, "select * from child order by id"), "a full table must not be appended to");
+        }
+    }
+
+    @Test
+    void startRowOutsideTheTableIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new TableConfiguration("parent", PARENTS, null, 1, PARENTS + 1));
+        assertThrows(IllegalArgumentException.class, () -> new TableConfiguration("parent", PARENTS, null, 1, -2));
+    }
+
+    /**
+     * Sequential keys on both tables, and a child foreign key cycling over the parent's configured row
+     * count, so a fill at larger counts extends the cycle rather than restarting it.
+     */
+    private static DatabaseConfiguration config(int parents, int children, long parentStart, long childStart, int partitions) {
+        TableConfiguration parent = new TableConfiguration("parent", parents,
+                Set.of(new ColumnConfiguration("id", random -> new SequentialIntegerGenerator.Builder(random).start(1).build())),
+                partitions, parentStart);
+        TableConfiguration child = new TableConfiguration("child", children,
+                Set.of(new ColumnConfiguration("id", random -> new SequentialIntegerGenerator.Builder(random).start(1).build()),
+                        new ColumnConfiguration("parent_id", random -> new SequentialIntegerGenerator.Builder(random).start(1).end(parents).build())),
+                partitions, childStart);
+        return new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(Set.of(parent, child))
+                .seed(42L)
+                .build();
+    }
+
+    private static void createSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE parent (id INTEGER PRIMARY KEY, amount INTEGER)");
+            statement.execute("CREATE TABLE child (id INTEGER PRIMARY KEY, parent_id INTEGER NOT NULL REFERENCES parent(id), amount INTEGER)");
+        }
+    }
+
+    private static List<String> rows(Connection connection, String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            while (resultSet.next()) {
+                StringJoiner row = new StringJoiner("|");
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    row.add(String.valueOf(resultSet.getString(column)));
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:append;DB_CLOSE_DELAY=-1";
+    }
+
+    private static HikariDataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setMaximumPoolSize(THREADS + 1);
+        return new HikariDataSource(config);
+    }
+}
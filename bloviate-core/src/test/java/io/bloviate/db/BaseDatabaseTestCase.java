@@ -19,13 +19,21 @@ package io.bloviate.db;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import io.bloviate.gen.tpcc.CustomerLastNameGenerator;
+import io.bloviate.util.DatabaseUtils;
 import org.testcontainers.containers.JdbcDatabaseContainer;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -61,6 +69,65 @@ public class BaseDatabaseTestCase {
         }
     }
 
+    /**
+     * Dumps each table's non-temporal columns (temporal columns may use wall-clock time), sorted, so
+     * the comparison is independent of physical row order. The checkpoint table is left out.
+     */
+    protected static Map<String, List<String>> dump(Connection connection) throws SQLException {
+        return dump(connection, false);
+    }
+
+    /**
+     * Dumps every table as {@link #dump(Connection, List, boolean)} does, leaving out the checkpoint
+     * table.
+     */
+    protected static Map<String, List<String>> dump(Connection connection, boolean temporal) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        for (Table table : DatabaseUtils.getMetadata(connection).tables()) {
+            if (!table.name().equalsIgnoreCase(FillCheckpoint.TABLE)) {
+                tables.add(table.name());
+            }
+        }
+        return dump(connection, tables, temporal);
+    }
+
+    /**
+     * Dumps each of {@code tables}' columns as text, sorted, so the comparison is independent of
+     * physical row order (which a partitioned or unordered fill may change). Temporal columns can be
+     * excluded for schemas whose generators read the wall clock.
+     */
+    protected static Map<String, List<String>> dump(Connection connection, List<String> tables, boolean temporal) throws SQLException {
+        Map<String, List<String>> dump = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            for (String table : tables) {
+                List<String> rows = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery("select * from " + table)) {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    while (resultSet.next()) {
+                        StringJoiner row = new StringJoiner("|");
+                        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                            if (temporal || !isTemporal(metaData.getColumnType(column))) {
+                                row.add(String.valueOf(resultSet.getString(column)));
+                            }
+                        }
+                        rows.add(row.toString());
+                    }
+                }
+                rows.sort(null);
+                dump.put(table, rows);
+            }
+        }
+        return dump;
+    }
+
+    protected static boolean isTemporal(int sqlType) {
+        return sqlType == Types.DATE
+                || sqlType == Types.TIME
+                || sqlType == Types.TIME_WITH_TIMEZONE
+                || sqlType == Types.TIMESTAMP
+                || sqlType == Types.TIMESTAMP_WITH_TIMEZONE;
+    }
+
     /**
      * Asserts that a TPC-C dataset produced by {@code TPCCConfiguration} matches the spec's
      * value ranges and seed values (issue #421, gaps 1, 2 and 3). The SQL is portable across
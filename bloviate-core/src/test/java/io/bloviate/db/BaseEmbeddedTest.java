@@ -16,6 +16,8 @@
 
 package io.bloviate.db;
 
+import io.bloviate.gen.tpcc.TPCCConfiguration;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
@@ -26,6 +28,8 @@ import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Base class for embedded, in-process database tests (H2, SQLite) that need no Docker. Subclasses
@@ -34,6 +38,47 @@ import java.sql.Statement;
  */
 public abstract class BaseEmbeddedTest extends BaseDatabaseTestCase {
 
+    /** The H2 TPC-C schema the embedded fill comparisons fill. */
+    protected static final String TPCC_SCRIPT = "create_tpcc.h2.sql";
+
+    // the small TPC-C database those comparisons fill: 100 customers and about 1,000 order lines
+    protected static final int TPCC_WAREHOUSES = 2;
+    protected static final int TPCC_ITEMS = 100;
+    protected static final int TPCC_DISTRICTS = 5;
+    protected static final int TPCC_CUSTOMERS = 10;
+    protected static final int TPCC_MIN_LINES = 5;
+    protected static final int TPCC_MAX_LINES = 15;
+    protected static final int TPCC_NEW_ORDERS = 5;
+
+    /** The customers, and orders, of the whole small TPC-C database. */
+    protected static final long TPCC_TOTAL_CUSTOMERS = (long) TPCC_WAREHOUSES * TPCC_DISTRICTS * TPCC_CUSTOMERS;
+
+    /** The small TPC-C database's largest tables, which the parallel comparisons partition. */
+    protected static final Set<String> TPCC_LARGE_TABLES = Set.of("stock", "history", "open_order", "order_line");
+
+    /** The table configurations of the small TPC-C database. */
+    protected static Set<TableConfiguration> smallTpcc() {
+        return TPCCConfiguration.build(TPCC_WAREHOUSES, TPCC_ITEMS, TPCC_DISTRICTS, TPCC_CUSTOMERS,
+                TPCC_MIN_LINES, TPCC_MAX_LINES, TPCC_NEW_ORDERS);
+    }
+
+    /** The table configurations of the small TPC-C database, with each of {@code partitioned} split into {@code partitions}. */
+    protected static Set<TableConfiguration> smallTpcc(int partitions, Set<String> partitioned) {
+        Set<TableConfiguration> tables = new HashSet<>();
+        for (TableConfiguration table : smallTpcc()) {
+            tables.add(partitions > 1 && partitioned.contains(table.tableName())
+                    ? new TableConfiguration(table.tableName(), table.rowCount(), table.columnConfigurations(), partitions)
+                    : table);
+        }
+        return tables;
+    }
+
+    /** Asserts that the small TPC-C database is filled, with every row count and column value it should have. */
+    protected static void assertSmallTpcc(Connection connection) throws SQLException {
+        assertRowCount(connection, "customer", TPCC_TOTAL_CUSTOMERS);
+        assertTpccColumnFidelity(connection, TPCC_CUSTOMERS, TPCC_MIN_LINES, TPCC_MAX_LINES, TPCC_NEW_ORDERS);
+    }
+
     protected void fillDatabase(String jdbcUrl, String initScript, DatabaseConfiguration configuration) throws SQLException {
         fillDatabase(jdbcUrl, null, null, initScript, configuration, null);
     }
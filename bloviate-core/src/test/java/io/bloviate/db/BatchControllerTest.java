@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link BatchController}: the batch size climbs one step per batch while throughput
+ * holds and halves towards the minimum when it drops, and the commit cadence widens while commits are
+ * costly and narrows while they are cheap — always within the bounds.
+ */
+class BatchControllerTest {
+
+    /** One step of {@code (170 - 10) / 16 = 10} rows. */
+    private static final BatchSizing SIZING = BatchSizing.adaptive(10, 170, 1, 8);
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void startsFromTheConfiguredValuesClampedIntoTheBounds() {
+        BatchController controller = new BatchController(SIZING, 50, 4);
+        assertEquals(50, controller.batchSize());
+        assertEquals(4, controller.commitBatches());
+
+        BatchController clamped = new BatchController(SIZING, 5_000, 100);
+        assertEquals(170, clamped.batchSize());
+        assertEquals(8, clamped.commitBatches());
+    }
+
+    @Test
+    void batchSizeGrowsAdditivelyUpToTheMaximum() {
+        BatchController controller = new BatchController(SIZING, 50, 1);
+
+        controller.batchSent(50, 50 * MILLI);
+        assertEquals(60, controller.batchSize());
+        controller.batchSent(60, 60 * MILLI);
+        assertEquals(70, controller.batchSize());
+
+        for (int batch = 0; batch < 20; batch++) {
+            controller.batchSent(controller.batchSize(), controller.batchSize() * MILLI);
+        }
+        assertEquals(170, controller.batchSize(), "the size never exceeds the maximum");
+    }
+
+    @Test
+    void batchSizeHalvesWhenThroughputDrops() {
+        BatchController controller = new BatchController(SIZING, 90, 1);
+        controller.batchSent(90, 90 * MILLI);
+        assertEquals(100, controller.batchSize());
+
+        // half the rows per second: the nine steps above the minimum halve to four
+        controller.batchSent(100, 200 * MILLI);
+        assertEquals(50, controller.batchSize());
+
+        for (int batch = 0; batch < 5; batch++) {
+            controller.batchSent(controller.batchSize(), 100 * controller.batchSize() * MILLI);
+        }
+        assertEquals(10, controller.batchSize(), "repeated drops bottom out at the minimum");
+    }
+
+    @Test
+    void commitCadenceKeepsCommitOverheadInItsBand() {
+        BatchController controller = new BatchController(SIZING, 50, 2);
+
+        controller.committed(10 * MILLI, 100 * MILLI);
+        assertEquals(4, controller.commitBatches(), "commits taking 10% of the time double the cadence");
+        controller.committed(10 * MILLI, 100 * MILLI);
+        controller.committed(10 * MILLI, 100 * MILLI);
+        assertEquals(8, controller.commitBatches(), "never above the maximum");
+
+        controller.committed(3 * MILLI, 100 * MILLI);
+        assertEquals(8, controller.commitBatches(), "3% is within the band");
+
+        controller.committed(MILLI / 2, 100 * MILLI);
+        assertEquals(7, controller.commitBatches(), "commits under 1% of the time step the cadence down");
+    }
+
+    @Test
+    void settledReportsTheFinalValues() {
+        BatchController controller = new BatchController(SIZING, 50, 2);
+        controller.batchSent(50, 50 * MILLI);
+        controller.batchSent(60, 60 * MILLI);
+
+        BatchController.Settled settled = controller.settled("orders", true);
+        assertEquals("orders", settled.table());
+        assertEquals(110, settled.rows());
+        assertEquals(70, settled.batchSize());
+        assertEquals(2, settled.commitBatches());
+        assertEquals(1_000, settled.rowsPerSecond(), 1e-6);
+        assertEquals(0, controller.settled("orders", false).commitBatches(), "an untuned cadence is not reported");
+    }
+}
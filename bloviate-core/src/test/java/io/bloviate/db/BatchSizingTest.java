@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.DefaultSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchSizingTest {
+
+    @Test
+    void factoriesProduceExpectedModes() {
+        assertFalse(BatchSizing.fixed().isAdaptive());
+
+        BatchSizing adaptive = BatchSizing.adaptive(10, 1_000, 2, 50);
+        assertTrue(adaptive.isAdaptive());
+        assertEquals(10, adaptive.minBatchSize());
+        assertEquals(1_000, adaptive.maxBatchSize());
+        assertEquals(2, adaptive.minCommitBatches());
+        assertEquals(50, adaptive.maxCommitBatches());
+
+        BatchSizing defaultCommits = BatchSizing.adaptive(10, 1_000);
+        assertEquals(1, defaultCommits.minCommitBatches());
+        assertEquals(256, defaultCommits.maxCommitBatches());
+    }
+
+    @Test
+    void adaptiveRejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> BatchSizing.adaptive(0, 10));
+        assertThrows(IllegalArgumentException.class, () -> BatchSizing.adaptive(20, 10));
+        assertThrows(IllegalArgumentException.class, () -> BatchSizing.adaptive(1, 10, 0, 5));
+        assertThrows(IllegalArgumentException.class, () -> BatchSizing.adaptive(1, 10, 6, 5));
+        assertThrows(IllegalArgumentException.class, () -> new BatchSizing(null, 1, 1, 1, 1));
+    }
+
+    @Test
+    void databaseConfigurationDefaultsToFixed() {
+        DatabaseConfiguration configuration = new DatabaseConfiguration(100, 10, new DefaultSupport(), Set.of());
+        assertEquals(BatchSizing.fixed(), configuration.batchSizing());
+
+        DatabaseConfiguration adaptive = new DatabaseConfiguration.Builder(100, 10, new DefaultSupport())
+                .batchSizing(BatchSizing.adaptive(10, 1_000))
+                .build();
+        assertEquals(BatchSizing.adaptive(10, 1_000), adaptive.batchSizing());
+    }
+}
@@ -51,6 +51,19 @@ class BuilderValidationTest {
         }
     }
 
+    @Test
+    void pipelineProducersMustNotBeNegative() throws SQLException {
+        DatabaseConfiguration configuration = new DatabaseConfiguration(10, 10, new H2Support(), null);
+        Database database = new Database("h2", "2", null, null, List.of());
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:builder_validation")) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> new DatabaseFiller.Builder(connection, configuration).pipelineProducers(-1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> new TableFiller.Builder(connection, database, configuration).pipelineProducers(-1));
+        }
+    }
+
     @Test
     void tableFillerBuildRequiresTable() throws SQLException {
         DatabaseConfiguration configuration = new DatabaseConfiguration(10, 10, new H2Support(), null);
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import io.bloviate.gen.tpcc.TPCCConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies checkpointed fills against H2: a fill whose connection fails part way through, resumed
+ * under the same checkpoint, ends with exactly the rows of an uninterrupted fill — sequentially, and
+ * in parallel with partitioned tables — while a completed checkpoint fills nothing more, and a
+ * checkpoint resumed with another row count, or with work stealing, is rejected. The compared
+ * fills reuse one database name, since the catalog is part of every column's seed.
+ */
+class CheckpointedFillTest extends BaseEmbeddedTest {
+
+    private static final String CHECKPOINT = "tpcc";
+
+    private static final int THREADS = 3;
+    private static final int PARTITIONS = 4;
+
+    /** The commit that fails in an interrupted fill: well into the fill, with tables left partly committed. */
+    private static final int FAILING_COMMIT = 40;
+
+    /** How the interrupted fill's commit fails: as a dropped connection would. */
+    private static final String CONNECTION_FAILURE = "08006";
+
+    @AfterEach
+    void shutdown() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void resumedSequentialFillMatchesUninterruptedFill() throws SQLException {
+        Map<String, List<String>> uninterrupted;
+        try (Connection connection = DriverManager.getConnection(url())) {
+            runScript(connection, TPCC_SCRIPT);
+            new DatabaseFiller.Builder(connection, config(1)).build().fill();
+            uninterrupted = dump(connection);
+        }
+        shutdown();
+
+        try (Connection connection = DriverManager.getConnection(url())) {
+            runScript(connection, TPCC_SCRIPT);
+            Connection failing = FailingCommits.at(FAILING_COMMIT, CONNECTION_FAILURE).wrap(connection);
+            assertThrows(SQLException.class, () -> new DatabaseFiller.Builder(failing, config(1)).checkpoint(CHECKPOINT).build().fill());
+
+            new DatabaseFiller.Builder(connection, config(1)).checkpoint(CHECKPOINT).build().fill();
+
+            assertSmallTpcc(connection);
+            assertEquals(uninterrupted, dump(connection), "a resumed fill must end with the rows of an uninterrupted fill");
+        }
+    }
+
+    @Test
+    void resumedParallelFillMatchesUninterruptedFill() throws SQLException {
+        Map<String, List<String>> uninterrupted;
+        try (HikariDataSource dataSource = dataSource()) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+            new DatabaseFiller.Builder(dataSource, config(PARTITIONS)).threads(THREADS).build().fill();
+            try (Connection connection = dataSource.getConnection()) {
+                uninterrupted = dump(connection);
+            }
+        }
+        shutdown();
+
+        try (HikariDataSource dataSource = dataSource()) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+            DataSource failing = FailingCommits.at(FAILING_COMMIT, CONNECTION_FAILURE).wrap(dataSource);
+            assertThrows(SQLException.class, () -> new DatabaseFiller.Builder(failing, config(PARTITIONS))
+                    .threads(THREADS).checkpoint(CHECKPOINT).build().fill());
+
+            new DatabaseFiller.Builder(dataSource, config(PARTITIONS)).threads(THREADS).checkpoint(CHECKPOINT).build().fill();
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertSmallTpcc(connection);
+                assertEquals(uninterrupted, dump(connection), "a resumed parallel fill must end with the rows of an uninterrupted fill");
+            }
+        }
+    }
+
+    @Test
+    void resumeWithWorkStealingIsRejected() throws SQLException {
+        try (HikariDataSource dataSource = dataSource()) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+            DataSource failing = FailingCommits.at(FAILING_COMMIT, CONNECTION_FAILURE).wrap(dataSource);
+            assertThrows(SQLException.class, () -> new DatabaseFiller.Builder(failing, config(PARTITIONS))
+                    .threads(THREADS).checkpoint(CHECKPOINT).build().fill());
+            Map<String, List<String>> interrupted;
+            try (Connection connection = dataSource.getConnection()) {
+                interrupted = dump(connection);
+            }
+
+            DatabaseFiller.Builder stealing = new DatabaseFiller.Builder(dataSource, config(PARTITIONS))
+                    .threads(THREADS).workStealing(true).checkpoint(CHECKPOINT);
+            assertThrows(IllegalArgumentException.class, stealing::build);
+
+            new DatabaseFiller.Builder(dataSource, config(PARTITIONS)).threads(THREADS).checkpoint(CHECKPOINT).build().fill();
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertSmallTpcc(connection);
+                Map<String, List<String>> resumed = dump(connection);
+                interrupted.forEach((table, rows) -> assertTrue(resumed.get(table).containsAll(rows),
+                        table + " must keep the rows committed before the rejected resume"));
+            }
+        }
+    }
+
+    @Test
+    void completedCheckpointFillsNothing() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url())) {
+            runScript(connection, TPCC_SCRIPT);
+            new DatabaseFiller.Builder(connection, config(1)).checkpoint(CHECKPOINT).build().fill();
+            Map<String, List<String>> filled = dump(connection);
+
+            new DatabaseFiller.Builder(connection, config(1)).checkpoint(CHECKPOINT).build().fill();
+
+            assertEquals(filled, dump(connection), "a completed checkpoint must fill nothing more");
+        }
+    }
+
+    @Test
+    void checkpointWithAnotherRowCountIsRejected() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url())) {
+            runScript(connection, TPCC_SCRIPT);
+            new DatabaseFiller.Builder(connection, config(1)).checkpoint(CHECKPOINT).build().fill();
+
+            DatabaseConfiguration moreRows = new DatabaseConfiguration.Builder(8, 0, new H2Support())
+                    .tableConfigurations(TPCCConfiguration.build(TPCC_WAREHOUSES, TPCC_ITEMS * 2, TPCC_DISTRICTS, TPCC_CUSTOMERS,
+                            TPCC_MIN_LINES, TPCC_MAX_LINES, TPCC_NEW_ORDERS))
+                    .seed(42L)
+                    .commitStrategy(CommitStrategy.everyNBatches(2))
+                    .build();
+            DatabaseFiller resumed = new DatabaseFiller.Builder(connection, moreRows).checkpoint(CHECKPOINT).build();
+            assertThrows(IllegalStateException.class, resumed::fill);
+        }
+    }
+
+    private static DatabaseConfiguration config(int partitions) {
+        return new DatabaseConfiguration.Builder(8, 0, new H2Support())
+                .tableConfigurations(smallTpcc(partitions, TPCC_LARGE_TABLES))
+                .seed(42L)
+                .commitStrategy(CommitStrategy.everyNBatches(2))
+                .build();
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:checkpointed;DB_CLOSE_DELAY=-1";
+    }
+
+    private static HikariDataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setMaximumPoolSize(THREADS + 1);
+        return new HikariDataSource(config);
+    }
+}
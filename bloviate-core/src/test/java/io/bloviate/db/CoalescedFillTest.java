@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies parallel fills that coalesce small tables against H2: the rows match a fill that gives
+ * every table its own task, on the ordered, unordered bulk and work-stealing paths, while fewer
+ * connections are borrowed. The compared fills reuse one database name, since the catalog is part of
+ * every column's seed.
+ */
+class CoalescedFillTest extends BaseEmbeddedTest {
+
+    private static final int THREADS = 3;
+    private static final long COALESCE_ROWS = 250;
+
+    @Test
+    void orderedFillMatchesPerTableTasks() throws SQLException {
+        DatabaseConfiguration configuration = config(BulkLoadStrategy.ordered());
+
+        assertCoalescedFillMatches(configuration, false);
+    }
+
+    @Test
+    void bulkFillMatchesPerTableTasks() throws SQLException {
+        DatabaseConfiguration configuration = config(BulkLoadStrategy.unorderedBulk());
+
+        assertCoalescedFillMatches(configuration, false);
+    }
+
+    @Test
+    void workStealingFillMatchesPerTableTasks() throws SQLException {
+        DatabaseConfiguration configuration = config(BulkLoadStrategy.ordered());
+
+        assertCoalescedFillMatches(configuration, true);
+    }
+
+    @Test
+    void negativeThresholdIsRejected() {
+        DatabaseFiller.Builder builder = new DatabaseFiller.Builder(new CountingDataSource(null), config(BulkLoadStrategy.ordered()));
+
+        assertThrows(IllegalArgumentException.class, () -> builder.coalesceSmallTables(-1));
+    }
+
+    private void assertCoalescedFillMatches(DatabaseConfiguration configuration, boolean workStealing) throws SQLException {
+        AtomicInteger separateBorrows = new AtomicInteger();
+        AtomicInteger coalescedBorrows = new AtomicInteger();
+
+        Map<String, List<String>> separate = fillAndDump(configuration, workStealing, 0, separateBorrows);
+        Map<String, List<String>> coalesced = fillAndDump(configuration, workStealing, COALESCE_ROWS, coalescedBorrows);
+
+        assertEquals(separate, coalesced, "a fill coalescing small tables must match one giving every table its own task");
+        // every stolen range borrows a connection of its own, and how many are stolen depends on timing
+        if (!workStealing) {
+            assertTrue(coalescedBorrows.get() < separateBorrows.get(),
+                    "coalescing must borrow fewer connections, saw " + coalescedBorrows.get() + " against " + separateBorrows.get());
+        }
+    }
+
+    private static DatabaseConfiguration config(BulkLoadStrategy bulk) {
+        return new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(smallTpcc())
+                .seed(42L)
+                .bulkLoadStrategy(bulk)
+                .build();
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:coalesced;DB_CLOSE_DELAY=-1";
+    }
+
+    /** Fills a fresh database, counting the connections the fill borrows, dumps every table and shuts the database down. */
+    private Map<String, List<String>> fillAndDump(DatabaseConfiguration configuration, boolean workStealing, long coalesceRows,
+                                                  AtomicInteger borrows) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setMaximumPoolSize(THREADS + 1);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+
+            CountingDataSource counting = new CountingDataSource(dataSource);
+            new DatabaseFiller.Builder(counting, configuration)
+                    .threads(THREADS)
+                    .workStealing(workStealing)
+                    .coalesceSmallTables(coalesceRows)
+                    .build().fill();
+            borrows.set(counting.borrows.get());
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertSmallTpcc(connection);
+                return dump(connection);
+            }
+        } finally {
+            try (Connection connection = DriverManager.getConnection(url());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+        }
+    }
+
+    /** Counts the connections borrowed from {@code delegate}. */
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger borrows = new AtomicInteger();
+
+        private CountingDataSource(DataSource delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            borrows.incrementAndGet();
+            return delegate.getConnection();
+        }
+    }
+}
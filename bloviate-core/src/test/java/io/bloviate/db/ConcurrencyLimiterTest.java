@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link ConcurrencyLimiter}: the first window only sets the baseline, the limit climbs
+ * while the rows written per window keep up with the tasks running, holds while a few are queued, backs
+ * off once many are, never grows on a window that did not use it, and waits for rows before closing a
+ * window.
+ */
+class ConcurrencyLimiterTest {
+
+    /** The rows one task writes per window with the database unloaded. */
+    private static final long ROWS_PER_TASK = 1_000;
+
+    private long now;
+    private long rows;
+
+    @Test
+    void firstWindowOnlySetsTheBaseline() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, now);
+        assertEquals(ConcurrencyLimiter.INITIAL_LIMIT, limiter.limit());
+
+        window(limiter, 2, 2 * ROWS_PER_TASK);
+        assertEquals(ConcurrencyLimiter.INITIAL_LIMIT, limiter.limit(), "one window shows no headroom");
+
+        window(limiter, 2, 2 * ROWS_PER_TASK);
+        assertEquals(3, limiter.limit());
+    }
+
+    @Test
+    void growsUpToTheMaximumWhileThroughputKeepsUp() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, now);
+        for (int window = 0; window < 12; window++) {
+            window(limiter, limiter.limit(), limiter.limit() * ROWS_PER_TASK);
+        }
+        assertEquals(8, limiter.limit(), "never above the maximum");
+        assertEquals(8, limiter.peak());
+
+        assertEquals(1, new ConcurrencyLimiter(1, now).limit(), "never starts above the maximum");
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter(0, now));
+    }
+
+    @Test
+    void backsOffWhenThroughputFallsAndHoldsInBetween() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(64, now);
+        while (limiter.limit() < 20) {
+            window(limiter, limiter.limit(), limiter.limit() * ROWS_PER_TASK);
+        }
+
+        // 20 tasks writing what 10 did: 20 × (1 − 10/20) = 10 queued, above β = 6·log10(20) ≈ 7.8
+        window(limiter, 20, 10 * ROWS_PER_TASK);
+        assertEquals(19, limiter.limit());
+
+        // 19 tasks writing what 14 did: 19 × (1 − 14/19) = 5 queued, between α ≈ 3.8 and β ≈ 7.7
+        window(limiter, 19, 14 * ROWS_PER_TASK);
+        assertEquals(19, limiter.limit());
+        assertEquals(20, limiter.peak());
+    }
+
+    @Test
+    void neverGrowsOnAWindowWithFewerTasksThanTheLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(64, now);
+        while (limiter.limit() < 4) {
+            window(limiter, limiter.limit(), limiter.limit() * ROWS_PER_TASK);
+        }
+
+        // no queue, but only two tasks were ready to run
+        window(limiter, 2, 2 * ROWS_PER_TASK);
+        assertEquals(4, limiter.limit());
+    }
+
+    @Test
+    void closesAWindowOnlyOnceItHasLastedAndRowsWereWritten() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, now);
+        limiter.running(2, now);
+
+        now += ConcurrencyLimiter.WINDOW_NANOS / 2;
+        assertEquals(ConcurrencyLimiter.WINDOW_NANOS / 2, limiter.nanosToSample(now));
+        assertFalse(limiter.sample(ROWS_PER_TASK, now), "too early");
+
+        now += ConcurrencyLimiter.WINDOW_NANOS;
+        assertEquals(0, limiter.nanosToSample(now));
+        assertFalse(limiter.sample(0, now), "no rows written yet");
+        assertTrue(limiter.sample(ROWS_PER_TASK, now));
+        assertEquals(ConcurrencyLimiter.WINDOW_NANOS, limiter.nanosToSample(now), "the next window opens");
+    }
+
+    /** Runs {@code tasks} tasks for one window in which they write {@code written} rows, and samples it. */
+    private void window(ConcurrencyLimiter limiter, int tasks, long written) {
+        limiter.running(tasks, now);
+        now += ConcurrencyLimiter.WINDOW_NANOS;
+        rows += written;
+        assertTrue(limiter.sample(rows, now));
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies parallel fills under connection affinity against H2: with more partitions than workers,
+ * each {@code INSERT} is prepared at most once per worker, and the rows match a fill that borrows a
+ * connection per task — on the ordered and the unordered bulk paths. The compared fills reuse one
+ * database name, since the catalog is part of every column's seed.
+ */
+class ConnectionAffinityFillTest extends BaseEmbeddedTest {
+
+    private static final int THREADS = 3;
+    private static final int PARTITIONS = 8;
+
+    @Test
+    void orderedFillMatchesPerTaskConnections() throws SQLException {
+        DatabaseConfiguration configuration = config(BulkLoadStrategy.ordered(), IngestStrategy.batchInsert());
+
+        assertEquals(fillAndDump(configuration, false), fillAndDump(configuration, true),
+                "a fill under connection affinity must match one borrowing a connection per task");
+    }
+
+    @Test
+    void bulkFillMatchesPerTaskConnections() throws SQLException {
+        DatabaseConfiguration configuration = config(BulkLoadStrategy.unorderedBulk(), IngestStrategy.multiRowInsert());
+
+        assertEquals(fillAndDump(configuration, false), fillAndDump(configuration, true),
+                "an unordered bulk fill under connection affinity must match one borrowing a connection per task");
+    }
+
+    private static DatabaseConfiguration config(BulkLoadStrategy bulk, IngestStrategy ingest) {
+        return new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(smallTpcc(PARTITIONS, TPCC_LARGE_TABLES))
+                .seed(42L)
+                .bulkLoadStrategy(bulk)
+                .ingestStrategy(ingest)
+                .build();
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:connection_affinity;DB_CLOSE_DELAY=-1";
+    }
+
+    /** Fills a fresh database, checks how often each INSERT was prepared, dumps every table and shuts the database down. */
+    private Map<String, List<String>> fillAndDump(DatabaseConfiguration configuration, boolean affinity) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setMaximumPoolSize(THREADS + 1);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+
+            PrepareCountingDataSource counting = new PrepareCountingDataSource(dataSource);
+            new DatabaseFiller.Builder(counting, configuration).threads(THREADS).connectionAffinity(affinity).build().fill();
+            assertFalse(counting.inserts.isEmpty(), "the fill must prepare INSERTs");
+            if (affinity) {
+                counting.inserts.forEach((sql, prepares) -> assertTrue(prepares.get() <= THREADS,
+                        "each INSERT may be prepared at most once per worker, saw " + prepares.get() + " for " + sql));
+            }
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertSmallTpcc(connection);
+                return dump(connection);
+            }
+        } finally {
+            try (Connection connection = DriverManager.getConnection(url());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+        }
+    }
+
+    /** Counts, per statement text, the {@code INSERT}s prepared on connections borrowed from {@code delegate}. */
+    private static final class PrepareCountingDataSource extends DelegatingDataSource {
+
+        private final Map<String, AtomicInteger> inserts = new ConcurrentHashMap<>();
+
+        private PrepareCountingDataSource(DataSource delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = delegate.getConnection();
+            return intercept(connection, (method, args) -> {
+                if (method.getName().equals("prepareStatement") && ((String) args[0]).toLowerCase(Locale.ROOT).startsWith("insert")) {
+                    inserts.computeIfAbsent((String) args[0], sql -> new AtomicInteger()).incrementAndGet();
+                }
+            });
+        }
+    }
+}
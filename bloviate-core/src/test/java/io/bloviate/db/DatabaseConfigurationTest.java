@@ -62,6 +62,7 @@ class DatabaseConfigurationTest {
         assertNull(built.generatorRegistry());
         assertEquals(CommitStrategy.connectionDefault(), built.commitStrategy());
         assertEquals(BulkLoadStrategy.ordered(), built.bulkLoadStrategy());
+        assertEquals(IngestStrategy.batchInsert(), built.ingestStrategy());
     }
 
     @Test
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import org.jgrapht.Graph;
+import org.jgrapht.graph.DefaultEdge;
+import org.junit.jupiter.api.Test;
+
+import java.sql.JDBCType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link DependencySchedule}: a table is released the moment its own parents have
+ * completed, independently of unrelated tables still filling, and runnable tables are prioritized by
+ * their remaining critical path.
+ */
+class DependencyScheduleTest {
+
+    private static Column id(String tableName) {
+        return new Column("id", tableName, null, null, JDBCType.INTEGER, 10, null, "int4", false, false, null, 1);
+    }
+
+    private static Table parentless(String name) {
+        Column id = id(name);
+        return new Table(name, new PrimaryKey(name, List.of(new KeyColumn(1, id))), List.of(id), List.of());
+    }
+
+    /** A table with one foreign key to each of {@code parents}. */
+    private static Table childOf(String name, Table... parents) {
+        Column id = id(name);
+        List<Column> columns = new ArrayList<>(List.of(id));
+        List<ForeignKey> foreignKeys = new ArrayList<>();
+        for (Table parent : parents) {
+            Column fk = new Column(parent.name() + "_id", name, null, null, JDBCType.INTEGER, 10, null, "int4", false, true, null, columns.size() + 1);
+            columns.add(fk);
+            foreignKeys.add(new ForeignKey(List.of(new KeyColumn(1, fk)), parent.primaryKey()));
+        }
+        return new Table(name, new PrimaryKey(name, List.of(new KeyColumn(1, id))), columns, foreignKeys);
+    }
+
+    private static DependencySchedule schedule(Table... tables) {
+        return schedule(Map.of(), tables);
+    }
+
+    /** A schedule where each table costs its entry in {@code costs}, or 1. */
+    private static DependencySchedule schedule(Map<String, Long> costs, Table... tables) {
+        Graph<Table, DefaultEdge> graph = DatabaseFiller.buildReversedDependencyGraph(new Database("test", "1", null, null, List.of(tables)));
+        return new DependencySchedule(graph, table -> costs.getOrDefault(table.name(), 1L));
+    }
+
+    private static List<String> names(List<Table> tables) {
+        return tables.stream().map(Table::name).toList();
+    }
+
+    @Test
+    void childIsReleasedWithoutWaitingForUnrelatedRoots() {
+        // "slow" and "fast" are both roots; "child" depends only on "fast"
+        Table slow = parentless("slow");
+        Table fast = parentless("fast");
+        Table child = childOf("child", fast);
+        DependencySchedule schedule = schedule(slow, fast, child);
+
+        assertEquals(List.of("slow", "fast"), names(schedule.roots()));
+        assertEquals(List.of("child"), names(schedule.complete(fast)), "child must run while slow is still filling");
+        assertEquals(List.of(), schedule.complete(child));
+        assertEquals(1, schedule.unfilled());
+        assertEquals(List.of(), schedule.complete(slow));
+        assertEquals(0, schedule.unfilled());
+    }
+
+    @Test
+    void tableWithSeveralParentsWaitsForAllOfThem() {
+        Table a = parentless("a");
+        Table b = parentless("b");
+        Table joined = childOf("joined", a, b);
+        DependencySchedule schedule = schedule(a, b, joined);
+
+        assertEquals(List.of(), schedule.complete(a));
+        assertEquals(List.of("joined"), names(schedule.complete(b)));
+    }
+
+    @Test
+    void cyclicTablesAreNeverReleased() {
+        Table root = parentless("root");
+        // "ping" and "pong" reference each other; "ping" also references "root"
+        Table ping = childOf("ping", root, parentless("pong"));
+        Table pong = childOf("pong", parentless("ping"));
+        DependencySchedule schedule = schedule(root, ping, pong);
+
+        assertEquals(List.of("root"), names(schedule.roots()));
+        assertEquals(List.of(), schedule.complete(root), "tables on a cycle cannot be ordered");
+        assertEquals(2, schedule.unfilled());
+    }
+
+    @Test
+    void criticalPathIncludesTheHeaviestDescendantChain() {
+        // head (10) -> middle (100) -> tail (100), and a lone heavy table (150)
+        Table head = parentless("head");
+        Table middle = childOf("middle", head);
+        Table tail = childOf("tail", middle);
+        Table light = childOf("light", head);
+        Table lone = parentless("lone");
+        DependencySchedule schedule = schedule(Map.of("head", 10L, "middle", 100L, "tail", 100L, "light", 5L, "lone", 150L),
+                lone, head, middle, tail, light);
+
+        assertEquals(210, schedule.criticalPath(head));
+        assertEquals(200, schedule.criticalPath(middle));
+        assertEquals(150, schedule.criticalPath(lone));
+        assertEquals(List.of("head", "lone"), names(schedule.roots().stream().sorted(schedule.priority()).toList()),
+                "the head of the heavy chain must start before the heavier lone table");
+    }
+
+    @Test
+    void equalCriticalPathsKeepVertexOrder() {
+        Table a = parentless("a");
+        Table b = parentless("b");
+        Table c = parentless("c");
+        DependencySchedule schedule = schedule(c, a, b);
+
+        assertEquals(List.of("c", "a", "b"), names(schedule.roots().stream().sorted(schedule.priority()).toList()));
+    }
+
+    @Test
+    void rangeGatedChildIsReleasedWhenItsParentStarts() {
+        // orders -> lines is range-gated; lines also references items, which gates the whole table
+        Table orders = parentless("orders");
+        Table items = parentless("items");
+        Table lines = childOf("lines", orders, items);
+        Graph<Table, DefaultEdge> graph = DatabaseFiller.buildReversedDependencyGraph(new Database("test", "1", null, null, List.of(orders, items, lines)));
+        DependencySchedule schedule = new DependencySchedule(graph, table -> 1L,
+                (parent, child) -> parent.equals(orders) && child.equals(lines));
+
+        assertEquals(List.of(), schedule.start(items), "a table-level edge is not satisfied by a start");
+        assertEquals(List.of(), schedule.complete(items));
+        assertEquals(List.of("lines"), names(schedule.start(orders)), "lines must run as soon as orders has started");
+        assertEquals(List.of(), schedule.complete(orders), "a range-gated edge must not be counted twice");
+    }
+}
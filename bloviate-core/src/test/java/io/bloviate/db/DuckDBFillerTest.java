@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.DuckDBSupport;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.HashSet;
+
+class DuckDBFillerTest extends BaseEmbeddedTest {
+
+    // a private in-memory database for the connection's lifetime
+    private static final String URL = "jdbc:duckdb:";
+
+    @Test
+    void fillTestTables() throws SQLException {
+        DatabaseConfiguration configuration = new DatabaseConfiguration(128, 5, new DuckDBSupport(), new HashSet<>());
+        fillDatabase(URL, "create_tables.duckdb.sql", configuration, connection -> {
+            assertRowCount(connection, "standard_table", 5);
+            assertRowCount(connection, "unsigned_table", 5);
+            assertRowCount(connection, "special_table", 5);
+            assertRowCount(connection, "fallback_table", 5);
+            assertRowCount(connection, "child_table", 5);
+        });
+    }
+}
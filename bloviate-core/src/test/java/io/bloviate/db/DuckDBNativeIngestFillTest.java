@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.DuckDBSupport;
+import io.bloviate.util.DatabaseUtils;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies {@link IngestStrategy#nativeIngest()} on DuckDB: rows written through the {@code Appender}
+ * must be identical to the rows the batched {@code INSERT} path stores for the same seed — across every
+ * column type in {@code create_tables.duckdb.sql} (with {@code fallback_table}, whose types the
+ * appender cannot write, inserted instead), and for a partitioned parallel fill that commits every N
+ * batches (one appender per commit unit per partition).
+ */
+class DuckDBNativeIngestFillTest extends BaseEmbeddedTest {
+
+    private static final String SCRIPT = "create_tables.duckdb.sql";
+
+    // child first, so deleting never strands a referencing row
+    private static final List<String> TABLES = List.of("child_table", "standard_table", "unsigned_table", "special_table", "fallback_table");
+
+    @Test
+    void nativeIngestMatchesInsertPathForEveryType() throws SQLException {
+        DatabaseConfiguration inserts = new DatabaseConfiguration.Builder(64, 250, new DuckDBSupport())
+                .seed(42L)
+                .build();
+        DatabaseConfiguration appends = new DatabaseConfiguration.Builder(64, 250, new DuckDBSupport())
+                .seed(42L)
+                .ingestStrategy(IngestStrategy.nativeIngest())
+                .build();
+
+        try (Connection connection = DriverManager.getConnection("jdbc:duckdb:")) {
+            runScript(connection, SCRIPT);
+
+            new DatabaseFiller.Builder(connection, inserts).build().fill();
+            Map<String, List<String>> expected = dumpAsText(connection);
+            deleteAll(connection);
+
+            new DatabaseFiller.Builder(connection, appends).build().fill();
+            Map<String, List<String>> actual = dumpAsText(connection);
+
+            for (String table : TABLES) {
+                assertEquals(250, actual.get(table).size(), "row count of [" + table + "]");
+                assertEquals(expected.get(table), actual.get(table), "table [" + table + "] must match the INSERT path");
+            }
+        }
+    }
+
+    @Test
+    void partitionedNativeIngestMatchesPartitionedInsert() throws SQLException {
+        Set<TableConfiguration> tables = Set.of(
+                new TableConfiguration("unsigned_table", 1000, 4),
+                new TableConfiguration("special_table", 1000, 4));
+
+        DatabaseConfiguration inserts = new DatabaseConfiguration.Builder(64, 300, new DuckDBSupport())
+                .tableConfigurations(tables)
+                .seed(7L)
+                .commitStrategy(CommitStrategy.everyNBatches(2))
+                .build();
+        DatabaseConfiguration appends = new DatabaseConfiguration.Builder(64, 300, new DuckDBSupport())
+                .tableConfigurations(tables)
+                .seed(7L)
+                .commitStrategy(CommitStrategy.everyNBatches(2))
+                .ingestStrategy(IngestStrategy.nativeIngest())
+                .build();
+
+        // a named in-memory database is shared by every connection the pool opens
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:duckdb:memory:partitioned_native_ingest");
+        config.setMaximumPoolSize(5);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            Map<String, List<String>> expected;
+
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, SCRIPT);
+            }
+
+            new DatabaseFiller.Builder(dataSource, inserts).threads(4).build().fill();
+            try (Connection connection = dataSource.getConnection()) {
+                expected = dumpAsText(connection);
+                deleteAll(connection);
+            }
+
+            new DatabaseFiller.Builder(dataSource, appends).threads(4).build().fill();
+            try (Connection connection = dataSource.getConnection()) {
+                assertRowCount(connection, "unsigned_table", 1000);
+                assertRowCount(connection, "special_table", 1000);
+
+                Map<String, List<String>> actual = dumpAsText(connection);
+                for (String table : TABLES) {
+                    assertEquals(expected.get(table), actual.get(table), "table [" + table + "] must match the INSERT path");
+                }
+            }
+        }
+    }
+
+    /** Dumps each table's columns as text, sorted, so the comparison is independent of physical row order. */
+    private static Map<String, List<String>> dumpAsText(Connection connection) throws SQLException {
+        Map<String, List<String>> dump = new LinkedHashMap<>();
+        try (Statement statement = connection.createStatement()) {
+            for (Table table : DatabaseUtils.getMetadata(connection).tables()) {
+                StringJoiner columns = new StringJoiner(",");
+                for (Column column : table.columns()) {
+                    columns.add("cast(" + column.name() + " as varchar)");
+                }
+                List<String> rows = new ArrayList<>();
+                try (ResultSet resultSet = statement.executeQuery("select " + columns + " from " + table.name())) {
+                    ResultSetMetaData metaData = resultSet.getMetaData();
+                    while (resultSet.next()) {
+                        StringJoiner row = new StringJoiner("|");
+                        for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                            row.add(String.valueOf(resultSet.getString(column)));
+                        }
+                        rows.add(row.toString());
+                    }
+                }
+                rows.sort(null);
+                dump.put(table.name(), rows);
+            }
+        }
+        return dump;
+    }
+
+    private static void deleteAll(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                statement.execute("delete from " + table);
+            }
+        }
+    }
+}
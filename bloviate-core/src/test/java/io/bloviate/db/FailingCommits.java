@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+/**
+ * Fails chosen commits on the connections it wraps, counting commits across all of them. A failed
+ * commit throws with the configured SQLState and leaves its transaction open. A connection exception
+ * (class {@code 08}) loses the connection instead: its transaction is rolled back, and every later
+ * call on it except closing it fails.
+ */
+final class FailingCommits {
+
+    private final IntPredicate failing;
+    private final String sqlState;
+    private final AtomicInteger commits = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private FailingCommits(IntPredicate failing, String sqlState) {
+        this.failing = failing;
+        this.sqlState = sqlState;
+    }
+
+    /** Fails every {@code n}th commit with {@code sqlState}. */
+    static FailingCommits every(int n, String sqlState) {
+        return new FailingCommits(commit -> commit % n == 0, sqlState);
+    }
+
+    /** Fails only the {@code n}th commit, with {@code sqlState}. */
+    static FailingCommits at(int n, String sqlState) {
+        return new FailingCommits(commit -> commit == n, sqlState);
+    }
+
+    /** Wraps {@code connection} so that its commits count, and fail, with every other wrapped connection's. */
+    Connection wrap(Connection connection) {
+        AtomicBoolean lost = new AtomicBoolean();
+        return DelegatingDataSource.intercept(connection, (method, args) -> {
+            if (lost.get() && !method.getName().equals("close") && !method.getName().equals("abort")) {
+                throw new SQLException("connection has been lost", "08003");
+            }
+            if (method.getName().equals("commit") && failing.test(commits.incrementAndGet())) {
+                failures.incrementAndGet();
+                if (sqlState.startsWith("08")) {
+                    connection.rollback();
+                    lost.set(true);
+                }
+                throw new SQLException("commit failed", sqlState);
+            }
+        });
+    }
+
+    /** Lends {@code dataSource}'s connections {@linkplain #wrap(Connection) wrapped}. */
+    DataSource wrap(DataSource dataSource) {
+        return new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return wrap(delegate.getConnection());
+            }
+        };
+    }
+
+    /** The commits attempted so far, failed ones included. */
+    int commits() {
+        return commits.get();
+    }
+
+    /** The commits failed so far. */
+    int failures() {
+        return failures.get();
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies fill plans against H2: a plan survives a round trip through its file, deals every row of
+ * every table out exactly once, and a fill shared by several workers — each with its own filler and
+ * connection, as separate processes would have — matches one parallel fill with the same partitions.
+ * A re-run over the same barrier directory is refused, and a worker that never arrives times out.
+ * The compared fills reuse one database name, since the catalog is part of every column's seed.
+ */
+class FillPlanTest extends BaseEmbeddedTest {
+
+    private static final int WORKERS = 3;
+    private static final int PARTITIONS = 4;
+
+    @TempDir
+    Path directory;
+
+    @AfterEach
+    void shutdown() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void planSurvivesItsFile() throws SQLException, IOException {
+        FillPlan plan = exportPlan();
+        Path file = directory.resolve("plan.json");
+
+        plan.write(file);
+
+        assertEquals(plan, FillPlan.read(file), "a plan read back from its file must equal the one written");
+    }
+
+    @Test
+    void everyRowIsDealtOutOnce() throws SQLException {
+        FillPlan plan = exportPlan();
+
+        for (FillPlan.PlannedTable table : plan.tables()) {
+            List<FillPlan.Task> tasks = new ArrayList<>();
+            for (int worker = 0; worker < WORKERS; worker++) {
+                plan.tasksFor(worker, WORKERS).forEach(level -> level.stream()
+                        .filter(task -> task.table().equals(table.name()))
+                        .forEach(tasks::add));
+            }
+            tasks.sort((a, b) -> Long.compare(a.startRow(), b.startRow()));
+            long next = 0;
+            for (FillPlan.Task task : tasks) {
+                assertEquals(next, task.startRow(), "the tasks of [" + table.name() + "] must tile its rows");
+                next = task.endRow();
+            }
+            assertEquals(table.rowCount(), next, "the tasks of [" + table.name() + "] must cover every row");
+        }
+    }
+
+    @Test
+    void parentsArePlannedBeforeTheirChildren() throws SQLException {
+        FillPlan plan = exportPlan();
+
+        assertTrue(levelOf(plan, "WAREHOUSE") < levelOf(plan, "DISTRICT"), "a referenced table must sit in an earlier level");
+        assertTrue(levelOf(plan, "DISTRICT") < levelOf(plan, "CUSTOMER"), "a referenced table must sit in an earlier level");
+        assertTrue(levelOf(plan, "OPEN_ORDER") < levelOf(plan, "ORDER_LINE"), "a referenced table must sit in an earlier level");
+    }
+
+    @Test
+    void workersMatchParallelFill() throws Exception {
+        Map<String, List<String>> parallel = parallelFillAndDump();
+        FillPlan plan = exportPlan();
+        Path file = directory.resolve("plan.json");
+        plan.write(file);
+
+        Map<String, List<String>> shared = sharedFillAndDump(FillPlan.read(file));
+
+        assertEquals(parallel, shared, "workers sharing a plan must fill what one parallel fill does");
+    }
+
+    @Test
+    void workerWithAnotherSeedIsRejected() throws SQLException {
+        FillPlan plan = exportPlan();
+        DatabaseConfiguration otherSeed = new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(config().tableConfigurations())
+                .seed(7L)
+                .build();
+
+        try (Connection connection = DriverManager.getConnection(url())) {
+            DatabaseFiller worker = new DatabaseFiller.Builder(connection, otherSeed)
+                    .planWorker(plan, 0, 1, directory)
+                    .build();
+            assertThrows(IllegalStateException.class, worker::fill);
+        }
+    }
+
+    @Test
+    void rerunOfTheSamePlanIsRefused() throws SQLException {
+        FillPlan plan = exportPlan();
+        try (Connection connection = DriverManager.getConnection(url())) {
+            new DatabaseFiller.Builder(connection, config()).planWorker(plan, 0, 1, directory).build().fill();
+
+            DatabaseFiller rerun = new DatabaseFiller.Builder(connection, config()).planWorker(plan, 0, 1, directory).build();
+            SQLException refused = assertThrows(SQLException.class, rerun::fill);
+            assertTrue(refused.getMessage().contains(plan.id()), refused.getMessage());
+        }
+    }
+
+    @Test
+    void missingWorkerTimesOut() throws SQLException {
+        FillPlan plan = exportPlan();
+        try (Connection connection = DriverManager.getConnection(url())) {
+            DatabaseFiller worker = new DatabaseFiller.Builder(connection, config())
+                    .planWorker(plan, 0, 2, directory, Duration.ofMillis(200))
+                    .build();
+            SQLException timedOut = assertThrows(SQLException.class, worker::fill);
+            assertTrue(timedOut.getMessage().contains("worker(s) [1]"), timedOut.getMessage());
+        }
+    }
+
+    @Test
+    void workerIndexOutOfRangeIsRejected() throws SQLException {
+        FillPlan plan = exportPlan();
+        try (Connection connection = DriverManager.getConnection(url())) {
+            DatabaseFiller.Builder builder = new DatabaseFiller.Builder(connection, config());
+            assertThrows(IllegalArgumentException.class, () -> builder.planWorker(plan, WORKERS, WORKERS, directory));
+        }
+    }
+
+    private static int levelOf(FillPlan plan, String table) {
+        for (int level = 0; level < plan.levels().size(); level++) {
+            if (plan.levels().get(level).contains(table)) {
+                return level;
+            }
+        }
+        throw new AssertionError("table [" + table + "] is not planned");
+    }
+
+    private static DatabaseConfiguration config() {
+        return new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(smallTpcc(PARTITIONS, TPCC_LARGE_TABLES))
+                .seed(42L)
+                .build();
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:fill_plan;DB_CLOSE_DELAY=-1";
+    }
+
+    /** Creates the schema in a fresh database and exports the plan for {@link #WORKERS} workers, leaving the database open for them. */
+    private FillPlan exportPlan() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url())) {
+            runScript(connection, TPCC_SCRIPT);
+            return new DatabaseFiller.Builder(connection, config()).build().plan(WORKERS);
+        }
+    }
+
+    /** Fills the database created by {@link #exportPlan()} with one filler per worker, concurrently, dumps it and shuts it down. */
+    private Map<String, List<String>> sharedFillAndDump(FillPlan plan) throws Exception {
+        try (ExecutorService workers = Executors.newFixedThreadPool(WORKERS)) {
+            List<Future<Void>> fills = new ArrayList<>();
+            for (int worker = 0; worker < WORKERS; worker++) {
+                int index = worker;
+                fills.add(workers.submit(() -> {
+                    try (Connection connection = DriverManager.getConnection(url())) {
+                        new DatabaseFiller.Builder(connection, config())
+                                .planWorker(plan, index, WORKERS, directory.resolve("barrier"))
+                                .build().fill();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> fill : fills) {
+                fill.get();
+            }
+        }
+        try (Connection connection = DriverManager.getConnection(url())) {
+            assertSmallTpcc(connection);
+            return dump(connection);
+        } finally {
+            shutdown();
+        }
+    }
+
+    /** Fills a fresh database in parallel with the same partitions, dumps every table and shuts the database down. */
+    private Map<String, List<String>> parallelFillAndDump() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setMaximumPoolSize(WORKERS + 1);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+
+            new DatabaseFiller.Builder(dataSource, config()).threads(WORKERS).build().fill();
+
+            try (Connection connection = dataSource.getConnection()) {
+                return dump(connection);
+            }
+        } finally {
+            shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies the {@link BulkLoadStrategy#unorderedBulk()} path on H2: referential integrity is turned
+ * off for the whole database while the workers fill every TPC-C table at once, and turned back on
+ * when the last worker finishes. An unordered bulk fill must produce the same row content as an
+ * ordered fill of the same seed — unpartitioned, and partitioned with {@code CSVREAD} native ingest —
+ * and leave foreign keys enforced. Each fill runs against a fresh in-memory database; the compared
+ * fills reuse one database name, since the catalog is part of every column's seed.
+ */
+class H2BulkLoadFillTest extends BaseEmbeddedTest {
+
+    private static final int THREADS = 4;
+    private static final int PARTITIONS = 3;
+    private static final Set<String> PARTITIONED = Set.of("customer", "order_line");
+
+    @Test
+    void bulkFillMatchesOrderedFill() throws SQLException {
+        Set<TableConfiguration> tables = smallTpcc();
+
+        Map<String, List<String>> ordered = fillAndDump("tpcc", config(tables, BulkLoadStrategy.ordered(), IngestStrategy.batchInsert()));
+        Map<String, List<String>> bulk = fillAndDump("tpcc", config(tables, BulkLoadStrategy.unorderedBulk(), IngestStrategy.batchInsert()));
+
+        assertEquals(ordered, bulk, "unordered bulk fill must match the ordered fill");
+    }
+
+    @Test
+    void partitionedBulkIngestMatchesOrderedFill() throws SQLException {
+        Set<TableConfiguration> tables = withPartitions(smallTpcc());
+
+        Map<String, List<String>> ordered = fillAndDump("partitioned",
+                config(tables, BulkLoadStrategy.ordered(), IngestStrategy.batchInsert()));
+        Map<String, List<String>> bulk = fillAndDump("partitioned",
+                config(tables, BulkLoadStrategy.unorderedBulk(), IngestStrategy.nativeIngest()));
+
+        assertEquals(ordered, bulk, "partitioned bulk CSVREAD fill must match the ordered fill");
+    }
+
+    @Test
+    void singleConnectionBulkFill() throws SQLException {
+        Set<TableConfiguration> tables = smallTpcc();
+        fillDatabase(url("single"), TPCC_SCRIPT, config(tables, BulkLoadStrategy.unorderedBulk(), IngestStrategy.nativeIngest()), connection -> {
+            assertRowCount(connection, "customer", TPCC_TOTAL_CUSTOMERS);
+            assertSmallTpcc(connection);
+            assertReferentialIntegrityRestored(connection);
+        });
+    }
+
+    private static DatabaseConfiguration config(Set<TableConfiguration> tables, BulkLoadStrategy bulk, IngestStrategy ingest) {
+        return new DatabaseConfiguration.Builder(256, 0, new H2Support())
+                .tableConfigurations(tables)
+                .seed(42L)
+                .bulkLoadStrategy(bulk)
+                .ingestStrategy(ingest)
+                .build();
+    }
+
+    private static String url(String name) {
+        return "jdbc:h2:mem:bulk_" + name + ";DB_CLOSE_DELAY=-1";
+    }
+
+    /** Fills a fresh database in parallel, then checks it, dumps every table and shuts the database down. */
+    private static Map<String, List<String>> fillAndDump(String name, DatabaseConfiguration configuration) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url(name));
+        config.setMaximumPoolSize(THREADS + 1);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+
+            new DatabaseFiller.Builder(dataSource, configuration).threads(THREADS).build().fill();
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertRowCount(connection, "customer", TPCC_TOTAL_CUSTOMERS);
+                // no order_line row references a missing order
+                assertCount(connection, "select count(*) from order_line l left join open_order o "
+                        + "on l.ol_w_id = o.o_w_id and l.ol_d_id = o.o_d_id and l.ol_o_id = o.o_id "
+                        + "where o.o_id is null", 0);
+                assertReferentialIntegrityRestored(connection);
+                return dump(connection);
+            }
+        } finally {
+            try (Connection connection = DriverManager.getConnection(url(name));
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+        }
+    }
+
+    /** An orphan row must be rejected once the fill has turned referential integrity back on. */
+    private static void assertReferentialIntegrityRestored(Connection connection) {
+        assertThrows(SQLException.class, () -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("insert into new_order (no_w_id, no_d_id, no_o_id) values (-1, -1, -1)");
+            }
+        }, "foreign keys must be enforced after a bulk fill");
+    }
+
+    private static Set<TableConfiguration> withPartitions(Set<TableConfiguration> tables) {
+        Set<TableConfiguration> result = new HashSet<>();
+        for (TableConfiguration table : tables) {
+            if (PARTITIONED.contains(table.tableName().toLowerCase())) {
+                result.add(new TableConfiguration(table.tableName(), table.rowCount(), table.columnConfigurations(), PARTITIONS));
+            } else {
+                result.add(table);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.H2Support;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies {@link IngestStrategy#nativeIngest()} on H2: rows loaded through {@code CSVREAD} must be
+ * identical to the rows the batched {@code INSERT} path stores for the same seed, across every column
+ * type in {@code create_tables.h2.sql} ({@code standard_table}, whose binary columns cannot be read
+ * back from CSV, is inserted instead).
+ */
+class H2NativeIngestFillTest extends BaseEmbeddedTest {
+
+    private static final String TPCC_SCRIPT = "create_tables.h2.sql";
+
+    @Test
+    void nativeIngestMatchesInsertPathForEveryType() throws SQLException {
+        DatabaseConfiguration inserts = new DatabaseConfiguration.Builder(64, 250, new H2Support())
+                .seed(42L)
+                .commitStrategy(CommitStrategy.everyNBatches(2))
+                .build();
+        DatabaseConfiguration csv = new DatabaseConfiguration.Builder(64, 250, new H2Support())
+                .seed(42L)
+                .commitStrategy(CommitStrategy.everyNBatches(2))
+                .ingestStrategy(IngestStrategy.nativeIngest())
+                .build();
+
+        Map<String, List<String>> expected = fillAndDump(inserts);
+        Map<String, List<String>> actual = fillAndDump(csv);
+
+        for (String table : List.of("STANDARD_TABLE", "SPECIAL_TYPES")) {
+            assertEquals(250, actual.get(table).size(), "row count of [" + table + "]");
+            assertEquals(expected.get(table), actual.get(table), "table [" + table + "] must match the INSERT path");
+        }
+    }
+
+    /**
+     * Fills a fresh database and dumps it. The database is dropped when its only connection closes, so
+     * each fill reuses the name (and with it the catalog, which is part of every column's seed).
+     */
+    private static Map<String, List<String>> fillAndDump(DatabaseConfiguration configuration) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:native_ingest")) {
+            runScript(connection, TPCC_SCRIPT);
+            new DatabaseFiller.Builder(connection, configuration).build().fill();
+            return dump(connection, true);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.CockroachDBSupport;
+import io.bloviate.ext.DatabaseSupport;
+import io.bloviate.ext.DefaultSupport;
+import io.bloviate.ext.H2Support;
+import io.bloviate.ext.MySQLSupport;
+import io.bloviate.ext.PostgresSupport;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.JDBCType;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies {@link IngestPlanner}'s per-table choices under {@link IngestStrategy#auto()}, and that an
+ * automatically planned H2 fill stores the same rows as the batched {@code INSERT} path.
+ */
+class IngestPlannerTest extends BaseEmbeddedTest {
+
+    private static final Table PARENT = new Table("parent", null,
+            List.of(column("parent", "id", JDBCType.BIGINT, null), column("parent", "name", JDBCType.VARCHAR, 40)), List.of());
+
+    private static final Table CHILD = new Table("child", null,
+            List.of(column("child", "id", JDBCType.BIGINT, null), column("child", "parent_id", JDBCType.BIGINT, null)),
+            List.of(new ForeignKey(
+                    List.of(new KeyColumn(1, column("child", "parent_id", JDBCType.BIGINT, null))),
+                    new PrimaryKey("parent", List.of(new KeyColumn(1, column("parent", "id", JDBCType.BIGINT, null)))))));
+
+    private static final Database DATABASE = new Database("test", "1", null, null, List.of(PARENT, CHILD));
+
+    @Test
+    void smallTablesUseBatchedInserts() {
+        IngestPlanner.Plan plan = IngestPlanner.plan(config(new PostgresSupport(), 500), DATABASE, PARENT, 1);
+
+        assertEquals(IngestStrategy.batchInsert(), plan.ingestStrategy());
+        assertEquals(1, plan.partitions());
+        assertEquals(500, plan.batchSize(), "the batch never exceeds the table");
+    }
+
+    @Test
+    void largeTablesUseTheFastestSupportedPath() {
+        long rows = 100_000;
+
+        assertEquals(IngestStrategy.nativeIngest(), plan(new PostgresSupport(), rows).ingestStrategy());
+        assertEquals(IngestStrategy.nativeIngest(), plan(new MySQLSupport(), rows).ingestStrategy());
+        assertEquals(IngestStrategy.arrayUnnest(), plan(new CockroachDBSupport(), rows).ingestStrategy());
+        // no native path and no driver batch rewrite: pack rows into multi-row statements
+        assertEquals(IngestStrategy.multiRowInsert(), plan(new DefaultSupport(), rows).ingestStrategy());
+    }
+
+    @Test
+    void batchSizeFollowsRowWidth() {
+        Table narrow = new Table("narrow", null, List.of(column("narrow", "a", JDBCType.INTEGER, null)), List.of());
+        Table wide = new Table("wide", null, List.of(column("wide", "a", JDBCType.VARCHAR, 1_000),
+                column("wide", "b", JDBCType.VARCHAR, 1_000), column("wide", "c", JDBCType.CLOB, 4_000)), List.of());
+        Database database = new Database("test", "1", null, null, List.of(narrow, wide));
+        DatabaseConfiguration configuration = config(new PostgresSupport(), 10_000_000);
+
+        assertEquals(IngestPlanner.MAX_BATCH_SIZE, IngestPlanner.plan(configuration, database, narrow, 1).batchSize());
+        int wideBatch = IngestPlanner.plan(configuration, database, wide, 1).batchSize();
+        assertEquals(IngestPlanner.TARGET_BATCH_BYTES / IngestPlanner.estimateRowBytes(wide.filteredColumns()), wideBatch);
+        assertTrue(wideBatch < IngestPlanner.MAX_BATCH_SIZE, "wide rows must get smaller batches");
+    }
+
+    @Test
+    void onlyUnreferencedTablesArePartitionedAutomatically() {
+        DatabaseConfiguration configuration = config(new PostgresSupport(), 4_000_000);
+
+        assertEquals(4, IngestPlanner.plan(configuration, DATABASE, CHILD, 8).partitions());
+        assertEquals(2, IngestPlanner.plan(configuration, DATABASE, CHILD, 2).partitions(), "at most one partition per worker");
+        assertEquals(1, IngestPlanner.plan(configuration, DATABASE, PARENT, 8).partitions(), "a referenced table must not be split");
+        assertEquals(1, IngestPlanner.plan(configuration, DATABASE, CHILD, 1).partitions(), "the sequential path never partitions");
+    }
+
+    @Test
+    void configuredPartitionsWinOnTheParallelPath() {
+        DatabaseConfiguration configuration = new DatabaseConfiguration.Builder(100, 1_000, new PostgresSupport())
+                .tableConfigurations(Set.of(new TableConfiguration("parent", 1_000, 3)))
+                .ingestStrategy(IngestStrategy.auto())
+                .build();
+
+        assertEquals(3, IngestPlanner.plan(configuration, DATABASE, PARENT, 8).partitions());
+    }
+
+    @Test
+    void autoFillMatchesBatchInsertFill() throws SQLException {
+        // 12,000 rows: special_types goes through CSVREAD; standard_table, whose binary columns CSV
+        // cannot carry, through multi-row INSERTs
+        Map<String, List<String>> expected = fillAndDump(IngestStrategy.batchInsert());
+        Map<String, List<String>> actual = fillAndDump(IngestStrategy.auto());
+
+        for (String table : List.of("STANDARD_TABLE", "SPECIAL_TYPES")) {
+            assertEquals(12_000, actual.get(table).size(), "row count of [" + table + "]");
+            assertEquals(expected.get(table), actual.get(table), "table [" + table + "] must match the INSERT path");
+        }
+    }
+
+    private static IngestPlanner.Plan plan(DatabaseSupport support, long rows) {
+        return IngestPlanner.plan(config(support, rows), DATABASE, PARENT, 1);
+    }
+
+    private static DatabaseConfiguration config(DatabaseSupport support, long rows) {
+        return new DatabaseConfiguration.Builder(100, rows, support)
+                .ingestStrategy(IngestStrategy.auto())
+                .build();
+    }
+
+    /**
+     * Fills a fresh database and dumps it. The database is dropped when its only connection closes, so
+     * each fill reuses the name (and with it the catalog, which is part of every column's seed).
+     */
+    private static Map<String, List<String>> fillAndDump(IngestStrategy ingest) throws SQLException {
+        DatabaseConfiguration configuration = new DatabaseConfiguration.Builder(64, 12_000, new H2Support())
+                .seed(42L)
+                .commitStrategy(CommitStrategy.everyNBatches(2))
+                .ingestStrategy(ingest)
+                .build();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:ingest_planner")) {
+            runScript(connection, "create_tables.h2.sql");
+            new DatabaseFiller.Builder(connection, configuration).build().fill();
+            return dump(connection, true);
+        }
+    }
+
+    private static Column column(String table, String name, JDBCType jdbcType, Integer maxSize) {
+        return new Column(name, table, null, null, jdbcType, maxSize, null, jdbcType.getName(), false, true, null, 1);
+    }
+}
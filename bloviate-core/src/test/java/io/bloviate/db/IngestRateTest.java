@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IngestRateTest {
+
+    @Test
+    void constantRateIgnoresTheTimeOfDay() {
+        IngestRate rate = IngestRate.constant(250);
+        assertEquals(250, rate.rowsPerSecondAt(LocalTime.MIDNIGHT));
+        assertEquals(250, rate.rowsPerSecondAt(LocalTime.of(13, 37)));
+    }
+
+    @Test
+    void diurnalRatePeaksAndBottomsOutTwelveHoursApart() {
+        IngestRate rate = IngestRate.diurnal(100, 0.5, LocalTime.of(14, 0));
+        assertEquals(150, rate.rowsPerSecondAt(LocalTime.of(14, 0)), 1e-9);
+        assertEquals(50, rate.rowsPerSecondAt(LocalTime.of(2, 0)), 1e-9);
+        assertEquals(100, rate.rowsPerSecondAt(LocalTime.of(20, 0)), 1e-9);
+        assertEquals(100, rate.rowsPerSecondAt(LocalTime.of(8, 0)), 1e-9);
+    }
+
+    @Test
+    void rejectsInvalidRates() {
+        assertThrows(IllegalArgumentException.class, () -> IngestRate.constant(0));
+        assertThrows(IllegalArgumentException.class, () -> IngestRate.constant(-1));
+        assertThrows(IllegalArgumentException.class, () -> IngestRate.constant(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> IngestRate.constant(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> IngestRate.diurnal(100, 1, LocalTime.NOON));
+        assertThrows(IllegalArgumentException.class, () -> IngestRate.diurnal(100, -0.1, LocalTime.NOON));
+        assertThrows(IllegalArgumentException.class, () -> IngestRate.diurnal(100, 0.5, null));
+    }
+
+    @Test
+    void pacerHoldsGrantsToTheRate() throws InterruptedException {
+        RowPacer pacer = new RowPacer(IngestRate.constant(200));
+        long started = System.nanoTime();
+        long rows = 0;
+        while (rows < 100) {
+            long granted = pacer.acquire(16);
+            assertTrue(granted >= 1 && granted <= 16, "a grant must cover 1 to maxRows rows: " + granted);
+            rows += granted;
+        }
+        long millis = (System.nanoTime() - started) / 1_000_000;
+        // the bucket starts empty, so 100 rows at 200 rows/s take at least half a second
+        assertTrue(millis >= 450, "100 rows at 200 rows/s took only " + millis + " ms");
+    }
+}
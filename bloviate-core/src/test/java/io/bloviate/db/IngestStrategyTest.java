@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.CockroachDBSupport;
+import io.bloviate.ext.DefaultSupport;
+import io.bloviate.ext.DuckDBSupport;
+import io.bloviate.ext.H2Support;
+import io.bloviate.ext.MariaDBSupport;
+import io.bloviate.ext.MySQLSupport;
+import io.bloviate.ext.PostgresSupport;
+import io.bloviate.ext.SQLiteSupport;
+import org.junit.jupiter.api.Test;
+
+import java.sql.JDBCType;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IngestStrategyTest {
+
+    @Test
+    void factoriesProduceExpectedModes() {
+        assertEquals(IngestStrategy.Mode.BATCH_INSERT, IngestStrategy.batchInsert().mode());
+        assertEquals(IngestStrategy.Mode.NATIVE, IngestStrategy.nativeIngest().mode());
+        assertEquals(IngestStrategy.Mode.MULTI_ROW_INSERT, IngestStrategy.multiRowInsert().mode());
+        assertEquals(IngestStrategy.Mode.ARRAY_UNNEST, IngestStrategy.arrayUnnest().mode());
+        assertEquals(IngestStrategy.Mode.AUTO, IngestStrategy.auto().mode());
+    }
+
+    @Test
+    void onlyAutoIsAuto() {
+        assertTrue(IngestStrategy.auto().isAuto());
+        assertFalse(IngestStrategy.auto().isNative());
+        assertFalse(IngestStrategy.auto().isMultiRow());
+        assertFalse(IngestStrategy.auto().isArrayUnnest());
+        assertFalse(IngestStrategy.batchInsert().isAuto());
+    }
+
+    @Test
+    void onlyMultiRowIsMultiRow() {
+        assertTrue(IngestStrategy.multiRowInsert().isMultiRow());
+        assertFalse(IngestStrategy.multiRowInsert().isNative());
+        assertFalse(IngestStrategy.batchInsert().isMultiRow());
+        assertFalse(IngestStrategy.nativeIngest().isMultiRow());
+    }
+
+    @Test
+    void onlyArrayUnnestIsArrayUnnest() {
+        assertTrue(IngestStrategy.arrayUnnest().isArrayUnnest());
+        assertFalse(IngestStrategy.arrayUnnest().isNative());
+        assertFalse(IngestStrategy.arrayUnnest().isMultiRow());
+        assertFalse(IngestStrategy.batchInsert().isArrayUnnest());
+        assertFalse(IngestStrategy.multiRowInsert().isArrayUnnest());
+    }
+
+    @Test
+    void onlyPostgresFamilySupportsArrayUnnest() {
+        assertTrue(new PostgresSupport().supportsArrayUnnest());
+        // unlike native ingest, CockroachDB keeps PostgresSupport's unnest inserts
+        assertTrue(new CockroachDBSupport().supportsArrayUnnest());
+        assertFalse(new MySQLSupport().supportsArrayUnnest());
+        assertFalse(new H2Support().supportsArrayUnnest());
+        assertFalse(new DefaultSupport().supportsArrayUnnest());
+    }
+
+    @Test
+    void arrayColumnsRuleOutArrayUnnestForTheirTable() {
+        Table scalars = new Table("t", null, List.of(column("a", JDBCType.BIGINT, "int8"), column("b", JDBCType.VARCHAR, "text")), List.of());
+        Table arrays = new Table("t", null, List.of(column("a", JDBCType.BIGINT, "int8"), column("b", JDBCType.ARRAY, "_int4")), List.of());
+
+        assertTrue(new PostgresSupport().supportsArrayUnnest(scalars));
+        assertFalse(new PostgresSupport().supportsArrayUnnest(arrays));
+        assertFalse(new DefaultSupport().supportsArrayUnnest(scalars));
+    }
+
+    @Test
+    void bindParameterLimitsFollowTheDialect() {
+        assertEquals(2000, new DefaultSupport().maxBindParameters());
+        assertEquals(32767, new PostgresSupport().maxBindParameters());
+        assertEquals(32767, new CockroachDBSupport().maxBindParameters());
+        assertEquals(65535, new MySQLSupport().maxBindParameters());
+        assertEquals(32766, new SQLiteSupport().maxBindParameters());
+        assertEquals(100000, new H2Support().maxBindParameters());
+    }
+
+    @Test
+    void onlyNativeIsNative() {
+        assertFalse(IngestStrategy.batchInsert().isNative());
+        assertTrue(IngestStrategy.nativeIngest().isNative());
+    }
+
+    @Test
+    void nullModeIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new IngestStrategy(null));
+    }
+
+    @Test
+    void databaseConfigurationDefaultsToBatchInsertWhenUnset() {
+        DatabaseConfiguration configuration =
+                new DatabaseConfiguration(100, 10, new DefaultSupport(), Set.of());
+        assertEquals(IngestStrategy.batchInsert(), configuration.ingestStrategy());
+    }
+
+    @Test
+    void databaseConfigurationRetainsExplicitStrategy() {
+        DatabaseConfiguration configuration = new DatabaseConfiguration.Builder(100, 10, new PostgresSupport())
+                .ingestStrategy(IngestStrategy.nativeIngest())
+                .build();
+        assertTrue(configuration.ingestStrategy().isNative());
+    }
+
+    @Test
+    void onlyPostgresMySqlFamilyAndDuckDbSupportNativeIngest() {
+        assertTrue(new PostgresSupport().supportsNativeIngest());
+        assertTrue(new MySQLSupport().supportsNativeIngest());
+        assertTrue(new MariaDBSupport().supportsNativeIngest());
+        assertTrue(new DuckDBSupport().supportsNativeIngest());
+        // CockroachDB extends PostgresSupport but its COPY is limited; it must override back to false
+        assertFalse(new CockroachDBSupport().supportsNativeIngest());
+        assertFalse(new DefaultSupport().supportsNativeIngest());
+    }
+
+    @Test
+    void columnsTheAppenderCannotWriteRuleOutNativeIngestForTheirTable() {
+        Table scalars = new Table("t", null, List.of(column("a", JDBCType.BIGINT, "BIGINT"), column("b", JDBCType.DECIMAL, "DECIMAL(10,2)")), List.of());
+        Table intervals = new Table("t", null, List.of(column("a", JDBCType.BIGINT, "BIGINT"), column("b", JDBCType.OTHER, "INTERVAL")), List.of());
+        Table lists = new Table("t", null, List.of(column("a", JDBCType.OTHER, "INTEGER[]")), List.of());
+
+        assertTrue(new DuckDBSupport().supportsNativeIngest(scalars));
+        assertFalse(new DuckDBSupport().supportsNativeIngest(intervals));
+        assertFalse(new DuckDBSupport().supportsNativeIngest(lists));
+        // the per-table check defaults to the database-wide answer
+        assertTrue(new PostgresSupport().supportsNativeIngest(intervals));
+        assertFalse(new DefaultSupport().supportsNativeIngest(scalars));
+    }
+
+    @Test
+    void defaultSupportRejectsOpeningAWriter() {
+        assertThrows(UnsupportedOperationException.class,
+                () -> new DefaultSupport().openIngestWriter(null, null, 1));
+        assertThrows(UnsupportedOperationException.class,
+                () -> new DefaultSupport().openUnnestWriter(null, null, 1));
+    }
+
+    private static Column column(String name, JDBCType jdbcType, String typeName) {
+        return new Column(name, "t", null, null, jdbcType, null, null, typeName, false, true, null, 1);
+    }
+}
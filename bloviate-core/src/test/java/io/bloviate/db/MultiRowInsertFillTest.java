@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.DatabaseSupport;
+import io.bloviate.ext.H2Support;
+import io.bloviate.ext.SQLiteSupport;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies {@link IngestStrategy#multiRowInsert()} on the embedded databases: packing each batch into
+ * one multi-row {@code INSERT} must store exactly the rows the single-row batched path stores for the
+ * same seed — including the tail statement for a row count that is not a multiple of the batch size,
+ * and a bind-parameter limit small enough to split every batch across several statements.
+ */
+class MultiRowInsertFillTest extends BaseEmbeddedTest {
+
+    // one database name for both fills: the catalog participates in per-column seed derivation
+    private static final String H2_URL = "jdbc:h2:mem:multi_row";
+    private static final String SQLITE_URL = "jdbc:sqlite::memory:";
+    private static final String[] H2_TABLES = {"REGION", "NATION", "CUSTOMER", "ORDERS", "BRIDGE"};
+    private static final long ROWS = 200L;
+
+    @Test
+    void multiRowInsertMatchesSingleRowBatchesOnH2() throws SQLException {
+        // 200 rows in batches of 7: 28 full statements and a 4-row tail
+        String expected = fillH2(new H2Support(), IngestStrategy.batchInsert(), CommitStrategy.connectionDefault());
+        String actual = fillH2(new H2Support(), IngestStrategy.multiRowInsert(), CommitStrategy.connectionDefault());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void bindParameterLimitSplitsBatchesAcrossStatements() throws SQLException {
+        // a 23-parameter cap fits two 10-column customer rows per statement, well under the batch size
+        H2Support capped = new H2Support() {
+            @Override
+            public int maxBindParameters() {
+                return 23;
+            }
+        };
+
+        String expected = fillH2(new H2Support(), IngestStrategy.batchInsert(), CommitStrategy.everyNBatches(3));
+        String actual = fillH2(capped, IngestStrategy.multiRowInsert(), CommitStrategy.everyNBatches(3));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void multiRowInsertMatchesSingleRowBatchesOnSQLite() throws SQLException {
+        String expected = fillSQLite(IngestStrategy.batchInsert());
+        String actual = fillSQLite(IngestStrategy.multiRowInsert());
+
+        assertEquals(expected, actual);
+    }
+
+    private static String fillH2(DatabaseSupport support, IngestStrategy ingestStrategy, CommitStrategy commitStrategy) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(H2_URL)) {
+            runScript(connection, "golden/seed-golden-schema.sql");
+            try (Statement statement = connection.createStatement()) {
+                // the bridge table's column has two parents (see SeedGoldenDumpTest)
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            }
+
+            DatabaseConfiguration configuration = new DatabaseConfiguration.Builder(7, ROWS, support)
+                    .seed(42L)
+                    .commitStrategy(commitStrategy)
+                    .ingestStrategy(ingestStrategy)
+                    .build();
+            new DatabaseFiller.Builder(connection, configuration).build().fill();
+
+            StringBuilder dump = new StringBuilder();
+            for (String table : H2_TABLES) {
+                assertRowCount(connection, table, ROWS);
+                dump(connection, table, dump);
+            }
+            return dump.toString();
+        }
+    }
+
+    private static String fillSQLite(IngestStrategy ingestStrategy) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(SQLITE_URL)) {
+            runScript(connection, "create_tables.sqlite.sql");
+
+            DatabaseConfiguration configuration = new DatabaseConfiguration.Builder(16, ROWS, new SQLiteSupport())
+                    .seed(42L)
+                    .ingestStrategy(ingestStrategy)
+                    .build();
+            new DatabaseFiller.Builder(connection, configuration).build().fill();
+
+            assertRowCount(connection, "standard_table", ROWS);
+            StringBuilder dump = new StringBuilder();
+            dump(connection, "standard_table", dump);
+            return dump.toString();
+        }
+    }
+
+    private static void dump(Connection connection, String table, StringBuilder dump) throws SQLException {
+        dump.append("== ").append(table).append(" ==\n");
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select * from " + table + " order by 1")) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            while (resultSet.next()) {
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    Object value = resultSet.getObject(i);
+                    dump.append(value instanceof byte[] bytes ? HexFormat.of().formatHex(bytes) : String.valueOf(value)).append('|');
+                }
+                dump.append('\n');
+            }
+        }
+    }
+}
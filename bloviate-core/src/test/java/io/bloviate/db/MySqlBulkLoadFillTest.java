@@ -30,7 +30,6 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -51,7 +50,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  * seed. This is asserted both unpartitioned and partitioned over a canonical row dump (rows sorted by
  * every column, temporal columns excluded), i.e. row-content equality independent of physical insert
  * order rather than on-disk byte equality. The remaining cases cover the
- * fallback behaviors (unsupported support, privilege failure, and the single-connection path), each of
+ * fallback behaviors (unsupported support, privilege failure) and the single-connection path, each of
  * which must still produce a correct, fully-populated database.
  *
  * <p>All cases share one container for speed, truncating between fills.
@@ -114,7 +113,7 @@ class MySqlBulkLoadFillTest extends BaseDatabaseTestCase {
                 fill(dataSource, privilegeDenied);
                 assertCustomerCount(dataSource);
 
-                // 5) single-connection path ignores bulk with a warning and fills in dependency order
+                // 5) single-connection path runs its one session in bulk mode and fills in dependency order
                 truncate(dataSource, tableNames);
                 try (Connection connection = dataSource.getConnection()) {
                     new DatabaseFiller.Builder(connection, config(tables, BulkLoadStrategy.unorderedBulk())).build().fill();
@@ -263,14 +262,6 @@ class MySqlBulkLoadFillTest extends BaseDatabaseTestCase {
         return columns;
     }
 
-    private static boolean isTemporal(int sqlType) {
-        return sqlType == Types.DATE
-                || sqlType == Types.TIME
-                || sqlType == Types.TIME_WITH_TIMEZONE
-                || sqlType == Types.TIMESTAMP
-                || sqlType == Types.TIMESTAMP_WITH_TIMEZONE;
-    }
-
     private static void truncate(HikariDataSource dataSource, List<String> tables) throws SQLException {
         try (Connection connection = dataSource.getConnection()) {
             truncate(connection, tables);
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.MariaDBSupport;
+import io.bloviate.ext.MySQLSupport;
+import io.bloviate.gen.JsonbGenerator;
+import io.bloviate.gen.tpcc.TPCCConfiguration;
+import io.bloviate.util.DatabaseUtils;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.MariaDBContainer;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies {@link IngestStrategy#nativeIngest()} on MySQL and MariaDB: rows streamed through
+ * {@code LOAD DATA LOCAL INFILE} must be identical to the rows the batched {@code INSERT} path stores
+ * for the same seed — across every column type in the test schemas (including the binary and
+ * {@code BIT}/{@code BOOLEAN} columns loaded through user variables), on both drivers, and for a
+ * partitioned {@link BulkLoadStrategy#unorderedBulk()} TPC-C fill in which every partition streams its
+ * own {@code LOAD DATA}.
+ */
+class MySqlNativeIngestFillTest extends BaseDatabaseTestCase {
+
+    private static final int W = 2;
+    private static final int I = 200;
+    private static final int D = 10;
+    private static final int C = 30;
+    private static final int MIN_LINES = 5;
+    private static final int MAX_LINES = 15;
+    private static final int NEW_ORDERS = 10;
+
+    @Test
+    void nativeIngestMatchesInsertPathForEveryType() throws SQLException {
+        try (MySQLContainer<?> database = mysql("create_tables.mysql.sql");
+             HikariDataSource dataSource = (HikariDataSource) getDataSource(database);
+             Connection connection = dataSource.getConnection()) {
+            assertNativeMatchesInserts(connection, new MySQLSupport(), Set.of());
+        }
+    }
+
+    @Test
+    void mariaDbNativeIngestMatchesInsertPathForEveryType() throws SQLException {
+        // MariaDB's JSON is an alias for LONGTEXT with a json_valid CHECK, so it needs an override
+        Set<ColumnConfiguration> jsonColumns = Set.of(new ColumnConfiguration("a", random -> new JsonbGenerator.Builder(random).build()));
+        Set<TableConfiguration> tables = Set.of(new TableConfiguration("json_doc", 250, jsonColumns));
+
+        try (MariaDBContainer<?> database = new MariaDBContainer<>("mariadb:11.4")
+                .withDatabaseName("bloviate")
+                .withUrlParam("rewriteBatchedStatements", "true")
+                .withInitScript("create_tables.mariadb.sql")) {
+            database.start();
+
+            try (HikariDataSource dataSource = (HikariDataSource) getDataSource(database);
+                 Connection connection = dataSource.getConnection()) {
+                assertNativeMatchesInserts(connection, new MariaDBSupport(), tables);
+            }
+        }
+    }
+
+    @Test
+    void partitionedBulkNativeIngestMatchesPartitionedInsert() throws SQLException {
+        Set<TableConfiguration> tables = withPartitions(
+                TPCCConfiguration.build(W, I, D, C, MIN_LINES, MAX_LINES, NEW_ORDERS), 4, Set.of("stock", "customer", "order_line"));
+
+        DatabaseConfiguration inserts = new DatabaseConfiguration.Builder(64, 0, new MySQLSupport())
+                .tableConfigurations(tables)
+                .seed(7L)
+                .bulkLoadStrategy(BulkLoadStrategy.unorderedBulk())
+                .build();
+        DatabaseConfiguration loads = new DatabaseConfiguration.Builder(64, 0, new MySQLSupport())
+                .tableConfigurations(tables)
+                .seed(7L)
+                .bulkLoadStrategy(BulkLoadStrategy.unorderedBulk())
+                .ingestStrategy(IngestStrategy.nativeIngest())
+                .build();
+
+        try (MySQLContainer<?> database = mysql("create_tpcc.mysql.sql");
+             HikariDataSource dataSource = (HikariDataSource) getDataSource(database)) {
+
+            List<String> tableNames;
+            Map<String, List<String>> expected;
+
+            new DatabaseFiller.Builder(dataSource, inserts).threads(4).build().fill();
+            try (Connection connection = dataSource.getConnection()) {
+                tableNames = tableNames(connection);
+                expected = dump(connection, tableNames, false);
+                truncateAll(connection, tableNames);
+            }
+
+            new DatabaseFiller.Builder(dataSource, loads).threads(4).build().fill();
+            try (Connection connection = dataSource.getConnection()) {
+                assertRowCount(connection, "stock", (long) W * I);
+                assertRowCount(connection, "customer", (long) W * D * C);
+                assertTpccColumnFidelity(connection, C, MIN_LINES, MAX_LINES, NEW_ORDERS);
+
+                Map<String, List<String>> actual = dump(connection, tableNames, false);
+                for (String table : tableNames) {
+                    assertEquals(expected.get(table), actual.get(table), "table [" + table + "] must match the INSERT path");
+                }
+            }
+        }
+    }
+
+    /** Fills with INSERTs, then with LOAD DATA, and asserts both stored the same rows. */
+    private static void assertNativeMatchesInserts(Connection connection, MySQLSupport support, Set<TableConfiguration> tables) throws SQLException {
+        DatabaseConfiguration inserts = new DatabaseConfiguration.Builder(64, 250, support)
+                .tableConfigurations(tables)
+                .seed(42L)
+                .build();
+        DatabaseConfiguration loads = new DatabaseConfiguration.Builder(64, 250, support)
+                .tableConfigurations(tables)
+                .seed(42L)
+                .ingestStrategy(IngestStrategy.nativeIngest())
+                .build();
+
+        List<String> tableNames = tableNames(connection);
+
+        new DatabaseFiller.Builder(connection, inserts).build().fill();
+        Map<String, List<String>> expected = dump(connection, tableNames, true);
+        truncateAll(connection, tableNames);
+
+        new DatabaseFiller.Builder(connection, loads).build().fill();
+        Map<String, List<String>> actual = dump(connection, tableNames, true);
+
+        for (String table : tableNames) {
+            assertEquals(250, actual.get(table).size(), "row count of [" + table + "]");
+            assertEquals(expected.get(table), actual.get(table), "table [" + table + "] must match the INSERT path");
+        }
+    }
+
+    private static MySQLContainer<?> mysql(String initScript) {
+        MySQLContainer<?> container = new MySQLContainer<>("mysql:9.7")
+                .withConfigurationOverride("mysql-conf")
+                .withDatabaseName("bloviate")
+                .withUrlParam("rewriteBatchedStatements", "true")
+                .withUrlParam("allowLoadLocalInfile", "true")
+                .withInitScript(initScript);
+        container.start();
+        return container;
+    }
+
+    /** Returns a copy of the table set with {@code partitions} applied to the named tables. */
+    private static Set<TableConfiguration> withPartitions(Set<TableConfiguration> tables, int partitions, Set<String> names) {
+        Set<TableConfiguration> result = new HashSet<>();
+        for (TableConfiguration table : tables) {
+            if (names.contains(table.tableName().toLowerCase())) {
+                result.add(new TableConfiguration(table.tableName(), table.rowCount(), table.columnConfigurations(), partitions));
+            } else {
+                result.add(table);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> tableNames(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        for (Table table : DatabaseUtils.getMetadata(connection).tables()) {
+            names.add(table.name());
+        }
+        return names;
+    }
+
+    private static void truncateAll(Connection connection, List<String> tables) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET FOREIGN_KEY_CHECKS=0");
+            for (String table : tables) {
+                statement.execute("TRUNCATE TABLE " + table);
+            }
+            statement.execute("SET FOREIGN_KEY_CHECKS=1");
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.H2Support;
+import io.bloviate.gen.AbstractDataGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies pipelined fills on H2's sequential {@link Connection} path: with one producer the rows
+ * match an unpipelined fill under every {@link IngestStrategy}; with several producers the fill is
+ * reproducible and keeps every TPC-C key and foreign-key contract; and a producer failure fails the
+ * fill. The batch size is small so each table spans several pipeline segments.
+ */
+class PipelinedFillTest extends BaseEmbeddedTest {
+
+    private static final String URL = "jdbc:h2:mem:pipelined";
+
+    @Test
+    void singleProducerMatchesUnpipelinedFill() throws SQLException {
+        Map<String, List<String>> expected = fillAndDump(IngestStrategy.batchInsert(), 0);
+
+        for (IngestStrategy ingest : List.of(IngestStrategy.batchInsert(), IngestStrategy.multiRowInsert(), IngestStrategy.nativeIngest())) {
+            assertEquals(expected, fillAndDump(ingest, 1), "a single producer must match the unpipelined fill under " + ingest);
+        }
+    }
+
+    @Test
+    void multipleProducersAreReproducible() throws SQLException {
+        Map<String, List<String>> first = fillAndDump(IngestStrategy.batchInsert(), 3);
+        Map<String, List<String>> second = fillAndDump(IngestStrategy.batchInsert(), 3);
+
+        assertEquals(first, second, "a fill with several producers must be reproducible");
+    }
+
+    @Test
+    void producerFailureFailsTheFill() throws SQLException {
+        TableConfiguration table = new TableConfiguration("parent_table", 1_000,
+                Set.of(new ColumnConfiguration("amount", FailingGenerator::new)));
+        DatabaseConfiguration configuration = new DatabaseConfiguration.Builder(16, 1_000, new H2Support())
+                .tableConfigurations(Set.of(table))
+                .seed(42L)
+                .build();
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:pipelined_failure")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE parent_table (id INTEGER PRIMARY KEY, amount INTEGER)");
+            }
+
+            DatabaseFiller filler = new DatabaseFiller.Builder(connection, configuration).pipelineProducers(2).build();
+            SQLException failure = assertThrows(SQLException.class, filler::fill);
+            assertInstanceOf(IllegalStateException.class, failure.getCause(), "the producer's exception must be the cause");
+        }
+    }
+
+    private static DatabaseConfiguration config(IngestStrategy ingest) {
+        return new DatabaseConfiguration.Builder(8, 0, new H2Support())
+                .tableConfigurations(smallTpcc())
+                .seed(42L)
+                .commitStrategy(CommitStrategy.everyNBatches(4))
+                .ingestStrategy(ingest)
+                .build();
+    }
+
+    /**
+     * Fills a fresh database and dumps it. The database is dropped when its only connection closes, so
+     * each fill reuses the name (and with it the catalog, which is part of every column's seed).
+     */
+    private Map<String, List<String>> fillAndDump(IngestStrategy ingest, int producers) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL)) {
+            runScript(connection, TPCC_SCRIPT);
+            new DatabaseFiller.Builder(connection, config(ingest)).pipelineProducers(producers).build().fill();
+
+            assertSmallTpcc(connection);
+            return dump(connection);
+        }
+    }
+
+    /** Fails once it has produced a few hundred values, part way through a pipelined fill. */
+    private static final class FailingGenerator extends AbstractDataGenerator<Integer> {
+
+        private int calls;
+
+        private FailingGenerator(RandomGenerator random) {
+            super(random);
+        }
+
+        @Override
+        public Integer generate() {
+            if (++calls > 300) {
+                throw new IllegalStateException("generator failed");
+            }
+            return random.nextInt(1_000);
+        }
+
+        @Override
+        public void set(Connection connection, PreparedStatement statement, int parameterIndex, Integer value) throws SQLException {
+            statement.setInt(parameterIndex, value);
+        }
+
+        @Override
+        public Integer get(ResultSet resultSet, int columnIndex) throws SQLException {
+            return resultSet.getInt(columnIndex);
+        }
+    }
+}
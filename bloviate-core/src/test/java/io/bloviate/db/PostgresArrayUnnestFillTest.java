@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.CockroachDBSupport;
+import io.bloviate.ext.DatabaseSupport;
+import io.bloviate.ext.PostgresSupport;
+import io.bloviate.util.DatabaseUtils;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.CockroachContainer;
+import org.testcontainers.containers.JdbcDatabaseContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies {@link IngestStrategy#arrayUnnest()} on PostgreSQL and CockroachDB: batches inserted as one
+ * {@code select * from unnest(...)} over per-column arrays must store exactly the rows the batched
+ * {@code INSERT} path stores for the same seed — across every column type in the test schemas (tables
+ * with array columns fall back to batched {@code INSERT}s), with a final partial batch and commits
+ * every N batches.
+ */
+class PostgresArrayUnnestFillTest extends BaseDatabaseTestCase {
+
+    // not a multiple of the batch size, so every table ends with a partial batch
+    private static final int ROWS = 250;
+
+    @Test
+    void arrayUnnestMatchesInsertPathForEveryPostgresType() throws SQLException {
+        try (PostgreSQLContainer<?> database = new PostgreSQLContainer<>("postgres:18-alpine")
+                .withDatabaseName("bloviate")
+                .withUrlParam("reWriteBatchedInserts", "true")
+                .withUrlParam("stringtype", "unspecified")
+                .withInitScript("create_tables.postgres.sql")) {
+            database.start();
+            assertUnnestMatchesInserts(database, new PostgresSupport());
+        }
+    }
+
+    @Test
+    void arrayUnnestMatchesInsertPathForEveryCockroachType() throws SQLException {
+        try (CockroachContainer database = new CockroachContainer("cockroachdb/cockroach:latest")
+                .withInitScript("create_tables.cockroachdb.sql")
+                .withCommand("start-single-node --insecure --store=type=mem,size=.75")) {
+            database.start();
+            assertUnnestMatchesInserts(database, new CockroachDBSupport());
+        }
+    }
+
+    /** Fills with batched INSERTs, then with array-unnest INSERTs, and asserts both stored the same rows. */
+    private void assertUnnestMatchesInserts(JdbcDatabaseContainer<?> database, DatabaseSupport support) throws SQLException {
+        DatabaseConfiguration inserts = new DatabaseConfiguration.Builder(64, ROWS, support)
+                .seed(42L)
+                .commitStrategy(CommitStrategy.everyNBatches(2))
+                .build();
+        DatabaseConfiguration unnests = new DatabaseConfiguration.Builder(64, ROWS, support)
+                .seed(42L)
+                .commitStrategy(CommitStrategy.everyNBatches(2))
+                .ingestStrategy(IngestStrategy.arrayUnnest())
+                .build();
+
+        try (HikariDataSource dataSource = (HikariDataSource) getDataSource(database);
+             Connection connection = dataSource.getConnection()) {
+
+            List<String> tables = tableNames(connection);
+
+            new DatabaseFiller.Builder(connection, inserts).build().fill();
+            Map<String, List<String>> expected = dump(connection, tables, true);
+            truncateAll(connection, tables);
+
+            new DatabaseFiller.Builder(connection, unnests).build().fill();
+            Map<String, List<String>> actual = dump(connection, tables, true);
+
+            for (String table : tables) {
+                assertEquals(ROWS, actual.get(table).size(), "row count of [" + table + "]");
+                assertEquals(expected.get(table), actual.get(table), "table [" + table + "] must match the INSERT path");
+            }
+        }
+    }
+
+    private static List<String> tableNames(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        for (Table table : DatabaseUtils.getMetadata(connection).tables()) {
+            names.add(table.name());
+        }
+        return names;
+    }
+
+    private static void truncateAll(Connection connection, List<String> tables) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE " + String.join(", ", tables) + " CASCADE");
+        }
+    }
+}
@@ -28,7 +28,6 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -226,14 +225,6 @@ class PostgresBulkLoadFillTest extends BaseDatabaseTestCase {
         return columns;
     }
 
-    private static boolean isTemporal(int sqlType) {
-        return sqlType == Types.DATE
-                || sqlType == Types.TIME
-                || sqlType == Types.TIME_WITH_TIMEZONE
-                || sqlType == Types.TIMESTAMP
-                || sqlType == Types.TIMESTAMP_WITH_TIMEZONE;
-    }
-
     private static void truncate(HikariDataSource dataSource, List<String> tables) throws SQLException {
         if (tables.isEmpty()) {
             return;
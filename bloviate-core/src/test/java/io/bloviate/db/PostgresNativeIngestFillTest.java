@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.PostgresSupport;
+import io.bloviate.gen.SequentialIntegerGenerator;
+import io.bloviate.gen.tpcc.TPCCConfiguration;
+import io.bloviate.util.DatabaseUtils;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies {@link IngestStrategy#nativeIngest()} on PostgreSQL: rows streamed through
+ * {@code COPY ... FROM STDIN} must be identical to the rows the batched {@code INSERT} path stores for
+ * the same seed — across every column type in {@code create_tables.postgres.sql} (binary format for the
+ * standard types, text format for tables with extension types), and for a partitioned parallel TPC-C
+ * fill that commits every N batches (one {@code COPY} per commit unit per partition). A value the
+ * encoder rejects partway through a {@code COPY} is skipped when the fill tolerates failed rows.
+ */
+class PostgresNativeIngestFillTest extends BaseDatabaseTestCase {
+
+    private static final int W = 2;
+    private static final int I = 200;
+    private static final int D = 10;
+    private static final int C = 30;
+    private static final int MIN_LINES = 5;
+    private static final int MAX_LINES = 15;
+    private static final int NEW_ORDERS = 10;
+
+    @Test
+    void nativeIngestMatchesInsertPathForEveryType() throws SQLException {
+        DatabaseConfiguration inserts = new DatabaseConfiguration.Builder(64, 250, new PostgresSupport())
+                .seed(42L)
+                .build();
+        DatabaseConfiguration copies = new DatabaseConfiguration.Builder(64, 250, new PostgresSupport())
+                .seed(42L)
+                .ingestStrategy(IngestStrategy.nativeIngest())
+                .build();
+
+        try (PostgreSQLContainer<?> database = container("create_tables.postgres.sql");
+             HikariDataSource dataSource = (HikariDataSource) getDataSource(database);
+             Connection connection = dataSource.getConnection()) {
+
+            List<String> tables = tableNames(connection);
+
+            new DatabaseFiller.Builder(connection, inserts).build().fill();
+            Map<String, List<String>> expected = dump(connection, tables, true);
+            truncateAll(connection, tables);
+
+            new DatabaseFiller.Builder(connection, copies).build().fill();
+            Map<String, List<String>> actual = dump(connection, tables, true);
+
+            for (String table : tables) {
+                assertEquals(250, actual.get(table).size(), "row count of [" + table + "]");
+                assertEquals(expected.get(table), actual.get(table), "table [" + table + "] must match the INSERT path");
+            }
+        }
+    }
+
+    @Test
+    void partitionedNativeIngestMatchesPartitionedInsert() throws SQLException {
+        Set<TableConfiguration> tables = withPartitions(
+                TPCCConfiguration.build(W, I, D, C, MIN_LINES, MAX_LINES, NEW_ORDERS), 4, Set.of("stock", "customer", "order_line"));
+
+        DatabaseConfiguration inserts = new DatabaseConfiguration.Builder(64, 0, new PostgresSupport())
+                .tableConfigurations(tables)
+                .seed(7L)
+                .commitStrategy(CommitStrategy.everyNBatches(2))
+                .build();
+        DatabaseConfiguration copies = new DatabaseConfiguration.Builder(64, 0, new PostgresSupport())
+                .tableConfigurations(tables)
+                .seed(7L)
+                .commitStrategy(CommitStrategy.everyNBatches(2))
+                .ingestStrategy(IngestStrategy.nativeIngest())
+                .build();
+
+        try (PostgreSQLContainer<?> database = container("create_tpcc.postgres.sql");
+             HikariDataSource dataSource = (HikariDataSource) getDataSource(database)) {
+
+            List<String> tableNames;
+            Map<String, List<String>> expected;
+
+            new DatabaseFiller.Builder(dataSource, inserts).threads(4).build().fill();
+            try (Connection connection = dataSource.getConnection()) {
+                tableNames = tableNames(connection);
+                expected = dump(connection, tableNames, false);
+                truncateAll(connection, tableNames);
+            }
+
+            new DatabaseFiller.Builder(dataSource, copies).threads(4).build().fill();
+            try (Connection connection = dataSource.getConnection()) {
+                assertRowCount(connection, "stock", (long) W * I);
+                assertRowCount(connection, "customer", (long) W * D * C);
+                assertTpccColumnFidelity(connection, C, MIN_LINES, MAX_LINES, NEW_ORDERS);
+
+                Map<String, List<String>> actual = dump(connection, tableNames, false);
+                for (String table : tableNames) {
+                    assertEquals(expected.get(table), actual.get(table), "table [" + table + "] must match the INSERT path");
+                }
+            }
+        }
+    }
+
+    @Test
+    void valueTheEncoderRejectsIsSkipped() throws SQLException {
+        // the cycle ends one past smallint's range, so the encoder rejects only row 250, with its COPY open
+        TableConfiguration ranged = new TableConfiguration("ranged", 500,
+                Set.of(new ColumnConfiguration("id", random -> new SequentialIntegerGenerator.Builder(random).start(1).build()),
+                        new ColumnConfiguration("small", random -> new SequentialIntegerGenerator.Builder(random)
+                                .start(Short.MAX_VALUE - 249).end(Short.MAX_VALUE + 1).build())));
+        DatabaseConfiguration copies = new DatabaseConfiguration.Builder(16, 0, new PostgresSupport())
+                .tableConfigurations(Set.of(ranged))
+                .seed(42L)
+                .ingestStrategy(IngestStrategy.nativeIngest())
+                .build();
+
+        try (PostgreSQLContainer<?> database = container("create_tables.postgres.sql");
+             HikariDataSource dataSource = (HikariDataSource) getDataSource(database);
+             Connection connection = dataSource.getConnection()) {
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("create table ranged (id integer primary key, small smallint not null)");
+            }
+            new DatabaseFiller.Builder(connection, copies).tolerateFailedRows(1).build().fill();
+
+            assertRowCount(connection, "ranged", 499);
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("select count(*) from ranged where id = 251")) {
+                resultSet.next();
+                assertEquals(0, resultSet.getInt(1), "only the rejected row may be skipped");
+            }
+        }
+    }
+
+    private static PostgreSQLContainer<?> container(String initScript) {
+        PostgreSQLContainer<?> container = new PostgreSQLContainer<>("postgres:18-alpine")
+                .withDatabaseName("bloviate")
+                .withUrlParam("reWriteBatchedInserts", "true")
+                .withUrlParam("stringtype", "unspecified")
+                .withInitScript(initScript);
+        container.start();
+        return container;
+    }
+
+    /** Returns a copy of the table set with {@code partitions} applied to the named tables. */
+    private static Set<TableConfiguration> withPartitions(Set<TableConfiguration> tables, int partitions, Set<String> names) {
+        Set<TableConfiguration> result = new HashSet<>();
+        for (TableConfiguration table : tables) {
+            if (names.contains(table.tableName().toLowerCase())) {
+                result.add(new TableConfiguration(table.tableName(), table.rowCount(), table.columnConfigurations(), partitions));
+            } else {
+                result.add(table);
+            }
+        }
+        return result;
+    }
+
+    private static List<String> tableNames(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        for (Table table : DatabaseUtils.getMetadata(connection).tables()) {
+            names.add(table.name());
+        }
+        return names;
+    }
+
+    private static void truncateAll(Connection connection, List<String> tables) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE " + String.join(", ", tables) + " CASCADE");
+        }
+    }
+}
@@ -28,7 +28,6 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.sql.Types;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -47,7 +46,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
  * physical insert order rather than on-disk byte equality.
  *
  * <p>A TPC-C schema is used deliberately: its foreign keys span several topological levels, so the
- * parallel walk genuinely fans out and barriers between levels, exercising the path that must stay
+ * parallel walk genuinely fans out and waits on parents, exercising the path that must stay
  * referentially valid and deterministic.
  */
 class PostgresParallelFillTest extends BaseDatabaseTestCase {
@@ -79,7 +78,7 @@ class PostgresParallelFillTest extends BaseDatabaseTestCase {
                     truncateAll(connection, tableNames);
                 }
 
-                // parallel fill from the pool, four workers per topological level
+                // parallel fill from the pool, four workers in dependency order
                 new DatabaseFiller.Builder(dataSource, configuration).threads(4).build().fill();
 
                 try (Connection connection = dataSource.getConnection()) {
@@ -159,14 +158,6 @@ class PostgresParallelFillTest extends BaseDatabaseTestCase {
         return columns;
     }
 
-    private static boolean isTemporal(int sqlType) {
-        return sqlType == Types.DATE
-                || sqlType == Types.TIME
-                || sqlType == Types.TIME_WITH_TIMEZONE
-                || sqlType == Types.TIMESTAMP
-                || sqlType == Types.TIMESTAMP_WITH_TIMEZONE;
-    }
-
     private static void truncateAll(Connection connection, List<String> tables) throws SQLException {
         if (tables.isEmpty()) {
             return;
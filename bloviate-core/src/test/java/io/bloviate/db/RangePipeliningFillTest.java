@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import io.bloviate.util.DatabaseUtils;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies range pipelining on H2's TPC-C schema: exactly the foreign keys whose child rows copy their
+ * parent's key positionally are found clustered, and a parallel fill that starts child partitions as
+ * their parent rows commit produces the same rows as one that waits for whole tables. The compared
+ * fills reuse one database name, since the catalog is part of every column's seed.
+ */
+class RangePipeliningFillTest extends BaseEmbeddedTest {
+
+    private static final int THREADS = 4;
+    private static final int PARTITIONS = 3;
+    private static final Set<String> PARTITIONED = Set.of("history", "open_order", "order_line");
+
+    @Test
+    void findsTheClusteredForeignKeys() throws SQLException {
+        DatabaseConfiguration configuration = config(withPartitions(smallTpcc()));
+
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:range_pipelining_keys")) {
+            runScript(connection, TPCC_SCRIPT);
+            Database database = DatabaseUtils.getMetadata(connection);
+
+            Set<String> clustered = new TreeSet<>();
+            for (Table table : database.tables()) {
+                for (ForeignKey foreignKey : table.foreignKeys()) {
+                    ClusteredForeignKey resolved = ClusteredForeignKey.resolve(configuration, database, table, foreignKey,
+                            t -> configuration.tableConfiguration(t.name()).rowCount());
+                    if (resolved != null) {
+                        clustered.add(table.name().toLowerCase() + "->" + resolved.parent().name().toLowerCase());
+                    }
+                }
+            }
+
+            // stock->item wraps, open_order->customer is permuted, and new_order covers only the latest orders
+            assertEquals(Set.of("customer->district", "district->warehouse", "history->customer", "history->district",
+                    "order_line->open_order", "stock->warehouse"), clustered);
+
+            Table orderLine = database.getTable("ORDER_LINE");
+            ClusteredForeignKey lines = ClusteredForeignKey.resolve(configuration, database, orderLine,
+                    orderLine.foreignKeys().stream().filter(key -> key.primaryKey().tableName().equalsIgnoreCase("open_order")).findFirst().orElseThrow(),
+                    t -> configuration.tableConfiguration(t.name()).rowCount());
+            long orders = TPCC_TOTAL_CUSTOMERS;
+            long orderLines = configuration.tableConfiguration("order_line").rowCount();
+            assertEquals(0, lines.parentRow(0));
+            assertEquals(orders - 1, lines.parentRow(orderLines - 1), "the last line must belong to the last order");
+        }
+    }
+
+    @Test
+    void pipelinedFillMatchesTableLevelFill() throws SQLException {
+        DatabaseConfiguration configuration = config(withPartitions(smallTpcc()));
+
+        Map<String, List<String>> tableLevel = fillAndDump(configuration, false);
+        Map<String, List<String>> pipelined = fillAndDump(configuration, true);
+
+        assertEquals(tableLevel, pipelined, "range pipelining must only change the fill order, never the rows");
+    }
+
+    private static DatabaseConfiguration config(Set<TableConfiguration> tables) {
+        return new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(tables)
+                .seed(42L)
+                .build();
+    }
+
+    private static Set<TableConfiguration> withPartitions(Set<TableConfiguration> tables) {
+        Set<TableConfiguration> result = new HashSet<>();
+        for (TableConfiguration table : tables) {
+            if (PARTITIONED.contains(table.tableName().toLowerCase())) {
+                result.add(new TableConfiguration(table.tableName(), table.rowCount(), table.columnConfigurations(), PARTITIONS));
+            } else {
+                result.add(table);
+            }
+        }
+        return result;
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:range_pipelining;DB_CLOSE_DELAY=-1";
+    }
+
+    /** Fills a fresh database in parallel, then checks it, dumps every table and shuts the database down. */
+    private Map<String, List<String>> fillAndDump(DatabaseConfiguration configuration, boolean rangePipelining) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setMaximumPoolSize(THREADS + 1);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+
+            new DatabaseFiller.Builder(dataSource, configuration).threads(THREADS).rangePipelining(rangePipelining).build().fill();
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertSmallTpcc(connection);
+                return dump(connection);
+            }
+        } finally {
+            try (Connection connection = DriverManager.getConnection(url());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies retried fills against H2: a fill on which every {@value #FAILING_EVERY}th commit fails
+ * with a serialization failure ends, under a {@link RetryPolicy}, with exactly the rows of an
+ * uninterrupted fill — sequentially, pipelined, in parallel with partitioned tables, and with work
+ * stealing and coalesced small tables — as does a parallel fill whose connections are lost on those
+ * commits, replayed on new ones; while a failure outside the policy's SQLStates, one that outlasts its
+ * attempts, or the loss of a connection the caller supplied, still fails the fill. The compared fills
+ * reuse one database name, since the catalog is part of every column's seed.
+ */
+class RetryFillTest extends BaseEmbeddedTest {
+
+    private static final int THREADS = 3;
+    private static final int PARTITIONS = 4;
+
+    /** Every this many commits one fails, so most tables retry at least once, some part way through. */
+    private static final int FAILING_EVERY = 7;
+
+    private static final RetryPolicy RETRY = new RetryPolicy(10, Duration.ZERO, Duration.ZERO, RetryPolicy.TRANSIENT_SQL_STATES,
+            RetryPolicy.CONNECTION_SQL_STATES);
+
+    private static final String SERIALIZATION_FAILURE = "40001";
+    private static final String CONNECTION_FAILURE = "08006";
+
+    @AfterEach
+    void shutdown() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void retriedSequentialFillMatchesUninterruptedFill() throws SQLException {
+        for (int producers : new int[]{0, 1}) {
+            Map<String, List<String>> uninterrupted;
+            try (Connection connection = DriverManager.getConnection(url())) {
+                runScript(connection, TPCC_SCRIPT);
+                new DatabaseFiller.Builder(connection, config(1, RetryPolicy.none())).pipelineProducers(producers).build().fill();
+                uninterrupted = dump(connection);
+            }
+            shutdown();
+
+            try (Connection connection = DriverManager.getConnection(url())) {
+                runScript(connection, TPCC_SCRIPT);
+                FailingCommits failing = FailingCommits.every(FAILING_EVERY, SERIALIZATION_FAILURE);
+                new DatabaseFiller.Builder(failing.wrap(connection), config(1, RETRY)).pipelineProducers(producers).build().fill();
+
+                assertSmallTpcc(connection);
+                assertEquals(uninterrupted, dump(connection), "a retried fill must end with the rows of an uninterrupted fill");
+                assertTrue(failing.failures() > 0, "the fill must have been retried");
+            }
+            shutdown();
+        }
+    }
+
+    @Test
+    void retriedParallelFillMatchesUninterruptedFill() throws SQLException {
+        assertRetriedParallelFillMatches(builder -> builder, SERIALIZATION_FAILURE);
+    }
+
+    @Test
+    void retriedWorkStealingFillMatchesUninterruptedFill() throws SQLException {
+        assertRetriedParallelFillMatches(builder -> builder.workStealing(true).coalesceSmallTables(1_000), SERIALIZATION_FAILURE);
+    }
+
+    @Test
+    void fillReplayedOnNewConnectionsMatchesUninterruptedFill() throws SQLException {
+        assertRetriedParallelFillMatches(builder -> builder, CONNECTION_FAILURE);
+    }
+
+    @Test
+    void fillReplayedOnNewWorkerConnectionsMatchesUninterruptedFill() throws SQLException {
+        assertRetriedParallelFillMatches(builder -> builder.connectionAffinity(true), CONNECTION_FAILURE);
+    }
+
+    @Test
+    void workStealingFillReplayedOnNewConnectionsMatchesUninterruptedFill() throws SQLException {
+        assertRetriedParallelFillMatches(builder -> builder.workStealing(true).coalesceSmallTables(1_000), CONNECTION_FAILURE);
+    }
+
+    @Test
+    void lostCallerConnectionFailsTheFill() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url())) {
+            runScript(connection, TPCC_SCRIPT);
+            FailingCommits failing = FailingCommits.every(FAILING_EVERY, CONNECTION_FAILURE);
+            DatabaseFiller filler = new DatabaseFiller.Builder(failing.wrap(connection), config(1, RETRY)).build();
+
+            SQLException failure = assertThrows(SQLException.class, filler::fill);
+            assertEquals(CONNECTION_FAILURE, failure.getSQLState());
+            assertEquals(FAILING_EVERY, failing.commits(), "a connection the caller supplied cannot be replaced");
+        }
+    }
+
+    @Test
+    void nonRetryableFailureFailsTheFill() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url())) {
+            runScript(connection, TPCC_SCRIPT);
+            FailingCommits failing = FailingCommits.every(FAILING_EVERY, "23505");
+            DatabaseFiller filler = new DatabaseFiller.Builder(failing.wrap(connection), config(1, RETRY)).build();
+
+            SQLException failure = assertThrows(SQLException.class, filler::fill);
+            assertEquals("23505", failure.getSQLState());
+            assertEquals(FAILING_EVERY, failing.commits(), "a failure outside the policy's SQLStates must not be retried");
+        }
+    }
+
+    @Test
+    void exhaustedAttemptsFailTheFill() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url())) {
+            runScript(connection, TPCC_SCRIPT);
+            FailingCommits failing = FailingCommits.every(1, SERIALIZATION_FAILURE);
+            DatabaseFiller filler = new DatabaseFiller.Builder(failing.wrap(connection), config(1, RETRY)).build();
+
+            SQLException failure = assertThrows(SQLException.class, filler::fill);
+            assertEquals(SERIALIZATION_FAILURE, failure.getSQLState());
+            assertEquals(RETRY.maxAttempts(), failing.commits(), "a fill must give up after the policy's attempts");
+        }
+    }
+
+    private void assertRetriedParallelFillMatches(UnaryOperator<DatabaseFiller.Builder> options, String sqlState) throws SQLException {
+        Map<String, List<String>> uninterrupted;
+        try (HikariDataSource dataSource = dataSource()) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+            options.apply(new DatabaseFiller.Builder(dataSource, config(PARTITIONS, RetryPolicy.none())).threads(THREADS)).build().fill();
+            try (Connection connection = dataSource.getConnection()) {
+                uninterrupted = dump(connection);
+            }
+        }
+        shutdown();
+
+        try (HikariDataSource dataSource = dataSource()) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+            FailingCommits failing = FailingCommits.every(FAILING_EVERY, sqlState);
+            options.apply(new DatabaseFiller.Builder(failing.wrap(dataSource), config(PARTITIONS, RETRY)).threads(THREADS)).build().fill();
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertSmallTpcc(connection);
+                assertEquals(uninterrupted, dump(connection), "a retried parallel fill must end with the rows of an uninterrupted fill");
+            }
+            assertTrue(failing.failures() > 0, "the fill must have been retried");
+        }
+    }
+
+    private static DatabaseConfiguration config(int partitions, RetryPolicy retryPolicy) {
+        return new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(smallTpcc(partitions, TPCC_LARGE_TABLES))
+                .seed(42L)
+                .commitStrategy(CommitStrategy.everyNBatches(4))
+                .retryPolicy(retryPolicy)
+                .build();
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:retried;DB_CLOSE_DELAY=-1";
+    }
+
+    private static HikariDataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setMaximumPoolSize(THREADS + 1);
+        return new HikariDataSource(config);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.DefaultSupport;
+import org.junit.jupiter.api.Test;
+
+import java.sql.BatchUpdateException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTest {
+
+    @Test
+    void factoriesProduceExpectedPolicies() {
+        assertEquals(1, RetryPolicy.none().maxAttempts());
+        assertFalse(RetryPolicy.none().retries());
+
+        RetryPolicy transientFailures = RetryPolicy.transientFailures();
+        assertTrue(transientFailures.retries());
+        assertEquals(RetryPolicy.TRANSIENT_SQL_STATES, transientFailures.sqlStates());
+        assertEquals(RetryPolicy.CONNECTION_SQL_STATES, transientFailures.connectionSqlStates());
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(0, Duration.ZERO, Duration.ZERO, Set.of(), Set.of()));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(2, Duration.ofMillis(-1), Duration.ZERO, Set.of(), Set.of()));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(2, Duration.ofSeconds(2), Duration.ofSeconds(1), Set.of(), Set.of()));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(2, null, Duration.ZERO, Set.of(), Set.of()));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(2, Duration.ZERO, Duration.ZERO, null, Set.of()));
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy(2, Duration.ZERO, Duration.ZERO, Set.of(), null));
+    }
+
+    @Test
+    void matchesListedStatesAndClassPrefixes() {
+        RetryPolicy policy = RetryPolicy.transientFailures();
+        assertTrue(policy.isRetryable(new SQLException("serialization failure", "40001")));
+        assertTrue(policy.isRetryable(new SQLException("deadlock", "40P01")));
+        assertFalse(policy.isRetryable(new SQLException("unique violation", "23505")));
+        assertFalse(policy.isRetryable(new SQLException("no state")));
+
+        RetryPolicy rollbacks = new RetryPolicy(3, Duration.ZERO, Duration.ZERO, Set.of("40"), Set.of());
+        assertTrue(rollbacks.isRetryable(new SQLException("integrity rollback", "40002")));
+        assertFalse(rollbacks.isRetryable(new SQLException("unique violation", "23505")));
+    }
+
+    @Test
+    void connectionFailuresMatchTheirOwnStates() {
+        RetryPolicy policy = RetryPolicy.transientFailures();
+        assertTrue(policy.isConnectionFailure(new SQLException("connection failure", "08006")));
+        assertTrue(policy.isConnectionFailure(new SQLException("fill failed", "XX000", new SQLException("connection closed", "08003"))));
+        assertFalse(policy.isConnectionFailure(new SQLException("serialization failure", "40001")));
+        assertFalse(policy.isRetryable(new SQLException("connection failure", "08006")), "a lost connection cannot be retried in place");
+        assertFalse(RetryPolicy.none().isConnectionFailure(new SQLException("connection failure", "08006")));
+
+        RetryPolicy linkFailures = new RetryPolicy(3, Duration.ZERO, Duration.ZERO, Set.of(), Set.of("08S01"));
+        assertTrue(linkFailures.isConnectionFailure(new SQLException("communications link failure", "08S01")));
+        assertFalse(linkFailures.isConnectionFailure(new SQLException("connection failure", "08006")));
+    }
+
+    @Test
+    void inspectsNextExceptionsAndCauses() {
+        RetryPolicy policy = RetryPolicy.transientFailures();
+
+        BatchUpdateException batch = new BatchUpdateException("batch failed", "XX000", new int[0]);
+        batch.setNextException(new SQLException("serialization failure", "40001"));
+        assertTrue(policy.isRetryable(batch), "the error behind a failed batch is its next exception");
+
+        SQLException wrapped = new SQLException("fill failed", "XX000", new SQLException("deadlock", "40P01"));
+        assertTrue(policy.isRetryable(wrapped), "a cause must be inspected");
+    }
+
+    @Test
+    void backoffGrowsWithinBounds() {
+        RetryPolicy policy = new RetryPolicy(10, Duration.ofMillis(100), Duration.ofMillis(1_000), Set.of(), Set.of());
+        for (int retry = 1; retry <= 40; retry++) {
+            long expected = Math.min(1_000, 100L << Math.min(retry - 1, 30));
+            long millis = policy.backoff(retry).toMillis();
+            assertTrue(millis >= expected / 2 && millis <= expected, "retry " + retry + " waited " + millis + " ms");
+        }
+        assertEquals(Duration.ZERO, RetryPolicy.none().backoff(1));
+    }
+
+    @Test
+    void databaseConfigurationDefaultsToNoRetries() {
+        DatabaseConfiguration configuration =
+                new DatabaseConfiguration(100, 10, new DefaultSupport(), Set.of());
+        assertEquals(RetryPolicy.none(), configuration.retryPolicy());
+    }
+}
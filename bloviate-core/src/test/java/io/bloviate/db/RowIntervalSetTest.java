@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link RowIntervalSet}: committed ranges merge with the ranges they touch or overlap,
+ * in any order, and coverage needs one interval spanning the whole query.
+ */
+class RowIntervalSetTest {
+
+    @Test
+    void adjacentRangesMergeInAnyOrder() {
+        RowIntervalSet rows = new RowIntervalSet();
+        rows.add(20, 30);
+        rows.add(0, 10);
+        assertEquals("{[0, 10), [20, 30)}", rows.toString());
+
+        rows.add(10, 20);
+        assertEquals("{[0, 30)}", rows.toString(), "filling the gap must collapse the set to one interval");
+    }
+
+    @Test
+    void overlappingRangesMerge() {
+        RowIntervalSet rows = new RowIntervalSet();
+        rows.add(10, 20);
+        rows.add(30, 40);
+        rows.add(50, 60);
+        rows.add(15, 55);
+
+        assertEquals("{[10, 60)}", rows.toString());
+    }
+
+    @Test
+    void coversOnlyWhatWasAdded() {
+        RowIntervalSet rows = new RowIntervalSet();
+        rows.add(0, 10);
+        rows.add(20, 30);
+
+        assertTrue(rows.covers(0, 10));
+        assertTrue(rows.covers(22, 25));
+        assertTrue(rows.covers(5, 5), "an empty range is always covered");
+        assertFalse(rows.covers(5, 25), "a gap must not be covered");
+        assertFalse(rows.covers(25, 31));
+        assertFalse(new RowIntervalSet().covers(0, 1));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link RowRange}: blocks are reserved on the fixed grid, a split only takes
+ * unreserved rows and cuts on a block boundary, and ranges too short to be worth splitting are left
+ * alone.
+ */
+class RowRangeTest {
+
+    @Test
+    void reservesBlocksOnTheGrid() {
+        RowRange range = new RowRange(0, 25, 10);
+
+        assertEquals(10, range.reserve());
+        assertEquals(20, range.reserve());
+        assertEquals(25, range.reserve(), "the last block ends at the range's end");
+        assertEquals(25, range.reserve(), "an exhausted range keeps returning its end");
+        assertEquals(0, range.unreserved());
+    }
+
+    @Test
+    void splitTakesTheUnreservedTailAtABlockBoundary() {
+        RowRange range = new RowRange(0, 100, 10);
+        assertEquals(10, range.reserve());
+
+        RowRange stolen = range.split(0);
+
+        assertNotNull(stolen);
+        assertEquals(60, stolen.start(), "half of the 90 unreserved rows, rounded up to the grid");
+        assertEquals(40, stolen.unreserved());
+        assertEquals(50, range.unreserved());
+
+        // the victim stops at the cut and the thief starts there: every row is filled exactly once
+        assertEquals(20, range.reserve());
+        assertEquals(30, range.reserve());
+        assertEquals(40, range.reserve());
+        assertEquals(50, range.reserve());
+        assertEquals(60, range.reserve());
+        assertEquals(60, range.reserve());
+        assertEquals(70, stolen.reserve());
+    }
+
+    @Test
+    void refusesSplitsBelowTheMinimum() {
+        RowRange range = new RowRange(0, 25, 10);
+        range.reserve();
+
+        assertNull(range.split(0), "15 unreserved rows cannot give each side a whole block");
+        assertNull(new RowRange(0, 1_000, 10).split(600), "each half must keep at least minRows");
+        assertNotNull(new RowRange(0, 1_000, 10).split(500));
+    }
+
+    @Test
+    void unmeasuredUntilTheFirstBlockIsDone() {
+        RowRange range = new RowRange(0, 100, 10);
+        assertEquals(0, range.rowsPerSecond());
+
+        range.reserve();
+        assertEquals(0, range.rowsPerSecond(), "the first block is still being filled");
+    }
+}
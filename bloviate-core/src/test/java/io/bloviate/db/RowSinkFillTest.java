@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.H2Support;
+import io.bloviate.ext.RowSink;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies that a {@link RowSink} resolved by {@link io.bloviate.ext.DatabaseSupport#openRowSink} replaces
+ * the engine's {@code INSERT} path: it receives exactly the rows the default sink inserts, it is
+ * flushed at every commit point and once at the end, and it is closed once per table.
+ */
+class RowSinkFillTest extends BaseEmbeddedTest {
+
+    // one database name for both fills: the catalog participates in per-column seed derivation
+    private static final String URL = "jdbc:h2:mem:row_sink";
+    private static final int ROWS = 100;
+
+    @Test
+    void customSinkReceivesTheRowsTheInsertSinkWrites() throws SQLException {
+        List<String> inserted;
+        try (Connection connection = DriverManager.getConnection(URL)) {
+            createTables(connection);
+            new DatabaseFiller.Builder(connection, config(new H2Support())).build().fill();
+            inserted = rows(connection, "parent_table");
+        }
+
+        RecordingSink sink = new RecordingSink();
+        H2Support support = new H2Support() {
+            @Override
+            public RowSink openRowSink(Connection connection, Table table, IngestStrategy ingestStrategy, int batchSize) {
+                return table.name().equalsIgnoreCase("parent_table") ? sink : null;
+            }
+        };
+
+        try (Connection connection = DriverManager.getConnection(URL)) {
+            createTables(connection);
+            new DatabaseFiller.Builder(connection, config(support)).build().fill();
+
+            assertRowCount(connection, "parent_table", 0);
+            // the table without a custom sink still goes through the engine's INSERT sink
+            assertRowCount(connection, "other_table", ROWS);
+        }
+
+        sink.rows.sort(null);
+        assertEquals(inserted, sink.rows, "the sink must receive the rows the INSERT path stores");
+        // 100 rows committed every 3 batches of 10: flushes at rows 30, 60 and 90, then the tail
+        assertEquals(4, sink.flushes);
+        assertEquals(1, sink.closes);
+    }
+
+    private static DatabaseConfiguration config(H2Support support) {
+        return new DatabaseConfiguration.Builder(10, ROWS, support)
+                .seed(42L)
+                .commitStrategy(CommitStrategy.everyNBatches(3))
+                .build();
+    }
+
+    private static void createTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE parent_table (id INTEGER PRIMARY KEY, name VARCHAR(20), amount INTEGER)");
+            statement.execute("CREATE TABLE other_table (id INTEGER PRIMARY KEY, name VARCHAR(20))");
+        }
+    }
+
+    private static List<String> rows(Connection connection, String table) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select id, name, amount from " + table)) {
+            while (resultSet.next()) {
+                rows.add(resultSet.getString(1) + "|" + resultSet.getString(2) + "|" + resultSet.getString(3));
+            }
+        }
+        rows.sort(null);
+        return rows;
+    }
+
+    /** Records every row as text and discards it. */
+    private static final class RecordingSink implements RowSink {
+
+        private final List<String> rows = new ArrayList<>();
+        private int flushes;
+        private int closes;
+
+        @Override
+        public void write(Object[] row) {
+            StringJoiner joiner = new StringJoiner("|");
+            for (Object value : row) {
+                joiner.add(String.valueOf(value));
+            }
+            rows.add(joiner.toString());
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+        }
+
+        @Override
+        public void close() {
+            closes++;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import io.bloviate.ext.BulkLoadHandle;
+import io.bloviate.ext.SQLiteSupport;
+import io.bloviate.util.DatabaseUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies the {@link BulkLoadStrategy#unorderedBulk()} session mode on SQLite: disabling switches the
+ * connection's {@code PRAGMA}s to their load-optimized values, enabling restores the values the
+ * connection had before, and a single-connection fill runs in that mode and leaves the connection as
+ * it found it. A database file is used so the journal mode (which an in-memory database cannot
+ * change) is exercised.
+ */
+class SQLiteBulkLoadFillTest extends BaseEmbeddedTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void disableAndRestorePragmas() throws SQLException {
+        SQLiteSupport support = new SQLiteSupport();
+        try (Connection connection = open()) {
+            Database database = DatabaseUtils.getMetadata(connection);
+
+            BulkLoadHandle handle = support.disableConstraints(connection, database);
+            assertEquals("memory", pragma(connection, "journal_mode"));
+            assertEquals("0", pragma(connection, "synchronous"));
+            assertEquals("-262144", pragma(connection, "cache_size"));
+            assertEquals("0", pragma(connection, "foreign_keys"));
+            assertEquals("wal", handle.settings().get("journal_mode"));
+
+            support.enableConstraints(connection, database, handle);
+            assertSessionRestored(connection);
+        }
+    }
+
+    @Test
+    void singleConnectionFillRunsInBulkMode() throws SQLException {
+        DatabaseConfiguration configuration = new DatabaseConfiguration.Builder(64, 200, new SQLiteSupport())
+                .seed(42L)
+                .bulkLoadStrategy(BulkLoadStrategy.unorderedBulk())
+                .build();
+
+        try (Connection connection = open()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE parent_table (id INTEGER PRIMARY KEY, name VARCHAR(20))");
+                statement.execute("CREATE TABLE child_table (id INTEGER PRIMARY KEY, "
+                        + "parent_id INTEGER REFERENCES parent_table (id), amount REAL)");
+            }
+
+            new DatabaseFiller.Builder(connection, configuration).build().fill();
+
+            assertRowCount(connection, "parent_table", 200);
+            assertRowCount(connection, "child_table", 200);
+            assertSessionRestored(connection);
+        }
+    }
+
+    private Connection open() throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("bulk.db"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode = WAL");
+            statement.execute("PRAGMA synchronous = FULL");
+            statement.execute("PRAGMA cache_size = -4000");
+            statement.execute("PRAGMA foreign_keys = ON");
+        }
+        return connection;
+    }
+
+    private static void assertSessionRestored(Connection connection) throws SQLException {
+        assertEquals("wal", pragma(connection, "journal_mode"));
+        assertEquals("2", pragma(connection, "synchronous"));
+        assertEquals("-4000", pragma(connection, "cache_size"));
+        assertEquals("1", pragma(connection, "foreign_keys"));
+    }
+
+    private static String pragma(Connection connection, String name) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("PRAGMA " + name)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
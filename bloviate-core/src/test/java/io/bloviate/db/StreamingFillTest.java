@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import io.bloviate.gen.SequentialIntegerGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies streaming fills against H2: a stream appends rows to a filled table at its rate for its
+ * duration, continuing the keys where the table's rows end; the streamed rows are those an append to
+ * the same count writes; {@link DatabaseFiller#stop()} ends streams running without a duration; and
+ * {@link DatabaseFiller.Builder#maxRowsPerSecond(double)} holds an ordinary fill to its cap. The
+ * compared fills reuse one database name, since the catalog is part of every column's seed.
+ */
+class StreamingFillTest extends BaseEmbeddedTest {
+
+    private static final int PARENTS = 100;
+    private static final int CHILDREN = 300;
+    private static final int RATE = 200;
+
+    @AfterEach
+    void shutdown() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void streamAppendsAtItsRateForItsDuration() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url())) {
+            createSchema(connection);
+            new DatabaseFiller.Builder(connection, config(CHILDREN)).build().fill();
+
+            Instant started = Instant.now();
+            new DatabaseFiller.Builder(connection, config(CHILDREN))
+                    .stream("child", IngestRate.constant(RATE))
+                    .streamFor(Duration.ofSeconds(1))
+                    .streamCommitInterval(Duration.ofMillis(100))
+                    .streamWallClockTimestamps(true)
+                    .build()
+                    .fill();
+
+            long streamed = count(connection, "select count(*) from child") - CHILDREN;
+            // the bucket starts empty and may run one tenth of a second of rows ahead
+            assertTrue(streamed > 0 && streamed <= RATE + RATE / 10, "streamed " + streamed + " rows in one second at " + RATE + " rows/s");
+            assertEquals(CHILDREN + streamed, count(connection, "select max(id) from child"), "streamed keys must continue where the rows end");
+            assertEquals(PARENTS, count(connection, "select count(*) from parent"), "only the streamed table may receive rows");
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("select min(created) from child where id > " + CHILDREN)) {
+                resultSet.next();
+                Timestamp earliest = resultSet.getTimestamp(1);
+                assertTrue(!earliest.toInstant().isBefore(started.minusSeconds(1)), "streamed rows must carry the wall-clock time: " + earliest);
+            }
+        }
+    }
+
+    @Test
+    void streamedRowsMatchAnAppend() throws SQLException {
+        List<String> streamed;
+        long streamedRows;
+        try (Connection connection = DriverManager.getConnection(url())) {
+            createSchema(connection);
+            new DatabaseFiller.Builder(connection, config(CHILDREN)).build().fill();
+            new DatabaseFiller.Builder(connection, config(CHILDREN))
+                    .stream("child", IngestRate.constant(1_000))
+                    .streamFor(Duration.ofMillis(300))
+                    .streamCommitInterval(Duration.ofMillis(50))
+                    .build()
+                    .fill();
+            streamed = rows(connection, "select * from child where id > " + CHILDREN + " order by id");
+            streamedRows = streamed.size();
+        }
+        shutdown();
+
+        try (Connection connection = DriverManager.getConnection(url())) {
+            createSchema(connection);
+            new DatabaseFiller.Builder(connection, config(CHILDREN)).build().fill();
+            new DatabaseFiller.Builder(connection, config(CHILDREN + streamedRows)).append(true).build().fill();
+
+            assertTrue(streamedRows > 0, "the stream must have written rows");
+            assertEquals(rows(connection, "select * from child where id > " + CHILDREN + " order by id"), streamed,
+                    "streamed rows must be those an append to the same row count writes");
+        }
+    }
+
+    @Test
+    void stopEndsStreamsWithoutADuration() throws Exception {
+        try (HikariDataSource dataSource = dataSource()) {
+            try (Connection connection = dataSource.getConnection()) {
+                createSchema(connection);
+            }
+            new DatabaseFiller.Builder(dataSource, config(CHILDREN)).build().fill();
+
+            DatabaseFiller filler = new DatabaseFiller.Builder(dataSource, config(CHILDREN))
+                    .stream("parent", IngestRate.constant(RATE))
+                    .stream("child", IngestRate.constant(RATE))
+                    .build();
+            CompletableFuture<Void> streaming = CompletableFuture.runAsync(() -> {
+                try {
+                    filler.fill();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(500);
+            filler.stop();
+            streaming.get(10, TimeUnit.SECONDS);
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertTrue(count(connection, "select count(*) from parent") > PARENTS, "the parent stream must have written rows");
+                assertTrue(count(connection, "select count(*) from child") > CHILDREN, "the child stream must have written rows");
+            }
+        }
+    }
+
+    @Test
+    void maxRowsPerSecondCapsAFill() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url())) {
+            createSchema(connection);
+            long started = System.nanoTime();
+            new DatabaseFiller.Builder(connection, config(CHILDREN)).maxRowsPerSecond(1_000).build().fill();
+            long millis = (System.nanoTime() - started) / 1_000_000;
+
+            assertRowCount(connection, "child", CHILDREN);
+            // 400 rows at 1,000 rows/s, from an empty bucket
+            assertTrue(millis >= 350, "400 rows at 1,000 rows/s took only " + millis + " ms");
+        }
+    }
+
+    @Test
+    void severalStreamsNeedADataSource() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url())) {
+            DatabaseFiller.Builder builder = new DatabaseFiller.Builder(connection, config(CHILDREN))
+                    .stream("parent", IngestRate.constant(RATE))
+                    .stream("child", IngestRate.constant(RATE));
+            assertThrows(IllegalStateException.class, builder::build);
+        }
+    }
+
+    /**
+     * Sequential keys on both tables, and a child foreign key cycling over the parent's row count, so
+     * streamed children reference existing parents.
+     */
+    private static DatabaseConfiguration config(long children) {
+        TableConfiguration parent = new TableConfiguration("parent", PARENTS,
+                Set.of(new ColumnConfiguration("id", random -> new SequentialIntegerGenerator.Builder(random).start(1).build())));
+        TableConfiguration child = new TableConfiguration("child", children,
+                Set.of(new ColumnConfiguration("id", random -> new SequentialIntegerGenerator.Builder(random).start(1).build()),
+                        new ColumnConfiguration("parent_id", random -> new SequentialIntegerGenerator.Builder(random).start(1).end(PARENTS).build())));
+        return new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(Set.of(parent, child))
+                .seed(42L)
+                .build();
+    }
+
+    private static void createSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE parent (id INTEGER PRIMARY KEY, amount INTEGER)");
+            statement.execute("CREATE TABLE child (id INTEGER PRIMARY KEY, parent_id INTEGER NOT NULL REFERENCES parent(id), "
+                    + "amount INTEGER, created TIMESTAMP)");
+        }
+    }
+
+    private static long count(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static List<String> rows(Connection connection, String sql) throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            ResultSetMetaData metaData = resultSet.getMetaData();
+            while (resultSet.next()) {
+                StringJoiner row = new StringJoiner("|");
+                for (int column = 1; column <= metaData.getColumnCount(); column++) {
+                    row.add(String.valueOf(resultSet.getString(column)));
+                }
+                rows.add(row.toString());
+            }
+        }
+        return rows;
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:streaming;DB_CLOSE_DELAY=-1";
+    }
+
+    private static HikariDataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setMaximumPoolSize(3);
+        return new HikariDataSource(config);
+    }
+}
@@ -22,6 +22,7 @@ import java.sql.JDBCType;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TableTest {
 
@@ -84,4 +85,31 @@ class TableTest {
 
         assertEquals("insert into orders (qty) values (?)", table.insertString(null));
     }
+
+    @Test
+    void multiRowInsertStringRepeatsThePlaceholderGroup() {
+        Table table = new Table("orders", null,
+                List.of(column("id", "public", true), column("qty", "public", false), column("sku", "public", false)), List.of());
+
+        assertEquals("insert into \"public\".\"orders\" (\"qty\",\"sku\") values (?,?),(?,?),(?,?)",
+                table.insertString("\"", 3));
+        assertEquals(table.insertString("\""), table.insertString("\"", 1));
+    }
+
+    @Test
+    void unnestInsertStringCastsOneArrayParameterPerColumn() {
+        Table table = new Table("orders", null,
+                List.of(column("id", "public", true), column("qty", "public", false), column("sku", "public", false)), List.of());
+
+        assertEquals("insert into \"public\".\"orders\" (\"qty\",\"sku\") select * from unnest(?::int4[],?::text[])",
+                table.unnestInsertString("\"", List.of("int4", "text")));
+        assertThrows(IllegalArgumentException.class, () -> table.unnestInsertString("\"", List.of("int4")));
+    }
+
+    @Test
+    void multiRowInsertStringRejectsNonPositiveRowCount() {
+        Table table = new Table("orders", null, List.of(column("id", null, false)), List.of());
+
+        assertThrows(IllegalArgumentException.class, () -> table.insertString(null, 0));
+    }
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import io.bloviate.gen.SequentialIntegerGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Verifies fills tolerating failed rows against H2, on a table whose unique {@code code} column wraps
+ * after {@value #UNIQUE_CODES} rows so the last rows collide with the first: the colliding rows are
+ * isolated and skipped while every other row is written, sequentially under each {@code INSERT}
+ * strategy and {@code CSVREAD} ingest, and in parallel with the table partitioned; a fill rejecting more rows than it tolerates
+ * fails, as does a fill that tolerates none.
+ */
+class TolerantFillTest extends BaseEmbeddedTest {
+
+    private static final int ROWS = 500;
+    private static final int UNIQUE_CODES = 450;
+
+    @Test
+    void failedRowsAreSkipped() throws SQLException {
+        for (IngestStrategy ingest : List.of(IngestStrategy.batchInsert(), IngestStrategy.multiRowInsert(), IngestStrategy.nativeIngest())) {
+            try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:tolerant")) {
+                createSchema(connection);
+                new DatabaseFiller.Builder(connection, config(ingest, 1)).tolerateFailedRows(ROWS).build().fill();
+
+                assertWritten(connection);
+                try (Statement statement = connection.createStatement();
+                     ResultSet resultSet = statement.executeQuery("select max(id) from coded")) {
+                    resultSet.next();
+                    assertEquals(UNIQUE_CODES, resultSet.getInt(1), "only the rows colliding with earlier rows may be skipped");
+                }
+            }
+        }
+    }
+
+    @Test
+    void failedRowsAreSkippedInParallel() throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl("jdbc:h2:mem:tolerant_parallel;DB_CLOSE_DELAY=-1");
+        config.setMaximumPoolSize(3);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection()) {
+                createSchema(connection);
+            }
+            new DatabaseFiller.Builder(dataSource, config(IngestStrategy.batchInsert(), 2)).threads(2).tolerateFailedRows(ROWS).build().fill();
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertWritten(connection);
+            }
+        }
+        try (Connection connection = DriverManager.getConnection(config.getJdbcUrl());
+             Statement statement = connection.createStatement()) {
+            statement.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void tooManyFailedRowsFailTheFill() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:tolerant_capped")) {
+            createSchema(connection);
+            DatabaseFiller filler = new DatabaseFiller.Builder(connection, config(IngestStrategy.batchInsert(), 1))
+                    .tolerateFailedRows(ROWS - UNIQUE_CODES - 1)
+                    .build();
+
+            assertThrows(SQLException.class, filler::fill);
+        }
+    }
+
+    @Test
+    void intolerantFillFailsOnTheFirstFailedRow() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:intolerant")) {
+            createSchema(connection);
+            DatabaseFiller filler = new DatabaseFiller.Builder(connection, config(IngestStrategy.batchInsert(), 1)).build();
+
+            assertThrows(SQLException.class, filler::fill);
+        }
+    }
+
+    @Test
+    void negativeToleranceIsRejected() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:tolerant_negative")) {
+            DatabaseFiller.Builder builder = new DatabaseFiller.Builder(connection, config(IngestStrategy.batchInsert(), 1));
+
+            assertThrows(IllegalArgumentException.class, () -> builder.tolerateFailedRows(-1));
+        }
+    }
+
+    private static DatabaseConfiguration config(IngestStrategy ingest, int partitions) {
+        TableConfiguration coded = new TableConfiguration("coded", ROWS,
+                Set.of(new ColumnConfiguration("id", random -> new SequentialIntegerGenerator.Builder(random).start(1).build()),
+                        new ColumnConfiguration("code", random -> new SequentialIntegerGenerator.Builder(random).start(1).end(UNIQUE_CODES).build())),
+                partitions);
+        return new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(Set.of(coded))
+                .ingestStrategy(ingest)
+                .seed(42L)
+                .build();
+    }
+
+    private static void createSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE coded (id INTEGER PRIMARY KEY, code INTEGER NOT NULL UNIQUE)");
+        }
+    }
+
+    /**
+     * One row of each colliding pair is written. Which one depends on the order the rows reach the
+     * table, so only a sequential fill is known to skip the later rows.
+     */
+    private static void assertWritten(Connection connection) throws SQLException {
+        assertRowCount(connection, "coded", UNIQUE_CODES);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select count(distinct code) from coded")) {
+            resultSet.next();
+            assertEquals(UNIQUE_CODES, resultSet.getInt(1), "only the colliding rows may be skipped");
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies parallel fills on virtual threads against H2: with far more partition tasks than the
+ * connection budget, no more than {@code threads} connections are ever held at once, and the rows
+ * match a fill on platform worker threads — on the ordered and the unordered bulk paths. The compared
+ * fills reuse one database name, since the catalog is part of every column's seed.
+ */
+class VirtualThreadFillTest extends BaseEmbeddedTest {
+
+    private static final int THREADS = 3;
+    private static final int PARTITIONS = 8;
+
+    @Test
+    void orderedFillMatchesPlatformThreads() throws SQLException {
+        DatabaseConfiguration configuration = config(BulkLoadStrategy.ordered());
+
+        assertEquals(fillAndDump(configuration, false), fillAndDump(configuration, true),
+                "a fill on virtual threads must match one on platform threads");
+    }
+
+    @Test
+    void bulkFillMatchesPlatformThreads() throws SQLException {
+        DatabaseConfiguration configuration = config(BulkLoadStrategy.unorderedBulk());
+
+        assertEquals(fillAndDump(configuration, false), fillAndDump(configuration, true),
+                "an unordered bulk fill on virtual threads must match one on platform threads");
+    }
+
+    private static DatabaseConfiguration config(BulkLoadStrategy bulk) {
+        return new DatabaseConfiguration.Builder(16, 0, new H2Support())
+                .tableConfigurations(smallTpcc(PARTITIONS, TPCC_LARGE_TABLES))
+                .seed(42L)
+                .bulkLoadStrategy(bulk)
+                .build();
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:virtual_threads;DB_CLOSE_DELAY=-1";
+    }
+
+    /** Fills a fresh database, checks the connection budget held, dumps every table and shuts the database down. */
+    private Map<String, List<String>> fillAndDump(DatabaseConfiguration configuration, boolean virtualThreads) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setMaximumPoolSize(THREADS + 1);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+
+            CountingDataSource counting = new CountingDataSource(dataSource);
+            new DatabaseFiller.Builder(counting, configuration).threads(THREADS).virtualThreads(virtualThreads).build().fill();
+            assertTrue(counting.peak.get() <= THREADS, "at most " + THREADS + " connections may be held at once, saw " + counting.peak.get());
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertSmallTpcc(connection);
+                return dump(connection);
+            }
+        } finally {
+            try (Connection connection = DriverManager.getConnection(url());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+        }
+    }
+
+    /** Tracks the most connections held from {@code delegate} at once. */
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger open = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        private CountingDataSource(DataSource delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = delegate.getConnection();
+            peak.accumulateAndGet(open.incrementAndGet(), Math::max);
+            AtomicInteger closed = new AtomicInteger();
+            return intercept(connection, (method, args) -> {
+                if (method.getName().equals("close") && closed.getAndIncrement() == 0) {
+                    open.decrementAndGet();
+                }
+            });
+        }
+    }
+}
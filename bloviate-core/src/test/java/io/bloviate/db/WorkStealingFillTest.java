@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.bloviate.ext.H2Support;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifies work-stealing parallel fills on H2: however many workers split the tables' row ranges, and
+ * whenever they do, the fill produces the same rows and keeps every TPC-C key and foreign-key
+ * contract — on the ordered path and on the unordered bulk path. The batch size is small so each table
+ * spans many blocks. The compared fills reuse one database name, since the catalog is part of every
+ * column's seed.
+ */
+class WorkStealingFillTest extends BaseEmbeddedTest {
+
+    @Test
+    void rowsDoNotDependOnWorkerCount() throws SQLException {
+        Map<String, List<String>> two = fillAndDump(config(BulkLoadStrategy.ordered()), 2);
+        Map<String, List<String>> four = fillAndDump(config(BulkLoadStrategy.ordered()), 4);
+
+        assertEquals(two, four, "a work-stealing fill must not depend on how its ranges were split");
+    }
+
+    @Test
+    void bulkFillMatchesOrderedFill() throws SQLException {
+        Map<String, List<String>> ordered = fillAndDump(config(BulkLoadStrategy.ordered()), 3);
+        Map<String, List<String>> bulk = fillAndDump(config(BulkLoadStrategy.unorderedBulk()), 3);
+
+        assertEquals(ordered, bulk, "an unordered bulk work-stealing fill must match the ordered one");
+    }
+
+    private static DatabaseConfiguration config(BulkLoadStrategy bulk) {
+        return new DatabaseConfiguration.Builder(8, 0, new H2Support())
+                .tableConfigurations(smallTpcc())
+                .seed(42L)
+                .bulkLoadStrategy(bulk)
+                .build();
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:work_stealing;DB_CLOSE_DELAY=-1";
+    }
+
+    /** Fills a fresh database with work stealing, then checks it, dumps every table and shuts the database down. */
+    private Map<String, List<String>> fillAndDump(DatabaseConfiguration configuration, int threads) throws SQLException {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url());
+        config.setMaximumPoolSize(threads + 1);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            try (Connection connection = dataSource.getConnection()) {
+                runScript(connection, TPCC_SCRIPT);
+            }
+
+            new DatabaseFiller.Builder(dataSource, configuration).threads(threads).workStealing(true).build().fill();
+
+            try (Connection connection = dataSource.getConnection()) {
+                assertSmallTpcc(connection);
+                return dump(connection);
+            }
+        } finally {
+            try (Connection connection = DriverManager.getConnection(url());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("SHUTDOWN");
+            }
+        }
+    }
+}
@@ -59,6 +59,11 @@ class DatabaseSupportSelectionTest {
         assertInstanceOf(SQLiteSupport.class, DatabaseSupport.forProduct("SQLite"));
     }
 
+    @Test
+    void selectsDuckDbByProductName() {
+        assertInstanceOf(DuckDBSupport.class, DatabaseSupport.forProduct("DuckDB"));
+    }
+
     @Test
     void matchingIsCaseInsensitive() {
         assertInstanceOf(MySQLSupport.class, DatabaseSupport.forProduct("mysql"));
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Table;
+import io.bloviate.util.DatabaseUtils;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DuckDBAppenderWriterTest {
+
+    @Test
+    void typeParametersAreIgnored() {
+        assertEquals(DuckDBAppenderWriter.Kind.DECIMAL, DuckDBAppenderWriter.kindOf("DECIMAL(10,2)"));
+        assertEquals(DuckDBAppenderWriter.Kind.VARCHAR, DuckDBAppenderWriter.kindOf("ENUM('a', 'b')"));
+        assertEquals(DuckDBAppenderWriter.Kind.TIMESTAMPTZ, DuckDBAppenderWriter.kindOf("TIMESTAMP WITH TIME ZONE"));
+    }
+
+    @Test
+    void typesTheAppenderCannotWriteAreUnsupported() {
+        assertEquals(DuckDBAppenderWriter.Kind.UNSUPPORTED, DuckDBAppenderWriter.kindOf("BIT"));
+        assertEquals(DuckDBAppenderWriter.Kind.UNSUPPORTED, DuckDBAppenderWriter.kindOf("INTERVAL"));
+        assertEquals(DuckDBAppenderWriter.Kind.UNSUPPORTED, DuckDBAppenderWriter.kindOf("TIME WITH TIME ZONE"));
+        assertEquals(DuckDBAppenderWriter.Kind.UNSUPPORTED, DuckDBAppenderWriter.kindOf("INTEGER[]"));
+        assertEquals(DuckDBAppenderWriter.Kind.UNSUPPORTED, DuckDBAppenderWriter.kindOf("STRUCT(a INTEGER)"));
+    }
+
+    @Test
+    void enumLabelsAreReadFromTheTypeName() {
+        assertEquals(List.of("happy", "sad", "it's complicated"), DuckDBSupport.enumLabels("ENUM('happy', 'sad', 'it''s complicated')"));
+    }
+
+    @Test
+    void flushedRowsJoinTheOpenTransaction() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:duckdb:")) {
+            Table table = createTable(connection, "create table t (a integer, b decimal(5, 2))");
+            connection.setAutoCommit(false);
+
+            try (DuckDBAppenderWriter writer = DuckDBAppenderWriter.open(connection, table)) {
+                writer.write(new Object[]{1, new BigDecimal("1.005")});
+                writer.flush();
+                connection.rollback();
+
+                writer.write(new Object[]{2, new BigDecimal("2.5")});
+                writer.flush();
+                connection.commit();
+            }
+
+            assertEquals("2|2.50", rows(connection));
+        }
+    }
+
+    @Test
+    void outOfRangeValuesAreRejected() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:duckdb:")) {
+            Table table = createTable(connection, "create table t (a utinyint)");
+
+            try (DuckDBAppenderWriter writer = DuckDBAppenderWriter.open(connection, table)) {
+                SQLException e = assertThrows(SQLException.class, () -> writer.write(new Object[]{256}));
+                assertEquals("22003", e.getSQLState());
+            }
+        }
+    }
+
+    private static Table createTable(Connection connection, String ddl) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(ddl);
+        }
+        return DatabaseUtils.getMetadata(connection).tables().getFirst();
+    }
+
+    private static String rows(Connection connection) throws SQLException {
+        StringBuilder rows = new StringBuilder();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select a, b::varchar from t order by a")) {
+            while (resultSet.next()) {
+                if (!rows.isEmpty()) {
+                    rows.append(',');
+                }
+                rows.append(resultSet.getInt(1)).append('|').append(resultSet.getString(2));
+            }
+        }
+        return rows.toString();
+    }
+}
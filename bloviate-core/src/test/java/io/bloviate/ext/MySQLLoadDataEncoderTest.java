@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Column;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MySQLLoadDataEncoderTest {
+
+    @Test
+    void textColumnsLoadDirectlyWithoutASetClause() {
+        MySQLLoadDataEncoder encoder = encoder(JDBCType.INTEGER, JDBCType.VARCHAR);
+
+        assertEquals("LOAD DATA LOCAL INFILE 'bloviate' INTO TABLE `t` CHARACTER SET utf8mb4 (`a`,`b`)",
+                encoder.loadStatement("`t`", List.of("`a`", "`b`")));
+    }
+
+    @Test
+    void binaryAndBitColumnsLoadThroughUserVariables() {
+        MySQLLoadDataEncoder encoder = encoder(JDBCType.INTEGER, JDBCType.VARBINARY, JDBCType.BIT);
+
+        assertEquals("LOAD DATA LOCAL INFILE 'bloviate' INTO TABLE t CHARACTER SET utf8mb4 (a,@v1,@v2)"
+                        + " SET b = UNHEX(@v1),c = CAST(@v2 AS UNSIGNED)",
+                encoder.loadStatement("t", List.of("a", "b", "c")));
+    }
+
+    @Test
+    void rowsAreTabSeparatedLinesWithEscapedNull() throws SQLException {
+        MySQLLoadDataEncoder encoder = encoder(JDBCType.INTEGER, JDBCType.VARCHAR, JDBCType.DECIMAL, JDBCType.BIT);
+
+        assertEquals("7\t\\N\t12345678901234567890.5\t1\n",
+                line(encoder, 7, null, new BigDecimal("1.23456789012345678905E+19"), true));
+    }
+
+    @Test
+    void specialCharactersAreBackslashEscaped() throws SQLException {
+        MySQLLoadDataEncoder encoder = encoder(JDBCType.VARCHAR);
+
+        assertEquals("a\\tb\\nc\\rd\\\\N\\0é\n", line(encoder, "a\tb\nc\rd\\N\0é"));
+        // the literal two-character string \N must not read back as NULL
+        assertEquals("\\\\N\n", line(encoder, "\\N"));
+    }
+
+    @Test
+    void binaryValuesAreHexEncoded() throws SQLException {
+        MySQLLoadDataEncoder encoder = encoder(JDBCType.BLOB, JDBCType.VARBINARY);
+
+        assertEquals("00FF7F\t0A\n", line(encoder, new Byte[]{0, -1, 127}, new byte[]{10}));
+    }
+
+    @Test
+    void timestampsRenderAsLocalWallClockTruncatedToMicros() {
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.of(2024, 2, 29, 23, 59, 58, 123_456_789));
+
+        assertEquals("2024-02-29 23:59:58.123456", MySQLLoadDataEncoder.text(timestamp));
+        assertEquals("2024-02-29", MySQLLoadDataEncoder.text(java.sql.Date.valueOf("2024-02-29")));
+    }
+
+    @Test
+    void unsupportedBinaryValueIsRejected() {
+        MySQLLoadDataEncoder encoder = encoder(JDBCType.VARBINARY);
+
+        assertThrows(SQLException.class, () -> line(encoder, 42));
+    }
+
+    private static String line(MySQLLoadDataEncoder encoder, Object... values) throws SQLException {
+        IngestBuffer out = new IngestBuffer(16);
+        encoder.row(values, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static MySQLLoadDataEncoder encoder(JDBCType... types) {
+        List<Column> columns = new ArrayList<>();
+        for (int i = 0; i < types.length; i++) {
+            columns.add(new Column(String.valueOf((char) ('a' + i)), "t", null, null, types[i], null, null, types[i].getName(), false, true, null, i + 1));
+        }
+        return MySQLLoadDataEncoder.forColumns(columns);
+    }
+}
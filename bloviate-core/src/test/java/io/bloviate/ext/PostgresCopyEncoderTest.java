@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import io.bloviate.db.Column;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.JDBCType;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostgresCopyEncoderTest {
+
+    @Test
+    void standardTypesUseTheBinaryFormat() {
+        PostgresCopyEncoder encoder = encoder("int4", "int8", "numeric", "varchar", "bool", "timestamptz", "uuid", "jsonb", "bytea");
+
+        assertTrue(encoder.binary());
+        assertEquals("copy \"t\" (\"a\") from stdin (format binary)", encoder.copyStatement("\"t\"", "\"a\""));
+    }
+
+    @Test
+    void anyTypeWithoutABinaryEncoderFallsBackToText() {
+        PostgresCopyEncoder encoder = encoder("int4", "inet");
+
+        assertFalse(encoder.binary());
+        assertEquals("copy t (a) from stdin (format text)", encoder.copyStatement("t", "a"));
+    }
+
+    @Test
+    void binaryStreamIsFramedBySignatureAndTrailer() throws SQLException {
+        PostgresCopyEncoder encoder = encoder("int4", "text");
+        IngestBuffer out = new IngestBuffer(16);
+
+        encoder.header(out);
+        encoder.row(new Object[]{7, null}, out);
+        encoder.trailer(out);
+
+        ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray());
+        byte[] signature = new byte[11];
+        bytes.get(signature);
+        assertArrayEquals("PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1), signature);
+        assertEquals(0, bytes.getInt());
+        assertEquals(0, bytes.getInt());
+        // one tuple: field count, int4 (length 4, value 7), then a null text field
+        assertEquals(2, bytes.getShort());
+        assertEquals(4, bytes.getInt());
+        assertEquals(7, bytes.getInt());
+        assertEquals(-1, bytes.getInt());
+        assertEquals(-1, bytes.getShort());
+        assertFalse(bytes.hasRemaining());
+    }
+
+    @Test
+    void numericIsEncodedInBase10000Groups() {
+        assertNumeric(new BigDecimal("12.5"), 2, 0, 0x0000, 1, 12, 5000);
+        assertNumeric(new BigDecimal("10000"), 1, 1, 0x0000, 0, 1);
+        assertNumeric(new BigDecimal("-0.0001"), 1, -1, 0x4000, 4, 1);
+        assertNumeric(new BigDecimal("0.00"), 0, 0, 0x0000, 2);
+        assertNumeric(new BigDecimal("123456789.0123"), 4, 2, 0x0000, 4, 1, 2345, 6789, 123);
+    }
+
+    @Test
+    void doublesIntoNumericRoundLikeTheServerCast() throws SQLException {
+        // float8_numeric prints with DBL_DIG (15) significant digits, so 0.1d stores as exactly 0.1
+        assertEquals("0.1", text("numeric", 0.1d));
+        assertEquals("0.333333333333333", text("numeric", 1d / 3));
+        assertEquals("100", text("numeric", 100d));
+    }
+
+    @Test
+    void integersAreRangeChecked() {
+        SQLException e = assertThrows(SQLException.class, () -> text("int2", 40_000));
+        assertEquals("22003", e.getSQLState());
+    }
+
+    @Test
+    void textFormatEscapesDelimitersAndNulls() throws SQLException {
+        PostgresCopyEncoder encoder = encoder("text", "text", "inet");
+        IngestBuffer out = new IngestBuffer(16);
+
+        encoder.row(new Object[]{"a\tb\\c\nd", null, "10.0.0.1"}, out);
+
+        assertEquals("a\\tb\\\\c\\nd\t\\N\t10.0.0.1\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void localTimestampIsMicrosecondsSinceThePostgresEpoch() throws SQLException {
+        PostgresCopyEncoder encoder = encoder("timestamp");
+        IngestBuffer out = new IngestBuffer(16);
+
+        encoder.row(new Object[]{Timestamp.valueOf(LocalDateTime.of(2000, 1, 1, 0, 0, 1, 500_000_000))}, out);
+
+        ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray());
+        assertEquals(1, bytes.getShort());
+        assertEquals(8, bytes.getInt());
+        assertEquals(1_500_000L, bytes.getLong());
+    }
+
+    @Test
+    void arraysRenderAsQuotedLiterals() {
+        assertEquals("{\"1\",NULL,\"3\"}", PostgresCopyEncoder.text(new Integer[]{1, null, 3}));
+        assertEquals("{\"a\\\"b\"}", PostgresCopyEncoder.text(new String[]{"a\"b"}));
+    }
+
+    @Test
+    void columnValuesRenderAsOneArrayLiteralOfTheColumnType() throws SQLException {
+        PostgresCopyEncoder encoder = encoder("int8", "text", "bytea");
+
+        assertEquals("{\"1\",NULL,\"3\"}", encoder.arrayLiteral(0, new Object[]{1L, null, 3L, 4L}, 3));
+        assertEquals("{\"a\\\"b\",\"c\\\\d\"}", encoder.arrayLiteral(1, new Object[]{"a\"b", "c\\d"}, 2));
+        assertEquals("{\"\\\\x00ff\"}", encoder.arrayLiteral(2, new Object[]{new Byte[]{0, -1}}, 1));
+        assertEquals("{}", encoder.arrayLiteral(0, new Object[4], 0));
+    }
+
+    private static void assertNumeric(BigDecimal value, int ndigits, int weight, int sign, int dscale, int... digits) {
+        IngestBuffer out = new IngestBuffer(16);
+        PostgresCopyEncoder.writeNumeric(value, out);
+
+        ByteBuffer bytes = ByteBuffer.wrap(out.toByteArray());
+        assertEquals(8 + 2 * ndigits, bytes.getInt(), "length of " + value);
+        assertEquals(ndigits, bytes.getShort(), "ndigits of " + value);
+        assertEquals(weight, bytes.getShort(), "weight of " + value);
+        assertEquals((short) sign, bytes.getShort(), "sign of " + value);
+        assertEquals(dscale, bytes.getShort(), "dscale of " + value);
+        for (int digit : digits) {
+            assertEquals(digit, bytes.getShort(), "digits of " + value);
+        }
+        assertFalse(bytes.hasRemaining());
+    }
+
+    /** Encodes one value in the text format (an {@code inet} companion column forces text). */
+    private static String text(String typeName, Object value) throws SQLException {
+        IngestBuffer out = new IngestBuffer(16);
+        encoder(typeName, "inet").row(new Object[]{value, null}, out);
+        String line = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        return line.substring(0, line.indexOf('\t'));
+    }
+
+    private static PostgresCopyEncoder encoder(String... typeNames) {
+        List<Column> columns = new ArrayList<>();
+        for (int i = 0; i < typeNames.length; i++) {
+            columns.add(new Column("c" + i, "t", null, null, JDBCType.OTHER, null, null, typeNames[i], false, true, null, i + 1));
+        }
+        return PostgresCopyEncoder.forColumns(columns);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2021 Tim Veil
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.bloviate.ext;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PostgresUnnestWriterTest {
+
+    @Test
+    void builtInTypeNamesAreCastAsReported() {
+        assertEquals("int8", PostgresUnnestWriter.elementType("int8"));
+        assertEquals("timestamptz", PostgresUnnestWriter.elementType("timestamptz"));
+        assertEquals("bpchar", PostgresUnnestWriter.elementType("bpchar"));
+    }
+
+    @Test
+    void pseudoTypesMapToTheirStorageType() {
+        assertEquals("int4", PostgresUnnestWriter.elementType("serial"));
+        assertEquals("int8", PostgresUnnestWriter.elementType("bigserial"));
+        assertEquals("int2", PostgresUnnestWriter.elementType("smallserial"));
+        // a bare bit in a cast is bit(1), which would reject longer strings
+        assertEquals("varbit", PostgresUnnestWriter.elementType("bit"));
+    }
+
+    @Test
+    void typeNamesThatNeedQuotingAreQuoted() {
+        assertEquals("\"Mood\"", PostgresUnnestWriter.elementType("Mood"));
+        assertEquals("\"app\".\"mood\"", PostgresUnnestWriter.elementType("\"app\".\"mood\""));
+    }
+}
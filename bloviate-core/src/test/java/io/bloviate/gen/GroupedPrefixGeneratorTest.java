@@ -21,8 +21,10 @@ import org.junit.jupiter.api.Test;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class GroupedPrefixGeneratorTest {
 
@@ -68,6 +70,19 @@ class GroupedPrefixGeneratorTest {
         }
     }
 
+    @Test
+    void seeksExactlyOnlyOverAPositionalDelegate() {
+        GroupedPrefixGenerator<Integer> overRandom = generator(10, 3, 7);
+        GroupedPrefixGenerator<Integer> overSequence = new GroupedPrefixGenerator.Builder<Integer>(new Random())
+                .groupSize(10)
+                .prefixSize(3)
+                .delegate(new SequentialIntegerGenerator.Builder(new Random()).start(1).build())
+                .build();
+
+        assertFalse(overRandom.seeksExactly(), "a plain random delegate is only reseeded by a seek");
+        assertTrue(overSequence.seeksExactly());
+    }
+
     @Test
     void rejectsInvalidPrefixSize() {
         assertThrows(IllegalArgumentException.class, () -> generator(5, 6, 1));
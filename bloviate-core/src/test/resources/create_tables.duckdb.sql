@@ -0,0 +1,61 @@
+-- Comprehensive DuckDB type coverage. Standard types map through the cross-database defaults; TINYINT
+-- is signed, the unsigned and DuckDB-specific types are handled by DuckDBSupport. fallback_table holds
+-- the types the Appender cannot write, so a native-ingest fill inserts it with batched INSERTs.
+
+CREATE TYPE mood AS ENUM ('happy', 'sad', 'it''s complicated');
+
+CREATE TABLE standard_table
+(
+    id UUID PRIMARY KEY,
+    a  TINYINT,
+    b  SMALLINT,
+    c  INTEGER,
+    d  BIGINT,
+    e  DECIMAL(10, 2),
+    f  REAL,
+    g  DOUBLE,
+    h  VARCHAR(50),
+    i  VARCHAR,
+    j  BOOLEAN,
+    k  DATE,
+    l  TIME,
+    m  TIMESTAMP,
+    n  TIMESTAMP WITH TIME ZONE,
+    o  BLOB
+);
+
+CREATE TABLE unsigned_table
+(
+    id UUID PRIMARY KEY,
+    a  UTINYINT,
+    b  USMALLINT,
+    c  UINTEGER,
+    d  UBIGINT,
+    e  HUGEINT,
+    f  UHUGEINT
+);
+
+CREATE TABLE special_table
+(
+    id UUID PRIMARY KEY,
+    a  JSON,
+    b  mood,
+    c  TIMESTAMP_NS,
+    d  TIMESTAMP_MS,
+    e  TIMESTAMP_S
+);
+
+CREATE TABLE fallback_table
+(
+    id UUID PRIMARY KEY,
+    a  BIT,
+    b  INTERVAL,
+    c  TIME WITH TIME ZONE
+);
+
+CREATE TABLE child_table
+(
+    id        UUID PRIMARY KEY,
+    parent_id UUID REFERENCES standard_table (id),
+    amount    DECIMAL(18, 4)
+);